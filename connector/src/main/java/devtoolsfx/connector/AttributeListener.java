@@ -1,31 +1,42 @@
 package devtoolsfx.connector;
 
+import devtoolsfx.event.AttributeCategoriesEvent;
 import devtoolsfx.event.EventBus;
 import devtoolsfx.event.EventSource;
+import devtoolsfx.scenegraph.Element;
 import devtoolsfx.scenegraph.attributes.AttributeCategory;
 import devtoolsfx.scenegraph.attributes.Tracker;
+import javafx.scene.Node;
+import javafx.stage.Window;
 import org.jspecify.annotations.NullMarked;
 import org.jspecify.annotations.Nullable;
 
 import java.lang.System.Logger;
 import java.lang.System.Logger.Level;
-import java.util.Arrays;
-import java.util.EnumMap;
+import java.util.*;
 import java.util.stream.Collectors;
 
 /**
  * Listens for all types of attributes for the given target.
+ * Only the trackers of the active categories are subscribed to the target,
+ * see {@link #setActiveCategories(Set)}.
  */
 @NullMarked
 final class AttributeListener {
 
     private static final Logger LOGGER = System.getLogger(AttributeListener.class.getName());
 
+    private final EventBus eventBus;
+    private final EventSource eventSource;
     private final EnumMap<AttributeCategory, Tracker> trackers;
+    private final EnumSet<AttributeCategory> activeCategories = EnumSet.allOf(AttributeCategory.class);
     private @Nullable Object target;
 
     public AttributeListener(EventBus eventBus,
                              EventSource eventSource) {
+        this.eventBus = eventBus;
+        this.eventSource = eventSource;
+
         trackers = Arrays.stream(AttributeCategory.values())
             .map(category -> AttributeCategory.createTracker(category, eventBus, eventSource))
             .collect(Collectors.toMap(
@@ -48,9 +59,37 @@ final class AttributeListener {
         }
 
         target = candidate;
+        fireAttributeCategoriesEvent();
+        setTargetToAllTrackers();
+    }
+
+    /**
+     * Sets the attribute categories to be tracked. The trackers of the newly activated
+     * categories start tracking the current target (and emit its attributes), while
+     * the trackers of the deactivated categories are reset.
+     */
+    public void setActiveCategories(Set<AttributeCategory> categories) {
+        var candidate = categories.isEmpty()
+            ? EnumSet.noneOf(AttributeCategory.class)
+            : EnumSet.copyOf(categories);
+
+        if (candidate.equals(activeCategories)) {
+            return;
+        }
+
+        activeCategories.clear();
+        activeCategories.addAll(candidate);
         setTargetToAllTrackers();
     }
 
+    /**
+     * See {@link Tracker#setPreserveLazyProperties(boolean)}.
+     * The option is applied to all trackers, not only the reflective one.
+     */
+    public void setPreserveLazyProperties(boolean preserveLazyProperties) {
+        trackers.values().forEach(tracker -> tracker.setPreserveLazyProperties(preserveLazyProperties));
+    }
+
     /**
      * Reloads (reads again) all attributes.
      */
@@ -72,18 +111,65 @@ final class AttributeListener {
         trackers.get(category).reload(property);
     }
 
+    /**
+     * Reads the full (not truncated) attribute value from the given category.
+     */
+    public @Nullable Object readAttributeValue(AttributeCategory category, String property) {
+        var attr = trackers.get(category).readAttribute(property);
+        return attr != null ? attr.value() : null;
+    }
+
+    /**
+     * See {@link Tracker#setMaxValueLength(int)}.
+     */
+    public void setMaxValueLength(int maxValueLength) {
+        trackers.values().forEach(tracker -> tracker.setMaxValueLength(maxValueLength));
+    }
+
+    /**
+     * See {@link Tracker#setSlowReadThreshold(int)}.
+     */
+    public void setSlowReadThreshold(int slowReadThreshold) {
+        trackers.values().forEach(tracker -> tracker.setSlowReadThreshold(slowReadThreshold));
+    }
+
     ///////////////////////////////////////////////////////////////////////////
 
     /**
-     * Reloads (reads again) all attributes in all trackers (categories).
+     * Sets the current target to all active trackers (categories) that accept it.
+     * Trackers that are already tracking the target are not reloaded.
      */
     private void setTargetToAllTrackers() {
         for (var tracker : trackers.values()) {
-            if (tracker.accepts(target)) {
+            if (activeCategories.contains(tracker.getCategory()) && tracker.accepts(target)) {
                 tracker.setTarget(target);
             } else {
                 tracker.reset();
             }
         }
     }
+
+    /**
+     * Emits the list of all categories that accept the current target, either active or not.
+     */
+    private void fireAttributeCategoriesEvent() {
+        Element element = switch (target) {
+            case Node node -> LocalElement.of(node);
+            case Window window -> LocalElement.of(window, eventSource);
+            case null, default -> null;
+        };
+
+        if (element == null) {
+            return;
+        }
+
+        var categories = EnumSet.noneOf(AttributeCategory.class);
+        for (var tracker : trackers.values()) {
+            if (tracker.accepts(target)) {
+                categories.add(tracker.getCategory());
+            }
+        }
+
+        eventBus.fire(new AttributeCategoriesEvent(eventSource, element, Collections.unmodifiableSet(categories)));
+    }
 }
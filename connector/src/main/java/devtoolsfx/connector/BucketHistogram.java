@@ -0,0 +1,60 @@
+package devtoolsfx.connector;
+
+import org.jspecify.annotations.NullMarked;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * The histogram with the fixed bucket upper bounds, as required by the Prometheus
+ * and OpenMetrics exposition formats. Unlike the {@link LatencyHistogram}, it's
+ * safe to read from any thread without locking, and it's never reset, so the
+ * buckets are monotonic counters.
+ */
+@NullMarked
+final class BucketHistogram {
+
+    private final long[] bounds;
+    // the last bucket is +Inf
+    private final AtomicLongArray counts;
+    private final AtomicLong sum = new AtomicLong();
+
+    /**
+     * @param bounds the inclusive upper bounds of the buckets in the ascending order
+     */
+    BucketHistogram(long... bounds) {
+        this.bounds = bounds.clone();
+        this.counts = new AtomicLongArray(bounds.length + 1);
+    }
+
+    void record(long value) {
+        int index = 0;
+        while (index < bounds.length && value > bounds[index]) {
+            index++;
+        }
+        counts.incrementAndGet(index);
+        sum.addAndGet(value);
+    }
+
+    int getBucketCount() {
+        return counts.length();
+    }
+
+    /**
+     * Returns the upper bound of the given bucket, or {@link Long#MAX_VALUE} for the last one.
+     */
+    long getUpperBound(int bucket) {
+        return bucket < bounds.length ? bounds[bucket] : Long.MAX_VALUE;
+    }
+
+    /**
+     * Returns the number of values in the given bucket, not including the previous buckets.
+     */
+    long getCount(int bucket) {
+        return counts.get(bucket);
+    }
+
+    long getSum() {
+        return sum.get();
+    }
+}
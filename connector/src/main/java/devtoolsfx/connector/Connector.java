@@ -2,9 +2,12 @@ package devtoolsfx.connector;
 
 import devtoolsfx.event.EventBus;
 import devtoolsfx.event.EventSource;
+import devtoolsfx.event.TimelineEvent;
+import devtoolsfx.event.WatchedAttributesEvent;
 import devtoolsfx.scenegraph.Element;
 import devtoolsfx.scenegraph.WindowProperties;
 import devtoolsfx.scenegraph.attributes.AttributeCategory;
+import devtoolsfx.scenegraph.attributes.AttributeWatcher;
 import javafx.application.Application;
 import javafx.beans.property.ReadOnlyBooleanProperty;
 import javafx.scene.Parent;
@@ -14,11 +17,19 @@ import org.jspecify.annotations.Nullable;
 
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * The connector serves as the main entry point for application monitoring. It accepts
  * the target app's primary stage and tracks and reports its state and changes via the
  * {@link EventBus}. The client should subscribe to EventBus events to react to these changes.
+ * <p>
+ * The methods that return a value never block the caller. They return the future, which
+ * is completed in the FX thread, so the dependent actions can update the UI directly.
+ * The {@link LocalConnector} completes it immediately, while the {@link RemoteConnector}
+ * completes it when the response is received, or with the empty value if the request
+ * fails or times out.
  */
 @NullMarked
 public interface Connector {
@@ -46,7 +57,7 @@ public interface Connector {
     /**
      * Returns the list of event sources for all currently monitored objects.
      */
-    List<EventSource> getEventSources();
+    CompletableFuture<List<EventSource>> getEventSources();
 
     /**
      * Returns the connector options.
@@ -86,6 +97,104 @@ public interface Connector {
      */
     void reloadSelectedAttributes(int uid, @Nullable AttributeCategory category, @Nullable String property);
 
+    /**
+     * Sets the attribute categories to be tracked for the selected element. Only the attributes
+     * of the active categories are read and observed, the rest are skipped until activated again.
+     * All categories are active by default.
+     *
+     * @param uid see {@link EventSource#uid()}
+     */
+    void setActiveAttributeCategories(int uid, Set<AttributeCategory> categories);
+
+    /**
+     * Returns the full value of the selected element attribute. Long attribute values
+     * are truncated before being emitted (see {@link ConnectorOptions#getMaxAttributeValueLength()}),
+     * so this method can be used to load the full value on demand.
+     *
+     * @param uid see {@link EventSource#uid()}
+     */
+    CompletableFuture<@Nullable String> getAttributeValue(int uid, AttributeCategory category, String attribute);
+
+    /**
+     * Adds the element property to the watch list. Unlike the selected element attributes,
+     * the watch list can track the properties of multiple elements at once. The changes are
+     * reported via {@link WatchedAttributesEvent}. Only observable properties are supported,
+     * e.g. "boundsInParent", "needsLayout" or "opacity", and the list size is limited by
+     * {@link AttributeWatcher#MAX_WATCHED_ATTRIBUTES}.
+     *
+     * @param uid see {@link EventSource#uid()}
+     * @return false if the property can't be watched or the watch list is full
+     */
+    CompletableFuture<Boolean> watchAttribute(int uid, Element element, String property);
+
+    /**
+     * The opposite of {@link #watchAttribute(int, Element, String)}.
+     *
+     * @param uid see {@link EventSource#uid()}
+     */
+    void unwatchAttribute(int uid, Element element, String property);
+
+    /**
+     * Returns the pulse (frame) timing statistics. Pulses are global to the JavaFX toolkit,
+     * so the metrics are shared by all monitored windows. Returns empty metrics unless
+     * {@link ConnectorOptions#isPulseRecording()} is enabled.
+     */
+    CompletableFuture<PulseMetrics> getPulseMetrics();
+
+    /**
+     * Resets the pulse timing statistics, see {@link #getPulseMetrics()}.
+     */
+    void resetPulseMetrics();
+
+    /**
+     * Returns the key and mouse event latency statistics per event type and the slowest
+     * recent events. Input events are measured in all monitored windows. Returns an empty
+     * report unless {@link ConnectorOptions#isInputLatencyTracking()} is enabled.
+     */
+    CompletableFuture<InputLatencyReport> getInputLatencyReport();
+
+    /**
+     * Resets the input event latency statistics, see {@link #getInputLatencyReport()}.
+     */
+    void resetInputLatency();
+
+    /**
+     * Starts the sampling profiler of the FX application thread. The profiler takes the FX
+     * thread stack snapshots at {@link ConnectorOptions#getProfilerSampleRate()} and aggregates
+     * them into the call tree, see {@link #getProfile()}. Samples are accumulated until
+     * {@link #resetProfiling()} is called.
+     */
+    void startProfiling();
+
+    /**
+     * Stops the sampling profiler, see {@link #startProfiling()}.
+     */
+    void stopProfiling();
+
+    /**
+     * Removes all collected profiler samples, see {@link #startProfiling()}.
+     */
+    void resetProfiling();
+
+    /**
+     * Returns the call tree of the collected profiler samples, see {@link #startProfiling()}.
+     * The root node represents the FX application thread itself.
+     */
+    CompletableFuture<ProfileNode> getProfile();
+
+    /**
+     * Starts recording the performance timeline: pulses, input events, connector events,
+     * layout invalidations, stalls and garbage collections. The samples are reported
+     * periodically via {@link TimelineEvent}. Note that the recording makes the toolkit
+     * pulse continuously.
+     */
+    void startTimelineRecording();
+
+    /**
+     * Stops recording the performance timeline, see {@link #startTimelineRecording()}.
+     */
+    void stopTimelineRecording();
+
     /**
      * Hides the specified window.
      *
@@ -99,23 +208,21 @@ public interface Connector {
      *
      * @param uid see {@link EventSource#uid()}
      */
-    Map.@Nullable Entry<WindowProperties, List<Element>> getStyledElements(int uid);
+    CompletableFuture<Map.@Nullable Entry<WindowProperties, List<Element>>> getStyledElements(int uid);
 
     /**
      * Returns the {@link Application#getUserAgentStylesheet()} for the monitored application.
      */
-    String getUserAgentStylesheet();
+    CompletableFuture<String> getUserAgentStylesheet();
 
     /**
      * Reads and returns the content of the file resource at the specified URI.
      */
-    @Nullable
-    String getResource(int uid, String uri);
+    CompletableFuture<@Nullable String> getResource(int uid, String uri);
 
     /**
      * Returns the owner class name for the given property.
      * This method addresses the issue of finding the superclass that owns the property.
      */
-    @Nullable
-    String getDeclaringClass(String className, String property);
+    CompletableFuture<@Nullable String> getDeclaringClass(String className, String property);
 }
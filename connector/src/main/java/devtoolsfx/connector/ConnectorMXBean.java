@@ -0,0 +1,90 @@
+package devtoolsfx.connector;
+
+import java.util.Map;
+
+/**
+ * The management interface of the {@link LocalConnector}, registered in the platform
+ * MBean server while {@link ConnectorOptions#isJmxEnabled()} is set. It allows watching
+ * the UI health with JConsole or any JMX scraper without the devtools GUI. The windows
+ * are identified by the application name and the window ID, see {@link devtoolsfx.event.EventSource}.
+ */
+public interface ConnectorMXBean {
+
+    /**
+     * The object name pattern, the application name is appended as the name key.
+     */
+    String OBJECT_NAME_PREFIX = "devtoolsfx:type=Connector,name=";
+
+    /**
+     * Returns the number of the monitored windows.
+     */
+    int getWindowCount();
+
+    /**
+     * Returns the number of the monitored scene graph nodes per window.
+     */
+    Map<String, Integer> getNodeCounts();
+
+    /**
+     * Returns the number of the listeners and event filters installed
+     * into the scene graph nodes per window.
+     */
+    Map<String, Integer> getListenerCounts();
+
+    /**
+     * Returns the total number of the connector events since the registration.
+     */
+    long getEventCount();
+
+    /**
+     * Returns the connector event rate per event type, averaged since the previous
+     * read, but over at least one second.
+     */
+    Map<String, Double> getEventsPerSecond();
+
+    /**
+     * Returns the number of the performance entries dropped because
+     * of the buffer overflow, see {@link Performance}.
+     */
+    long getDroppedEventCount();
+
+    /**
+     * Returns the number of the recorded pulses, see {@link Connector#getPulseMetrics()}.
+     */
+    long getPulseCount();
+
+    /**
+     * Returns the number of the frames missed due to slow pulses.
+     */
+    long getDroppedFrames();
+
+    /**
+     * Returns the median pulse interval in milliseconds.
+     */
+    double getPulseP50();
+
+    /**
+     * Returns the 95th percentile of the pulse intervals in milliseconds.
+     */
+    double getPulseP95();
+
+    /**
+     * Returns the 99th percentile of the pulse intervals in milliseconds.
+     */
+    double getPulseP99();
+
+    /**
+     * Returns the number of the FX application thread stalls since the registration.
+     */
+    long getStallCount();
+
+    /**
+     * Returns the duration of the last FX application thread stall in milliseconds.
+     */
+    long getLastStallDuration();
+
+    /**
+     * Resets all counters.
+     */
+    void reset();
+}
@@ -0,0 +1,275 @@
+package devtoolsfx.connector;
+
+import devtoolsfx.event.ConnectorEvent;
+import devtoolsfx.event.EventBus;
+import devtoolsfx.event.PerformanceEntriesEvent;
+import devtoolsfx.event.StallEvent;
+import org.jspecify.annotations.NullMarked;
+
+import javax.management.ObjectName;
+import java.lang.System.Logger;
+import java.lang.System.Logger.Level;
+import java.lang.management.ManagementFactory;
+import java.util.Collection;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+
+/**
+ * The {@link ConnectorMXBean} implementation, which also backs the {@link MetricsHttpServer}.
+ * The event counters are updated in the FX thread on each event and only aggregated when
+ * the metrics are read, which happens in the JMX or HTTP server thread. The pulse statistics
+ * are read from the snapshot the FX thread publishes once per second.
+ */
+@NullMarked
+final class ConnectorMetrics implements ConnectorMXBean {
+
+    private static final Logger LOGGER = System.getLogger(ConnectorMetrics.class.getName());
+
+    static final long MIN_RATE_INTERVAL_NANOS = 1_000_000_000;
+
+    private final EventBus eventBus;
+    private final Collection<WindowMonitor> monitors;
+    private final PulseRecorder pulseRecorder;
+    private final ObjectName objectName;
+
+    private final Map<Class<?>, LongAdder> eventCounters = new ConcurrentHashMap<>();
+    private final AtomicLong droppedEvents = new AtomicLong();
+    private final AtomicLong stallCount = new AtomicLong();
+    private final AtomicLong lastStallDuration = new AtomicLong();
+    private final Consumer<ConnectorEvent> eventListener = this::onConnectorEvent;
+
+    // the event counts at the previous rate calculation
+    private final Map<Class<?>, Long> rateCounts = new ConcurrentHashMap<>();
+    private Map<String, Double> rates = Map.of();
+    private long rateUpdated = System.nanoTime();
+    private boolean counting;
+    private boolean registered;
+
+    /**
+     * @param eventBus      the connector event bus
+     * @param monitors      the window monitors, the collection must be safe to iterate from any thread
+     * @param pulseRecorder the pulse recorder shared by all monitors
+     * @param application   the application name used in the object name
+     */
+    ConnectorMetrics(EventBus eventBus,
+                     Collection<WindowMonitor> monitors,
+                     PulseRecorder pulseRecorder,
+                     String application) {
+        this.eventBus = eventBus;
+        this.monitors = monitors;
+        this.pulseRecorder = pulseRecorder;
+
+        ObjectName name;
+        try {
+            name = new ObjectName(OBJECT_NAME_PREFIX + ObjectName.quote(application));
+        } catch (Exception e) {
+            throw new IllegalArgumentException("Invalid application name: " + application, e);
+        }
+        this.objectName = name;
+    }
+
+    ObjectName getObjectName() {
+        return objectName;
+    }
+
+    boolean isRegistered() {
+        return registered;
+    }
+
+    /**
+     * Starts counting the connector events.
+     */
+    void start() {
+        if (!counting) {
+            counting = true;
+            eventBus.subscribe(ConnectorEvent.class, eventListener);
+        }
+    }
+
+    /**
+     * The opposite of {@link #start()}. The counters are preserved.
+     */
+    void stop() {
+        if (counting) {
+            counting = false;
+            eventBus.unsubscribe(eventListener);
+        }
+    }
+
+    /**
+     * Registers the MXBean in the platform MBean server.
+     */
+    void register() {
+        if (registered) {
+            return;
+        }
+
+        try {
+            var server = ManagementFactory.getPlatformMBeanServer();
+            if (server.isRegistered(objectName)) {
+                server.unregisterMBean(objectName);
+            }
+            server.registerMBean(this, objectName);
+            registered = true;
+        } catch (Exception e) {
+            LOGGER.log(Level.WARNING, "Unable to register connector MXBean: " + e.getMessage());
+        }
+    }
+
+    /**
+     * The opposite of {@link #register()}.
+     */
+    void unregister() {
+        if (!registered) {
+            return;
+        }
+
+        registered = false;
+        try {
+            ManagementFactory.getPlatformMBeanServer().unregisterMBean(objectName);
+        } catch (Exception e) {
+            LOGGER.log(Level.WARNING, "Unable to unregister connector MXBean: " + e.getMessage());
+        }
+    }
+
+    Collection<WindowMonitor> getMonitors() {
+        return monitors;
+    }
+
+    PulseRecorder getPulseRecorder() {
+        return pulseRecorder;
+    }
+
+    /**
+     * Passes the total number of events per event type to the given consumer.
+     */
+    void forEachEventCount(BiConsumer<String, Long> consumer) {
+        eventCounters.forEach((type, counter) -> consumer.accept(type.getSimpleName(), counter.sum()));
+    }
+
+    @Override
+    public int getWindowCount() {
+        return monitors.size();
+    }
+
+    @Override
+    public Map<String, Integer> getNodeCounts() {
+        var counts = new TreeMap<String, Integer>();
+        for (var monitor : monitors) {
+            counts.put(monitor.getEventSource().toLogString(), monitor.getNodeCount());
+        }
+        return counts;
+    }
+
+    @Override
+    public Map<String, Integer> getListenerCounts() {
+        var counts = new TreeMap<String, Integer>();
+        for (var monitor : monitors) {
+            counts.put(monitor.getEventSource().toLogString(), monitor.getListenerCount());
+        }
+        return counts;
+    }
+
+    @Override
+    public long getEventCount() {
+        long count = 0;
+        for (var counter : eventCounters.values()) {
+            count += counter.sum();
+        }
+        return count;
+    }
+
+    @Override
+    public synchronized Map<String, Double> getEventsPerSecond() {
+        long now = System.nanoTime();
+        long elapsed = now - rateUpdated;
+        if (elapsed < MIN_RATE_INTERVAL_NANOS) {
+            return rates;
+        }
+
+        var newRates = new TreeMap<String, Double>();
+        eventCounters.forEach((type, counter) -> {
+            long count = counter.sum();
+            long previous = rateCounts.getOrDefault(type, 0L);
+            newRates.put(type.getSimpleName(), (count - previous) * 1_000_000_000d / elapsed);
+            rateCounts.put(type, count);
+        });
+
+        rates = newRates;
+        rateUpdated = now;
+        return rates;
+    }
+
+    @Override
+    public long getDroppedEventCount() {
+        return droppedEvents.get();
+    }
+
+    @Override
+    public long getPulseCount() {
+        return pulseRecorder.getPublishedMetrics().pulseCount();
+    }
+
+    @Override
+    public long getDroppedFrames() {
+        return pulseRecorder.getPublishedMetrics().droppedFrames();
+    }
+
+    @Override
+    public double getPulseP50() {
+        return pulseRecorder.getPublishedMetrics().p50();
+    }
+
+    @Override
+    public double getPulseP95() {
+        return pulseRecorder.getPublishedMetrics().p95();
+    }
+
+    @Override
+    public double getPulseP99() {
+        return pulseRecorder.getPublishedMetrics().p99();
+    }
+
+    @Override
+    public long getStallCount() {
+        return stallCount.get();
+    }
+
+    @Override
+    public long getLastStallDuration() {
+        return lastStallDuration.get();
+    }
+
+    @Override
+    public synchronized void reset() {
+        eventCounters.clear();
+        rateCounts.clear();
+        rates = Map.of();
+        rateUpdated = System.nanoTime();
+        droppedEvents.set(0);
+        stallCount.set(0);
+        lastStallDuration.set(0);
+    }
+
+    ///////////////////////////////////////////////////////////////////////////
+
+    private void onConnectorEvent(ConnectorEvent event) {
+        eventCounters.computeIfAbsent(event.getClass(), k -> new LongAdder()).increment();
+
+        switch (event) {
+            case PerformanceEntriesEvent entries -> droppedEvents.addAndGet(entries.dropped());
+            case StallEvent stall -> {
+                stallCount.incrementAndGet();
+                lastStallDuration.set(stall.duration());
+            }
+            default -> {
+                // count only
+            }
+        }
+    }
+}
@@ -1,7 +1,14 @@
 package devtoolsfx.connector;
 
+import devtoolsfx.event.LayoutHotSpotsEvent;
+import devtoolsfx.event.StallEvent;
+import devtoolsfx.scenegraph.attributes.AttributeCategory;
+import devtoolsfx.scenegraph.attributes.Tracker;
 import javafx.beans.property.BooleanProperty;
+import javafx.beans.property.IntegerProperty;
 import javafx.beans.property.SimpleBooleanProperty;
+import javafx.beans.property.SimpleIntegerProperty;
+import javafx.scene.Parent;
 import javafx.stage.PopupWindow;
 import org.jspecify.annotations.NullMarked;
 
@@ -13,10 +20,24 @@ import org.jspecify.annotations.NullMarked;
 public final class ConnectorOptions {
 
     public static final String AUX_NODE_ID_PREFIX = "devtoolsfx.";
+    public static final int DEFAULT_STALL_THRESHOLD = 500;
+    public static final int DEFAULT_PROFILER_SAMPLE_RATE = 100;
 
     private final BooleanProperty ignoreMouseTransparent = new SimpleBooleanProperty(false);
     private final BooleanProperty inspectMode = new SimpleBooleanProperty(false);
     private final BooleanProperty preventPopupAutoHide = new SimpleBooleanProperty(false);
+    private final BooleanProperty preserveLazyProperties = new SimpleBooleanProperty(false);
+    private final BooleanProperty layoutTracking = new SimpleBooleanProperty(false);
+    private final BooleanProperty pulseRecording = new SimpleBooleanProperty(false);
+    private final BooleanProperty pulseOverlay = new SimpleBooleanProperty(false);
+    private final BooleanProperty stallDetection = new SimpleBooleanProperty(false);
+    private final BooleanProperty inputLatencyTracking = new SimpleBooleanProperty(false);
+    private final BooleanProperty jmxEnabled = new SimpleBooleanProperty(false);
+    private final IntegerProperty stallThreshold = new SimpleIntegerProperty(DEFAULT_STALL_THRESHOLD);
+    private final IntegerProperty profilerSampleRate = new SimpleIntegerProperty(DEFAULT_PROFILER_SAMPLE_RATE);
+    private final IntegerProperty metricsPort = new SimpleIntegerProperty(0);
+    private final IntegerProperty maxAttributeValueLength = new SimpleIntegerProperty(Tracker.DEFAULT_MAX_VALUE_LENGTH);
+    private final IntegerProperty slowAttributeThreshold = new SimpleIntegerProperty(Tracker.DEFAULT_SLOW_READ_THRESHOLD);
 
     public ConnectorOptions() {
         // pass
@@ -69,4 +90,206 @@ public final class ConnectorOptions {
     public void setPreventPopupAutoHide(boolean preventPopupAutoHide) {
         this.preventPopupAutoHide.set(preventPopupAutoHide);
     }
+
+    /**
+     * Prevents the reflective attribute tracker from instantiating the lazily created
+     * node properties. Values of such properties are read via plain getters and only
+     * the already instantiated properties are observed. This keeps the inspected
+     * application's memory footprint intact, at the cost of fewer live updates.
+     * Detecting instantiated properties requires the JavaFX packages to be open
+     * for reflection (e.g. via '--add-opens').
+     */
+    BooleanProperty preserveLazyPropertiesProperty() {
+        return preserveLazyProperties;
+    }
+
+    public boolean isPreserveLazyProperties() {
+        return preserveLazyProperties.get();
+    }
+
+    public void setPreserveLazyProperties(boolean preserveLazyProperties) {
+        this.preserveLazyProperties.set(preserveLazyProperties);
+    }
+
+    /**
+     * Enables counting layout invalidations, i.e. {@link Parent#needsLayoutProperty()}
+     * changes from false to true, for every parent node. The nodes that request layout
+     * most often are reported once per second via {@link LayoutHotSpotsEvent}.
+     */
+    BooleanProperty layoutTrackingProperty() {
+        return layoutTracking;
+    }
+
+    public boolean isLayoutTracking() {
+        return layoutTracking.get();
+    }
+
+    public void setLayoutTracking(boolean layoutTracking) {
+        this.layoutTracking.set(layoutTracking);
+    }
+
+    /**
+     * Enables recording the intervals between consecutive pulses, see {@link Connector#getPulseMetrics()}.
+     * Note that while the recording is enabled, the JavaFX toolkit pulses continuously.
+     */
+    BooleanProperty pulseRecordingProperty() {
+        return pulseRecording;
+    }
+
+    public boolean isPulseRecording() {
+        return pulseRecording.get();
+    }
+
+    public void setPulseRecording(boolean pulseRecording) {
+        this.pulseRecording.set(pulseRecording);
+    }
+
+    /**
+     * Displays the frame rate and the longest frame time in the top left corner
+     * of every monitored window. Implies {@link #isPulseRecording()}.
+     */
+    BooleanProperty pulseOverlayProperty() {
+        return pulseOverlay;
+    }
+
+    public boolean isPulseOverlay() {
+        return pulseOverlay.get();
+    }
+
+    public void setPulseOverlay(boolean pulseOverlay) {
+        this.pulseOverlay.set(pulseOverlay);
+    }
+
+    /**
+     * Enables the FX application thread watchdog. When the FX thread is blocked for
+     * longer than {@link #getStallThreshold()}, its stack is sampled until it recovers,
+     * and the stall is reported via {@link StallEvent}.
+     */
+    BooleanProperty stallDetectionProperty() {
+        return stallDetection;
+    }
+
+    public boolean isStallDetection() {
+        return stallDetection.get();
+    }
+
+    public void setStallDetection(boolean stallDetection) {
+        this.stallDetection.set(stallDetection);
+    }
+
+    /**
+     * Sets the minimum FX application thread blocking time in milliseconds
+     * that is considered a stall, see {@link #isStallDetection()}.
+     */
+    IntegerProperty stallThresholdProperty() {
+        return stallThreshold;
+    }
+
+    public int getStallThreshold() {
+        return stallThreshold.get();
+    }
+
+    public void setStallThreshold(int stallThreshold) {
+        this.stallThreshold.set(stallThreshold);
+    }
+
+    /**
+     * Enables measuring the latency of the key and mouse events, i.e. the time spent
+     * in the event dispatch chain and the time until the next pulse completes.
+     * See {@link Connector#getInputLatencyReport()}.
+     */
+    BooleanProperty inputLatencyTrackingProperty() {
+        return inputLatencyTracking;
+    }
+
+    public boolean isInputLatencyTracking() {
+        return inputLatencyTracking.get();
+    }
+
+    public void setInputLatencyTracking(boolean inputLatencyTracking) {
+        this.inputLatencyTracking.set(inputLatencyTracking);
+    }
+
+    /**
+     * Registers the connector MXBean in the platform MBean server while the connector
+     * is started, see {@link ConnectorMXBean}.
+     */
+    BooleanProperty jmxEnabledProperty() {
+        return jmxEnabled;
+    }
+
+    public boolean isJmxEnabled() {
+        return jmxEnabled.get();
+    }
+
+    public void setJmxEnabled(boolean jmxEnabled) {
+        this.jmxEnabled.set(jmxEnabled);
+    }
+
+    /**
+     * Sets the port of the embedded HTTP server that serves the connector metrics
+     * in the OpenMetrics text format at {@code http://localhost:<port>/metrics}
+     * while the connector is started. Zero or a negative value disables the server.
+     */
+    IntegerProperty metricsPortProperty() {
+        return metricsPort;
+    }
+
+    public int getMetricsPort() {
+        return metricsPort.get();
+    }
+
+    public void setMetricsPort(int metricsPort) {
+        this.metricsPort.set(metricsPort);
+    }
+
+    /**
+     * Sets the number of the FX application thread stack samples per second
+     * taken by the profiler, see {@link Connector#startProfiling()}.
+     */
+    IntegerProperty profilerSampleRateProperty() {
+        return profilerSampleRate;
+    }
+
+    public int getProfilerSampleRate() {
+        return profilerSampleRate.get();
+    }
+
+    public void setProfilerSampleRate(int profilerSampleRate) {
+        this.profilerSampleRate.set(profilerSampleRate);
+    }
+
+    /**
+     * Sets the maximum length of the attribute text values. Longer values are truncated,
+     * and the full value can be obtained via {@link Connector#getAttributeValue(int, AttributeCategory, String)}.
+     * Zero or a negative value disables truncation.
+     */
+    IntegerProperty maxAttributeValueLengthProperty() {
+        return maxAttributeValueLength;
+    }
+
+    public int getMaxAttributeValueLength() {
+        return maxAttributeValueLength.get();
+    }
+
+    public void setMaxAttributeValueLength(int maxAttributeValueLength) {
+        this.maxAttributeValueLength.set(maxAttributeValueLength);
+    }
+
+    /**
+     * Sets the attribute read time budget in milliseconds. The attributes that take longer
+     * to read are reported as slow and are no longer read automatically, only on demand.
+     * Zero or a negative value disables the detection.
+     */
+    IntegerProperty slowAttributeThresholdProperty() {
+        return slowAttributeThreshold;
+    }
+
+    public int getSlowAttributeThreshold() {
+        return slowAttributeThreshold.get();
+    }
+
+    public void setSlowAttributeThreshold(int slowAttributeThreshold) {
+        this.slowAttributeThreshold.set(slowAttributeThreshold);
+    }
 }
@@ -0,0 +1,586 @@
+package devtoolsfx.connector;
+
+import devtoolsfx.connector.RemoteProtocol.Method;
+import devtoolsfx.event.ConnectorEvent;
+import javafx.application.Platform;
+import org.jspecify.annotations.NullMarked;
+import org.jspecify.annotations.Nullable;
+
+import java.io.*;
+import java.lang.System.Logger;
+import java.lang.System.Logger.Level;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.SocketAddress;
+import java.net.StandardProtocolFamily;
+import java.net.UnixDomainSocketAddress;
+import java.nio.channels.Channels;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.PosixFilePermission;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.util.HexFormat;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.function.Consumer;
+
+/**
+ * The agent side of the remote connector. It runs inside the monitored application, wraps its
+ * {@link LocalConnector}, and serves a single {@link RemoteConnector} client at a time, so that
+ * the dev tools GUI can run in a separate JVM and add no rendering cost to the application.
+ * <p>
+ * The server listens on a TCP address or a Unix domain socket path. The client must present
+ * the shared token in its handshake, otherwise the connection is closed. The token is either
+ * passed by the launcher, or generated and written to the owner-only file, where the local
+ * client finds it, see {@link #getTokenPath(SocketAddress)}. The Unix domain socket is also
+ * restricted to the owner. Still, the token is sent in plain text, so the TCP server should
+ * only be bound to the loopback address. The requests are executed in the FX thread, while
+ * all the network I/O happens in the background daemon threads.
+ * <p>
+ * When the client runs on the same host, it may offer the shared memory ring buffer, see
+ * {@link SharedRingBuffer}. Then all the frames after the handshake are sent through it,
+ * while the socket is only used for the requests and to detect the disconnection.
+ */
+@NullMarked
+public final class ConnectorServer {
+
+    private static final Logger LOGGER = System.getLogger(ConnectorServer.class.getName());
+
+    /**
+     * The default TCP port, see {@link #ConnectorServer(LocalConnector)}.
+     */
+    public static final int DEFAULT_PORT = 9410;
+
+    private static final int TOKEN_SIZE = 32;
+    private static final Set<PosixFilePermission> OWNER_ONLY = PosixFilePermissions.fromString("rw-------");
+    private static final Set<PosixFilePermission> OWNER_ONLY_DIR = PosixFilePermissions.fromString("rwx------");
+
+    private static final byte[] EOF = new byte[0];
+    // switches the writer thread to the shared memory
+    private static final byte[] SWITCH_TO_RING = new byte[0];
+
+    private final LocalConnector connector;
+    private final SocketAddress address;
+    private final byte[] token;
+    private final boolean generatedToken;
+    private final Consumer<ConnectorEvent> eventListener = this::onConnectorEvent;
+
+    private @Nullable ServerSocketChannel serverChannel;
+    private @Nullable Path tokenPath;
+    private volatile @Nullable Session session;
+
+    /**
+     * Creates a new server listening on the loopback address and the {@link #DEFAULT_PORT}.
+     */
+    public ConnectorServer(LocalConnector connector) {
+        this(connector, new InetSocketAddress(InetAddress.getLoopbackAddress(), DEFAULT_PORT));
+    }
+
+    /**
+     * See {@link #ConnectorServer(LocalConnector, SocketAddress, String)}.
+     */
+    public ConnectorServer(LocalConnector connector, SocketAddress address) {
+        this(connector, address, null);
+    }
+
+    /**
+     * Creates a new server.
+     *
+     * @param connector the connector of the monitored application, it's started and stopped by the client
+     * @param address   the {@link InetSocketAddress} or {@link UnixDomainSocketAddress} to listen on
+     * @param token     the token the client must present, if null, the random one is generated
+     *                  and written to the {@link #getTokenPath(SocketAddress)} file when the server starts
+     */
+    public ConnectorServer(LocalConnector connector, SocketAddress address, @Nullable String token) {
+        this.connector = Objects.requireNonNull(connector, "connector must not be null");
+        this.address = Objects.requireNonNull(address, "address must not be null");
+        this.generatedToken = token == null;
+        this.token = (token != null ? token : generateToken()).getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Returns the path of the file the generated token is written to. It's derived from the
+     * address, so that the local client can find it, and located in the user home directory,
+     * so that only the user who started the application can read it.
+     */
+    public static Path getTokenPath(SocketAddress address) {
+        String name = switch (address) {
+            case UnixDomainSocketAddress unixAddress -> "unix-" + Integer.toHexString(
+                unixAddress.getPath().toAbsolutePath().normalize().toString().hashCode()
+            );
+            case InetSocketAddress inetAddress -> "port-" + inetAddress.getPort();
+            default -> throw new IllegalArgumentException("Unsupported address: " + address);
+        };
+        return Path.of(System.getProperty("user.home"), ".devtoolsfx", name + ".token");
+    }
+
+    /**
+     * Starts accepting the client connections.
+     */
+    public void start() throws IOException {
+        if (serverChannel != null) {
+            return;
+        }
+
+        if (address instanceof UnixDomainSocketAddress unixAddress) {
+            Files.deleteIfExists(unixAddress.getPath());
+            serverChannel = ServerSocketChannel.open(StandardProtocolFamily.UNIX);
+            serverChannel.bind(address);
+            setOwnerOnly(unixAddress.getPath(), OWNER_ONLY);
+        } else {
+            serverChannel = ServerSocketChannel.open();
+            serverChannel.bind(address);
+        }
+
+        if (generatedToken) {
+            // the port may be chosen by the system
+            tokenPath = getTokenPath(serverChannel.getLocalAddress());
+            writeToken(tokenPath);
+        }
+
+        var channel = serverChannel;
+        startDaemon("devtoolsfx-server-accept", () -> acceptLoop(channel));
+        LOGGER.log(Level.INFO, "ConnectorServer is listening on " + address);
+    }
+
+    /**
+     * Closes the client connection, if any, and stops accepting new ones.
+     */
+    public void stop() {
+        closeSession();
+
+        if (serverChannel != null) {
+            closeQuietly(serverChannel);
+            serverChannel = null;
+        }
+
+        if (address instanceof UnixDomainSocketAddress unixAddress) {
+            deleteQuietly(unixAddress.getPath());
+        }
+
+        if (tokenPath != null) {
+            deleteQuietly(tokenPath);
+            tokenPath = null;
+        }
+    }
+
+    /**
+     * Returns the address the server is listening on, e.g. to obtain the port if it was zero.
+     */
+    public SocketAddress getLocalAddress() {
+        try {
+            return serverChannel != null ? serverChannel.getLocalAddress() : address;
+        } catch (IOException e) {
+            return address;
+        }
+    }
+
+    ///////////////////////////////////////////////////////////////////////////
+
+    private void acceptLoop(ServerSocketChannel channel) {
+        while (channel.isOpen()) {
+            try {
+                // the client only replaces the current one after the handshake, see Session
+                new Session(channel.accept()).start();
+            } catch (IOException e) {
+                if (channel.isOpen()) {
+                    LOGGER.log(Level.WARNING, "Unable to accept the client connection: " + e.getMessage());
+                }
+            }
+        }
+    }
+
+    private void closeSession() {
+        var current = session;
+        if (current != null) {
+            session = null;
+            current.close();
+        }
+    }
+
+    // must be called in the FX thread
+    private void releaseConnector() {
+        connector.getEventBus().unsubscribe(eventListener);
+        if (connector.startedProperty().get()) {
+            connector.stop();
+        }
+    }
+
+    private void writeToken(Path path) throws IOException {
+        var dir = path.getParent();
+        if (!Files.isDirectory(dir)) {
+            Files.createDirectories(dir);
+            setOwnerOnly(dir, OWNER_ONLY_DIR);
+        }
+
+        // the file is created with the restricted permissions, so that it's never readable by others
+        Files.deleteIfExists(path);
+        try {
+            Files.createFile(path, PosixFilePermissions.asFileAttribute(OWNER_ONLY));
+        } catch (UnsupportedOperationException e) {
+            // the file system has no POSIX permissions, e.g. on Windows, where the home is private anyway
+            Files.createFile(path);
+        }
+        Files.write(path, token);
+    }
+
+    private static String generateToken() {
+        var bytes = new byte[TOKEN_SIZE];
+        new SecureRandom().nextBytes(bytes);
+        return HexFormat.of().formatHex(bytes);
+    }
+
+    private static void setOwnerOnly(Path path, Set<PosixFilePermission> permissions) throws IOException {
+        try {
+            Files.setPosixFilePermissions(path, permissions);
+        } catch (UnsupportedOperationException ignored) {
+            // pass
+        }
+    }
+
+    private static void deleteQuietly(Path path) {
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException ignored) {
+            // pass
+        }
+    }
+
+    private void onConnectorEvent(ConnectorEvent event) {
+        var current = session;
+        if (current != null) {
+            current.sendEvent(event);
+        }
+    }
+
+    private static void startDaemon(String name, Runnable runnable) {
+        var thread = new Thread(runnable, name);
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    private static void closeQuietly(Closeable closeable) {
+        try {
+            closeable.close();
+        } catch (IOException ignored) {
+            // pass
+        }
+    }
+
+    ///////////////////////////////////////////////////////////////////////////
+
+    /**
+     * The client connection. Frames are read by the reader thread and executed in the FX thread,
+     * responses and events are encoded in the FX thread and written by the writer thread.
+     * The session only becomes the current one when the client presents the valid token,
+     * so that the unauthenticated clients can't take over the connector.
+     */
+    private final class Session {
+
+        private final SocketChannel socket;
+        private final BlockingQueue<byte[]> outbox = new LinkedBlockingQueue<>();
+        // the FX thread is the only writer, the events are fired while
+        // the requests are executed, so they need their own buffer
+        private final WireDictionary inbound = new WireDictionary();
+        private final WireDictionary outbound = new WireDictionary();
+        private final WireOutput buffer = new WireOutput(outbound);
+        private final WireOutput eventBuffer = new WireOutput(outbound);
+        private final WireCodec codec = new WireCodec(0);
+        private final SceneReplicator replicator = new SceneReplicator(codec, outbound, this::send);
+
+        private volatile @Nullable SharedRingBuffer ring;
+        private volatile boolean closed;
+        private volatile boolean authenticated;
+
+        Session(SocketChannel socket) {
+            this.socket = socket;
+        }
+
+        void start() {
+            startDaemon("devtoolsfx-server-reader", this::readLoop);
+            startDaemon("devtoolsfx-server-writer", this::writeLoop);
+        }
+
+        void close() {
+            if (closed) {
+                return;
+            }
+
+            closed = true;
+            outbox.offer(EOF);
+            closeQuietly(socket);
+            if (ring != null) {
+                ring.close();
+            }
+
+            if (authenticated) {
+                Platform.runLater(() -> {
+                    // the client that replaced this one has already released the connector
+                    if (session == null) {
+                        releaseConnector();
+                    }
+                });
+            }
+        }
+
+        void sendEvent(ConnectorEvent event) {
+            if (replicator.handle(event)) {
+                return;
+            }
+
+            // the pending deltas precede the event
+            replicator.flush();
+            eventBuffer.begin(RemoteProtocol.EVENT);
+            codec.writeEvent(eventBuffer, event);
+            send(eventBuffer);
+        }
+
+        ///////////////////////////////////////////////////////////////////////
+
+        private void readLoop() {
+            try (var in = new DataInputStream(new BufferedInputStream(Channels.newInputStream(socket)))) {
+                while (!closed) {
+                    int length = in.readInt();
+                    if (length <= 0 || length > RemoteProtocol.MAX_FRAME_SIZE) {
+                        throw new IOException("Invalid frame length: " + length);
+                    }
+
+                    var frame = new byte[length];
+                    in.readFully(frame);
+                    // the symbols must be registered in the order the frames are received
+                    var input = new WireInput(frame, inbound);
+                    int type = input.readHeader();
+                    Platform.runLater(() -> handleFrame(type, input));
+                }
+            } catch (EOFException e) {
+                LOGGER.log(Level.INFO, "Client disconnected");
+            } catch (IOException e) {
+                if (!closed) {
+                    LOGGER.log(Level.WARNING, "Client connection error: " + e.getMessage());
+                }
+            } finally {
+                if (session == this) {
+                    closeSession();
+                } else {
+                    close();
+                }
+            }
+        }
+
+        private void writeLoop() {
+            try (var out = new DataOutputStream(new BufferedOutputStream(Channels.newOutputStream(socket)))) {
+                SharedRingBuffer target = null;
+                while (!closed) {
+                    var frame = outbox.take();
+                    if (frame == EOF) {
+                        break;
+                    }
+                    if (frame == SWITCH_TO_RING) {
+                        out.flush();
+                        target = ring;
+                        continue;
+                    }
+
+                    if (target != null) {
+                        // the ring buffer has its own framing
+                        if (!target.write(frame, 4, frame.length - 4)) {
+                            break;
+                        }
+                        continue;
+                    }
+
+                    out.write(frame);
+                    // coalesces the frames that are already queued
+                    if (outbox.isEmpty()) {
+                        out.flush();
+                    }
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (IOException e) {
+                if (!closed) {
+                    LOGGER.log(Level.WARNING, "Client connection error: " + e.getMessage());
+                }
+            }
+        }
+
+        private void send(WireOutput frame) {
+            if (!closed) {
+                outbox.offer(frame.finishToArray());
+            }
+        }
+
+        private void handleFrame(int type, WireInput in) {
+            if (closed) {
+                return;
+            }
+
+            if (!authenticated && type != RemoteProtocol.HELLO) {
+                LOGGER.log(Level.WARNING, "Unexpected frame before the handshake: " + type);
+                close();
+                return;
+            }
+
+            switch (type) {
+                case RemoteProtocol.HELLO -> handleHello(in);
+                case RemoteProtocol.OPTIONS -> codec.readOptions(in, connector.getOptions());
+                case RemoteProtocol.REQUEST -> handleRequest(in);
+                default -> LOGGER.log(Level.WARNING, "Unexpected frame type: " + type);
+            }
+        }
+
+        private void handleHello(WireInput in) {
+            if (authenticated) {
+                LOGGER.log(Level.WARNING, "Unexpected repeated handshake");
+                return;
+            }
+
+            int version = in.readInt();
+            if (version != RemoteProtocol.VERSION) {
+                LOGGER.log(Level.ERROR, "Unsupported protocol version: " + version);
+                close();
+                return;
+            }
+
+            var clientToken = in.readString();
+            if (clientToken == null || !MessageDigest.isEqual(token, clientToken.getBytes(StandardCharsets.UTF_8))) {
+                LOGGER.log(Level.WARNING, "Rejected the client with an invalid token");
+                close();
+                return;
+            }
+
+            // the new client replaces the previous one, e.g. after the GUI was restarted
+            authenticated = true;
+            var previous = session;
+            session = this;
+            if (previous != null) {
+                previous.close();
+                releaseConnector();
+            }
+
+            int replicaCount = in.readVarInt();
+            for (int i = 0; i < replicaCount; i++) {
+                replicator.declare(in.readInt(), in.readLong());
+            }
+
+            var ringPath = in.readString();
+            if (ringPath != null) {
+                try {
+                    ring = SharedRingBuffer.open(Path.of(ringPath));
+                } catch (Exception e) {
+                    // e.g. the client runs in a container that doesn't share the file system
+                    LOGGER.log(Level.INFO, "Unable to map the shared memory, using the socket: " + e.getMessage());
+                }
+            }
+
+            buffer.begin(RemoteProtocol.HELLO);
+            buffer.writeInt(RemoteProtocol.VERSION);
+            buffer.writeLong(System.nanoTime());
+            buffer.writeBoolean(ring != null);
+            send(buffer);
+            if (ring != null) {
+                outbox.offer(SWITCH_TO_RING);
+            }
+
+            connector.getEventBus().subscribe(ConnectorEvent.class, eventListener);
+        }
+
+        private void handleRequest(WireInput in) {
+            int requestId = in.readVarInt();
+            var method = Method.of(in.readVarInt());
+            // the response must reflect all deltas sent before it
+            replicator.flush();
+
+            buffer.begin(RemoteProtocol.RESPONSE);
+            buffer.writeVarInt(requestId);
+            buffer.writeByte(RemoteProtocol.STATUS_OK);
+
+            try {
+                execute(method, in, buffer);
+            } catch (Exception e) {
+                LOGGER.log(Level.WARNING, "Unable to execute " + method + ": " + e.getMessage());
+                // discards the partial response along with its symbols
+                buffer.begin(RemoteProtocol.RESPONSE);
+                buffer.writeVarInt(requestId);
+                buffer.writeByte(RemoteProtocol.STATUS_ERROR);
+                buffer.writeString(e.getClass().getName() + ": " + e.getMessage());
+            }
+
+            send(buffer);
+        }
+
+        // the local connector futures are already completed, see Connector
+        private void execute(Method method, WireInput in, WireOutput out) {
+            switch (method) {
+                case START -> connector.start();
+                case STOP -> connector.stop();
+                case GET_EVENT_SOURCES -> {
+                    var eventSources = connector.getEventSources().join();
+                    out.writeVarInt(eventSources.size());
+                    eventSources.forEach(eventSource -> codec.writeEventSource(out, eventSource));
+                }
+                case SELECT_WINDOW -> connector.selectWindow(in.readInt());
+                case SELECT_NODE -> connector.selectNode(
+                    in.readInt(), codec.readElement(in), codec.readHighlightOptions(in)
+                );
+                case CLEAR_SELECTION -> connector.clearSelection(in.readInt());
+                case RELOAD_SELECTED_ATTRIBUTES -> connector.reloadSelectedAttributes(
+                    in.readInt(), codec.readNullableCategory(in), in.readSymbol()
+                );
+                case SET_ACTIVE_ATTRIBUTE_CATEGORIES -> connector.setActiveAttributeCategories(
+                    in.readInt(), codec.readCategories(in)
+                );
+                case GET_ATTRIBUTE_VALUE -> out.writeString(connector.getAttributeValue(
+                    in.readInt(), codec.readCategory(in), in.readNonNullSymbol()
+                ).join());
+                case WATCH_ATTRIBUTE -> out.writeBoolean(connector.watchAttribute(
+                    in.readInt(), codec.readElement(in), in.readNonNullSymbol()
+                ).join());
+                case UNWATCH_ATTRIBUTE -> connector.unwatchAttribute(
+                    in.readInt(), codec.readElement(in), in.readNonNullSymbol()
+                );
+                case GET_PULSE_METRICS -> codec.writePulseMetrics(out, connector.getPulseMetrics().join());
+                case RESET_PULSE_METRICS -> connector.resetPulseMetrics();
+                case GET_INPUT_LATENCY_REPORT -> codec.writeInputLatencyReport(out, connector.getInputLatencyReport().join());
+                case RESET_INPUT_LATENCY -> connector.resetInputLatency();
+                case START_PROFILING -> connector.startProfiling();
+                case STOP_PROFILING -> connector.stopProfiling();
+                case RESET_PROFILING -> connector.resetProfiling();
+                case GET_PROFILE -> codec.writeProfileNode(out, connector.getProfile().join());
+                case START_TIMELINE_RECORDING -> connector.startTimelineRecording();
+                case STOP_TIMELINE_RECORDING -> connector.stopTimelineRecording();
+                case HIDE_WINDOW -> connector.hideWindow(in.readInt());
+                case GET_STYLED_ELEMENTS -> {
+                    var styled = connector.getStyledElements(in.readInt()).join();
+                    out.writeBoolean(styled != null);
+                    if (styled != null) {
+                        codec.writeWindowProperties(out, styled.getKey());
+                        codec.writeElements(out, styled.getValue());
+                    }
+                }
+                case GET_USER_AGENT_STYLESHEET -> out.writeString(connector.getUserAgentStylesheet().join());
+                case GET_RESOURCE -> out.writeString(connector.getResource(in.readInt(), in.readNonNullString()).join());
+                case GET_DECLARING_CLASS -> out.writeString(connector.getDeclaringClass(
+                    in.readNonNullSymbol(), in.readNonNullSymbol()
+                ).join());
+                case GET_SYSTEM_PROPERTIES -> codec.writeKeyValues(out, connector.getEnv().getSystemProperties().join());
+                case GET_ENV_VARIABLES -> codec.writeKeyValues(out, connector.getEnv().getEnvVariables().join());
+                case GET_CONDITIONAL_FEATURES -> codec.writeKeyValues(out, connector.getEnv().getConditionalFeatures().join());
+                case GET_PLATFORM_PREFERENCES -> codec.writeKeyValues(out, connector.getEnv().getPlatformPreferences().join());
+                case GET_OTHER_PLATFORM_PROPERTIES -> codec.writeKeyValues(
+                    out, connector.getEnv().getOtherPlatformProperties().join()
+                );
+                case SYNC_NODES -> replicator.writeNodes(in, out);
+                case GET_SUBTREES -> replicator.writeSubtrees(in, out);
+                case GET_SNAPSHOT -> replicator.writeSnapshot(in, out);
+            }
+        }
+    }
+}
@@ -1,35 +1,37 @@
 package devtoolsfx.connector;
 
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * Provides system information about the monitored JavaFX application,
  * including system properties, environment variables, platform preferences, and more.
+ * The futures are completed in the FX thread, see {@link Connector}.
  */
 public interface Env {
 
     /**
      * Returns the list of system properties for the JavaFX JVM process.
      */
-    List<KeyValue> getSystemProperties();
+    CompletableFuture<List<KeyValue>> getSystemProperties();
 
     /**
      * Returns the list of env variables for the JavaFX JVM process.
      */
-    List<KeyValue> getEnvVariables();
+    CompletableFuture<List<KeyValue>> getEnvVariables();
 
     /**
      * Returns the list of conditional features for the monitored JavaFX application.
      */
-    List<KeyValue> getConditionalFeatures();
+    CompletableFuture<List<KeyValue>> getConditionalFeatures();
 
     /**
      * Returns the list of platform preferences for the monitored JavaFX application.
      */
-    List<KeyValue> getPlatformPreferences();
+    CompletableFuture<List<KeyValue>> getPlatformPreferences();
 
     /**
      * Returns the list of optional platform preferences for the monitored JavaFX application.
      */
-    List<KeyValue> getOtherPlatformProperties();
+    CompletableFuture<List<KeyValue>> getOtherPlatformProperties();
 }
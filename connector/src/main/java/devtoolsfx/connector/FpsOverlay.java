@@ -0,0 +1,73 @@
+package devtoolsfx.connector;
+
+import devtoolsfx.util.SceneUtils;
+import javafx.scene.Parent;
+import javafx.scene.control.Label;
+import javafx.scene.paint.Color;
+import javafx.scene.text.Font;
+import org.jspecify.annotations.NullMarked;
+import org.jspecify.annotations.Nullable;
+
+import java.text.DecimalFormat;
+
+/**
+ * The tiny label displayed in the top left corner of the monitored window,
+ * which shows the frame rate and the longest frame time. See {@link PulseRecorder}.
+ */
+@NullMarked
+final class FpsOverlay {
+
+    private static final DecimalFormat DECIMAL_FORMAT = new DecimalFormat("0.0");
+
+    private final Label label = createLabel();
+    private @Nullable Parent parent;
+
+    public FpsOverlay() {
+        // pass
+    }
+
+    /**
+     * Attaches the overlay to the given parent node, see {@link BoundsPane#attach(Parent)}.
+     */
+    public void attach(@Nullable Parent candidate) {
+        if (parent != null) {
+            detach();
+        }
+
+        parent = SceneUtils.findNearestPane(candidate);
+        if (parent != null) {
+            SceneUtils.addToNode(parent, label);
+        }
+    }
+
+    /**
+     * Removes the overlay.
+     */
+    public void detach() {
+        if (parent != null) {
+            SceneUtils.removeFromNode(parent, label);
+            parent = null;
+        }
+    }
+
+    /**
+     * Updates the displayed values.
+     */
+    public void update(double fps, double maxFrameTime) {
+        label.setText(DECIMAL_FORMAT.format(fps) + " FPS | " + DECIMAL_FORMAT.format(maxFrameTime) + " ms");
+        label.toFront();
+    }
+
+    private Label createLabel() {
+        var label = new Label("- FPS");
+        label.setId(ConnectorOptions.AUX_NODE_ID_PREFIX + "fpsOverlay");
+        label.setManaged(false);
+        label.setMouseTransparent(true);
+        label.setFont(Font.font("monospaced", 11));
+        label.setTextFill(Color.WHITE);
+        label.setStyle("-fx-background-color: rgba(0, 0, 0, 0.6); -fx-padding: 2 4 2 4;");
+        label.relocate(4, 4);
+        label.resize(120, 18);
+        return label;
+    }
+}
@@ -0,0 +1,142 @@
+package devtoolsfx.connector;
+
+import org.jspecify.annotations.NullMarked;
+
+import java.util.*;
+
+/**
+ * The prefix tree of the stack samples. Every method is interned to an integer ID, and
+ * the nodes are stored in the parallel primitive arrays, so adding a sample with the known
+ * call path doesn't allocate. The children of a node form a singly linked list, because
+ * the typical fan-out is small. It's not thread-safe.
+ */
+@NullMarked
+final class FrameTrie {
+
+    static final int ROOT = 0;
+    static final int NONE = -1;
+    static final int INITIAL_CAPACITY = 1024;
+    // the samples that would exceed the limit are attributed to the deepest existing node
+    static final int MAX_NODES = 1 << 20;
+
+    // class name -> method name -> method ID
+    private final Map<String, Map<String, Integer>> methodIds = new HashMap<>();
+    private final List<String> methodNames = new ArrayList<>();
+
+    private int[] method = new int[0];
+    private int[] total = new int[0];
+    private int[] self = new int[0];
+    private int[] firstChild = new int[0];
+    private int[] nextSibling = new int[0];
+    private int size;
+
+    FrameTrie() {
+        reset();
+    }
+
+    /**
+     * Adds the stack sample. The first frame is the top of the stack,
+     * as in {@link Thread#getStackTrace()}.
+     */
+    void add(StackTraceElement[] stack) {
+        int node = ROOT;
+        total[ROOT]++;
+
+        for (int i = stack.length - 1; i >= 0; i--) {
+            int child = findOrCreateChild(node, methodId(stack[i]));
+            if (child == NONE) {
+                break;
+            }
+
+            node = child;
+            total[node]++;
+        }
+
+        self[node]++;
+    }
+
+    /**
+     * Returns the number of added samples.
+     */
+    int getSampleCount() {
+        return total[ROOT];
+    }
+
+    int size() {
+        return size;
+    }
+
+    /**
+     * Removes all samples. The interned method IDs are preserved.
+     */
+    void reset() {
+        method = new int[INITIAL_CAPACITY];
+        total = new int[INITIAL_CAPACITY];
+        self = new int[INITIAL_CAPACITY];
+        firstChild = new int[INITIAL_CAPACITY];
+        nextSibling = new int[INITIAL_CAPACITY];
+
+        size = 1;
+        method[ROOT] = NONE;
+        firstChild[ROOT] = NONE;
+        nextSibling[ROOT] = NONE;
+    }
+
+    /**
+     * Converts the trie to the immutable {@link ProfileNode} tree.
+     */
+    ProfileNode toProfileNode(String rootName) {
+        return toProfileNode(ROOT, rootName);
+    }
+
+    ///////////////////////////////////////////////////////////////////////////
+
+    private ProfileNode toProfileNode(int node, String name) {
+        var children = new ArrayList<ProfileNode>();
+        for (int c = firstChild[node]; c != NONE; c = nextSibling[c]) {
+            children.add(toProfileNode(c, methodNames.get(method[c])));
+        }
+        children.sort(Comparator.comparingInt(ProfileNode::total).reversed());
+
+        return new ProfileNode(name, total[node], self[node], Collections.unmodifiableList(children));
+    }
+
+    private int methodId(StackTraceElement frame) {
+        var methods = methodIds.computeIfAbsent(frame.getClassName(), k -> new HashMap<>());
+        var id = methods.get(frame.getMethodName());
+        if (id == null) {
+            id = methodNames.size();
+            methodNames.add(frame.getClassName() + "." + frame.getMethodName());
+            methods.put(frame.getMethodName(), id);
+        }
+        return id;
+    }
+
+    private int findOrCreateChild(int parent, int methodId) {
+        for (int c = firstChild[parent]; c != NONE; c = nextSibling[c]) {
+            if (method[c] == methodId) {
+                return c;
+            }
+        }
+
+        if (size >= MAX_NODES) {
+            return NONE;
+        }
+
+        if (size == method.length) {
+            int capacity = Math.min(method.length * 2, MAX_NODES);
+            method = Arrays.copyOf(method, capacity);
+            total = Arrays.copyOf(total, capacity);
+            self = Arrays.copyOf(self, capacity);
+            firstChild = Arrays.copyOf(firstChild, capacity);
+            nextSibling = Arrays.copyOf(nextSibling, capacity);
+        }
+
+        int child = size++;
+        method[child] = methodId;
+        firstChild[child] = NONE;
+        nextSibling[child] = firstChild[parent];
+        firstChild[parent] = child;
+        return child;
+    }
+}
@@ -0,0 +1,67 @@
+package devtoolsfx.connector;
+
+import javafx.application.Platform;
+import org.jspecify.annotations.NullMarked;
+import org.jspecify.annotations.Nullable;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs the delayed tasks on the FX thread. Unlike the animation timers, the waiting task
+ * doesn't keep the FX pulse running, so it's used for the periodic reports that are only
+ * scheduled on demand. There's one scheduler per connector, shared by all windows.
+ * The scheduler thread is created on the first task and terminated when the connector
+ * stops. All methods can be called from any thread.
+ */
+@NullMarked
+final class FxScheduler {
+
+    private boolean active;
+    private @Nullable ScheduledExecutorService executor;
+
+    FxScheduler() {
+        // pass
+    }
+
+    /**
+     * Allows scheduling the tasks.
+     */
+    synchronized void start() {
+        active = true;
+    }
+
+    /**
+     * Terminates the scheduler thread. The pending tasks are discarded,
+     * and the tasks scheduled later are ignored until the next start.
+     */
+    synchronized void stop() {
+        active = false;
+        if (executor != null) {
+            executor.shutdownNow();
+            executor = null;
+        }
+    }
+
+    /**
+     * Runs the task on the FX thread after the given delay.
+     *
+     * @return the pending task, or null if the scheduler is stopped
+     */
+    synchronized @Nullable Future<?> schedule(Runnable task, long delayMillis) {
+        if (!active) {
+            return null;
+        }
+
+        if (executor == null) {
+            executor = Executors.newSingleThreadScheduledExecutor(r -> {
+                var thread = new Thread(r, "devtoolsfx-scheduler");
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+        return executor.schedule(() -> Platform.runLater(task), delayMillis, TimeUnit.MILLISECONDS);
+    }
+}
@@ -0,0 +1,128 @@
+package devtoolsfx.connector;
+
+import javafx.application.Platform;
+import org.jspecify.annotations.NullMarked;
+import org.jspecify.annotations.Nullable;
+
+import java.lang.System.Logger;
+import java.lang.System.Logger.Level;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadInfo;
+import java.lang.management.ThreadMXBean;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The sampling profiler of the FX application thread. The profiler thread takes the FX thread
+ * stack snapshots at the fixed rate and aggregates them into the {@link FrameTrie}. The samples
+ * taken while the FX thread is idle, i.e. waiting for the next event in the native event loop,
+ * are skipped, so the profile only shows where the FX thread time is actually spent.
+ */
+@NullMarked
+final class FxThreadProfiler {
+
+    private static final Logger LOGGER = System.getLogger(FxThreadProfiler.class.getName());
+
+    static final int MAX_STACK_DEPTH = 256;
+    static final String ROOT_NAME = "JavaFX Application Thread";
+
+    private final ThreadMXBean threadMXBean = ManagementFactory.getThreadMXBean();
+    private final FrameTrie trie = new FrameTrie(); // guarded by this
+
+    private volatile int sampleRate;
+    private long fxThreadId = -1;
+    private @Nullable Thread thread;
+
+    FxThreadProfiler(int sampleRate) {
+        setSampleRate(sampleRate);
+    }
+
+    /**
+     * Sets the number of samples per second.
+     */
+    void setSampleRate(int sampleRate) {
+        this.sampleRate = Math.clamp(sampleRate, 1, 1_000);
+    }
+
+    boolean isRunning() {
+        return thread != null;
+    }
+
+    /**
+     * Starts sampling. Must be called from the FX thread.
+     */
+    void start() {
+        if (thread != null) {
+            return;
+        }
+
+        if (!Platform.isFxApplicationThread()) {
+            LOGGER.log(Level.WARNING, "Unable to start profiler: not on the FX application thread");
+            return;
+        }
+
+        fxThreadId = Thread.currentThread().threadId();
+        thread = new Thread(this::run, "devtoolsfx-profiler");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * Stops sampling. The collected samples are preserved.
+     */
+    void stop() {
+        if (thread != null) {
+            thread.interrupt();
+            thread = null;
+        }
+    }
+
+    synchronized void reset() {
+        trie.reset();
+    }
+
+    synchronized ProfileNode getProfile() {
+        return trie.toProfileNode(ROOT_NAME);
+    }
+
+    ///////////////////////////////////////////////////////////////////////////
+
+    // executed in the profiler thread
+    private void run() {
+        try {
+            while (!Thread.currentThread().isInterrupted()) {
+                sample();
+                TimeUnit.NANOSECONDS.sleep(1_000_000_000L / sampleRate);
+            }
+        } catch (InterruptedException e) {
+            // stopped
+        }
+    }
+
+    private void sample() {
+        ThreadInfo info = threadMXBean.getThreadInfo(fxThreadId, MAX_STACK_DEPTH);
+        if (info == null) {
+            return;
+        }
+
+        var stack = info.getStackTrace();
+        if (stack.length == 0 || isIdle(info, stack[0])) {
+            return;
+        }
+
+        synchronized (this) {
+            trie.add(stack);
+        }
+    }
+
+    private static boolean isIdle(ThreadInfo info, StackTraceElement top) {
+        // Glass toolkits wait for the next event in the native "_runLoop" or
+        // "_enterNestedEventLoop" method, the headless and Monocle ones park the thread
+        return switch (info.getThreadState()) {
+            case WAITING, TIMED_WAITING -> true;
+            default -> top.isNativeMethod() && (
+                top.getMethodName().startsWith("_runLoop")
+                    || top.getMethodName().startsWith("_enterNestedEventLoop")
+            );
+        };
+    }
+}
@@ -0,0 +1,23 @@
+package devtoolsfx.connector;
+
+import org.jspecify.annotations.NullMarked;
+
+import java.util.List;
+
+/**
+ * Contains the input event latency statistics, see {@link Connector#getInputLatencyReport()}.
+ *
+ * @param stats   the statistics per event type, sorted by the event type name
+ * @param slowest the slowest recent events, ranked by the frame latency in descending order
+ */
+@NullMarked
+public record InputLatencyReport(List<InputLatencyStats> stats,
+                                 List<InputLatencySample> slowest) {
+
+    /**
+     * Returns an empty {@link InputLatencyReport}, e.g. when the tracking is disabled.
+     */
+    public static InputLatencyReport empty() {
+        return new InputLatencyReport(List.of(), List.of());
+    }
+}
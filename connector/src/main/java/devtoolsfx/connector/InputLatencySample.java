@@ -0,0 +1,22 @@
+package devtoolsfx.connector;
+
+import devtoolsfx.scenegraph.Element;
+import org.jspecify.annotations.NullMarked;
+
+/**
+ * Represents the latency of a single input event. All durations are in milliseconds.
+ *
+ * @param eventType    the event type name, e.g. "KEY_PRESSED" or "MOUSE_CLICKED"
+ * @param target       the event target node, or only its class if the node has been collected
+ * @param timestamp    the event dispatch start time, in milliseconds since the epoch
+ * @param dispatchTime the time spent in the event dispatch chain, or a negative value
+ *                     if the event was consumed before reaching the scene event handler
+ * @param frameLatency the time from the event dispatch start until the next pulse completes
+ */
+@NullMarked
+public record InputLatencySample(String eventType,
+                                 Element target,
+                                 long timestamp,
+                                 double dispatchTime,
+                                 double frameLatency) {
+}
@@ -0,0 +1,27 @@
+package devtoolsfx.connector;
+
+import org.jspecify.annotations.NullMarked;
+
+/**
+ * Contains the latency statistics of the input events of the same type.
+ * All durations are in milliseconds.
+ *
+ * @param eventType   the event type name, e.g. "KEY_PRESSED" or "MOUSE_CLICKED"
+ * @param count       the number of measured events
+ * @param frameP50    the median time from the event dispatch start until the next pulse completes
+ * @param frameP95    the 95th percentile of the time until the next pulse completes
+ * @param frameP99    the 99th percentile of the time until the next pulse completes
+ * @param dispatchP50 the median time spent in the event dispatch chain
+ * @param dispatchP95 the 95th percentile of the time spent in the event dispatch chain
+ * @param dispatchP99 the 99th percentile of the time spent in the event dispatch chain
+ */
+@NullMarked
+public record InputLatencyStats(String eventType,
+                                long count,
+                                double frameP50,
+                                double frameP95,
+                                double frameP99,
+                                double dispatchP50,
+                                double dispatchP95,
+                                double dispatchP99) {
+}
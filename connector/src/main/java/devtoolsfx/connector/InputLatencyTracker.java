@@ -0,0 +1,238 @@
+package devtoolsfx.connector;
+
+import devtoolsfx.scenegraph.ClassInfo;
+import devtoolsfx.scenegraph.Element;
+import devtoolsfx.util.ClassInfoCache;
+import javafx.application.Platform;
+import javafx.event.EventHandler;
+import javafx.event.EventType;
+import javafx.scene.Node;
+import javafx.scene.Scene;
+import javafx.scene.input.InputEvent;
+import javafx.scene.input.KeyEvent;
+import javafx.scene.input.MouseEvent;
+import org.jspecify.annotations.NullMarked;
+import org.jspecify.annotations.Nullable;
+
+import java.lang.ref.WeakReference;
+import java.util.*;
+
+/**
+ * Measures the latency of the key and mouse events. The scene event filter marks the start of
+ * the event dispatch, and the scene event handler marks its end, unless the event is consumed
+ * before reaching the handler. The frame latency is the time from the dispatch start until the
+ * next pulse completes layout, see {@link Scene#addPostLayoutPulseListener(Runnable)}. Note that
+ * the time the event spends in the OS and the toolkit queues before the dispatch can't be measured.
+ * Pulses are global, so there's one tracker for all windows. The measurements only keep
+ * a weak reference to the target node, so that the recent events don't retain removed nodes.
+ */
+@NullMarked
+final class InputLatencyTracker {
+
+    static final int MAX_RECENT_EVENTS = 200;
+    static final int MAX_SLOWEST_EVENTS = 20;
+
+    private final Set<Scene> scenes = Collections.newSetFromMap(new IdentityHashMap<>());
+    private final Map<EventType<?>, Histograms> histograms = new HashMap<>();
+    // the events waiting for the next pulse
+    private final List<Measurement> pending = new ArrayList<>();
+    // the ring buffer of the last measured events
+    private final Measurement[] recent = new Measurement[MAX_RECENT_EVENTS];
+    private int recentHead;
+    private int recentSize;
+    private @Nullable Measurement dispatching;
+
+    private final EventHandler<InputEvent> dispatchStartFilter = this::onDispatchStart;
+    private final EventHandler<InputEvent> dispatchEndHandler = this::onDispatchEnd;
+    private final Runnable pulseListener = this::onPulse;
+
+    InputLatencyTracker() {
+        // pass
+    }
+
+    /**
+     * Starts measuring the input events of the given scene.
+     */
+    void attach(Scene scene) {
+        if (scenes.add(scene)) {
+            scene.addEventFilter(KeyEvent.ANY, dispatchStartFilter);
+            scene.addEventFilter(MouseEvent.ANY, dispatchStartFilter);
+            scene.addEventHandler(KeyEvent.ANY, dispatchEndHandler);
+            scene.addEventHandler(MouseEvent.ANY, dispatchEndHandler);
+            scene.addPostLayoutPulseListener(pulseListener);
+        }
+    }
+
+    /**
+     * The opposite of {@link #attach(Scene)}.
+     */
+    void detach(Scene scene) {
+        if (scenes.remove(scene)) {
+            scene.removeEventFilter(KeyEvent.ANY, dispatchStartFilter);
+            scene.removeEventFilter(MouseEvent.ANY, dispatchStartFilter);
+            scene.removeEventHandler(KeyEvent.ANY, dispatchEndHandler);
+            scene.removeEventHandler(MouseEvent.ANY, dispatchEndHandler);
+            scene.removePostLayoutPulseListener(pulseListener);
+        }
+
+        if (scenes.isEmpty()) {
+            pending.clear();
+            dispatching = null;
+        }
+    }
+
+    /**
+     * Returns the statistics since the tracking started or was reset.
+     */
+    InputLatencyReport getReport() {
+        var stats = new ArrayList<InputLatencyStats>(histograms.size());
+        histograms.forEach((type, h) -> stats.add(new InputLatencyStats(
+            type.getName(),
+            h.frame.getTotalCount(),
+            h.frame.getValueAtPercentile(50) / 1_000d,
+            h.frame.getValueAtPercentile(95) / 1_000d,
+            h.frame.getValueAtPercentile(99) / 1_000d,
+            h.dispatch.getValueAtPercentile(50) / 1_000d,
+            h.dispatch.getValueAtPercentile(95) / 1_000d,
+            h.dispatch.getValueAtPercentile(99) / 1_000d
+        )));
+        stats.sort(Comparator.comparing(InputLatencyStats::eventType));
+
+        var measurements = new ArrayList<Measurement>(recentSize);
+        for (int i = 0; i < recentSize; i++) {
+            measurements.add(recent[i]);
+        }
+        measurements.sort(Comparator.comparingLong((Measurement m) -> m.frameLatency).reversed());
+
+        var slowest = new ArrayList<InputLatencySample>(Math.min(measurements.size(), MAX_SLOWEST_EVENTS));
+        for (int i = 0; i < Math.min(measurements.size(), MAX_SLOWEST_EVENTS); i++) {
+            var m = measurements.get(i);
+            slowest.add(new InputLatencySample(
+                m.type.getName(),
+                m.getTarget(),
+                m.timestamp,
+                m.dispatchEnd > 0 ? (m.dispatchEnd - m.start) / 1_000_000d : -1,
+                m.frameLatency / 1_000_000d
+            ));
+        }
+
+        return new InputLatencyReport(
+            Collections.unmodifiableList(stats),
+            Collections.unmodifiableList(slowest)
+        );
+    }
+
+    void reset() {
+        histograms.clear();
+        Arrays.fill(recent, null);
+        recentHead = 0;
+        recentSize = 0;
+    }
+
+    ///////////////////////////////////////////////////////////////////////////
+
+    private void onDispatchStart(InputEvent e) {
+        var type = e.getEventType();
+        if (type == MouseEvent.MOUSE_ENTERED || type == MouseEvent.MOUSE_EXITED
+            || type == MouseEvent.MOUSE_ENTERED_TARGET || type == MouseEvent.MOUSE_EXITED_TARGET) {
+            // synthesized by the toolkit, not the user input
+            return;
+        }
+
+        Node target = switch (e.getTarget()) {
+            case Node node -> node;
+            case Scene scene -> scene.getRoot();
+            case null, default -> null;
+        };
+        if (target == null) {
+            return;
+        }
+
+        // the window may be hidden, so the pulse never comes
+        if (pending.size() >= MAX_RECENT_EVENTS) {
+            pending.removeFirst();
+        }
+
+        var measurement = new Measurement(
+            type, target.hashCode(), ClassInfoCache.get(target), new WeakReference<>(target),
+            System.nanoTime(), System.currentTimeMillis()
+        );
+        pending.add(measurement);
+        dispatching = measurement;
+
+        // if the event doesn't change anything, there's no pulse to wait for
+        Platform.requestNextPulse();
+    }
+
+    private void onDispatchEnd(InputEvent e) {
+        if (dispatching != null && dispatching.type == e.getEventType()) {
+            dispatching.dispatchEnd = System.nanoTime();
+            dispatching = null;
+        }
+    }
+
+    // called once per scene, the first call completes all pending events
+    private void onPulse() {
+        if (pending.isEmpty()) {
+            return;
+        }
+
+        long now = System.nanoTime();
+        for (var m : pending) {
+            m.frameLatency = now - m.start;
+
+            var h = histograms.computeIfAbsent(m.type, k -> new Histograms());
+            h.frame.record(m.frameLatency / 1_000);
+            if (m.dispatchEnd > 0) {
+                h.dispatch.record((m.dispatchEnd - m.start) / 1_000);
+            }
+
+            recent[recentHead] = m;
+            recentHead = (recentHead + 1) % MAX_RECENT_EVENTS;
+            recentSize = Math.min(recentSize + 1, MAX_RECENT_EVENTS);
+        }
+
+        pending.clear();
+        dispatching = null;
+    }
+
+    ///////////////////////////////////////////////////////////////////////////
+
+    private static final class Measurement {
+
+        private final EventType<?> type;
+        private final int targetUid;
+        private final ClassInfo targetClass;
+        private final WeakReference<Node> target;
+        private final long start;
+        private final long timestamp;
+        private long dispatchEnd;
+        private long frameLatency;
+
+        private Measurement(EventType<?> type,
+                            int targetUid,
+                            ClassInfo targetClass,
+                            WeakReference<Node> target,
+                            long start,
+                            long timestamp) {
+            this.type = type;
+            this.targetUid = targetUid;
+            this.targetClass = targetClass;
+            this.target = target;
+            this.start = start;
+            this.timestamp = timestamp;
+        }
+
+        // the node may have been removed and collected since, then only its class is known
+        private Element getTarget() {
+            var node = target.get();
+            return node != null ? LocalElement.of(node) : new RemoteElement(targetUid, targetClass, null, null);
+        }
+    }
+
+    private static final class Histograms {
+
+        private final LatencyHistogram frame = new LatencyHistogram(); // microseconds
+        private final LatencyHistogram dispatch = new LatencyHistogram(); // microseconds
+    }
+}
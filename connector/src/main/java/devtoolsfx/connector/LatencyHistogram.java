@@ -0,0 +1,101 @@
+package devtoolsfx.connector;
+
+import org.jspecify.annotations.NullMarked;
+
+import java.util.Arrays;
+
+/**
+ * The histogram of positive long values with fixed relative precision, similar to
+ * HdrHistogram. Values are grouped by powers of two, and each group is split into
+ * {@link #SUB_BUCKET_COUNT} linear buckets, so the relative error is about 3%.
+ * The counts are stored in a single primitive array, which is allocated once,
+ * so recording a value never allocates.
+ */
+@NullMarked
+final class LatencyHistogram {
+
+    static final int SUB_BUCKET_BITS = 5;
+    static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+    // values above are clamped, e.g. 2^24 microseconds is about 16.7 seconds
+    static final int MAX_VALUE_BITS = 24;
+    static final long MAX_VALUE = (1L << MAX_VALUE_BITS) - 1;
+
+    private final long[] counts = new long[(MAX_VALUE_BITS - SUB_BUCKET_BITS + 1) * SUB_BUCKET_COUNT];
+    private long totalCount;
+    private long maxValue;
+
+    LatencyHistogram() {
+        // pass
+    }
+
+    /**
+     * Records the given value, negative values are ignored.
+     */
+    void record(long value) {
+        if (value < 0) {
+            return;
+        }
+
+        long clamped = Math.min(value, MAX_VALUE);
+        counts[indexOf(clamped)]++;
+        totalCount++;
+        maxValue = Math.max(maxValue, clamped);
+    }
+
+    /**
+     * Returns the value at the given percentile (0-100), or zero if there are no values.
+     */
+    long getValueAtPercentile(double percentile) {
+        if (totalCount == 0) {
+            return 0;
+        }
+
+        long rank = Math.max(1, (long) Math.ceil(totalCount * Math.min(percentile, 100) / 100));
+        long count = 0;
+        for (int i = 0; i < counts.length; i++) {
+            count += counts[i];
+            if (count >= rank) {
+                return Math.min(highestValueAt(i), maxValue);
+            }
+        }
+
+        return maxValue;
+    }
+
+    long getTotalCount() {
+        return totalCount;
+    }
+
+    long getMaxValue() {
+        return maxValue;
+    }
+
+    void reset() {
+        Arrays.fill(counts, 0);
+        totalCount = 0;
+        maxValue = 0;
+    }
+
+    ///////////////////////////////////////////////////////////////////////////
+
+    static int indexOf(long value) {
+        if (value < SUB_BUCKET_COUNT) {
+            return (int) value;
+        }
+
+        // the number of bits to drop to fit the value into the sub-bucket range
+        int shift = (63 - Long.numberOfLeadingZeros(value)) - SUB_BUCKET_BITS;
+        int subBucket = (int) (value >> shift) - SUB_BUCKET_COUNT;
+        return (shift + 1) * SUB_BUCKET_COUNT + subBucket;
+    }
+
+    static long highestValueAt(int index) {
+        if (index < SUB_BUCKET_COUNT) {
+            return index;
+        }
+
+        int shift = index / SUB_BUCKET_COUNT - 1;
+        long subBucket = index % SUB_BUCKET_COUNT;
+        return ((SUB_BUCKET_COUNT + subBucket + 1) << shift) - 1;
+    }
+}
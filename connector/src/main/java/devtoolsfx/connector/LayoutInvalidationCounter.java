@@ -0,0 +1,281 @@
+package devtoolsfx.connector;
+
+import devtoolsfx.event.EventBus;
+import devtoolsfx.event.EventSource;
+import devtoolsfx.event.LayoutHotSpotsEvent;
+import devtoolsfx.jfr.LayoutInvalidationJfrEvent;
+import devtoolsfx.scenegraph.LayoutHotSpot;
+import javafx.beans.property.ReadOnlyProperty;
+import javafx.beans.value.ChangeListener;
+import javafx.beans.value.ObservableValue;
+import javafx.scene.Parent;
+import javafx.scene.Scene;
+import jdk.jfr.EventType;
+import org.jspecify.annotations.NullMarked;
+import org.jspecify.annotations.Nullable;
+
+import java.util.*;
+import java.util.concurrent.Future;
+
+/**
+ * Counts the layout invalidations, i.e. {@link Parent#needsLayoutProperty()} changes
+ * from false to true, per parent node, per pulse and per second. A second after the first
+ * invalidation, it reports the nodes that request layout most often via {@link LayoutHotSpotsEvent}.
+ * The report is scheduled on demand, so that the idle window doesn't keep the FX pulse running.
+ * All parents share the same listener instance. A pulse counts the invalidations made since
+ * the previous one, and it ends once the layout is done, see {@link Scene#addPostLayoutPulseListener(Runnable)}.
+ * The invalidations of each pulse are also emitted as {@link LayoutInvalidationJfrEvent},
+ * if the flight recorder event is enabled.
+ */
+@NullMarked
+final class LayoutInvalidationCounter {
+
+    static final int MAX_HOT_SPOTS = 20;
+    static final int REPORT_INTERVAL = 1000;
+
+    private static final EventType JFR_EVENT = EventType.getEventType(LayoutInvalidationJfrEvent.class);
+
+    private final EventBus eventBus;
+    private final EventSource eventSource;
+    private final FxScheduler scheduler;
+
+    private final Map<Parent, Counter> counters = new IdentityHashMap<>();
+    private final Set<Parent> trackedParents = Collections.newSetFromMap(new IdentityHashMap<>());
+    // mirrors the set size to be read from other threads, see ConnectorMXBean
+    private volatile int trackedCount;
+    // the counters changed during the current pulse
+    private final List<Counter> pulseCounters = new ArrayList<>();
+    private final ChangeListener<Boolean> needsLayoutListener = this::onNeedsLayoutChanged;
+    private final Runnable postLayoutListener = this::endPulse;
+    private @Nullable Scene scene;
+    private @Nullable LayoutInvalidationJfrEvent jfrEvent;
+
+    private boolean enabled;
+    private boolean pulseStarted;
+    private @Nullable Future<?> reportTask;
+    private boolean lastReportEmpty = true;
+
+    LayoutInvalidationCounter(EventBus eventBus, EventSource eventSource, FxScheduler scheduler) {
+        this.eventBus = eventBus;
+        this.eventSource = eventSource;
+        this.scheduler = scheduler;
+    }
+
+    boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Starts or stops the counting. Disabling also releases all tracked parents.
+     */
+    void setEnabled(boolean enabled) {
+        if (this.enabled == enabled) {
+            return;
+        }
+
+        this.enabled = enabled;
+        if (!enabled) {
+            clear();
+
+            if (reportTask != null) {
+                reportTask.cancel(false);
+                reportTask = null;
+            }
+
+            // clear the client's hot spots list
+            if (!lastReportEmpty) {
+                lastReportEmpty = true;
+                eventBus.fire(new LayoutHotSpotsEvent(eventSource, List.of()));
+            }
+        }
+    }
+
+    /**
+     * Observes the pulses of the given scene, the tracked parents are expected to belong to it.
+     */
+    void attach(Scene scene) {
+        detach();
+
+        this.scene = scene;
+        scene.addPostLayoutPulseListener(postLayoutListener);
+    }
+
+    /**
+     * The opposite of {@link #attach(Scene)}. The current pulse ends immediately.
+     */
+    void detach() {
+        if (scene != null) {
+            scene.removePostLayoutPulseListener(postLayoutListener);
+            scene = null;
+        }
+        endPulse();
+    }
+
+    /**
+     * Starts counting the layout invalidations of the given parent.
+     */
+    void track(Parent parent) {
+        if (enabled && trackedParents.add(parent)) {
+            parent.needsLayoutProperty().addListener(needsLayoutListener);
+            trackedCount = trackedParents.size();
+        }
+    }
+
+    /**
+     * The opposite of {@link #track(Parent)}.
+     */
+    void untrack(Parent parent) {
+        if (trackedParents.remove(parent)) {
+            parent.needsLayoutProperty().removeListener(needsLayoutListener);
+            counters.remove(parent);
+            trackedCount = trackedParents.size();
+        }
+    }
+
+    /**
+     * Returns the number of the tracked parents. Safe to call from any thread.
+     */
+    int getTrackedCount() {
+        return trackedCount;
+    }
+
+    /**
+     * Stops counting the layout invalidations of all parents.
+     */
+    void clear() {
+        for (var parent : trackedParents) {
+            parent.needsLayoutProperty().removeListener(needsLayoutListener);
+        }
+        trackedParents.clear();
+        trackedCount = 0;
+        counters.clear();
+        pulseCounters.clear();
+    }
+
+    ///////////////////////////////////////////////////////////////////////////
+
+    private void onNeedsLayoutChanged(ObservableValue<? extends Boolean> obs, Boolean old, Boolean val) {
+        if (old || !val || !(obs instanceof ReadOnlyProperty<?> prop) || !(prop.getBean() instanceof Parent parent)) {
+            return;
+        }
+
+        var counter = counters.computeIfAbsent(parent, Counter::new);
+        if (counter.pulse++ == 0) {
+            pulseCounters.add(counter);
+        }
+        counter.second++;
+        counter.total++;
+
+        if (reportTask == null) {
+            scheduleReport();
+        }
+
+        if (!pulseStarted) {
+            pulseStarted = true;
+
+            if (JFR_EVENT.isEnabled()) {
+                var event = new LayoutInvalidationJfrEvent();
+                event.begin();
+                jfrEvent = event;
+            }
+        }
+    }
+
+    private void endPulse() {
+        if (!pulseStarted) {
+            return;
+        }
+        pulseStarted = false;
+
+        if (jfrEvent != null) {
+            commitJfrEvent(jfrEvent);
+            jfrEvent = null;
+        }
+
+        for (var counter : pulseCounters) {
+            counter.maxPerPulse = Math.max(counter.maxPerPulse, counter.pulse);
+            counter.pulse = 0;
+        }
+        pulseCounters.clear();
+    }
+
+    private void commitJfrEvent(LayoutInvalidationJfrEvent event) {
+        Counter top = null;
+        int invalidations = 0;
+        for (var counter : pulseCounters) {
+            invalidations += counter.pulse;
+            if (top == null || counter.pulse > top.pulse) {
+                top = counter;
+            }
+        }
+
+        event.window = eventSource.toLogString();
+        event.invalidations = invalidations;
+        event.parents = pulseCounters.size();
+        event.topParent = top != null ? top.parent.getClass().getName() : "";
+        event.commit();
+    }
+
+    private void scheduleReport() {
+        reportTask = scheduler.schedule(this::report, REPORT_INTERVAL);
+    }
+
+    private void report() {
+        reportTask = null;
+        if (!enabled) {
+            return;
+        }
+
+        var active = new ArrayList<Counter>();
+        for (var counter : counters.values()) {
+            if (counter.second > 0) {
+                active.add(counter);
+            }
+        }
+
+        if (active.isEmpty() && lastReportEmpty) {
+            return;
+        }
+
+        active.sort(Comparator.comparingInt((Counter c) -> c.second).reversed());
+
+        var hotSpots = new ArrayList<LayoutHotSpot>(Math.min(active.size(), MAX_HOT_SPOTS));
+        for (int i = 0; i < Math.min(active.size(), MAX_HOT_SPOTS); i++) {
+            var counter = active.get(i);
+            hotSpots.add(new LayoutHotSpot(
+                LocalElement.of(counter.parent),
+                counter.second,
+                Math.max(counter.maxPerPulse, counter.pulse),
+                counter.total
+            ));
+        }
+
+        for (var counter : active) {
+            counter.second = 0;
+            counter.maxPerPulse = 0;
+        }
+
+        lastReportEmpty = hotSpots.isEmpty();
+        eventBus.fire(new LayoutHotSpotsEvent(eventSource, Collections.unmodifiableList(hotSpots)));
+
+        // one more report, so that the client's list is cleared when the invalidations stop
+        if (!lastReportEmpty && reportTask == null) {
+            scheduleReport();
+        }
+    }
+
+    ///////////////////////////////////////////////////////////////////////////
+
+    private static final class Counter {
+
+        private final Parent parent;
+        private int pulse;
+        private int second;
+        private int maxPerPulse;
+        private long total;
+
+        private Counter(Parent parent) {
+            this.parent = parent;
+        }
+    }
+}
@@ -3,6 +3,7 @@ package devtoolsfx.connector;
 import devtoolsfx.event.EventBus;
 import devtoolsfx.event.EventSource;
 import devtoolsfx.event.ExceptionEvent;
+import devtoolsfx.event.PerformanceEntriesEvent;
 import devtoolsfx.event.WindowClosedEvent;
 import devtoolsfx.scenegraph.Element;
 import devtoolsfx.scenegraph.WindowProperties;
@@ -25,6 +26,10 @@ import java.net.URI;
 import java.nio.file.Files;
 import java.nio.file.Paths;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static java.util.concurrent.CompletableFuture.completedFuture;
 
 /**
  * Implements the {@link Connector} interface for local (this JVM process) nodes.
@@ -34,13 +39,25 @@ import java.util.*;
 public final class LocalConnector implements Connector {
 
     private static final Logger LOGGER = System.getLogger(LocalConnector.class.getName());
+    private static final int PERFORMANCE_DRAIN_INTERVAL = 250;
 
     private final String application;
     private final ConnectorOptions opts;
     private final EventBus eventBus = new EventBus();
     private final Env env = new LocalEnv();
 
-    private final Map<Integer, WindowMonitor> monitors = new HashMap<>();
+    // concurrent, because the MXBean reads it from the JMX thread
+    private final Map<Integer, WindowMonitor> monitors = new ConcurrentHashMap<>();
+    // pulses are global, so there's one recorder for all windows
+    private final PulseRecorder pulseRecorder = new PulseRecorder();
+    private final InputLatencyTracker inputLatencyTracker = new InputLatencyTracker();
+    private final FxScheduler scheduler = new FxScheduler();
+    private final StallWatchdog stallWatchdog;
+    private final FxThreadProfiler profiler;
+    private final TimelineRecorder timelineRecorder;
+    private final Runnable performanceDrain;
+    private final ConnectorMetrics metrics;
+    private final MetricsHttpServer metricsServer;
 
     private final ListChangeListener<Window> windowListChangeListener = this::onWindowListChanged;
     private final ReadOnlyBooleanWrapper started = new ReadOnlyBooleanWrapper();
@@ -76,7 +93,20 @@ public final class LocalConnector implements Connector {
         this.application = Objects.requireNonNullElse(application, "app-" + primaryStage.hashCode());
         this.opts = Objects.requireNonNullElse(opts, new ConnectorOptions());
 
-        monitors.put(uidOf(primaryStage), createMonitor(primaryStage, application, true));
+        var primaryMonitor = createMonitor(primaryStage, application, true);
+        monitors.put(uidOf(primaryStage), primaryMonitor);
+
+        // the FX thread is shared by all windows, so stalls are reported on behalf of the primary stage
+        stallWatchdog = new StallWatchdog(eventBus, primaryMonitor.getEventSource(), this.opts.getStallThreshold());
+        profiler = new FxThreadProfiler(this.opts.getProfilerSampleRate());
+        timelineRecorder = new TimelineRecorder(eventBus, primaryMonitor.getEventSource());
+        timelineRecorder.attach(primaryStage);
+
+        performanceDrain = () -> drainPerformanceEntries(primaryMonitor.getEventSource());
+        eventBus.setOnSubscribersChanged(this::togglePerformance);
+
+        metrics = new ConnectorMetrics(eventBus, monitors.values(), pulseRecorder, this.application);
+        metricsServer = new MetricsHttpServer(metrics, this.application);
 
         this.opts.inspectModeProperty().addListener((obs, old, val) -> {
             if (!val) {
@@ -84,14 +114,30 @@ public final class LocalConnector implements Connector {
                 new ArrayList<>(monitors.values()).forEach(monitor -> monitor.setInspectMode(false));
             }
         });
+        this.opts.pulseRecordingProperty().addListener((obs, old, val) -> togglePulseRecording());
+        this.opts.pulseOverlayProperty().addListener((obs, old, val) -> togglePulseRecording());
+        this.opts.stallDetectionProperty().addListener((obs, old, val) -> toggleStallDetection());
+        this.opts.jmxEnabledProperty().addListener((obs, old, val) -> toggleMetrics());
+        this.opts.metricsPortProperty().addListener((obs, old, val) -> toggleMetrics());
+        this.opts.stallThresholdProperty().addListener(
+            (obs, old, val) -> stallWatchdog.setThreshold(val.intValue())
+        );
+        this.opts.profilerSampleRateProperty().addListener(
+            (obs, old, val) -> profiler.setSampleRate(val.intValue())
+        );
     }
 
     @Override
     public void start() {
         started.set(true);
 
+        scheduler.start();
         monitors.forEach((hash, monitor) -> monitor.start());
         Window.getWindows().addListener(windowListChangeListener);
+        togglePulseRecording();
+        toggleStallDetection();
+        togglePerformance();
+        toggleMetrics();
         LOGGER.log(Level.INFO, "LocalConnector started");
     }
 
@@ -101,6 +147,13 @@ public final class LocalConnector implements Connector {
 
         monitors.forEach((hash, monitor) -> monitor.stop());
         Window.getWindows().removeListener(windowListChangeListener);
+        togglePulseRecording();
+        toggleStallDetection();
+        profiler.stop();
+        timelineRecorder.stop();
+        togglePerformance();
+        toggleMetrics();
+        scheduler.stop();
         LOGGER.log(Level.INFO, "LocalConnector stopped");
     }
 
@@ -115,8 +168,8 @@ public final class LocalConnector implements Connector {
     }
 
     @Override
-    public List<EventSource> getEventSources() {
-        return monitors.values().stream().map(WindowMonitor::getEventSource).toList();
+    public CompletableFuture<List<EventSource>> getEventSources() {
+        return completedFuture(monitors.values().stream().map(WindowMonitor::getEventSource).toList());
     }
 
     @Override
@@ -177,36 +230,134 @@ public final class LocalConnector implements Connector {
     }
 
     @Override
-    public void hideWindow(int uid) {
+    public void setActiveAttributeCategories(int uid, Set<AttributeCategory> categories) {
         var monitor = monitors.get(uid);
         if (monitor != null) {
-            monitor.hideWindow();
+            monitor.setActiveAttributeCategories(categories);
+        } else {
+            LOGGER.log(Level.WARNING, "Unable to set attribute categories: unknown window UID");
+        }
+    }
+
+    @Override
+    public CompletableFuture<@Nullable String> getAttributeValue(int uid, AttributeCategory category, String attribute) {
+        var monitor = monitors.get(uid);
+        return completedFuture(monitor != null ? monitor.getAttributeValue(category, attribute) : null);
+    }
+
+    @Override
+    public CompletableFuture<Boolean> watchAttribute(int uid, Element element, String property) {
+        var monitor = monitors.get(uid);
+        if (monitor != null && element.isNodeElement()) {
+            var node = element instanceof LocalElement local ? local.unwrap() : monitor.findNode(element.getUID());
+            if (node != null) {
+                return completedFuture(monitor.watchAttribute(node, property));
+            } else {
+                LOGGER.log(Level.WARNING, "Unable to watch attribute: unknown node");
+            }
+        } else {
+            LOGGER.log(Level.WARNING, "Unable to watch attribute: unknown window UID");
+        }
+        return completedFuture(false);
+    }
+
+    @Override
+    public void unwatchAttribute(int uid, Element element, String property) {
+        var monitor = monitors.get(uid);
+        if (monitor != null && element.isNodeElement()) {
+            var node = element instanceof LocalElement local ? local.unwrap() : monitor.findNode(element.getUID());
+            if (node != null) {
+                monitor.unwatchAttribute(node, property);
+            }
+        }
+    }
+
+    @Override
+    public CompletableFuture<PulseMetrics> getPulseMetrics() {
+        return completedFuture(pulseRecorder.getMetrics());
+    }
+
+    @Override
+    public void resetPulseMetrics() {
+        pulseRecorder.reset();
+    }
+
+    @Override
+    public CompletableFuture<InputLatencyReport> getInputLatencyReport() {
+        return completedFuture(inputLatencyTracker.getReport());
+    }
+
+    @Override
+    public void resetInputLatency() {
+        inputLatencyTracker.reset();
+    }
+
+    @Override
+    public void startProfiling() {
+        if (started.get()) {
+            profiler.start();
+        } else {
+            LOGGER.log(Level.WARNING, "Unable to start profiling: connector is not started");
+        }
+    }
+
+    @Override
+    public void stopProfiling() {
+        profiler.stop();
+    }
+
+    @Override
+    public void resetProfiling() {
+        profiler.reset();
+    }
+
+    @Override
+    public CompletableFuture<ProfileNode> getProfile() {
+        return completedFuture(profiler.getProfile());
+    }
+
+    @Override
+    public void startTimelineRecording() {
+        if (started.get()) {
+            timelineRecorder.start();
+        } else {
+            LOGGER.log(Level.WARNING, "Unable to start timeline recording: connector is not started");
         }
     }
 
     @Override
-    public Map.@Nullable Entry<WindowProperties, List<Element>> getStyledElements(int uid) {
+    public void stopTimelineRecording() {
+        timelineRecorder.stop();
+    }
+
+    @Override
+    public void hideWindow(int uid) {
         var monitor = monitors.get(uid);
         if (monitor != null) {
-            return monitor.getStyledElements();
+            monitor.hideWindow();
         }
-        return null;
     }
 
     @Override
-    public String getUserAgentStylesheet() {
+    public CompletableFuture<Map.@Nullable Entry<WindowProperties, List<Element>>> getStyledElements(int uid) {
+        var monitor = monitors.get(uid);
+        return completedFuture(monitor != null ? monitor.getStyledElements() : null);
+    }
+
+    @Override
+    public CompletableFuture<String> getUserAgentStylesheet() {
         var uas = Application.getUserAgentStylesheet();
         // not optimal, but there's no API to obtain platform's UA stylesheets URLs,
         // for the reference, they're in the StyleManager#platformUserAgentStylesheetContainers
-        return Objects.requireNonNullElse(uas, Application.STYLESHEET_MODENA);
+        return completedFuture(Objects.requireNonNullElse(uas, Application.STYLESHEET_MODENA));
     }
 
     @Override
-    public @Nullable String getResource(int uid, String uri) {
+    public CompletableFuture<@Nullable String> getResource(int uid, String uri) {
         // security check to avoid reading an arbitrary file
         var monitor = monitors.get(uid);
         if (monitor == null || !monitor.containsStylesheet(uri)) {
-            return null;
+            return completedFuture(null);
         }
 
         String content = null;
@@ -218,16 +369,16 @@ public final class LocalConnector implements Connector {
             eventBus.fire(ExceptionEvent.of(monitor.getEventSource(), e));
         }
 
-        return content;
+        return completedFuture(content);
     }
 
     @Override
-    public @Nullable String getDeclaringClass(String canonicalName, String property) {
+    public CompletableFuture<@Nullable String> getDeclaringClass(String canonicalName, String property) {
         try {
             Class<?> cls = getDeclaringClass(Class.forName(canonicalName), property);
-            return cls != null ? cls.getCanonicalName() : null;
+            return completedFuture(cls != null ? cls.getCanonicalName() : null);
         } catch (ClassNotFoundException e) {
-            return null;
+            return completedFuture(null);
         }
     }
 
@@ -265,7 +416,90 @@ public final class LocalConnector implements Connector {
         }
 
         var eventSource = new EventSource(app, uid, isPrimaryStage);
-        return new WindowMonitor(window, opts, eventBus, eventSource);
+        return new WindowMonitor(window, opts, eventBus, eventSource, pulseRecorder, inputLatencyTracker, scheduler);
+    }
+
+    /**
+     * Starts or stops the pulse recorder depending on the connector state and options.
+     */
+    private void togglePulseRecording() {
+        if (started.get() && (opts.isPulseRecording() || opts.isPulseOverlay())) {
+            pulseRecorder.start();
+        } else {
+            pulseRecorder.stop();
+        }
+    }
+
+    /**
+     * Enables or disables the performance entries recording depending on the connector state
+     * and whether anyone subscribes to {@link PerformanceEntriesEvent}.
+     */
+    private void togglePerformance() {
+        boolean enabled = started.get() && eventBus.hasSubscribers(PerformanceEntriesEvent.class);
+        if (enabled == Performance.isEnabled()) {
+            return;
+        }
+
+        if (enabled) {
+            // the drain is scheduled on demand, so it doesn't keep the FX pulse running
+            Performance.enable(() -> scheduler.schedule(performanceDrain, PERFORMANCE_DRAIN_INTERVAL));
+        } else {
+            Performance.disable();
+        }
+    }
+
+    /**
+     * Reports the performance entries recorded since the previous call, see {@link Performance}.
+     */
+    private void drainPerformanceEntries(EventSource eventSource) {
+        if (!Performance.isEnabled()) {
+            return;
+        }
+
+        Performance.drainStarted();
+        var entries = new ArrayList<PerformanceEntry>();
+        long dropped = Performance.getBuffer().drain(entries);
+        if (!entries.isEmpty() || dropped > 0) {
+            eventBus.fire(new PerformanceEntriesEvent(eventSource, Collections.unmodifiableList(entries), dropped));
+        }
+    }
+
+    /**
+     * Starts or stops the stall watchdog depending on the connector state and options.
+     */
+    private void toggleStallDetection() {
+        if (started.get() && opts.isStallDetection()) {
+            stallWatchdog.start();
+        } else {
+            stallWatchdog.stop();
+        }
+    }
+
+    /**
+     * Starts or stops the metrics exporters, the connector MXBean and the HTTP server,
+     * depending on the connector state and options.
+     */
+    private void toggleMetrics() {
+        boolean jmx = started.get() && opts.isJmxEnabled();
+        boolean http = started.get() && opts.getMetricsPort() > 0;
+
+        if (jmx || http) {
+            metrics.start();
+        } else {
+            metrics.stop();
+        }
+
+        if (jmx) {
+            metrics.register();
+        } else {
+            metrics.unregister();
+        }
+
+        if (http) {
+            metricsServer.start(opts.getMetricsPort());
+        } else {
+            metricsServer.stop();
+        }
     }
 
     /**
@@ -317,6 +551,7 @@ public final class LocalConnector implements Connector {
 
         monitors.put(uid, monitor);
         monitor.start();
+        timelineRecorder.attach(window);
     }
 
     // package-private for unit tests
@@ -326,6 +561,7 @@ public final class LocalConnector implements Connector {
         if (monitor != null) {
             monitor.stop();
             monitors.remove(uid);
+            timelineRecorder.detach(window);
             eventBus.fire(new WindowClosedEvent(monitor.getEventSource()));
         }
     }
@@ -10,37 +10,43 @@ import org.jspecify.annotations.Nullable;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 import java.util.stream.Stream;
 
+import static java.util.concurrent.CompletableFuture.completedFuture;
+
 @NullMarked
 public final class LocalEnv implements Env {
 
     @Override
-    public List<KeyValue> getSystemProperties() {
-        return System.getProperties().entrySet().stream()
+    public CompletableFuture<List<KeyValue>> getSystemProperties() {
+        return completedFuture(System.getProperties().entrySet().stream()
             .map(KeyValue::of)
-            .toList();
+            .toList()
+        );
     }
 
     @Override
-    public List<KeyValue> getEnvVariables() {
-        return System.getenv().entrySet().stream()
+    public CompletableFuture<List<KeyValue>> getEnvVariables() {
+        return completedFuture(System.getenv().entrySet().stream()
             .map(KeyValue::of)
-            .toList();
+            .toList()
+        );
     }
 
     @Override
-    public List<KeyValue> getConditionalFeatures() {
-        return Arrays.stream(ConditionalFeature.values())
+    public CompletableFuture<List<KeyValue>> getConditionalFeatures() {
+        return completedFuture(Arrays.stream(ConditionalFeature.values())
             .map(cf -> new KeyValue(
                 "ConditionalFeature." + cf.toString(),
                 String.valueOf(Platform.isSupported(cf)))
             )
-            .toList();
+            .toList()
+        );
     }
 
     @Override
-    public List<KeyValue> getPlatformPreferences() {
+    public CompletableFuture<List<KeyValue>> getPlatformPreferences() {
         var preferences = Platform.getPreferences();
 
         var staticPreferences = Stream.of(
@@ -58,17 +64,17 @@ public final class LocalEnv implements Env {
             return KeyValue.of(entry);
         });
 
-        return Stream.concat(staticPreferences, uiPreferences).toList();
+        return completedFuture(Stream.concat(staticPreferences, uiPreferences).toList());
     }
 
     @Override
-    public List<KeyValue> getOtherPlatformProperties() {
-        return List.of(
+    public CompletableFuture<List<KeyValue>> getOtherPlatformProperties() {
+        return completedFuture(List.of(
             new KeyValue("accessibilityActive", String.valueOf(Platform.isAccessibilityActive())),
             new KeyValue("implicitExit", String.valueOf(Platform.isImplicitExit())),
             new KeyValue("keyLocked.CAPS", unwrap(Platform.isKeyLocked(KeyCode.CAPS))),
             new KeyValue("keyLocked.NUM_LOCK", unwrap(Platform.isKeyLocked(KeyCode.NUM_LOCK)))
-        );
+        ));
     }
 
     @SuppressWarnings("OptionalUsedAsFieldOrParameterType")
@@ -0,0 +1,206 @@
+package devtoolsfx.connector;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.jspecify.annotations.NullMarked;
+import org.jspecify.annotations.Nullable;
+
+import java.io.IOException;
+import java.lang.System.Logger;
+import java.lang.System.Logger.Level;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Serves the connector metrics in the OpenMetrics text format, so they can be scraped by
+ * Prometheus or any compatible agent, see {@link ConnectorOptions#getMetricsPort()}.
+ * The server is bound to the loopback address only. Each request renders the counters
+ * that are already aggregated by the {@link ConnectorMetrics}, it neither takes locks
+ * nor traverses the scene graph, and it doesn't touch the FX thread at all.
+ */
+@NullMarked
+final class MetricsHttpServer {
+
+    private static final Logger LOGGER = System.getLogger(MetricsHttpServer.class.getName());
+
+    static final String PATH = "/metrics";
+    static final String CONTENT_TYPE = "application/openmetrics-text; version=1.0.0; charset=utf-8";
+    static final String PREFIX = "devtoolsfx_";
+
+    private final ConnectorMetrics metrics;
+    private final String application;
+
+    private @Nullable HttpServer server;
+    private @Nullable ExecutorService executor;
+
+    MetricsHttpServer(ConnectorMetrics metrics, String application) {
+        this.metrics = metrics;
+        this.application = application;
+    }
+
+    /**
+     * Starts the server on the given port, or restarts it if the port has changed.
+     */
+    void start(int port) {
+        if (server != null && server.getAddress().getPort() == port) {
+            return;
+        }
+        stop();
+
+        try {
+            executor = Executors.newSingleThreadExecutor(r -> {
+                var thread = new Thread(r, "devtoolsfx-metrics-http");
+                thread.setDaemon(true);
+                return thread;
+            });
+
+            var httpServer = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 0);
+            httpServer.createContext(PATH, this::handle);
+            httpServer.setExecutor(executor);
+            server = httpServer;
+
+            // the dispatcher thread inherits the daemon flag, so it won't prevent the app from exiting
+            executor.submit(httpServer::start).get();
+            LOGGER.log(Level.INFO, "Serving connector metrics at http://localhost:" + port + PATH);
+        } catch (IOException | ExecutionException e) {
+            LOGGER.log(Level.WARNING, "Unable to start metrics server on port " + port + ": " + e.getMessage());
+            stop();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            stop();
+        }
+    }
+
+    /**
+     * Stops the server, if it's running.
+     */
+    void stop() {
+        if (server != null) {
+            server.stop(0);
+            server = null;
+        }
+        if (executor != null) {
+            executor.shutdown();
+            executor = null;
+        }
+    }
+
+    boolean isRunning() {
+        return server != null;
+    }
+
+    /**
+     * Renders all connector metrics in the OpenMetrics text format.
+     */
+    String render() {
+        var sb = new StringBuilder(2048);
+
+        writeHeader(sb, "connector", "info", "The connector information.");
+        sb.append(PREFIX).append("connector_info{application=");
+        writeLabelValue(sb, application);
+        sb.append("} 1\n");
+
+        writeHeader(sb, "windows", "gauge", "The number of the monitored windows.");
+        writeSample(sb, "windows", null, null, metrics.getWindowCount());
+
+        writeHeader(sb, "nodes", "gauge", "The number of the monitored scene graph nodes.");
+        for (var monitor : metrics.getMonitors()) {
+            writeSample(sb, "nodes", "window", monitor.getEventSource().toLogString(), monitor.getNodeCount());
+        }
+
+        writeHeader(sb, "listeners", "gauge", "The number of the listeners installed into the scene graph.");
+        for (var monitor : metrics.getMonitors()) {
+            writeSample(sb, "listeners", "window", monitor.getEventSource().toLogString(), monitor.getListenerCount());
+        }
+
+        writeHeader(sb, "events", "counter", "The number of the connector events.");
+        metrics.forEachEventCount((type, count) -> writeSample(sb, "events_total", "type", type, count));
+
+        writeHeader(sb, "dropped_entries", "counter", "The number of the dropped performance entries.");
+        writeSample(sb, "dropped_entries_total", null, null, metrics.getDroppedEventCount());
+
+        writeHeader(sb, "stalls", "counter", "The number of the FX application thread stalls.");
+        writeSample(sb, "stalls_total", null, null, metrics.getStallCount());
+
+        writeHeader(sb, "last_stall_duration_seconds", "gauge", "The duration of the last stall.");
+        sb.append("# UNIT ").append(PREFIX).append("last_stall_duration_seconds seconds\n");
+        writeSample(sb, "last_stall_duration_seconds", null, null, metrics.getLastStallDuration() / 1_000d);
+
+        writeHistogram(sb, "pulse_interval_seconds", "The intervals between pulses.",
+            metrics.getPulseRecorder().getExportHistogram()
+        );
+
+        sb.append("# EOF\n");
+        return sb.toString();
+    }
+
+    ///////////////////////////////////////////////////////////////////////////
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            if (!"GET".equals(exchange.getRequestMethod())) {
+                exchange.sendResponseHeaders(405, -1);
+                return;
+            }
+
+            byte[] body = render().getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().set("Content-Type", CONTENT_TYPE);
+            exchange.sendResponseHeaders(200, body.length);
+            exchange.getResponseBody().write(body);
+        }
+    }
+
+    private static void writeHistogram(StringBuilder sb, String name, String help, BucketHistogram histogram) {
+        writeHeader(sb, name, "histogram", help);
+        sb.append("# UNIT ").append(PREFIX).append(name).append(" seconds\n");
+
+        // the buckets are cumulative in the exposition format
+        long count = 0;
+        for (int i = 0; i < histogram.getBucketCount(); i++) {
+            count += histogram.getCount(i);
+            long bound = histogram.getUpperBound(i);
+            writeSample(sb, name + "_bucket", "le",
+                bound == Long.MAX_VALUE ? "+Inf" : String.valueOf(bound / 1_000_000d), count
+            );
+        }
+        writeSample(sb, name + "_count", null, null, count);
+        writeSample(sb, name + "_sum", null, null, histogram.getSum() / 1_000_000d);
+    }
+
+    private static void writeHeader(StringBuilder sb, String name, String type, String help) {
+        sb.append("# TYPE ").append(PREFIX).append(name).append(' ').append(type).append('\n');
+        sb.append("# HELP ").append(PREFIX).append(name).append(' ').append(help).append('\n');
+    }
+
+    private static void writeSample(StringBuilder sb,
+                                    String name,
+                                    @Nullable String label,
+                                    @Nullable String labelValue,
+                                    Number value) {
+        sb.append(PREFIX).append(name);
+        if (label != null && labelValue != null) {
+            sb.append('{').append(label).append('=');
+            writeLabelValue(sb, labelValue);
+            sb.append('}');
+        }
+        sb.append(' ').append(value).append('\n');
+    }
+
+    private static void writeLabelValue(StringBuilder sb, String value) {
+        sb.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"' -> sb.append("\\\"");
+                case '\\' -> sb.append("\\\\");
+                case '\n' -> sb.append("\\n");
+                default -> sb.append(c);
+            }
+        }
+        sb.append('"');
+    }
+}
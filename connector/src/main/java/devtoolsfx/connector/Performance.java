@@ -0,0 +1,148 @@
+package devtoolsfx.connector;
+
+import devtoolsfx.event.PerformanceEntriesEvent;
+import org.jspecify.annotations.NullMarked;
+import org.jspecify.annotations.Nullable;
+
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * The application performance marks and measures API, similar to the browser
+ * {@code performance.mark()} and {@code performance.measure()}. It allows annotating
+ * the expensive operations, e.g. loading a table or recomputing a chart:
+ *
+ * <pre>{@code
+ * Performance.mark("load-grid");
+ * loadGrid();
+ * Performance.measure("load grid", "load-grid");
+ * }</pre>
+ *
+ * <p>The entries are recorded into the lock-free buffer, so all methods can be called
+ * from any thread. The first entry recorded since the previous drain schedules the next one,
+ * so the running {@link LocalConnector} drains the buffer shortly after the entries appear
+ * and reports them via {@link PerformanceEntriesEvent}. The recording is only enabled while
+ * the connector is running and someone subscribes to these events, otherwise all methods
+ * return immediately after a single volatile read.
+ */
+@NullMarked
+public final class Performance {
+
+    static final int BUFFER_CAPACITY = 4096;
+
+    private static final PerformanceBuffer BUFFER = new PerformanceBuffer(BUFFER_CAPACITY);
+    private static final Map<String, Long> MARKS = new ConcurrentHashMap<>();
+    private static final AtomicBoolean DRAIN_PENDING = new AtomicBoolean();
+    private static volatile boolean enabled;
+    private static volatile @Nullable Runnable drainScheduler;
+
+    private Performance() {
+        // static API
+    }
+
+    /**
+     * Returns true if the entries are recorded, i.e. there's a running connector.
+     */
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Records the named timestamp. The mark can be used later as the start of a measure,
+     * see {@link #measure(String, String)}.
+     */
+    public static void mark(String name) {
+        if (!enabled) {
+            return;
+        }
+
+        Objects.requireNonNull(name, "name must not be null");
+        long now = System.nanoTime();
+        MARKS.put(name, now);
+        BUFFER.offer(PerformanceEntry.Type.MARK, name, Thread.currentThread().getName(), now, 0);
+        requestDrain();
+    }
+
+    /**
+     * Records the named span from the given mark until now. Does nothing
+     * if the mark doesn't exist.
+     */
+    public static void measure(String name, String startMark) {
+        if (!enabled) {
+            return;
+        }
+
+        Objects.requireNonNull(name, "name must not be null");
+        Long startTime = MARKS.get(Objects.requireNonNull(startMark, "start mark must not be null"));
+        if (startTime != null) {
+            measure(name, startTime, System.nanoTime());
+        }
+    }
+
+    /**
+     * Records the named span with the given start and end times in nanoseconds,
+     * as returned by {@link System#nanoTime()}.
+     */
+    public static void measure(String name, long startTime, long endTime) {
+        if (!enabled) {
+            return;
+        }
+
+        Objects.requireNonNull(name, "name must not be null");
+        BUFFER.offer(
+            PerformanceEntry.Type.MEASURE, name, Thread.currentThread().getName(),
+            startTime, Math.max(0, endTime - startTime)
+        );
+        requestDrain();
+    }
+
+    /**
+     * Removes all marks.
+     */
+    public static void clearMarks() {
+        MARKS.clear();
+    }
+
+    ///////////////////////////////////////////////////////////////////////////
+
+    /**
+     * Enables recording. The scheduler is called once the first entry is recorded since
+     * the previous drain, it must drain the buffer after {@link #drainStarted()} later on.
+     */
+    static void enable(Runnable drainScheduler) {
+        Performance.drainScheduler = Objects.requireNonNull(drainScheduler);
+        DRAIN_PENDING.set(false);
+        enabled = true;
+    }
+
+    static void disable() {
+        enabled = false;
+        drainScheduler = null;
+        MARKS.clear();
+        BUFFER.clear();
+    }
+
+    /**
+     * Must be called before draining the buffer, so that the entries recorded
+     * meanwhile schedule the next drain.
+     */
+    static void drainStarted() {
+        DRAIN_PENDING.set(false);
+    }
+
+    private static void requestDrain() {
+        // the plain read first, so that the hot path doesn't contend on the flag
+        if (!DRAIN_PENDING.get() && DRAIN_PENDING.compareAndSet(false, true)) {
+            var scheduler = drainScheduler;
+            if (scheduler != null) {
+                scheduler.run();
+            }
+        }
+    }
+
+    static PerformanceBuffer getBuffer() {
+        return BUFFER;
+    }
+}
@@ -0,0 +1,112 @@
+package devtoolsfx.connector;
+
+import org.jspecify.annotations.NullMarked;
+
+import java.lang.invoke.VarHandle;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * The lock-free multi-producer, single-consumer ring buffer of {@link PerformanceEntry}
+ * fields. Producers claim a slot by incrementing the shared counter and publish it by
+ * writing the slot sequence. If producers lap the consumer, the oldest entries are
+ * overwritten and counted as dropped. Each slot is guarded by its sequence like a
+ * seqlock, so the consumer never reads a half-written entry.
+ */
+@NullMarked
+final class PerformanceBuffer {
+
+    private static final long WRITING = -1;
+
+    private final int capacity;
+    private final int mask;
+    private final AtomicLong head = new AtomicLong();
+    private final AtomicLong dropped = new AtomicLong();
+    // the slot sequence + 1 when published, WRITING while being written
+    private final AtomicLongArray published;
+
+    private final PerformanceEntry.Type[] types;
+    private final String[] names;
+    private final String[] threads;
+    private final long[] startTimes;
+    private final long[] durations;
+
+    private long tail; // consumer only
+
+    /**
+     * Creates the buffer with the given capacity, rounded up to the power of two.
+     */
+    PerformanceBuffer(int capacity) {
+        this.capacity = Integer.highestOneBit(Math.max(2, capacity - 1)) << 1;
+        this.mask = this.capacity - 1;
+        this.published = new AtomicLongArray(this.capacity);
+        this.types = new PerformanceEntry.Type[this.capacity];
+        this.names = new String[this.capacity];
+        this.threads = new String[this.capacity];
+        this.startTimes = new long[this.capacity];
+        this.durations = new long[this.capacity];
+    }
+
+    /**
+     * Appends the entry. Can be called from any thread.
+     */
+    void offer(PerformanceEntry.Type type, String name, String thread, long startTime, long duration) {
+        long seq = head.getAndIncrement();
+        int i = (int) (seq & mask);
+
+        published.set(i, WRITING);
+        VarHandle.storeStoreFence();
+
+        types[i] = type;
+        names[i] = name;
+        threads[i] = thread;
+        startTimes[i] = startTime;
+        durations[i] = duration;
+
+        published.set(i, seq + 1);
+    }
+
+    /**
+     * Moves all published entries to the given list. Must only be called from one thread.
+     * Returns the number of entries dropped since the previous call.
+     */
+    long drain(List<PerformanceEntry> dest) {
+        long h = head.get();
+        if (h - tail > capacity) {
+            dropped.addAndGet(h - tail - capacity);
+            tail = h - capacity;
+        }
+
+        while (tail < h) {
+            int i = (int) (tail & mask);
+
+            long before = published.get(i);
+            if (before == WRITING || before < tail + 1) {
+                // not published yet, try on the next drain
+                break;
+            }
+
+            var entry = new PerformanceEntry(types[i], names[i], threads[i], startTimes[i], durations[i]);
+            VarHandle.loadLoadFence();
+
+            // overwritten by a producer that lapped the consumer
+            if (before != tail + 1 || published.get(i) != before) {
+                dropped.incrementAndGet();
+            } else {
+                dest.add(entry);
+            }
+            tail++;
+        }
+
+        return dropped.getAndSet(0);
+    }
+
+    /**
+     * Discards all entries. Must only be called from the consumer thread.
+     */
+    void clear() {
+        tail = head.get();
+        dropped.set(0);
+    }
+}
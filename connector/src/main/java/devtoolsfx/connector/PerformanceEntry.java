@@ -0,0 +1,24 @@
+package devtoolsfx.connector;
+
+import org.jspecify.annotations.NullMarked;
+
+/**
+ * Represents the application performance mark or measure, see {@link Performance}.
+ *
+ * @param type      the entry type
+ * @param name      the entry name
+ * @param thread    the name of the thread that recorded the entry
+ * @param startTime the start time in nanoseconds, as returned by {@link System#nanoTime()}
+ * @param duration  the duration in nanoseconds, always zero for marks
+ */
+@NullMarked
+public record PerformanceEntry(Type type,
+                               String name,
+                               String thread,
+                               long startTime,
+                               long duration) {
+
+    public enum Type {
+        MARK, MEASURE
+    }
+}
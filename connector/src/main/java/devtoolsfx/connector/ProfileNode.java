@@ -0,0 +1,20 @@
+package devtoolsfx.connector;
+
+import org.jspecify.annotations.NullMarked;
+
+import java.util.List;
+
+/**
+ * Represents a node of the sampled call tree, see {@link Connector#getProfile()}.
+ *
+ * @param frame    the method name, including the declaring class name
+ * @param total    the number of samples that contain this call path
+ * @param self     the number of samples where this method was on the top of the stack
+ * @param children the callees ranked by the number of samples in descending order
+ */
+@NullMarked
+public record ProfileNode(String frame,
+                          int total,
+                          int self,
+                          List<ProfileNode> children) {
+}
@@ -0,0 +1,32 @@
+package devtoolsfx.connector;
+
+import org.jspecify.annotations.NullMarked;
+
+/**
+ * Contains the pulse (frame) timing statistics since the recording started or was reset.
+ * All durations are the intervals between consecutive pulses in milliseconds.
+ *
+ * @param pulseCount    the number of recorded pulses
+ * @param droppedFrames the number of frames missed, based on the 60 FPS frame budget
+ * @param p50           the median interval
+ * @param p95           the 95th percentile interval
+ * @param p99           the 99th percentile interval
+ * @param max           the longest interval
+ * @param fps           the frame rate based on the median interval
+ */
+@NullMarked
+public record PulseMetrics(long pulseCount,
+                           long droppedFrames,
+                           double p50,
+                           double p95,
+                           double p99,
+                           double max,
+                           double fps) {
+
+    /**
+     * Returns empty {@link PulseMetrics}, e.g. when the recording is disabled.
+     */
+    public static PulseMetrics empty() {
+        return new PulseMetrics(0, 0, 0, 0, 0, 0, 0);
+    }
+}
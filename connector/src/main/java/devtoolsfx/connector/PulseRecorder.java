@@ -0,0 +1,174 @@
+package devtoolsfx.connector;
+
+import javafx.animation.AnimationTimer;
+import org.jspecify.annotations.NullMarked;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Records the intervals between consecutive pulses into the {@link LatencyHistogram}.
+ * Pulses are global to the JavaFX toolkit, so there's one recorder for all monitored
+ * windows. It doesn't allocate per pulse, so it can be used in production builds.
+ * Note that a running {@link AnimationTimer} makes the toolkit pulse continuously,
+ * even if nothing changes, that's why the recording is disabled by default.
+ */
+@NullMarked
+final class PulseRecorder {
+
+    // 60 FPS
+    static final long FRAME_BUDGET_NANOS = 16_666_667;
+    static final long OVERLAY_UPDATE_NANOS = 500_000_000;
+    static final long PUBLISH_INTERVAL_NANOS = 1_000_000_000;
+    // the export buckets in microseconds, around the 60 and 30 FPS frame budgets
+    static final long[] EXPORT_BUCKETS = {
+        8_000, 16_667, 20_000, 33_333, 50_000, 100_000, 250_000, 500_000, 1_000_000
+    };
+
+    private final LatencyHistogram histogram = new LatencyHistogram(); // microseconds
+    private final BucketHistogram exportHistogram = new BucketHistogram(EXPORT_BUCKETS); // microseconds
+    private final List<FpsOverlay> overlays = new ArrayList<>();
+    private final AnimationTimer timer = new AnimationTimer() {
+        @Override
+        public void handle(long now) {
+            onPulse(now);
+        }
+    };
+
+    private boolean running;
+    private long lastPulse;
+    private long droppedFrames;
+    // the immutable snapshot of the statistics for the JMX and HTTP threads
+    private volatile PulseMetrics publishedMetrics = PulseMetrics.empty();
+    private long metricsPublished;
+
+    // overlay statistics, they're reset on each overlay update
+    private long overlayUpdated;
+    private long overlayPulses;
+    private long overlayMaxInterval;
+
+    PulseRecorder() {
+        // pass
+    }
+
+    void start() {
+        if (!running) {
+            running = true;
+            lastPulse = 0;
+            overlayUpdated = 0;
+            metricsPublished = System.nanoTime();
+            timer.start();
+        }
+    }
+
+    void stop() {
+        if (running) {
+            running = false;
+            timer.stop();
+            publishedMetrics = getMetrics();
+        }
+    }
+
+    boolean isRunning() {
+        return running;
+    }
+
+    /**
+     * Returns the statistics since the recording started or was reset.
+     * Must be called from the FX thread, see {@link #getPublishedMetrics()}.
+     */
+    PulseMetrics getMetrics() {
+        long count = histogram.getTotalCount();
+        if (count == 0) {
+            return PulseMetrics.empty();
+        }
+
+        double p50 = histogram.getValueAtPercentile(50) / 1_000d;
+        return new PulseMetrics(
+            count,
+            droppedFrames,
+            p50,
+            histogram.getValueAtPercentile(95) / 1_000d,
+            histogram.getValueAtPercentile(99) / 1_000d,
+            histogram.getMaxValue() / 1_000d,
+            p50 > 0 ? 1_000 / p50 : 0
+        );
+    }
+
+    /**
+     * Returns the statistics published by the FX thread at most a second ago.
+     * Unlike {@link #getMetrics()}, it's safe to call from any thread.
+     */
+    PulseMetrics getPublishedMetrics() {
+        return publishedMetrics;
+    }
+
+    /**
+     * Returns the pulse intervals histogram in microseconds. Unlike {@link #getMetrics()},
+     * it's cumulative, not affected by {@link #reset()}, and safe to read from any thread.
+     */
+    BucketHistogram getExportHistogram() {
+        return exportHistogram;
+    }
+
+    void reset() {
+        histogram.reset();
+        droppedFrames = 0;
+        publishedMetrics = PulseMetrics.empty();
+    }
+
+    void addOverlay(FpsOverlay overlay) {
+        if (!overlays.contains(overlay)) {
+            overlays.add(overlay);
+        }
+    }
+
+    void removeOverlay(FpsOverlay overlay) {
+        overlays.remove(overlay);
+    }
+
+    ///////////////////////////////////////////////////////////////////////////
+
+    private void onPulse(long now) {
+        if (lastPulse > 0) {
+            long interval = now - lastPulse;
+            histogram.record(interval / 1_000);
+            exportHistogram.record(interval / 1_000);
+
+            // e.g. 40 ms interval means that two frames were missed
+            long frames = (interval + FRAME_BUDGET_NANOS / 2) / FRAME_BUDGET_NANOS;
+            if (frames > 1) {
+                droppedFrames += frames - 1;
+            }
+
+            overlayPulses++;
+            overlayMaxInterval = Math.max(overlayMaxInterval, interval);
+        }
+        lastPulse = now;
+
+        if (now - metricsPublished >= PUBLISH_INTERVAL_NANOS) {
+            metricsPublished = now;
+            publishedMetrics = getMetrics();
+        }
+
+        if (overlayUpdated == 0) {
+            overlayUpdated = now;
+        } else if (now - overlayUpdated >= OVERLAY_UPDATE_NANOS) {
+            updateOverlays(now);
+        }
+    }
+
+    private void updateOverlays(long now) {
+        if (!overlays.isEmpty()) {
+            double fps = overlayPulses * 1_000_000_000d / (now - overlayUpdated);
+            double maxFrameTime = overlayMaxInterval / 1_000_000d;
+            for (var overlay : overlays) {
+                overlay.update(fps, maxFrameTime);
+            }
+        }
+
+        overlayUpdated = now;
+        overlayPulses = 0;
+        overlayMaxInterval = 0;
+    }
+}
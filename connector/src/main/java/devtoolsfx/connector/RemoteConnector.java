@@ -0,0 +1,1014 @@
+package devtoolsfx.connector;
+
+import devtoolsfx.connector.RemoteProtocol.Method;
+import devtoolsfx.event.*;
+import devtoolsfx.scenegraph.Element;
+import devtoolsfx.scenegraph.WindowProperties;
+import devtoolsfx.scenegraph.attributes.AttributeCategory;
+import javafx.application.Platform;
+import javafx.beans.InvalidationListener;
+import javafx.beans.property.ReadOnlyBooleanProperty;
+import javafx.beans.property.ReadOnlyBooleanWrapper;
+import org.jspecify.annotations.NullMarked;
+import org.jspecify.annotations.Nullable;
+
+import java.io.*;
+import java.lang.System.Logger;
+import java.lang.System.Logger.Level;
+import java.net.InetSocketAddress;
+import java.net.SocketAddress;
+import java.net.StandardProtocolFamily;
+import java.net.UnixDomainSocketAddress;
+import java.nio.channels.Channels;
+import java.nio.channels.SocketChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * The {@link Connector} implementation that controls the {@link LocalConnector} of another
+ * JVM process via the {@link ConnectorServer}, so that the dev tools GUI can run separately
+ * from the monitored application.
+ * <p>
+ * The requests never block the FX thread. The methods that return a value complete their
+ * future in the FX thread when the response is received. If the {@link #REQUEST_TIMEOUT}
+ * has passed or the connection is lost, the future is completed with an empty value, the same
+ * way the {@link LocalConnector} does when the target window doesn't exist.
+ * <p>
+ * The scene graph of each window is mirrored by the {@link SceneReplica}, which is updated
+ * by the deltas and converted back to the scene graph events. The replicas survive the
+ * reconnection, so that the unchanged windows aren't transferred again.
+ * <p>
+ * When the server runs on the same host, the frames it sends are received through
+ * the shared memory, see {@link SharedRingBuffer}, which falls back to the socket
+ * if the server is unable to map it.
+ */
+@NullMarked
+public final class RemoteConnector implements Connector {
+
+    private static final Logger LOGGER = System.getLogger(RemoteConnector.class.getName());
+
+    /**
+     * The maximum time to wait for the response, in milliseconds.
+     */
+    public static final int REQUEST_TIMEOUT = 5_000;
+
+    // the number of reconciliation attempts before requesting the full snapshot
+    private static final int MAX_SYNC_ATTEMPTS = 3;
+
+    private final SocketAddress address;
+    private final ConnectorOptions opts;
+    private final boolean sharedMemory;
+    private final @Nullable String token;
+    private final EventBus eventBus = new EventBus();
+    private final Env env = new RemoteEnv();
+
+    private final AtomicInteger nextRequestId = new AtomicInteger();
+    private final Map<Integer, CompletableFuture<WireInput>> pendingRequests = new ConcurrentHashMap<>();
+    private final InvalidationListener optionsListener = obs -> sendOptions();
+    private final ReadOnlyBooleanWrapper started = new ReadOnlyBooleanWrapper();
+    // the window replicas, they're only accessed from the FX thread
+    private final Map<Integer, SceneReplica> replicas = new HashMap<>();
+    // the windows whose replicas are being reconciled, their deltas are skipped meanwhile
+    private final Set<Integer> resyncing = new HashSet<>();
+
+    private @Nullable SocketChannel socket;
+    private @Nullable SharedRingBuffer ring;
+    // requests are encoded in the FX thread, the symbols are per session
+    private WireOutput buffer = new WireOutput(new WireDictionary());
+    private volatile WireCodec codec = new WireCodec(0);
+
+    /**
+     * See {@link RemoteConnector#(SocketAddress, ConnectorOptions)}.
+     */
+    public RemoteConnector(SocketAddress address) {
+        this(address, null);
+    }
+
+    /**
+     * See {@link RemoteConnector#(SocketAddress, ConnectorOptions, boolean)}.
+     */
+    public RemoteConnector(SocketAddress address, @Nullable ConnectorOptions opts) {
+        this(address, opts, true);
+    }
+
+    /**
+     * See {@link RemoteConnector#(SocketAddress, ConnectorOptions, boolean, String)}.
+     */
+    public RemoteConnector(SocketAddress address, @Nullable ConnectorOptions opts, boolean sharedMemory) {
+        this(address, opts, sharedMemory, null);
+    }
+
+    /**
+     * Creates a new connector. The connection is established when the connector starts.
+     *
+     * @param address      the {@link InetSocketAddress} or {@link UnixDomainSocketAddress} of the {@link ConnectorServer}
+     * @param opts         the connector options, which are transferred to the remote connector
+     * @param sharedMemory whether to receive the events through the shared memory, if the server is local
+     * @param token        the token of the server, if null, it's read from the
+     *                     {@link ConnectorServer#getTokenPath(SocketAddress)} file on each connection
+     */
+    public RemoteConnector(SocketAddress address,
+                           @Nullable ConnectorOptions opts,
+                           boolean sharedMemory,
+                           @Nullable String token) {
+        this.address = Objects.requireNonNull(address, "address must not be null");
+        this.opts = Objects.requireNonNullElse(opts, new ConnectorOptions());
+        this.sharedMemory = sharedMemory;
+        this.token = token;
+
+        for (var property : List.of(
+            this.opts.ignoreMouseTransparentProperty(),
+            this.opts.inspectModeProperty(),
+            this.opts.preventPopupAutoHideProperty(),
+            this.opts.preserveLazyPropertiesProperty(),
+            this.opts.layoutTrackingProperty(),
+            this.opts.pulseRecordingProperty(),
+            this.opts.pulseOverlayProperty(),
+            this.opts.stallDetectionProperty(),
+            this.opts.stallThresholdProperty(),
+            this.opts.inputLatencyTrackingProperty(),
+            this.opts.profilerSampleRateProperty(),
+            this.opts.maxAttributeValueLengthProperty(),
+            this.opts.slowAttributeThresholdProperty()
+        )) {
+            property.addListener(optionsListener);
+        }
+    }
+
+    @Override
+    public void start() {
+        if (started.get()) {
+            return;
+        }
+
+        try {
+            connect();
+        } catch (Exception e) {
+            LOGGER.log(Level.ERROR, "Unable to connect to " + address + ": " + e.getMessage());
+            disconnect();
+            return;
+        }
+
+        started.set(true);
+        sendOptions();
+        send(Method.START, out -> { });
+        LOGGER.log(Level.INFO, "RemoteConnector connected to " + address);
+    }
+
+    @Override
+    public void stop() {
+        if (!started.get()) {
+            return;
+        }
+
+        send(Method.STOP, out -> { });
+        disconnect();
+        LOGGER.log(Level.INFO, "RemoteConnector stopped");
+    }
+
+    @Override
+    public ReadOnlyBooleanProperty startedProperty() {
+        return started.getReadOnlyProperty();
+    }
+
+    @Override
+    public EventBus getEventBus() {
+        return eventBus;
+    }
+
+    @Override
+    public CompletableFuture<List<EventSource>> getEventSources() {
+        return call(Method.GET_EVENT_SOURCES, out -> { }, in -> {
+            int size = in.readVarInt();
+            var eventSources = new ArrayList<EventSource>(size);
+            for (int i = 0; i < size; i++) {
+                eventSources.add(codec.readEventSource(in));
+            }
+            return eventSources;
+        }, List.of());
+    }
+
+    @Override
+    public ConnectorOptions getOptions() {
+        return opts;
+    }
+
+    @Override
+    public Env getEnv() {
+        return env;
+    }
+
+    @Override
+    public void selectWindow(int uid) {
+        send(Method.SELECT_WINDOW, out -> out.writeInt(uid));
+    }
+
+    @Override
+    public void selectNode(int uid, Element element, @Nullable HighlightOptions opts) {
+        send(Method.SELECT_NODE, out -> {
+            out.writeInt(uid);
+            codec.writeElement(out, element, false);
+            codec.writeHighlightOptions(out, opts);
+        });
+    }
+
+    @Override
+    public void clearSelection(int uid) {
+        send(Method.CLEAR_SELECTION, out -> out.writeInt(uid));
+    }
+
+    @Override
+    public void reloadSelectedAttributes(int uid, @Nullable AttributeCategory category, @Nullable String property) {
+        send(Method.RELOAD_SELECTED_ATTRIBUTES, out -> {
+            out.writeInt(uid);
+            codec.writeNullableCategory(out, category);
+            out.writeSymbol(property);
+        });
+    }
+
+    @Override
+    public void setActiveAttributeCategories(int uid, Set<AttributeCategory> categories) {
+        send(Method.SET_ACTIVE_ATTRIBUTE_CATEGORIES, out -> {
+            out.writeInt(uid);
+            codec.writeCategories(out, categories);
+        });
+    }
+
+    @Override
+    public CompletableFuture<@Nullable String> getAttributeValue(int uid, AttributeCategory category, String attribute) {
+        return call(Method.GET_ATTRIBUTE_VALUE, out -> {
+            out.writeInt(uid);
+            out.writeVarInt(category.ordinal());
+            out.writeSymbol(attribute);
+        }, WireInput::readString, null);
+    }
+
+    @Override
+    public CompletableFuture<Boolean> watchAttribute(int uid, Element element, String property) {
+        return call(Method.WATCH_ATTRIBUTE, out -> {
+            out.writeInt(uid);
+            codec.writeElement(out, element, false);
+            out.writeSymbol(property);
+        }, WireInput::readBoolean, false);
+    }
+
+    @Override
+    public void unwatchAttribute(int uid, Element element, String property) {
+        send(Method.UNWATCH_ATTRIBUTE, out -> {
+            out.writeInt(uid);
+            codec.writeElement(out, element, false);
+            out.writeSymbol(property);
+        });
+    }
+
+    @Override
+    public CompletableFuture<PulseMetrics> getPulseMetrics() {
+        return call(Method.GET_PULSE_METRICS, out -> { }, in -> codec.readPulseMetrics(in), PulseMetrics.empty());
+    }
+
+    @Override
+    public void resetPulseMetrics() {
+        send(Method.RESET_PULSE_METRICS, out -> { });
+    }
+
+    @Override
+    public CompletableFuture<InputLatencyReport> getInputLatencyReport() {
+        return call(Method.GET_INPUT_LATENCY_REPORT, out -> { },
+            in -> codec.readInputLatencyReport(in), InputLatencyReport.empty()
+        );
+    }
+
+    @Override
+    public void resetInputLatency() {
+        send(Method.RESET_INPUT_LATENCY, out -> { });
+    }
+
+    @Override
+    public void startProfiling() {
+        send(Method.START_PROFILING, out -> { });
+    }
+
+    @Override
+    public void stopProfiling() {
+        send(Method.STOP_PROFILING, out -> { });
+    }
+
+    @Override
+    public void resetProfiling() {
+        send(Method.RESET_PROFILING, out -> { });
+    }
+
+    @Override
+    public CompletableFuture<ProfileNode> getProfile() {
+        return call(Method.GET_PROFILE, out -> { }, in -> codec.readProfileNode(in),
+            new ProfileNode(FxThreadProfiler.ROOT_NAME, 0, 0, List.of())
+        );
+    }
+
+    @Override
+    public void startTimelineRecording() {
+        send(Method.START_TIMELINE_RECORDING, out -> { });
+    }
+
+    @Override
+    public void stopTimelineRecording() {
+        send(Method.STOP_TIMELINE_RECORDING, out -> { });
+    }
+
+    @Override
+    public void hideWindow(int uid) {
+        send(Method.HIDE_WINDOW, out -> out.writeInt(uid));
+    }
+
+    @Override
+    public CompletableFuture<Map.@Nullable Entry<WindowProperties, List<Element>>> getStyledElements(int uid) {
+        return call(Method.GET_STYLED_ELEMENTS, out -> out.writeInt(uid), in -> {
+            if (!in.readBoolean()) {
+                return null;
+            }
+            return Map.entry(codec.readWindowProperties(in), codec.readElements(in));
+        }, null);
+    }
+
+    @Override
+    public CompletableFuture<String> getUserAgentStylesheet() {
+        return call(Method.GET_USER_AGENT_STYLESHEET, out -> { },
+            WireInput::readNonNullString, javafx.application.Application.STYLESHEET_MODENA
+        );
+    }
+
+    @Override
+    public CompletableFuture<@Nullable String> getResource(int uid, String uri) {
+        return call(Method.GET_RESOURCE, out -> {
+            out.writeInt(uid);
+            out.writeString(uri);
+        }, WireInput::readString, null);
+    }
+
+    @Override
+    public CompletableFuture<@Nullable String> getDeclaringClass(String className, String property) {
+        return call(Method.GET_DECLARING_CLASS, out -> {
+            out.writeSymbol(className);
+            out.writeSymbol(property);
+        }, WireInput::readString, null);
+    }
+
+    ///////////////////////////////////////////////////////////////////////////
+
+    private void connect() throws IOException {
+        var channel = address instanceof UnixDomainSocketAddress
+            ? SocketChannel.open(StandardProtocolFamily.UNIX)
+            : SocketChannel.open();
+        channel.connect(address);
+        socket = channel;
+
+        var input = new DataInputStream(new BufferedInputStream(Channels.newInputStream(channel)));
+        var inbound = new WireDictionary();
+        buffer = new WireOutput(new WireDictionary());
+
+        var newRing = sharedMemory && isLocalAddress(address) ? createRing() : null;
+        boolean useRing;
+        try {
+            buffer.begin(RemoteProtocol.HELLO);
+            buffer.writeInt(RemoteProtocol.VERSION);
+            buffer.writeString(token != null ? token : readToken());
+            buffer.writeVarInt(replicas.size());
+            for (var replica : replicas.values()) {
+                buffer.writeInt(replica.getEventSource().uid());
+                buffer.writeLong(replica.getHash());
+            }
+            buffer.writeString(newRing != null ? newRing.getPath().toString() : null);
+            writeFrame();
+
+            // the handshake is synchronous, the server replies with its clock
+            var hello = readFrame(input, inbound);
+            if (hello.readHeader() != RemoteProtocol.HELLO || hello.readInt() != RemoteProtocol.VERSION) {
+                throw new IOException("Unsupported protocol version");
+            }
+            codec = new WireCodec(System.nanoTime() - hello.readLong());
+            useRing = hello.readBoolean();
+        } finally {
+            // the server has already mapped the file, if it was able to
+            if (newRing != null) {
+                deleteQuietly(newRing.getPath());
+            }
+        }
+
+        if (newRing != null && useRing) {
+            ring = newRing;
+            startDaemon("devtoolsfx-client-ring", () -> readRingLoop(channel, newRing, inbound));
+        } else if (newRing != null) {
+            newRing.close();
+        }
+        // when the ring buffer is used, the socket is only read to detect the disconnection
+        startDaemon("devtoolsfx-client-reader", () -> readLoop(channel, input, inbound));
+        LOGGER.log(Level.DEBUG, "Receiving the server frames through the " + (useRing ? "shared memory" : "socket"));
+    }
+
+    private void disconnect() {
+        started.set(false);
+
+        if (socket != null) {
+            try {
+                socket.close();
+            } catch (IOException ignored) {
+                // pass
+            }
+            socket = null;
+        }
+
+        if (ring != null) {
+            ring.close();
+            ring = null;
+        }
+
+        pendingRequests.values().forEach(future -> future.cancel(false));
+        pendingRequests.clear();
+        resyncing.clear();
+    }
+
+    private void readLoop(SocketChannel channel, DataInputStream input, WireDictionary inbound) {
+        try {
+            while (channel.isOpen()) {
+                var frame = readFrame(input, inbound);
+                dispatch(frame.readHeader(), frame);
+            }
+        } catch (Exception e) {
+            onConnectionLost(channel, e);
+        }
+    }
+
+    private void readRingLoop(SocketChannel channel, SharedRingBuffer ring, WireDictionary inbound) {
+        try {
+            boolean open = true;
+            while (open && channel.isOpen()) {
+                open = ring.read(data -> {
+                    var frame = new WireInput(data, inbound);
+                    int type = frame.readHeader();
+                    // only the events are decoded before the shared memory is released
+                    dispatch(type, type == RemoteProtocol.EVENT ? frame : frame.detach());
+                });
+            }
+        } catch (Exception e) {
+            onConnectionLost(channel, e);
+        }
+    }
+
+    private void dispatch(int type, WireInput frame) {
+        switch (type) {
+            case RemoteProtocol.RESPONSE -> {
+                var future = pendingRequests.remove(frame.readVarInt());
+                if (future != null) {
+                    future.complete(frame);
+                }
+            }
+            case RemoteProtocol.EVENT -> {
+                var event = codec.readEvent(frame);
+                Platform.runLater(() -> {
+                    if (event instanceof WindowClosedEvent e) {
+                        replicas.remove(e.eventSource().uid());
+                    }
+                    eventBus.fire(event);
+                });
+            }
+            // the deltas are decoded in the FX thread, because they're applied to the replica
+            case RemoteProtocol.SYNC -> Platform.runLater(() -> applySync(frame));
+            default -> LOGGER.log(Level.WARNING, "Unexpected frame type: " + type);
+        }
+    }
+
+    private void onConnectionLost(SocketChannel channel, Exception e) {
+        if (channel.isOpen()) {
+            LOGGER.log(Level.WARNING, "Connection to " + address + " is lost: " + e.getMessage());
+            Platform.runLater(() -> {
+                if (socket == channel) {
+                    disconnect();
+                }
+            });
+        }
+    }
+
+    private @Nullable String readToken() {
+        // the server rewrites the file on restart
+        try {
+            return Files.readString(ConnectorServer.getTokenPath(address)).strip();
+        } catch (Exception e) {
+            LOGGER.log(Level.WARNING, "Unable to read the server token: " + e.getMessage());
+            return null;
+        }
+    }
+
+    private @Nullable SharedRingBuffer createRing() {
+        // tmpfs avoids writing the pages back to the disk
+        var shm = Path.of("/dev/shm");
+        var dir = Files.isDirectory(shm) && Files.isWritable(shm) ? shm : Path.of(System.getProperty("java.io.tmpdir"));
+        try {
+            return SharedRingBuffer.create(dir, SharedRingBuffer.DEFAULT_CAPACITY);
+        } catch (Exception e) {
+            LOGGER.log(Level.INFO, "Unable to create the shared memory, using the socket: " + e.getMessage());
+            return null;
+        }
+    }
+
+    private static boolean isLocalAddress(SocketAddress address) {
+        return address instanceof UnixDomainSocketAddress
+            || address instanceof InetSocketAddress inetAddress
+            && inetAddress.getAddress() != null
+            && inetAddress.getAddress().isLoopbackAddress();
+    }
+
+    private static void deleteQuietly(Path path) {
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            // the mapped file can't be deleted on Windows
+            path.toFile().deleteOnExit();
+        }
+    }
+
+    private static void startDaemon(String name, Runnable runnable) {
+        var thread = new Thread(runnable, name);
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    private WireInput readFrame(DataInputStream input, WireDictionary inbound) throws IOException {
+        int length = input.readInt();
+        if (length <= 0 || length > RemoteProtocol.MAX_FRAME_SIZE) {
+            throw new IOException("Invalid frame length: " + length);
+        }
+
+        var frame = new byte[length];
+        input.readFully(frame);
+        return new WireInput(frame, inbound);
+    }
+
+    private void writeFrame() throws IOException {
+        var channel = Objects.requireNonNull(socket);
+        var frame = buffer.finish();
+        // the gathering write sends the header and the payload without copying
+        while (frame[1].hasRemaining()) {
+            channel.write(frame);
+        }
+    }
+
+    ///////////////////////////////////////////////////////////////////////////
+    // Replication                                                           //
+    ///////////////////////////////////////////////////////////////////////////
+
+    /**
+     * Returns the replica of the window, if the client has one.
+     */
+    @Nullable SceneReplica getReplica(int windowUid) {
+        return replicas.get(windowUid);
+    }
+
+    /**
+     * Applies the {@link RemoteProtocol#SYNC} frame, must be called from the FX thread.
+     */
+    void applySync(WireInput in) {
+        int windowUid = in.readInt();
+        // the deltas sent before the reconciliation response are already included into it
+        if (resyncing.contains(windowUid)) {
+            return;
+        }
+
+        long seq = in.readVarLong();
+        var replica = replicas.get(windowUid);
+
+        int op = in.readVarInt();
+        switch (op) {
+            case SceneReplicator.SNAPSHOT_OP -> {
+                var eventSource = codec.readEventSource(in);
+                replica = new SceneReplica(eventSource, (RemoteElement) codec.readElement(in), seq);
+                replicas.put(windowUid, replica);
+                eventBus.fire(new RootChangedEvent(eventSource, replica.getRoot()));
+                op = in.readVarInt();
+            }
+            case SceneReplicator.CONFIRM_OP -> {
+                var eventSource = codec.readEventSource(in);
+                if (replica == null) {
+                    resync(windowUid);
+                    return;
+                }
+                // the server has the same tree, the local replica is reused as is
+                replica = new SceneReplica(eventSource, replica.getRoot(), seq);
+                replicas.put(windowUid, replica);
+                eventBus.fire(new RootChangedEvent(eventSource, replica.getRoot()));
+                op = in.readVarInt();
+            }
+            case SceneReplicator.DIVERGED_OP -> {
+                var eventSource = codec.readEventSource(in);
+                if (replica != null) {
+                    replicas.put(windowUid, new SceneReplica(eventSource, replica.getRoot(), replica.getSeq()));
+                }
+                resync(windowUid);
+                return;
+            }
+            default -> {
+                if (replica == null || seq > replica.getSeq() + 1) {
+                    resync(windowUid);
+                    return;
+                }
+                // the delta is already included into the reconciled replica
+                if (seq <= replica.getSeq()) {
+                    return;
+                }
+                replica.setSeq(seq);
+            }
+        }
+
+        while (op != SceneReplicator.END_OP) {
+            if (!applyDelta(replica, op, in)) {
+                resync(windowUid);
+                return;
+            }
+            op = in.readVarInt();
+        }
+        replica.clearDetached();
+    }
+
+    /**
+     * Applies a single delta operation and fires the matching scene graph event.
+     *
+     * @return false if the replica has diverged from the server one
+     */
+    private boolean applyDelta(SceneReplica replica, int op, WireInput in) {
+        var eventSource = replica.getEventSource();
+        switch (op) {
+            case SceneReplicator.ADD_OP -> {
+                int parentUid = in.readInt();
+                int position = in.readVarInt();
+                var subtree = (RemoteElement) codec.readElement(in);
+                if (!replica.add(parentUid, position, subtree)) {
+                    return false;
+                }
+                eventBus.fire(new NodeAddedEvent(eventSource, subtree));
+            }
+            case SceneReplicator.REMOVE_OP -> {
+                var removed = replica.remove(in.readInt());
+                if (removed == null) {
+                    return false;
+                }
+                eventBus.fire(new NodeRemovedEvent(eventSource, removed));
+            }
+            case SceneReplicator.MOVE_OP -> {
+                int uid = in.readInt();
+                int parentUid = in.readInt();
+                int position = in.readVarInt();
+                if (!replica.move(uid, parentUid, position)) {
+                    return false;
+                }
+                eventBus.fire(new NodeAddedEvent(eventSource, Objects.requireNonNull(replica.get(uid))));
+            }
+            case SceneReplicator.PATCH_OP -> {
+                int uid = in.readInt();
+                var props = codec.readNodeProperties(in);
+                var oldProps = replica.patch(uid, props);
+                if (oldProps == null) {
+                    return false;
+                }
+
+                var element = Objects.requireNonNull(replica.get(uid));
+                if (!oldProps.styleClass().equals(props.styleClass())) {
+                    eventBus.fire(new NodeStyleClassEvent(eventSource, element, props.styleClass()));
+                }
+                if (oldProps.isVisible() != props.isVisible()) {
+                    eventBus.fire(new NodeVisibilityEvent(eventSource, element, props.isVisible()));
+                }
+            }
+            default -> throw new IllegalStateException("Unknown delta operation: " + op);
+        }
+        return true;
+    }
+
+    /**
+     * Brings the replica in sync with the server one, or requests the full snapshot.
+     * The deltas of the window are skipped until the reconciliation is complete.
+     */
+    private void resync(int windowUid) {
+        if (started.get() && resyncing.add(windowUid)) {
+            resync(windowUid, 0);
+        }
+    }
+
+    private void resync(int windowUid, int attempt) {
+        // the replica is kept for the next session
+        if (!started.get()) {
+            resyncing.remove(windowUid);
+            return;
+        }
+
+        var replica = replicas.get(windowUid);
+        if (replica != null && attempt < MAX_SYNC_ATTEMPTS) {
+            reconcile(replica, List.of(replica.getRoot().getUID()), null).thenAccept(synced -> {
+                if (!synced) {
+                    resync(windowUid, attempt + 1);
+                    return;
+                }
+
+                resyncing.remove(windowUid);
+                if (replicas.get(windowUid) == replica) {
+                    eventBus.fire(new RootChangedEvent(replica.getEventSource(), replica.getRoot()));
+                }
+            });
+            return;
+        }
+
+        call(Method.GET_SNAPSHOT, out -> out.writeInt(windowUid), in -> {
+            if (!in.readBoolean()) {
+                return null;
+            }
+            long seq = in.readVarLong();
+            var eventSource = codec.readEventSource(in);
+            return new SceneReplica(eventSource, (RemoteElement) codec.readElement(in), seq);
+        }, null).thenAccept(snapshot -> {
+            resyncing.remove(windowUid);
+            if (!started.get()) {
+                return;
+            }
+
+            if (snapshot != null) {
+                replicas.put(windowUid, snapshot);
+                eventBus.fire(new RootChangedEvent(snapshot.getEventSource(), snapshot.getRoot()));
+            } else {
+                replicas.remove(windowUid);
+            }
+        });
+    }
+
+    /**
+     * Compares the replica with the server one level by level, starting from the root,
+     * and only descends into the branches whose hashes differ. The subtrees the replica
+     * doesn't have at all are fetched in one request per level, the rest is reused,
+     * which also covers the nodes that were moved to another parent.
+     *
+     * @return the future of whether the replica matches the server one
+     */
+    private CompletableFuture<Boolean> reconcile(SceneReplica replica,
+                                                 List<Integer> level,
+                                                 @Nullable SyncState state) {
+        if (level.isEmpty()) {
+            replica.reindex();
+            if (state == null || state.hash() != replica.getHash()) {
+                return CompletableFuture.completedFuture(false);
+            }
+            replica.setSeq(state.seq());
+            return CompletableFuture.completedFuture(true);
+        }
+
+        int windowUid = replica.getEventSource().uid();
+        return call(Method.SYNC_NODES, out -> {
+            out.writeInt(windowUid);
+            writeUids(out, level);
+        }, this::readSyncNodes, null).thenCompose(nodes -> {
+            if (nodes == null) {
+                return CompletableFuture.completedFuture(false);
+            }
+
+            var next = new ArrayList<Integer>();
+            var missing = new ArrayList<Integer>();
+            for (var node : nodes.nodes()) {
+                for (int i = 0; i < node.childUids().length; i++) {
+                    var child = replica.get(node.childUids()[i]);
+                    if (child == null) {
+                        missing.add(node.childUids()[i]);
+                    } else if (replica.getHash(child) != node.childHashes()[i]) {
+                        next.add(node.childUids()[i]);
+                    }
+                }
+            }
+
+            var subtrees = missing.isEmpty()
+                ? CompletableFuture.completedFuture(new SyncSubtrees(nodes.state(), Map.of()))
+                : call(Method.GET_SUBTREES, out -> {
+                    out.writeInt(windowUid);
+                    writeUids(out, missing);
+                }, this::readSubtrees, null);
+
+            return subtrees.thenCompose(fetched -> {
+                if (fetched == null || !reconcileLevel(replica, nodes, fetched.elements())) {
+                    return CompletableFuture.completedFuture(false);
+                }
+                return reconcile(replica, next, fetched.state());
+            });
+        });
+    }
+
+    private boolean reconcileLevel(SceneReplica replica, SyncNodes nodes, Map<Integer, RemoteElement> fetched) {
+        for (var node : nodes.nodes()) {
+            var element = replica.get(node.element().getUID());
+            if (element == null) {
+                return false;
+            }
+
+            var children = new ArrayList<RemoteElement>(node.childUids().length);
+            for (int childUid : node.childUids()) {
+                var child = replica.get(childUid);
+                if (child == null) {
+                    child = fetched.get(childUid);
+                }
+                if (child == null) {
+                    // the server tree has changed in between
+                    return false;
+                }
+                children.add(child);
+            }
+            replica.reconcile(element, node.element(), children);
+        }
+        return true;
+    }
+
+    private void writeUids(WireOutput out, List<Integer> uids) {
+        out.writeVarInt(uids.size());
+        for (int uid : uids) {
+            out.writeInt(uid);
+        }
+    }
+
+    private @Nullable SyncNodes readSyncNodes(WireInput in) {
+        if (!in.readBoolean()) {
+            return null;
+        }
+
+        var state = new SyncState(in.readVarLong(), in.readLong());
+        int count = in.readVarInt();
+        var nodes = new ArrayList<SyncNode>(count);
+        for (int i = 0; i < count; i++) {
+            if (!in.readBoolean()) {
+                continue;
+            }
+
+            var element = codec.readElement(in);
+            int childCount = in.readVarInt();
+            var childUids = new int[childCount];
+            var childHashes = new long[childCount];
+            for (int j = 0; j < childCount; j++) {
+                childUids[j] = in.readInt();
+                childHashes[j] = in.readLong();
+            }
+            nodes.add(new SyncNode(element, childUids, childHashes));
+        }
+        return new SyncNodes(state, nodes);
+    }
+
+    private @Nullable SyncSubtrees readSubtrees(WireInput in) {
+        if (!in.readBoolean()) {
+            return null;
+        }
+
+        var state = new SyncState(in.readVarLong(), in.readLong());
+        int count = in.readVarInt();
+        var elements = new HashMap<Integer, RemoteElement>(count);
+        for (int i = 0; i < count; i++) {
+            if (in.readBoolean()) {
+                var element = (RemoteElement) codec.readElement(in);
+                elements.put(element.getUID(), element);
+            }
+        }
+        return new SyncSubtrees(state, elements);
+    }
+
+    private record SyncState(long seq, long hash) { }
+
+    private record SyncNode(Element element, int[] childUids, long[] childHashes) { }
+
+    private record SyncNodes(SyncState state, List<SyncNode> nodes) { }
+
+    private record SyncSubtrees(SyncState state, Map<Integer, RemoteElement> elements) { }
+
+    ///////////////////////////////////////////////////////////////////////////
+
+    private void sendOptions() {
+        if (!started.get()) {
+            return;
+        }
+
+        buffer.begin(RemoteProtocol.OPTIONS);
+        codec.writeOptions(buffer, opts);
+        trySend();
+    }
+
+    /**
+     * Sends the request without waiting for the response.
+     */
+    private void send(Method method, Consumer<WireOutput> args) {
+        if (started.get()) {
+            beginRequest(method, args);
+            trySend();
+        }
+    }
+
+    /**
+     * Sends the request without waiting for the response. The future is completed
+     * in the FX thread, with the default value if the request has failed.
+     */
+    private <T> CompletableFuture<T> call(Method method,
+                                          Consumer<WireOutput> args,
+                                          Function<WireInput, T> result,
+                                          T defaultValue) {
+        var future = new CompletableFuture<T>();
+        if (!started.get()) {
+            future.complete(defaultValue);
+            return future;
+        }
+
+        int requestId = beginRequest(method, args);
+        var response = new CompletableFuture<WireInput>();
+        pendingRequests.put(requestId, response);
+        if (!trySend()) {
+            pendingRequests.remove(requestId);
+            future.complete(defaultValue);
+            return future;
+        }
+
+        response.orTimeout(REQUEST_TIMEOUT, TimeUnit.MILLISECONDS).whenComplete((in, error) -> {
+            pendingRequests.remove(requestId);
+            Platform.runLater(() -> future.complete(readResponse(method, in, error, result, defaultValue)));
+        });
+        return future;
+    }
+
+    private <T> T readResponse(Method method,
+                               @Nullable WireInput in,
+                               @Nullable Throwable error,
+                               Function<WireInput, T> result,
+                               T defaultValue) {
+        if (in == null) {
+            LOGGER.log(Level.WARNING, method + " failed: " + error);
+            return defaultValue;
+        }
+
+        try {
+            if (in.readByte() != RemoteProtocol.STATUS_OK) {
+                LOGGER.log(Level.WARNING, method + " failed: " + in.readString());
+                return defaultValue;
+            }
+            return result.apply(in);
+        } catch (Exception e) {
+            LOGGER.log(Level.WARNING, method + " failed: " + e);
+            return defaultValue;
+        }
+    }
+
+    private int beginRequest(Method method, Consumer<WireOutput> args) {
+        int requestId = nextRequestId.incrementAndGet();
+        buffer.begin(RemoteProtocol.REQUEST);
+        buffer.writeVarInt(requestId);
+        buffer.writeVarInt(method.ordinal());
+        args.accept(buffer);
+        return requestId;
+    }
+
+    private boolean trySend() {
+        try {
+            writeFrame();
+            return true;
+        } catch (Exception e) {
+            LOGGER.log(Level.WARNING, "Unable to send the request to " + address + ": " + e.getMessage());
+            disconnect();
+            return false;
+        }
+    }
+
+    ///////////////////////////////////////////////////////////////////////////
+
+    private final class RemoteEnv implements Env {
+
+        @Override
+        public CompletableFuture<List<KeyValue>> getSystemProperties() {
+            return getKeyValues(Method.GET_SYSTEM_PROPERTIES);
+        }
+
+        @Override
+        public CompletableFuture<List<KeyValue>> getEnvVariables() {
+            return getKeyValues(Method.GET_ENV_VARIABLES);
+        }
+
+        @Override
+        public CompletableFuture<List<KeyValue>> getConditionalFeatures() {
+            return getKeyValues(Method.GET_CONDITIONAL_FEATURES);
+        }
+
+        @Override
+        public CompletableFuture<List<KeyValue>> getPlatformPreferences() {
+            return getKeyValues(Method.GET_PLATFORM_PREFERENCES);
+        }
+
+        @Override
+        public CompletableFuture<List<KeyValue>> getOtherPlatformProperties() {
+            return getKeyValues(Method.GET_OTHER_PLATFORM_PROPERTIES);
+        }
+
+        private CompletableFuture<List<KeyValue>> getKeyValues(Method method) {
+            return call(method, out -> { }, in -> codec.readKeyValues(in), List.of());
+        }
+    }
+}
@@ -0,0 +1,150 @@
+package devtoolsfx.connector;
+
+import devtoolsfx.scenegraph.ClassInfo;
+import devtoolsfx.scenegraph.Element;
+import devtoolsfx.scenegraph.NodeProperties;
+import devtoolsfx.scenegraph.WindowProperties;
+import org.jspecify.annotations.NullMarked;
+import org.jspecify.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * The {@link Element} implementation decoded from the remote protocol message. Unlike the
+ * {@link LocalElement}, it's a snapshot: the parent and the children are only available if
+ * they were transferred along with the element, see {@link WireCodec#writeElement}, or
+ * if the element belongs to the {@link SceneReplica}, which updates it in place.
+ * The remote elements are equal to any other elements with the same UID, because the
+ * connector identifies the scene graph nodes by UID.
+ */
+@NullMarked
+final class RemoteElement implements Element {
+
+    private final int uid;
+    private final ClassInfo classInfo;
+    private final List<Element> children = new ArrayList<>();
+
+    private @Nullable NodeProperties nodeProperties;
+    private @Nullable WindowProperties windowProperties;
+    private @Nullable Element parent;
+
+    RemoteElement(int uid,
+                  ClassInfo classInfo,
+                  @Nullable NodeProperties nodeProperties,
+                  @Nullable WindowProperties windowProperties) {
+        this.uid = uid;
+        this.classInfo = Objects.requireNonNull(classInfo, "class info must not be null");
+        this.nodeProperties = nodeProperties;
+        this.windowProperties = windowProperties;
+    }
+
+    @Override
+    public int getUID() {
+        return uid;
+    }
+
+    @Override
+    public ClassInfo getClassInfo() {
+        return classInfo;
+    }
+
+    @Override
+    public @Nullable Element getParent() {
+        return parent;
+    }
+
+    @Override
+    public List<Element> getChildren() {
+        return Collections.unmodifiableList(children);
+    }
+
+    @Override
+    public boolean hasChildren() {
+        return !children.isEmpty();
+    }
+
+    @Override
+    public @Nullable NodeProperties getNodeProperties() {
+        return nodeProperties;
+    }
+
+    @Override
+    public @Nullable WindowProperties getWindowProperties() {
+        return windowProperties;
+    }
+
+    @Override
+    public boolean isNodeElement() {
+        return nodeProperties != null;
+    }
+
+    @Override
+    public boolean isWindowElement() {
+        return windowProperties != null;
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        if (this == other) {
+            return true;
+        }
+        if (!(other instanceof Element that)) {
+            return false;
+        }
+
+        return uid == that.getUID();
+    }
+
+    @Override
+    public int hashCode() {
+        return uid;
+    }
+
+    @Override
+    public String toString() {
+        return "RemoteElement{" +
+            "uid=" + uid +
+            ", classInfo=" + classInfo +
+            ", nodeProperties=" + nodeProperties +
+            ", windowProperties=" + windowProperties +
+            '}';
+    }
+
+    ///////////////////////////////////////////////////////////////////////////
+
+    void setParent(@Nullable Element parent) {
+        this.parent = parent;
+    }
+
+    void addChild(Element child) {
+        children.add(child);
+    }
+
+    void addChild(int index, Element child) {
+        children.add(index, child);
+    }
+
+    boolean removeChild(Element child) {
+        return children.remove(child);
+    }
+
+    void setChildren(List<? extends Element> children) {
+        this.children.clear();
+        this.children.addAll(children);
+    }
+
+    void setNodeProperties(NodeProperties nodeProperties) {
+        this.nodeProperties = nodeProperties;
+    }
+
+    /**
+     * Replaces the properties with the ones of the given element.
+     */
+    void setProperties(Element element) {
+        this.nodeProperties = element.getNodeProperties();
+        this.windowProperties = element.getWindowProperties();
+    }
+}
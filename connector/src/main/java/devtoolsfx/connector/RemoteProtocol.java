@@ -0,0 +1,97 @@
+package devtoolsfx.connector;
+
+import org.jspecify.annotations.NullMarked;
+
+/**
+ * The constants of the remote connector protocol, which is used between the
+ * {@link ConnectorServer} and the {@link RemoteConnector}.
+ * <p>
+ * Each frame is prefixed with its length (4 bytes) and starts with the frame type (1 byte),
+ * followed by the symbols it defines and the payload, see {@link WireOutput}.
+ * The client opens the session with the {@link #HELLO} frame containing the protocol version
+ * and the server token. If the token doesn't match, the server closes the connection, otherwise
+ * it replies with its own {@link #HELLO} containing the application name and the current
+ * {@link System#nanoTime()}, so that the client can convert the timestamps. Then the
+ * client sends {@link #REQUEST} and {@link #OPTIONS} frames, and the server sends
+ * {@link #RESPONSE} frames with the matching request ID and {@link #EVENT} frames at any time.
+ * <p>
+ * The scene graph changes are not sent as events, but as the {@link #SYNC} frames containing
+ * the window UID, the sequence number and the delta operations, see {@link SceneReplicator}.
+ * The client {@link #HELLO} also lists the hashes of the replicas it kept from the previous
+ * session, so that the server doesn't send them again, and the path of the shared memory
+ * file, if the server is local. The server {@link #HELLO} tells whether it has mapped
+ * that file, in which case all the subsequent frames are sent through it.
+ */
+@NullMarked
+final class RemoteProtocol {
+
+    static final int VERSION = 5;
+    // protects both ends from the garbage
+    static final int MAX_FRAME_SIZE = 64 * 1024 * 1024;
+
+    // frame types
+    static final int HELLO = 1;
+    static final int REQUEST = 2;
+    static final int RESPONSE = 3;
+    static final int EVENT = 4;
+    static final int OPTIONS = 5;
+    static final int SYNC = 6;
+
+    // response status
+    static final int STATUS_OK = 0;
+    static final int STATUS_ERROR = 1;
+
+    private RemoteProtocol() {
+        // constants
+    }
+
+    /**
+     * The remote {@link Connector} methods. The ordinal is the method ID,
+     * so new methods can only be added to the end.
+     */
+    enum Method {
+        START,
+        STOP,
+        GET_EVENT_SOURCES,
+        SELECT_WINDOW,
+        SELECT_NODE,
+        CLEAR_SELECTION,
+        RELOAD_SELECTED_ATTRIBUTES,
+        SET_ACTIVE_ATTRIBUTE_CATEGORIES,
+        GET_ATTRIBUTE_VALUE,
+        WATCH_ATTRIBUTE,
+        UNWATCH_ATTRIBUTE,
+        GET_PULSE_METRICS,
+        RESET_PULSE_METRICS,
+        GET_INPUT_LATENCY_REPORT,
+        RESET_INPUT_LATENCY,
+        START_PROFILING,
+        STOP_PROFILING,
+        RESET_PROFILING,
+        GET_PROFILE,
+        START_TIMELINE_RECORDING,
+        STOP_TIMELINE_RECORDING,
+        HIDE_WINDOW,
+        GET_STYLED_ELEMENTS,
+        GET_USER_AGENT_STYLESHEET,
+        GET_RESOURCE,
+        GET_DECLARING_CLASS,
+        GET_SYSTEM_PROPERTIES,
+        GET_ENV_VARIABLES,
+        GET_CONDITIONAL_FEATURES,
+        GET_PLATFORM_PREFERENCES,
+        GET_OTHER_PLATFORM_PROPERTIES,
+        SYNC_NODES,
+        GET_SUBTREES,
+        GET_SNAPSHOT;
+
+        private static final Method[] VALUES = values();
+
+        static Method of(int id) {
+            if (id < 0 || id >= VALUES.length) {
+                throw new IllegalArgumentException("Unknown method ID: " + id);
+            }
+            return VALUES[id];
+        }
+    }
+}
@@ -0,0 +1,323 @@
+package devtoolsfx.connector;
+
+import devtoolsfx.event.EventSource;
+import devtoolsfx.scenegraph.Element;
+import devtoolsfx.scenegraph.NodeProperties;
+import org.jspecify.annotations.NullMarked;
+import org.jspecify.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * The versioned snapshot of the window's scene graph, which is kept in sync between the
+ * {@link ConnectorServer} and the {@link RemoteConnector}. The server applies the scene graph
+ * changes to its replica and sends them as the sequence-numbered deltas, the client applies
+ * the same deltas to its own replica, see {@link SceneReplicator}.
+ * <p>
+ * Each subtree has a Merkle-style hash, which depends on the element properties and the
+ * hashes of the child subtrees, so two replicas can be compared branch by branch, and only
+ * the branches that diverged have to be transferred. The hashes are computed lazily and
+ * invalidated up to the root on every change. Auxiliary elements are never replicated.
+ * <p>
+ * The removed subtrees are kept detached until the end of the delta, so that the node
+ * that is moved to another parent can be re-attached without transferring it again.
+ */
+@NullMarked
+final class SceneReplica {
+
+    private static final long SEED = 0xCBF29CE484222325L;
+
+    private final EventSource eventSource;
+    private final RemoteElement root;
+    private final Map<Integer, RemoteElement> index = new HashMap<>();
+    private final Map<Integer, Long> hashes = new HashMap<>();
+    private final Map<Integer, RemoteElement> detached = new HashMap<>();
+
+    private long seq;
+
+    /**
+     * @param root the window element
+     */
+    SceneReplica(EventSource eventSource, RemoteElement root, long seq) {
+        this.eventSource = eventSource;
+        this.root = root;
+        this.seq = seq;
+        reindex();
+    }
+
+    EventSource getEventSource() {
+        return eventSource;
+    }
+
+    RemoteElement getRoot() {
+        return root;
+    }
+
+    /**
+     * Returns the sequence number of the last applied delta.
+     */
+    long getSeq() {
+        return seq;
+    }
+
+    void setSeq(long seq) {
+        this.seq = seq;
+    }
+
+    @Nullable RemoteElement get(int uid) {
+        return index.get(uid);
+    }
+
+    @Nullable RemoteElement getDetached(int uid) {
+        return detached.get(uid);
+    }
+
+    int size() {
+        return index.size();
+    }
+
+    /**
+     * Returns the hash of the entire replica.
+     */
+    long getHash() {
+        return getHash(root);
+    }
+
+    /**
+     * Returns the hash of the given subtree.
+     */
+    long getHash(RemoteElement element) {
+        Long cached = hashes.get(element.getUID());
+        if (cached != null) {
+            return cached;
+        }
+
+        long hash = computeOwnHash(element);
+        for (var child : element.getChildren()) {
+            hash = mix(hash, getHash((RemoteElement) child));
+        }
+        hash = mix(hash, element.getChildren().size());
+
+        hashes.put(element.getUID(), hash);
+        return hash;
+    }
+
+    ///////////////////////////////////////////////////////////////////////////
+    // Deltas                                                                //
+    ///////////////////////////////////////////////////////////////////////////
+
+    /**
+     * Inserts the subtree into the given parent.
+     *
+     * @return false if the parent doesn't belong to the replica
+     */
+    boolean add(int parentUid, int position, RemoteElement subtree) {
+        var parent = index.get(parentUid);
+        if (parent == null || position < 0 || position > parent.getChildren().size()) {
+            return false;
+        }
+
+        // the subtree can't be present twice
+        remove(subtree.getUID());
+        detached.remove(subtree.getUID());
+
+        parent.addChild(position, subtree);
+        subtree.setParent(parent);
+        indexBranch(subtree);
+        invalidate(parent);
+        return true;
+    }
+
+    /**
+     * Detaches the subtree, it will be dropped at the end of the delta,
+     * unless it's moved, see {@link #move(int, int, int)}.
+     *
+     * @return the removed subtree or null if it doesn't belong to the replica
+     */
+    @Nullable RemoteElement remove(int uid) {
+        var element = index.get(uid);
+        if (element == null || element == root) {
+            return null;
+        }
+
+        var parent = (RemoteElement) Objects.requireNonNull(element.getParent());
+        parent.removeChild(element);
+        element.setParent(null);
+        unindexBranch(element);
+        invalidate(parent);
+
+        detached.put(uid, element);
+        return element;
+    }
+
+    /**
+     * Re-attaches the subtree detached within the same delta.
+     *
+     * @return false if there is no such subtree or parent
+     */
+    boolean move(int uid, int parentUid, int position) {
+        var element = detached.get(uid);
+        return element != null && add(parentUid, position, element);
+    }
+
+    /**
+     * Replaces the node properties.
+     *
+     * @return the previous properties or null if the node doesn't belong to the replica
+     */
+    @Nullable NodeProperties patch(int uid, NodeProperties props) {
+        var element = index.get(uid);
+        if (element == null || element.getNodeProperties() == null) {
+            return null;
+        }
+
+        var oldProps = element.getNodeProperties();
+        element.setNodeProperties(props);
+        invalidate(element);
+        return oldProps;
+    }
+
+    /**
+     * Drops the subtrees that were removed, but not moved within the delta.
+     */
+    void clearDetached() {
+        for (var element : detached.values()) {
+            forgetBranch(element);
+        }
+        detached.clear();
+    }
+
+    ///////////////////////////////////////////////////////////////////////////
+    // Reconciliation                                                        //
+    ///////////////////////////////////////////////////////////////////////////
+
+    /**
+     * Replaces the element properties and children, while the replica is reconciled with
+     * the remote one. The replaced children may still be referenced by other elements
+     * until the reconciliation completes, see {@link #reindex()}.
+     */
+    void reconcile(RemoteElement element, Element props, List<RemoteElement> children) {
+        element.setProperties(props);
+        element.setChildren(children);
+        for (var child : children) {
+            child.setParent(element);
+        }
+        invalidate(element);
+    }
+
+    /**
+     * Rebuilds the index from the root, which drops all elements that are no longer reachable.
+     */
+    void reindex() {
+        index.clear();
+        hashes.clear();
+        detached.clear();
+        indexBranch(root);
+    }
+
+    ///////////////////////////////////////////////////////////////////////////
+
+    private void indexBranch(RemoteElement element) {
+        index.put(element.getUID(), element);
+        // the cached hash may belong to another subtree with the same UID
+        hashes.remove(element.getUID());
+        for (var child : element.getChildren()) {
+            indexBranch((RemoteElement) child);
+        }
+    }
+
+    private void unindexBranch(RemoteElement element) {
+        index.remove(element.getUID());
+        for (var child : element.getChildren()) {
+            unindexBranch((RemoteElement) child);
+        }
+    }
+
+    private void forgetBranch(RemoteElement element) {
+        hashes.remove(element.getUID());
+        for (var child : element.getChildren()) {
+            forgetBranch((RemoteElement) child);
+        }
+    }
+
+    private void invalidate(RemoteElement element) {
+        Element current = element;
+        while (current != null) {
+            hashes.remove(current.getUID());
+            current = current.getParent();
+        }
+    }
+
+    /**
+     * Computes the hash of the subtree that doesn't belong to any replica.
+     */
+    static long computeHash(Element element) {
+        long hash = computeOwnHash(element);
+        for (var child : element.getChildren()) {
+            hash = mix(hash, computeHash(child));
+        }
+        return mix(hash, element.getChildren().size());
+    }
+
+    /**
+     * Creates a detached deep copy of the given element, skipping the auxiliary elements.
+     */
+    static RemoteElement copyOf(Element element) {
+        var copy = new RemoteElement(
+            element.getUID(), element.getClassInfo(), element.getNodeProperties(), element.getWindowProperties()
+        );
+
+        var children = element.getChildren();
+        var copies = new ArrayList<RemoteElement>(children.size());
+        for (var child : children) {
+            if (!child.isAuxiliaryElement()) {
+                var childCopy = copyOf(child);
+                childCopy.setParent(copy);
+                copies.add(childCopy);
+            }
+        }
+        copy.setChildren(copies);
+
+        return copy;
+    }
+
+    // must be the same in both JVMs, so only the hash codes specified by the JDK are used
+    private static long computeOwnHash(Element element) {
+        long hash = mix(SEED, element.getUID());
+        hash = mix(hash, element.getClassInfo().className().hashCode());
+
+        var nodeProps = element.getNodeProperties();
+        if (nodeProps != null) {
+            hash = mix(hash, Objects.hashCode(nodeProps.id()));
+            hash = mix(hash, nodeProps.styleClass().hashCode());
+            hash = mix(hash, nodeProps.stylesheets().hashCode());
+            hash = mix(hash, Objects.hashCode(nodeProps.userAgentStylesheet()));
+            hash = mix(hash, (nodeProps.isControl() ? 1 : 0)
+                | (nodeProps.isPane() ? 2 : 0)
+                | (nodeProps.isVisible() ? 4 : 0)
+            );
+        }
+
+        var windowProps = element.getWindowProperties();
+        if (windowProps != null) {
+            hash = mix(hash, windowProps.windowType().ordinal());
+            hash = mix(hash, windowProps.sceneStylesheets().hashCode());
+            hash = mix(hash, Objects.hashCode(windowProps.userAgentStylesheet()));
+            hash = mix(hash, Objects.hashCode(windowProps.windowTitle()));
+            hash = mix(hash, Objects.hashCode(windowProps.ownerClassName()));
+            hash = mix(hash, windowProps.isPrimaryStage() ? 1 : 0);
+        }
+
+        return hash;
+    }
+
+    private static long mix(long hash, long value) {
+        hash ^= value;
+        hash *= 0x9E3779B97F4A7C15L;
+        return hash ^ (hash >>> 29);
+    }
+}
@@ -0,0 +1,333 @@
+package devtoolsfx.connector;
+
+import devtoolsfx.event.*;
+import devtoolsfx.scenegraph.Element;
+import devtoolsfx.util.SceneUtils;
+import javafx.application.Platform;
+import org.jspecify.annotations.NullMarked;
+import org.jspecify.annotations.Nullable;
+
+import java.util.*;
+import java.util.concurrent.Executor;
+import java.util.function.Consumer;
+
+/**
+ * Replicates the scene graph of the monitored windows to the {@link RemoteConnector},
+ * so that the client doesn't have to receive the entire tree on every change.
+ * <p>
+ * The scene graph events are applied to the server {@link SceneReplica} and encoded as
+ * the deltas: add a subtree, remove, move and patch the node properties. The deltas are
+ * batched per window into a single {@link RemoteProtocol#SYNC} frame, which is flushed
+ * at the end of the current FX thread cycle or before any other frame is sent, so the
+ * order of events is preserved. Each batch carries the next sequence number of the window,
+ * the client that detects a gap reconciles its replica, see {@link RemoteProtocol.Method#SYNC_NODES}.
+ * <p>
+ * When the window root changes or is refreshed, the new replica is compared with the one
+ * the client already has by the root hash. If they're equal, the client reuses its own
+ * replica, otherwise it only fetches the diverged branches. The full snapshot is only sent
+ * when the client has no replica of that window at all. The methods must be called
+ * from the FX thread.
+ */
+@NullMarked
+final class SceneReplicator {
+
+    // delta operations
+    static final int END_OP = 0;
+    static final int SNAPSHOT_OP = 1;
+    static final int CONFIRM_OP = 2;
+    static final int DIVERGED_OP = 3;
+    static final int ADD_OP = 4;
+    static final int REMOVE_OP = 5;
+    static final int MOVE_OP = 6;
+    static final int PATCH_OP = 7;
+
+    private final WireCodec codec;
+    private final WireDictionary dictionary;
+    private final Consumer<WireOutput> sender;
+    private final Executor flushExecutor;
+
+    private final Map<Integer, SceneReplica> replicas = new HashMap<>();
+    // the live window elements, so that the replica can be rebuilt
+    private final Map<Integer, Element> windows = new HashMap<>();
+    // the hashes of the replicas the client kept from the previous session
+    private final Map<Integer, Long> declaredHashes = new HashMap<>();
+    private final Map<Integer, WireOutput> batches = new LinkedHashMap<>();
+    private final Deque<WireOutput> pool = new ArrayDeque<>();
+    private boolean flushScheduled;
+
+    /**
+     * See {@link #SceneReplicator(WireCodec, WireDictionary, Consumer, Executor)}.
+     */
+    SceneReplicator(WireCodec codec, WireDictionary dictionary, Consumer<WireOutput> sender) {
+        this(codec, dictionary, sender, Platform::runLater);
+    }
+
+    /**
+     * @param sender        sends the complete frame, the buffer can be reused after that
+     * @param flushExecutor runs the scheduled flush at the end of the current FX thread cycle
+     */
+    SceneReplicator(WireCodec codec,
+                    WireDictionary dictionary,
+                    Consumer<WireOutput> sender,
+                    Executor flushExecutor) {
+        this.codec = codec;
+        this.dictionary = dictionary;
+        this.sender = sender;
+        this.flushExecutor = flushExecutor;
+    }
+
+    /**
+     * Registers the replica the client already has, see {@link RemoteProtocol#HELLO}.
+     */
+    void declare(int windowUid, long hash) {
+        declaredHashes.put(windowUid, hash);
+    }
+
+    /**
+     * Applies the scene graph event to the replica and schedules the delta.
+     *
+     * @return false if the event has to be sent as is
+     */
+    boolean handle(ConnectorEvent event) {
+        switch (event) {
+            case RootChangedEvent e -> rootChanged(e.eventSource(), e.element());
+            case NodeAddedEvent e -> nodeAdded(e.eventSource(), e.element());
+            case NodeRemovedEvent e -> nodeRemoved(e.eventSource(), e.element());
+            case NodeStyleClassEvent e -> nodeChanged(e.eventSource(), e.element());
+            case NodeVisibilityEvent e -> nodeChanged(e.eventSource(), e.element());
+            case WindowClosedEvent e -> {
+                int uid = e.eventSource().uid();
+                flush(uid);
+                replicas.remove(uid);
+                windows.remove(uid);
+                declaredHashes.remove(uid);
+                return false;
+            }
+            default -> {
+                return false;
+            }
+        }
+
+        if (!batches.isEmpty() && !flushScheduled) {
+            flushScheduled = true;
+            flushExecutor.execute(this::flush);
+        }
+        return true;
+    }
+
+    /**
+     * Sends all pending deltas.
+     */
+    void flush() {
+        flushScheduled = false;
+        for (var uid : new ArrayList<>(batches.keySet())) {
+            flush(uid);
+        }
+    }
+
+    ///////////////////////////////////////////////////////////////////////////
+    // Requests                                                              //
+    ///////////////////////////////////////////////////////////////////////////
+
+    /**
+     * Writes the shallow elements along with their child hashes, so that
+     * the client can find the diverged branches level by level.
+     */
+    void writeNodes(WireInput in, WireOutput out) {
+        var replica = replicas.get(in.readInt());
+        int count = in.readVarInt();
+
+        out.writeBoolean(replica != null);
+        if (replica == null) {
+            return;
+        }
+
+        out.writeVarLong(replica.getSeq());
+        out.writeLong(replica.getHash());
+        out.writeVarInt(count);
+        for (int i = 0; i < count; i++) {
+            var element = replica.get(in.readInt());
+            out.writeBoolean(element != null);
+            if (element == null) {
+                continue;
+            }
+
+            codec.writeElement(out, element, false);
+            var children = element.getChildren();
+            out.writeVarInt(children.size());
+            for (var child : children) {
+                out.writeInt(child.getUID());
+                out.writeLong(replica.getHash((RemoteElement) child));
+            }
+        }
+    }
+
+    /**
+     * Writes the entire subtrees the client doesn't have.
+     */
+    void writeSubtrees(WireInput in, WireOutput out) {
+        var replica = replicas.get(in.readInt());
+        int count = in.readVarInt();
+
+        out.writeBoolean(replica != null);
+        if (replica == null) {
+            return;
+        }
+
+        out.writeVarLong(replica.getSeq());
+        out.writeLong(replica.getHash());
+        out.writeVarInt(count);
+        for (int i = 0; i < count; i++) {
+            var element = replica.get(in.readInt());
+            out.writeBoolean(element != null);
+            if (element != null) {
+                codec.writeElement(out, element, true);
+            }
+        }
+    }
+
+    /**
+     * Writes the entire replica, the last resort when the reconciliation doesn't converge.
+     */
+    void writeSnapshot(WireInput in, WireOutput out) {
+        var replica = replicas.get(in.readInt());
+
+        out.writeBoolean(replica != null);
+        if (replica == null) {
+            return;
+        }
+
+        out.writeVarLong(replica.getSeq());
+        codec.writeEventSource(out, replica.getEventSource());
+        codec.writeElement(out, replica.getRoot(), true);
+    }
+
+    ///////////////////////////////////////////////////////////////////////////
+
+    private void rootChanged(EventSource eventSource, Element window) {
+        int uid = eventSource.uid();
+        flush(uid);
+
+        var prior = replicas.get(uid);
+        Long knownHash = prior != null ? Long.valueOf(prior.getHash()) : declaredHashes.remove(uid);
+
+        var replica = new SceneReplica(eventSource, SceneReplica.copyOf(window), prior != null ? prior.getSeq() : 0);
+        replicas.put(uid, replica);
+        windows.put(uid, window);
+
+        var out = batch(replica);
+        if (knownHash == null) {
+            out.writeVarInt(SNAPSHOT_OP);
+            codec.writeEventSource(out, eventSource);
+            codec.writeElement(out, replica.getRoot(), true);
+        } else {
+            out.writeVarInt(knownHash == replica.getHash() ? CONFIRM_OP : DIVERGED_OP);
+            codec.writeEventSource(out, eventSource);
+        }
+    }
+
+    private void nodeAdded(EventSource eventSource, Element element) {
+        var replica = replicas.get(eventSource.uid());
+        if (replica == null) {
+            return;
+        }
+
+        var node = element instanceof LocalElement local ? local.unwrap() : null;
+        var parentNode = node != null ? node.getParent() : null;
+        var parent = parentNode != null ? replica.get(parentNode.hashCode()) : null;
+        if (node == null || parent == null) {
+            // the node isn't attached the usual way, e.g. it's the sub-scene root
+            resync(replica);
+            return;
+        }
+
+        // the position among the siblings that are already replicated
+        int position = 0;
+        for (var sibling : SceneUtils.getChildren(parentNode)) {
+            if (sibling == node) {
+                break;
+            }
+            var siblingElement = replica.get(sibling.hashCode());
+            if (siblingElement != null && siblingElement.getParent() == parent) {
+                position++;
+            }
+        }
+
+        int uid = element.getUID();
+        var subtree = SceneReplica.copyOf(element);
+        var detached = replica.getDetached(uid);
+        var out = batch(replica);
+
+        // the subtree removed within the same batch is re-attached without transferring it
+        if (detached != null && replica.getHash(detached) == SceneReplica.computeHash(subtree)) {
+            replica.move(uid, parent.getUID(), position);
+            out.writeVarInt(MOVE_OP);
+            out.writeInt(uid);
+            out.writeInt(parent.getUID());
+            out.writeVarInt(position);
+        } else {
+            replica.add(parent.getUID(), position, subtree);
+            out.writeVarInt(ADD_OP);
+            out.writeInt(parent.getUID());
+            out.writeVarInt(position);
+            codec.writeElement(out, subtree, true);
+        }
+    }
+
+    private void nodeRemoved(EventSource eventSource, Element element) {
+        var replica = replicas.get(eventSource.uid());
+        if (replica != null && replica.remove(element.getUID()) != null) {
+            var out = batch(replica);
+            out.writeVarInt(REMOVE_OP);
+            out.writeInt(element.getUID());
+        }
+    }
+
+    private void nodeChanged(EventSource eventSource, Element element) {
+        var replica = replicas.get(eventSource.uid());
+        var props = element.getNodeProperties();
+        if (replica != null && props != null && replica.patch(element.getUID(), props) != null) {
+            var out = batch(replica);
+            out.writeVarInt(PATCH_OP);
+            out.writeInt(element.getUID());
+            codec.writeNodeProperties(out, props);
+        }
+    }
+
+    private void resync(SceneReplica replica) {
+        var window = windows.get(replica.getEventSource().uid());
+        if (window != null) {
+            rootChanged(replica.getEventSource(), window);
+        }
+    }
+
+    private WireOutput batch(SceneReplica replica) {
+        int uid = replica.getEventSource().uid();
+        var out = batches.get(uid);
+        if (out == null) {
+            out = !pool.isEmpty() ? pool.pop() : new WireOutput(dictionary);
+            replica.setSeq(replica.getSeq() + 1);
+            out.begin(RemoteProtocol.SYNC);
+            out.writeInt(uid);
+            out.writeVarLong(replica.getSeq());
+            batches.put(uid, out);
+        }
+        return out;
+    }
+
+    private void flush(int uid) {
+        var out = batches.remove(uid);
+        if (out == null) {
+            return;
+        }
+
+        out.writeVarInt(END_OP);
+        sender.accept(out);
+        pool.push(out);
+
+        var replica = replicas.get(uid);
+        if (replica != null) {
+            replica.clearDetached();
+        }
+    }
+}
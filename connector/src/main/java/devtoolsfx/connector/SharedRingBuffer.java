@@ -0,0 +1,304 @@
+package devtoolsfx.connector;
+
+import org.jspecify.annotations.NullMarked;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Consumer;
+
+/**
+ * The single-producer/single-consumer ring buffer in a memory-mapped file, which transfers
+ * the server frames to the client running on the same host without the socket overhead,
+ * see {@link RemoteProtocol#HELLO}. The client creates the file, the server maps it and
+ * becomes the producer.
+ * <p>
+ * The file starts with the header containing the write and read positions, each in its own
+ * cache line, followed by the data area. The positions only grow, the producer publishes
+ * the written records by the release store of the write position, and the consumer frees
+ * the space by the release store of the read position. A record consists of the length and
+ * the frame bytes, it never wraps around the end of the data area. The frames larger than
+ * {@link #getMaxChunkSize()} are split into several records, which are reassembled by
+ * the consumer, while the others are passed to the consumer without copying.
+ * <p>
+ * Both ends wait for each other by spinning first and then parking with the growing
+ * timeout, so the latency stays low under load, and the idle connection barely uses CPU.
+ */
+@NullMarked
+final class SharedRingBuffer implements Closeable {
+
+    static final int DEFAULT_CAPACITY = 4 * 1024 * 1024;
+
+    private static final int MAGIC = 0x44465852; // "DFXR"
+    private static final int MAGIC_OFFSET = 0;
+    private static final int CAPACITY_OFFSET = 4;
+    private static final int WRITE_POS_OFFSET = 64;
+    private static final int READ_POS_OFFSET = 128;
+    private static final int CLOSED_OFFSET = 192;
+    private static final int HEADER_SIZE = 256;
+
+    // the record length of the padding that skips the rest of the data area,
+    // it can't be zero, because that's the length of the empty frame
+    private static final int PADDING = Integer.MIN_VALUE;
+    private static final int RECORD_HEADER_SIZE = 4;
+
+    // the spinning takes about 50-100 us, and only once per idle period,
+    // it's useless on a single CPU, because the other end can't run meanwhile
+    private static final int SPIN_LIMIT = Runtime.getRuntime().availableProcessors() > 1 ? 2048 : 0;
+    private static final int YIELD_LIMIT = SPIN_LIMIT + 64;
+    private static final long MIN_PARK_NANOS = 10_000;
+    private static final long MAX_PARK_NANOS = 1_000_000;
+
+    private static final VarHandle LONG_VIEW = MethodHandles.byteBufferViewVarHandle(
+        long[].class, ByteOrder.nativeOrder()
+    );
+
+    private final Path path;
+    private final MappedByteBuffer header;
+    private final ByteBuffer data;
+    private final int capacity;
+    private final int mask;
+
+    // the position owned by this end, it's only published to the other one
+    private long writePos;
+    private long readPos;
+    // the frame that is split into several records
+    private byte[] assembly = new byte[0];
+    private int assemblyLength;
+
+    private SharedRingBuffer(Path path, MappedByteBuffer header, int capacity) {
+        this.path = path;
+        this.header = header;
+        this.data = header.slice(HEADER_SIZE, capacity);
+        this.capacity = capacity;
+        this.mask = capacity - 1;
+        this.writePos = (long) LONG_VIEW.getAcquire(header, WRITE_POS_OFFSET);
+        this.readPos = (long) LONG_VIEW.getAcquire(header, READ_POS_OFFSET);
+    }
+
+    /**
+     * Creates the new ring buffer file, which is only accessible by the current user.
+     *
+     * @param capacity the size of the data area, a power of two
+     */
+    static SharedRingBuffer create(Path dir, int capacity) throws IOException {
+        if (Integer.bitCount(capacity) != 1 || capacity < 4096) {
+            throw new IllegalArgumentException("Capacity must be a power of two: " + capacity);
+        }
+
+        var path = Files.createTempFile(dir, "devtoolsfx-", ".ring");
+        try (var channel = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            var header = channel.map(FileChannel.MapMode.READ_WRITE, 0, HEADER_SIZE + capacity);
+            header.putInt(CAPACITY_OFFSET, capacity);
+            // the magic is written last, so that the other end never sees the partial header
+            header.putInt(MAGIC_OFFSET, MAGIC);
+            return new SharedRingBuffer(path, header, capacity);
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(path);
+            throw e;
+        }
+    }
+
+    /**
+     * Maps the ring buffer file created by the other end.
+     */
+    static SharedRingBuffer open(Path path) throws IOException {
+        if (!Files.isRegularFile(path)) {
+            throw new IOException("Not a ring buffer file: " + path);
+        }
+
+        try (var channel = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            long size = channel.size();
+            if (size <= HEADER_SIZE || size - HEADER_SIZE > Integer.MAX_VALUE) {
+                throw new IOException("Invalid ring buffer size: " + size);
+            }
+
+            var header = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+            int capacity = header.getInt(CAPACITY_OFFSET);
+            if (header.getInt(MAGIC_OFFSET) != MAGIC || Integer.bitCount(capacity) != 1
+                || HEADER_SIZE + capacity != size) {
+                throw new IOException("Invalid ring buffer header: " + path);
+            }
+            return new SharedRingBuffer(path, header, capacity);
+        }
+    }
+
+    Path getPath() {
+        return path;
+    }
+
+    /**
+     * Returns the maximum frame size that is passed to the consumer without copying.
+     */
+    int getMaxChunkSize() {
+        return capacity / 4 - RECORD_HEADER_SIZE;
+    }
+
+    boolean isClosed() {
+        return (long) LONG_VIEW.getVolatile(header, CLOSED_OFFSET) != 0;
+    }
+
+    /**
+     * Notifies both ends that the ring buffer is no longer used. The mapping itself
+     * is released when the buffer is garbage collected.
+     */
+    @Override
+    public void close() {
+        LONG_VIEW.setVolatile(header, CLOSED_OFFSET, 1L);
+    }
+
+    ///////////////////////////////////////////////////////////////////////////
+    // Producer                                                              //
+    ///////////////////////////////////////////////////////////////////////////
+
+    /**
+     * Writes the frame, waiting for the consumer to free the space if needed.
+     *
+     * @return false if the ring buffer is closed
+     */
+    boolean write(byte[] frame, int offset, int length) {
+        int maxChunkSize = getMaxChunkSize();
+        do {
+            int chunk = Math.min(length, maxChunkSize);
+            // the negative length means that the frame continues in the next record
+            int recordLength = chunk == length ? chunk : -chunk;
+            int recordSize = align(RECORD_HEADER_SIZE + chunk);
+
+            int index = (int) (writePos & mask);
+            int tailSize = capacity - index;
+            if (!awaitSpace(recordSize <= tailSize ? recordSize : tailSize + recordSize)) {
+                return false;
+            }
+
+            if (recordSize > tailSize) {
+                data.putInt(index, PADDING);
+                writePos += tailSize;
+                index = 0;
+            }
+
+            data.putInt(index, recordLength);
+            data.put(index + RECORD_HEADER_SIZE, frame, offset, chunk);
+            writePos += recordSize;
+            LONG_VIEW.setRelease(header, WRITE_POS_OFFSET, writePos);
+
+            offset += chunk;
+            length -= chunk;
+        } while (length > 0);
+
+        return true;
+    }
+
+    private boolean awaitSpace(int size) {
+        int idle = 0;
+        while (capacity - (writePos - (long) LONG_VIEW.getAcquire(header, READ_POS_OFFSET)) < size) {
+            if (isClosed()) {
+                return false;
+            }
+            idle = idle(idle);
+        }
+        return true;
+    }
+
+    ///////////////////////////////////////////////////////////////////////////
+    // Consumer                                                              //
+    ///////////////////////////////////////////////////////////////////////////
+
+    /**
+     * Waits for the next frame and passes it to the handler. The buffer is only valid
+     * until the handler returns, because its space is reused by the producer after that.
+     *
+     * @return false if the ring buffer is closed
+     */
+    boolean read(Consumer<ByteBuffer> handler) {
+        int idle = 0;
+        while (true) {
+            if (readPos == (long) LONG_VIEW.getAcquire(header, WRITE_POS_OFFSET)) {
+                if (isClosed()) {
+                    return false;
+                }
+                idle = idle(idle);
+                continue;
+            }
+            idle = 0;
+
+            int index = (int) (readPos & mask);
+            int recordLength = data.getInt(index);
+            if (recordLength == PADDING) {
+                release(capacity - index);
+                continue;
+            }
+
+            int chunk = Math.abs(recordLength);
+            if (chunk > capacity - index - RECORD_HEADER_SIZE) {
+                throw new IllegalStateException("Invalid record length: " + recordLength);
+            }
+
+            var record = data.slice(index + RECORD_HEADER_SIZE, chunk);
+            if (recordLength >= 0 && assemblyLength == 0) {
+                try {
+                    handler.accept(record);
+                } finally {
+                    release(align(RECORD_HEADER_SIZE + chunk));
+                }
+                return true;
+            }
+
+            append(record);
+            release(align(RECORD_HEADER_SIZE + chunk));
+            if (recordLength >= 0) {
+                var frame = ByteBuffer.wrap(assembly, 0, assemblyLength);
+                // doesn't retain the memory, the large frames are rare
+                assembly = new byte[0];
+                assemblyLength = 0;
+                handler.accept(frame);
+                return true;
+            }
+        }
+    }
+
+    private void append(ByteBuffer record) {
+        int length = assemblyLength + record.remaining();
+        if (length > RemoteProtocol.MAX_FRAME_SIZE) {
+            throw new IllegalStateException("Frame is too large: " + length);
+        }
+        if (assembly.length < length) {
+            var grown = new byte[Math.max(assembly.length * 2, length)];
+            System.arraycopy(assembly, 0, grown, 0, assemblyLength);
+            assembly = grown;
+        }
+        record.get(assembly, assemblyLength, record.remaining());
+        assemblyLength = length;
+    }
+
+    private void release(int size) {
+        readPos += size;
+        LONG_VIEW.setRelease(header, READ_POS_OFFSET, readPos);
+    }
+
+    ///////////////////////////////////////////////////////////////////////////
+
+    private static int align(int size) {
+        return (size + 3) & ~3;
+    }
+
+    private static int idle(int count) {
+        if (count < SPIN_LIMIT) {
+            Thread.onSpinWait();
+        } else if (count < YIELD_LIMIT) {
+            Thread.yield();
+        } else {
+            int shift = Math.min(count - YIELD_LIMIT, 7);
+            LockSupport.parkNanos(Math.min(MIN_PARK_NANOS << shift, MAX_PARK_NANOS));
+        }
+        return count + 1;
+    }
+}
@@ -0,0 +1,16 @@
+package devtoolsfx.connector;
+
+import org.jspecify.annotations.NullMarked;
+
+import java.util.List;
+
+/**
+ * Represents the identical stack traces of a thread, sampled one or more times.
+ *
+ * @param frames the stack frames, the first frame is the top of the stack,
+ *               as in {@link Thread#getStackTrace()}
+ * @param count  the number of samples with this stack trace
+ */
+@NullMarked
+public record StackSample(List<StackTraceElement> frames, int count) {
+}
@@ -0,0 +1,186 @@
+package devtoolsfx.connector;
+
+import devtoolsfx.event.EventBus;
+import devtoolsfx.event.EventSource;
+import devtoolsfx.event.StallEvent;
+import devtoolsfx.jfr.StallJfrEvent;
+import javafx.application.Platform;
+import jdk.jfr.EventType;
+import org.jspecify.annotations.NullMarked;
+import org.jspecify.annotations.Nullable;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.*;
+
+/**
+ * Detects the FX application thread stalls. The watchdog thread periodically posts
+ * a heartbeat runnable to the FX thread. If the heartbeat isn't executed within the
+ * threshold, the watchdog starts sampling the FX thread stack until the thread recovers,
+ * and then reports the aggregated samples via {@link StallEvent}. The stall is also
+ * emitted as {@link StallJfrEvent}, if the flight recorder event is enabled.
+ */
+@NullMarked
+final class StallWatchdog {
+
+    static final int MAX_STACK_DEPTH = 128;
+    static final int MAX_DISTINCT_STACKS = 100;
+    static final long SAMPLE_INTERVAL_MILLIS = 10;
+    static final long MIN_HEARTBEAT_INTERVAL_MILLIS = 10;
+
+    private static final EventType JFR_EVENT = EventType.getEventType(StallJfrEvent.class);
+
+    private final EventBus eventBus;
+    private final EventSource eventSource;
+    private final ThreadMXBean threadMXBean = ManagementFactory.getThreadMXBean();
+    private final Runnable heartbeat = this::onHeartbeat;
+
+    private volatile long thresholdMillis;
+    private volatile long fxThreadId = -1;
+    private volatile long heartbeatReceived;
+    private volatile boolean heartbeatPending;
+    private @Nullable Thread thread;
+
+    StallWatchdog(EventBus eventBus, EventSource eventSource, int thresholdMillis) {
+        this.eventBus = eventBus;
+        this.eventSource = eventSource;
+        setThreshold(thresholdMillis);
+    }
+
+    /**
+     * Sets the minimum FX thread blocking time that is considered a stall.
+     */
+    void setThreshold(int thresholdMillis) {
+        this.thresholdMillis = Math.max(MIN_HEARTBEAT_INTERVAL_MILLIS, thresholdMillis);
+    }
+
+    boolean isRunning() {
+        return thread != null;
+    }
+
+    void start() {
+        if (thread != null) {
+            return;
+        }
+
+        thread = new Thread(this::run, "devtoolsfx-stall-watchdog");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    void stop() {
+        if (thread != null) {
+            thread.interrupt();
+            thread = null;
+        }
+    }
+
+    ///////////////////////////////////////////////////////////////////////////
+
+    // executed in the FX thread
+    private void onHeartbeat() {
+        fxThreadId = Thread.currentThread().threadId();
+        heartbeatReceived = System.nanoTime();
+        heartbeatPending = false;
+    }
+
+    // executed in the watchdog thread
+    private void run() {
+        var stacks = new HashMap<List<StackTraceElement>, int[]>();
+        long heartbeatSent = 0;
+        int sampleCount = 0;
+        boolean stalled = false;
+        StallJfrEvent jfrEvent = null;
+
+        // the heartbeat from the previous run may still be queued
+        heartbeatPending = false;
+
+        try {
+            while (!Thread.currentThread().isInterrupted()) {
+                if (!heartbeatPending) {
+                    if (stalled) {
+                        long duration = (heartbeatReceived - heartbeatSent) / 1_000_000;
+                        if (jfrEvent != null) {
+                            commitJfrEvent(jfrEvent, duration, sampleCount, stacks);
+                            jfrEvent = null;
+                        }
+                        report(duration, sampleCount, stacks);
+                        stacks.clear();
+                        sampleCount = 0;
+                        stalled = false;
+                    }
+
+                    heartbeatPending = true;
+                    heartbeatSent = System.nanoTime();
+                    Platform.runLater(heartbeat);
+                } else if ((System.nanoTime() - heartbeatSent) / 1_000_000 >= thresholdMillis) {
+                    if (!stalled) {
+                        if (JFR_EVENT.isEnabled()) {
+                            var event = new StallJfrEvent();
+                            event.begin();
+                            jfrEvent = event;
+                        }
+                    }
+                    stalled = true;
+                    if (sample(stacks)) {
+                        sampleCount++;
+                    }
+                }
+
+                long interval = thresholdMillis / 4;
+                Thread.sleep(stalled ? SAMPLE_INTERVAL_MILLIS : Math.max(MIN_HEARTBEAT_INTERVAL_MILLIS, interval));
+            }
+        } catch (InterruptedException e) {
+            // stopped
+        }
+    }
+
+    private boolean sample(Map<List<StackTraceElement>, int[]> stacks) {
+        if (fxThreadId < 0) {
+            return false;
+        }
+
+        var info = threadMXBean.getThreadInfo(fxThreadId, MAX_STACK_DEPTH);
+        if (info == null) {
+            return false;
+        }
+
+        var frames = List.of(info.getStackTrace());
+        var counter = stacks.get(frames);
+        if (counter != null) {
+            counter[0]++;
+        } else if (stacks.size() < MAX_DISTINCT_STACKS) {
+            stacks.put(frames, new int[] { 1 });
+        }
+
+        return true;
+    }
+
+    private void commitJfrEvent(StallJfrEvent event,
+                                long duration,
+                                int sampleCount,
+                                Map<List<StackTraceElement>, int[]> stacks) {
+        List<StackTraceElement> top = null;
+        int topCount = 0;
+        for (var entry : stacks.entrySet()) {
+            if (entry.getValue()[0] > topCount) {
+                top = entry.getKey();
+                topCount = entry.getValue()[0];
+            }
+        }
+
+        event.stallDuration = duration;
+        event.sampleCount = sampleCount;
+        event.topFrame = top != null && !top.isEmpty() ? top.getFirst().toString() : "";
+        event.commit();
+    }
+
+    private void report(long duration, int sampleCount, Map<List<StackTraceElement>, int[]> stacks) {
+        var samples = new ArrayList<StackSample>(stacks.size());
+        stacks.forEach((frames, counter) -> samples.add(new StackSample(frames, counter[0])));
+        samples.sort(Comparator.comparingInt(StackSample::count).reversed());
+
+        var event = new StallEvent(eventSource, duration, sampleCount, Collections.unmodifiableList(samples));
+        Platform.runLater(() -> eventBus.fire(event));
+    }
+}
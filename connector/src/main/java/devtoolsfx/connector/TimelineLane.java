@@ -0,0 +1,46 @@
+package devtoolsfx.connector;
+
+import devtoolsfx.event.TimelineEvent;
+
+/**
+ * The performance timeline lanes, see {@link TimelineEvent}. Each lane is a series of samples,
+ * where the sample time is in nanoseconds, as returned by {@link System#nanoTime()}.
+ */
+public enum TimelineLane {
+
+    /**
+     * The pulse (frame) intervals. The sample time is the pulse start,
+     * the value is the interval until the next pulse in milliseconds.
+     */
+    PULSES,
+
+    /**
+     * The key, mouse and scroll events. The value is the number of events.
+     */
+    INPUT,
+
+    /**
+     * The connector events, except the timeline events themselves.
+     * The value is the number of events.
+     */
+    EVENTS,
+
+    /**
+     * The layout invalidations, reported once per second while
+     * {@link ConnectorOptions#isLayoutTracking()} is enabled.
+     * The value is the number of invalidations during the last second.
+     */
+    LAYOUT,
+
+    /**
+     * The FX application thread stalls, reported while {@link ConnectorOptions#isStallDetection()}
+     * is enabled. The sample time is the stall start, the value is the duration in milliseconds.
+     */
+    STALLS,
+
+    /**
+     * The garbage collections. The sample time is the collection start,
+     * the value is the duration in milliseconds.
+     */
+    GC
+}
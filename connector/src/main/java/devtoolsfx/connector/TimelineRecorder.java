@@ -0,0 +1,259 @@
+package devtoolsfx.connector;
+
+import devtoolsfx.event.*;
+import devtoolsfx.scenegraph.LayoutHotSpot;
+import javafx.animation.Animation;
+import javafx.animation.AnimationTimer;
+import javafx.animation.KeyFrame;
+import javafx.animation.Timeline;
+import javafx.application.Platform;
+import javafx.event.EventHandler;
+import javafx.scene.input.InputEvent;
+import javafx.scene.input.MouseEvent;
+import javafx.stage.Window;
+import javafx.util.Duration;
+import org.jspecify.annotations.NullMarked;
+
+import javax.management.Notification;
+import javax.management.NotificationEmitter;
+import javax.management.NotificationListener;
+import javax.management.openmbean.CompositeData;
+import java.lang.System.Logger;
+import java.lang.System.Logger.Level;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.util.*;
+import java.util.function.Consumer;
+
+/**
+ * Records the performance timeline: pulses, input events, connector events, layout invalidations,
+ * stalls and garbage collections. The samples are batched per lane and reported periodically
+ * via {@link TimelineEvent}. Like {@link PulseRecorder}, a running recorder makes the toolkit
+ * pulse continuously, so it should only be active while the timeline is being recorded.
+ */
+@NullMarked
+final class TimelineRecorder {
+
+    private static final Logger LOGGER = System.getLogger(TimelineRecorder.class.getName());
+
+    static final int FLUSH_INTERVAL = 250;
+    // the counted samples closer than that are merged into one
+    static final long COALESCE_NANOS = 1_000_000;
+
+    // see com.sun.management.GarbageCollectionNotificationInfo
+    private static final String GC_NOTIFICATION = "com.sun.management.gc.notification";
+
+    private final EventBus eventBus;
+    private final EventSource eventSource;
+    private final Map<TimelineLane, Batch> batches = new EnumMap<>(TimelineLane.class);
+    private final Set<Window> windows = Collections.newSetFromMap(new IdentityHashMap<>());
+    // GC times are reported in milliseconds since the JVM start
+    private final long jvmStartNanos;
+
+    private final AnimationTimer pulseTimer = new AnimationTimer() {
+        @Override
+        public void handle(long now) {
+            onPulse(now);
+        }
+    };
+    private final EventHandler<InputEvent> inputFilter = this::onInput;
+    private final Consumer<ConnectorEvent> eventListener = this::onConnectorEvent;
+    private final NotificationListener gcListener = this::onGcNotification;
+    private final Timeline flushTimeline;
+
+    private boolean running;
+    private long lastPulse;
+
+    TimelineRecorder(EventBus eventBus, EventSource eventSource) {
+        this.eventBus = eventBus;
+        this.eventSource = eventSource;
+        this.jvmStartNanos = System.nanoTime() - ManagementFactory.getRuntimeMXBean().getUptime() * 1_000_000;
+
+        for (var lane : TimelineLane.values()) {
+            batches.put(lane, new Batch());
+        }
+
+        flushTimeline = new Timeline(new KeyFrame(Duration.millis(FLUSH_INTERVAL), e -> flush()));
+        flushTimeline.setCycleCount(Animation.INDEFINITE);
+    }
+
+    boolean isRunning() {
+        return running;
+    }
+
+    void start() {
+        if (running) {
+            return;
+        }
+
+        running = true;
+        lastPulse = 0;
+
+        pulseTimer.start();
+        windows.forEach(this::addInputFilter);
+        eventBus.subscribe(ConnectorEvent.class, eventListener);
+        for (GarbageCollectorMXBean bean : ManagementFactory.getGarbageCollectorMXBeans()) {
+            if (bean instanceof NotificationEmitter emitter) {
+                emitter.addNotificationListener(gcListener, null, null);
+            }
+        }
+        flushTimeline.play();
+    }
+
+    void stop() {
+        if (!running) {
+            return;
+        }
+
+        running = false;
+
+        pulseTimer.stop();
+        windows.forEach(this::removeInputFilter);
+        eventBus.unsubscribe(eventListener);
+        for (GarbageCollectorMXBean bean : ManagementFactory.getGarbageCollectorMXBeans()) {
+            if (bean instanceof NotificationEmitter emitter) {
+                try {
+                    emitter.removeNotificationListener(gcListener);
+                } catch (Exception e) {
+                    LOGGER.log(Level.WARNING, "Unable to remove GC notification listener: " + e.getMessage());
+                }
+            }
+        }
+        flushTimeline.stop();
+
+        // report the remaining samples
+        flush();
+    }
+
+    /**
+     * Starts recording the input events of the given window.
+     */
+    void attach(Window window) {
+        if (windows.add(window) && running) {
+            addInputFilter(window);
+        }
+    }
+
+    /**
+     * The opposite of {@link #attach(Window)}.
+     */
+    void detach(Window window) {
+        if (windows.remove(window) && running) {
+            removeInputFilter(window);
+        }
+    }
+
+    ///////////////////////////////////////////////////////////////////////////
+
+    private void addInputFilter(Window window) {
+        window.addEventFilter(InputEvent.ANY, inputFilter);
+    }
+
+    private void removeInputFilter(Window window) {
+        window.removeEventFilter(InputEvent.ANY, inputFilter);
+    }
+
+    private void onPulse(long now) {
+        if (lastPulse > 0) {
+            batches.get(TimelineLane.PULSES).add(lastPulse, (now - lastPulse) / 1_000_000d);
+        }
+        lastPulse = now;
+    }
+
+    private void onInput(InputEvent e) {
+        var type = e.getEventType();
+        if (type == MouseEvent.MOUSE_ENTERED || type == MouseEvent.MOUSE_EXITED
+            || type == MouseEvent.MOUSE_ENTERED_TARGET || type == MouseEvent.MOUSE_EXITED_TARGET) {
+            // synthesized by the toolkit, not the user input
+            return;
+        }
+
+        batches.get(TimelineLane.INPUT).increment(System.nanoTime());
+    }
+
+    private void onConnectorEvent(ConnectorEvent event) {
+        long now = System.nanoTime();
+        switch (event) {
+            case TimelineEvent ignored -> {
+                // our own events
+                return;
+            }
+            case StallEvent stall -> batches.get(TimelineLane.STALLS).add(
+                now - stall.duration() * 1_000_000, stall.duration()
+            );
+            case LayoutHotSpotsEvent layout when !layout.hotSpots().isEmpty() -> {
+                int invalidations = layout.hotSpots().stream().mapToInt(LayoutHotSpot::perSecond).sum();
+                batches.get(TimelineLane.LAYOUT).add(now, invalidations);
+            }
+            default -> {
+                // count only
+            }
+        }
+
+        batches.get(TimelineLane.EVENTS).increment(now);
+    }
+
+    // executed in the JMX notification thread
+    private void onGcNotification(Notification notification, Object handback) {
+        if (!GC_NOTIFICATION.equals(notification.getType())
+            || !(notification.getUserData() instanceof CompositeData data)
+            || !(data.get("gcInfo") instanceof CompositeData gcInfo)) {
+            return;
+        }
+
+        long startTime = jvmStartNanos + (Long) gcInfo.get("startTime") * 1_000_000;
+        long duration = (Long) gcInfo.get("duration");
+        Platform.runLater(() -> {
+            if (running) {
+                batches.get(TimelineLane.GC).add(startTime, duration);
+            }
+        });
+    }
+
+    private void flush() {
+        var samples = new ArrayList<TimelineSamples>();
+        batches.forEach((lane, batch) -> {
+            if (batch.size > 0) {
+                samples.add(batch.drain(lane));
+            }
+        });
+
+        if (!samples.isEmpty()) {
+            eventBus.fire(new TimelineEvent(eventSource, Collections.unmodifiableList(samples)));
+        }
+    }
+
+    ///////////////////////////////////////////////////////////////////////////
+
+    private static final class Batch {
+
+        private long[] times = new long[64];
+        private double[] values = new double[64];
+        private int size;
+
+        private void add(long time, double value) {
+            if (size == times.length) {
+                times = Arrays.copyOf(times, size * 2);
+                values = Arrays.copyOf(values, size * 2);
+            }
+
+            times[size] = time;
+            values[size] = value;
+            size++;
+        }
+
+        private void increment(long time) {
+            if (size > 0 && time - times[size - 1] < COALESCE_NANOS) {
+                values[size - 1]++;
+            } else {
+                add(time, 1);
+            }
+        }
+
+        private TimelineSamples drain(TimelineLane lane) {
+            var samples = new TimelineSamples(lane, Arrays.copyOf(times, size), Arrays.copyOf(values, size));
+            size = 0;
+            return samples;
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package devtoolsfx.connector;
+
+import org.jspecify.annotations.NullMarked;
+
+/**
+ * Represents the batch of timeline samples of a single lane in columnar form.
+ * Both arrays have the same length, and the samples are ordered by time.
+ * The arrays must not be modified.
+ *
+ * @param lane   the timeline lane
+ * @param times  the sample times in nanoseconds, as returned by {@link System#nanoTime()}
+ * @param values the sample values, see {@link TimelineLane} for the value meaning
+ */
+@NullMarked
+public record TimelineSamples(TimelineLane lane,
+                              long[] times,
+                              double[] values) {
+
+    /**
+     * Returns the number of samples.
+     */
+    public int size() {
+        return times.length;
+    }
+}
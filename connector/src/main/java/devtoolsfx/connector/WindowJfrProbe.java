@@ -0,0 +1,114 @@
+package devtoolsfx.connector;
+
+import devtoolsfx.jfr.NodeChurnJfrEvent;
+import devtoolsfx.jfr.PulseJfrEvent;
+import javafx.application.Platform;
+import javafx.scene.Scene;
+import jdk.jfr.EventType;
+import org.jspecify.annotations.NullMarked;
+import org.jspecify.annotations.Nullable;
+
+/**
+ * Emits the per-window flight recorder events: the scene pulses and the node churn,
+ * see {@link PulseJfrEvent} and {@link NodeChurnJfrEvent}. Each hook checks whether
+ * the event type is enabled first, so it costs next to nothing when no recording
+ * is running.
+ */
+@NullMarked
+final class WindowJfrProbe {
+
+    // checked before allocating the events, which happens on every pulse otherwise
+    private static final EventType PULSE_JFR_EVENT = EventType.getEventType(PulseJfrEvent.class);
+    private static final EventType NODE_CHURN_JFR_EVENT = EventType.getEventType(NodeChurnJfrEvent.class);
+
+    private final String window;
+    private final Runnable preLayoutListener = this::onPreLayout;
+    private final Runnable postLayoutListener = this::onPostLayout;
+
+    private @Nullable Scene scene;
+    private @Nullable PulseJfrEvent pulseEvent;
+    private @Nullable NodeChurnJfrEvent churnEvent;
+
+    WindowJfrProbe(String window) {
+        this.window = window;
+    }
+
+    /**
+     * Starts measuring the pulses of the given scene.
+     */
+    void attach(Scene scene) {
+        detach();
+
+        this.scene = scene;
+        scene.addPreLayoutPulseListener(preLayoutListener);
+        scene.addPostLayoutPulseListener(postLayoutListener);
+    }
+
+    /**
+     * The opposite of {@link #attach(Scene)}.
+     */
+    void detach() {
+        if (scene != null) {
+            scene.removePreLayoutPulseListener(preLayoutListener);
+            scene.removePostLayoutPulseListener(postLayoutListener);
+            scene = null;
+        }
+        pulseEvent = null;
+    }
+
+    void nodeAdded() {
+        var event = getChurnEvent();
+        if (event != null) {
+            event.added++;
+        }
+    }
+
+    void nodeRemoved() {
+        var event = getChurnEvent();
+        if (event != null) {
+            event.removed++;
+        }
+    }
+
+    ///////////////////////////////////////////////////////////////////////////
+
+    private void onPreLayout() {
+        if (PULSE_JFR_EVENT.isEnabled()) {
+            var event = new PulseJfrEvent();
+            event.window = window;
+            event.begin();
+            pulseEvent = event;
+        }
+    }
+
+    private void onPostLayout() {
+        if (pulseEvent != null) {
+            pulseEvent.commit();
+            pulseEvent = null;
+        }
+    }
+
+    private @Nullable NodeChurnJfrEvent getChurnEvent() {
+        if (churnEvent == null) {
+            if (!NODE_CHURN_JFR_EVENT.isEnabled()) {
+                return null;
+            }
+
+            var event = new NodeChurnJfrEvent();
+            event.window = window;
+            event.begin();
+            churnEvent = event;
+
+            // the runnable is executed before the next pulse, that's where the current one ends
+            Platform.runLater(this::commitChurnEvent);
+        }
+        return churnEvent;
+    }
+
+    private void commitChurnEvent() {
+        if (churnEvent != null) {
+            churnEvent.commit();
+            churnEvent = null;
+        }
+    }
+}
@@ -4,6 +4,7 @@ import devtoolsfx.event.*;
 import devtoolsfx.scenegraph.Element;
 import devtoolsfx.scenegraph.WindowProperties;
 import devtoolsfx.scenegraph.attributes.AttributeCategory;
+import devtoolsfx.scenegraph.attributes.AttributeWatcher;
 import devtoolsfx.util.SceneUtils;
 import javafx.beans.InvalidationListener;
 import javafx.beans.Observable;
@@ -42,23 +43,42 @@ final class WindowMonitor {
 
     // attributes
     private final AttributeListener attributeListener;
+    private final AttributeWatcher attributeWatcher;
+
+    // performance
+    private final LayoutInvalidationCounter layoutCounter;
+    private final PulseRecorder pulseRecorder;
+    private final FpsOverlay fpsOverlay;
+    private final InputLatencyTracker inputLatencyTracker;
+    private final WindowJfrProbe jfrProbe;
 
     private boolean started;
+    // the options are shared by all monitors, so they're only observed while the monitor is started
+    private Subscription optionsSub = Subscription.EMPTY;
     private final Map<Integer, Subscription> stylesClassSubs = new HashMap<>();
+    // updated in the FX thread, read by the connector MXBean
+    private volatile int nodeCount;
+    private volatile int listenerCount;
 
     /**
      * Creates a new WindowMonitor instance. Monitors are not reusable; each instance must
      * be connected to a different {@link Window}.
      *
-     * @param window        the monitored window
-     * @param connectorOpts options for {@link LocalConnector}
-     * @param eventBus      the event bus instance to track monitor events
-     * @param eventSource   the event source to be included in all emitted events
+     * @param window              the monitored window
+     * @param connectorOpts       options for {@link LocalConnector}
+     * @param eventBus            the event bus instance to track monitor events
+     * @param eventSource         the event source to be included in all emitted events
+     * @param pulseRecorder       the pulse recorder shared by all monitors
+     * @param inputLatencyTracker the input latency tracker shared by all monitors
+     * @param scheduler           the delayed task scheduler shared by all monitors
      */
     public WindowMonitor(Window window,
                          ConnectorOptions connectorOpts,
                          EventBus eventBus,
-                         EventSource eventSource) {
+                         EventSource eventSource,
+                         PulseRecorder pulseRecorder,
+                         InputLatencyTracker inputLatencyTracker,
+                         FxScheduler scheduler) {
         this.window = window;
         this.connectorOpts = connectorOpts;
         this.eventBus = eventBus;
@@ -68,8 +88,12 @@ final class WindowMonitor {
         this.inspectPane = new InspectPane();
 
         this.attributeListener = new AttributeListener(eventBus, eventSource);
-
-        connectorOpts.inspectModeProperty().addListener((obs, old, val) -> refreshRoot());
+        this.attributeWatcher = new AttributeWatcher(eventBus, eventSource);
+        this.layoutCounter = new LayoutInvalidationCounter(eventBus, eventSource, scheduler);
+        this.pulseRecorder = pulseRecorder;
+        this.fpsOverlay = new FpsOverlay();
+        this.inputLatencyTracker = inputLatencyTracker;
+        this.jfrProbe = new WindowJfrProbe(eventSource.toLogString());
     }
 
     ///////////////////////////////////////////////////////////////////////////
@@ -81,6 +105,19 @@ final class WindowMonitor {
      */
     public void start() {
         started = true;
+        optionsSub = Subscription.combine(
+            connectorOpts.inspectModeProperty().subscribe((old, val) -> refreshRoot()),
+            connectorOpts.maxAttributeValueLengthProperty().subscribe(
+                val -> attributeListener.setMaxValueLength(val.intValue())
+            ),
+            connectorOpts.slowAttributeThresholdProperty().subscribe(
+                val -> attributeListener.setSlowReadThreshold(val.intValue())
+            ),
+            connectorOpts.preserveLazyPropertiesProperty().subscribe(attributeListener::setPreserveLazyProperties),
+            connectorOpts.layoutTrackingProperty().subscribe((old, val) -> toggleLayoutTracking(val)),
+            connectorOpts.pulseOverlayProperty().subscribe((old, val) -> toggleFpsOverlay(val)),
+            connectorOpts.inputLatencyTrackingProperty().subscribe((old, val) -> toggleInputLatencyTracking(val))
+        );
 
         window.xProperty().addListener(windowPropertyReportListener);
         window.yProperty().addListener(windowPropertyReportListener);
@@ -89,7 +126,9 @@ final class WindowMonitor {
         window.focusedProperty().addListener(windowPropertyReportListener);
         window.sceneProperty().addListener(sceneChangeListener);
 
+        layoutCounter.setEnabled(connectorOpts.isLayoutTracking());
         changeScene(null, window.getScene());
+        toggleFpsOverlay(connectorOpts.isPulseOverlay());
         fire(WindowPropertiesEvent.of(eventSource, window));
     }
 
@@ -98,6 +137,8 @@ final class WindowMonitor {
      */
     public void stop() {
         started = false;
+        optionsSub.unsubscribe();
+        optionsSub = Subscription.EMPTY;
 
         window.xProperty().removeListener(windowPropertyReportListener);
         window.yProperty().removeListener(windowPropertyReportListener);
@@ -107,9 +148,12 @@ final class WindowMonitor {
         window.sceneProperty().removeListener(sceneChangeListener);
 
         changeScene(getScene(), null);
+        layoutCounter.setEnabled(false);
+        toggleFpsOverlay(false);
 
         // cleanup resources
         clearSelection();
+        attributeWatcher.clear();
         inspectPane.hide();
     }
 
@@ -127,6 +171,21 @@ final class WindowMonitor {
         return eventSource;
     }
 
+    /**
+     * Returns the number of the monitored scene graph nodes. Safe to call from any thread.
+     */
+    int getNodeCount() {
+        return nodeCount;
+    }
+
+    /**
+     * Returns the number of the listeners and event filters installed into the scene graph
+     * nodes by the monitor. Safe to call from any thread.
+     */
+    int getListenerCount() {
+        return listenerCount + layoutCounter.getTrackedCount();
+    }
+
     /**
      * See {@link Connector#selectWindow(int)}.
      */
@@ -249,6 +308,40 @@ final class WindowMonitor {
         attributeListener.reload();
     }
 
+    /**
+     * See {@link Connector#getAttributeValue(int, AttributeCategory, String)}.
+     */
+    public @Nullable String getAttributeValue(AttributeCategory category, String attribute) {
+        try {
+            Object value = attributeListener.readAttributeValue(category, attribute);
+            return value != null ? String.valueOf(value) : null;
+        } catch (RuntimeException e) {
+            fire(ExceptionEvent.of(eventSource, e));
+            return null;
+        }
+    }
+
+    /**
+     * See {@link Connector#setActiveAttributeCategories(int, Set)}.
+     */
+    public void setActiveAttributeCategories(Set<AttributeCategory> categories) {
+        attributeListener.setActiveCategories(categories);
+    }
+
+    /**
+     * See {@link Connector#watchAttribute(int, Element, String)}.
+     */
+    public boolean watchAttribute(Node node, String property) {
+        return attributeWatcher.watch(node, property);
+    }
+
+    /**
+     * See {@link Connector#unwatchAttribute(int, Element, String)}.
+     */
+    public void unwatchAttribute(Node node, String property) {
+        attributeWatcher.unwatch(node, property);
+    }
+
     /**
      * Retrieves the scene of the monitored window.
      */
@@ -380,6 +473,9 @@ final class WindowMonitor {
         if (oldScene != null) {
             SceneUtils.removeListener(oldScene, Scene::rootProperty, sceneRootChangeListener);
             SceneUtils.removeEventFilter(oldScene, MouseEvent.MOUSE_MOVED, mouseMoveHighlightFilter);
+            inputLatencyTracker.detach(oldScene);
+            jfrProbe.detach();
+            layoutCounter.detach();
             oldRoot = oldScene.getRoot();
         }
 
@@ -388,6 +484,11 @@ final class WindowMonitor {
         if (newScene != null) {
             SceneUtils.addListener(newScene, Scene::rootProperty, sceneRootChangeListener);
             SceneUtils.addEventFilter(newScene, MouseEvent.MOUSE_MOVED, mouseMoveHighlightFilter);
+            if (connectorOpts.isInputLatencyTracking()) {
+                inputLatencyTracker.attach(newScene);
+            }
+            jfrProbe.attach(newScene);
+            layoutCounter.attach(newScene);
             newRoot = newScene.getRoot();
         }
 
@@ -427,6 +528,9 @@ final class WindowMonitor {
         }
 
         boundsPane.attach(newRoot);
+        if (connectorOpts.isPulseOverlay()) {
+            fpsOverlay.attach(newRoot);
+        }
         notifyRootChanged(newRoot);
     }
 
@@ -466,19 +570,31 @@ final class WindowMonitor {
             return;
         }
 
-        node.visibleProperty().removeListener(nodeVisibilityChangeListener);
-        node.visibleProperty().addListener(nodeVisibilityChangeListener);
+        if (node instanceof Parent parent) {
+            layoutCounter.track(parent);
+        }
 
-        node.removeEventFilter(Event.ANY, nodeEventLogFilter);
-        node.addEventFilter(Event.ANY, nodeEventLogFilter);
+        // the style class subscription marks the node as already monitored
+        ObservableList<Node> children = SceneUtils.getChildren(node);
+        if (!stylesClassSubs.containsKey(node.hashCode())) {
+            node.visibleProperty().addListener(nodeVisibilityChangeListener);
+            listenerCount++;
 
-        stylesClassSubs.put(node.hashCode(), node.getStyleClass().subscribe(() -> fire(new NodeStyleClassEvent(
-            eventSource, LocalElement.of(node), Collections.unmodifiableList(node.getStyleClass())
-        ))));
+            node.addEventFilter(Event.ANY, nodeEventLogFilter);
+            listenerCount++;
 
-        ObservableList<Node> children = SceneUtils.getChildren(node);
-        children.removeListener(nodeChildrenListener);
-        children.addListener(nodeChildrenListener);
+            stylesClassSubs.put(node.hashCode(), node.getStyleClass().subscribe(
+                () -> fire(new NodeStyleClassEvent(
+                    eventSource, LocalElement.of(node), Collections.unmodifiableList(node.getStyleClass())
+                ))
+            ));
+            listenerCount++;
+
+            children.addListener(nodeChildrenListener);
+            listenerCount++;
+
+            nodeCount++;
+        }
 
         for (var child : children) {
             addNodeBranchListeners(child);
@@ -498,16 +614,31 @@ final class WindowMonitor {
         for (var child : children) {
             removeNodeBranchListeners(child);
         }
+
+        attributeWatcher.unwatchAll(node);
+
+        if (node instanceof Parent parent) {
+            layoutCounter.untrack(parent);
+        }
+
+        var subscription = stylesClassSubs.remove(node.hashCode());
+        if (subscription == null) {
+            return;
+        }
+
         children.removeListener(nodeChildrenListener);
+        listenerCount--;
 
         node.visibleProperty().removeListener(nodeVisibilityChangeListener);
+        listenerCount--;
 
         node.removeEventFilter(Event.ANY, nodeEventLogFilter);
+        listenerCount--;
 
-        var subscription = stylesClassSubs.get(node.hashCode());
-        if (subscription != null) {
-            subscription.unsubscribe();
-        }
+        subscription.unsubscribe();
+        listenerCount--;
+
+        nodeCount--;
     }
 
     /**
@@ -516,6 +647,7 @@ final class WindowMonitor {
     private void addNodeBranchListenersAndNotify(Node node) {
         if (!SceneUtils.isAuxiliaryNode(node)) {
             addNodeBranchListeners(node);
+            jfrProbe.nodeAdded();
             fire(NodeAddedEvent.of(eventSource, LocalElement.of(node)));
         }
     }
@@ -527,10 +659,63 @@ final class WindowMonitor {
     private void removeNodeBranchListenersAndNotify(Node node) {
         if (!SceneUtils.isAuxiliaryNode(node)) {
             removeNodeBranchListeners(node);
+            jfrProbe.nodeRemoved();
             fire(new NodeRemovedEvent(eventSource, LocalElement.of(node)));
         }
     }
 
+    /**
+     * Enables or disables the layout invalidation tracking for the entire scene graph.
+     */
+    private void toggleLayoutTracking(boolean enabled) {
+        layoutCounter.setEnabled(enabled);
+        if (enabled && getRoot() != null) {
+            trackLayoutBranch(getRoot());
+        }
+    }
+
+    /**
+     * Starts or stops measuring the input latency of the current scene.
+     */
+    private void toggleInputLatencyTracking(boolean enabled) {
+        if (getScene() == null) {
+            return;
+        }
+
+        if (enabled) {
+            inputLatencyTracker.attach(getScene());
+        } else {
+            inputLatencyTracker.detach(getScene());
+        }
+    }
+
+    /**
+     * Shows or hides the frame rate overlay in the top left corner of the window.
+     */
+    private void toggleFpsOverlay(boolean enabled) {
+        if (enabled) {
+            fpsOverlay.attach(getRoot());
+            pulseRecorder.addOverlay(fpsOverlay);
+        } else {
+            pulseRecorder.removeOverlay(fpsOverlay);
+            fpsOverlay.detach();
+        }
+    }
+
+    /**
+     * Starts counting the layout invalidations for the entire branch starting from the specified node.
+     */
+    private void trackLayoutBranch(Node node) {
+        if (SceneUtils.isAuxiliaryNode(node) || !(node instanceof Parent parent)) {
+            return;
+        }
+
+        layoutCounter.track(parent);
+        for (var child : SceneUtils.getChildren(parent)) {
+            trackLayoutBranch(child);
+        }
+    }
+
     ///////////////////////////////////////////////////////////////////////////
     // Highlighting                                                          //
     ///////////////////////////////////////////////////////////////////////////
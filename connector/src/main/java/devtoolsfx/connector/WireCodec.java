@@ -0,0 +1,1055 @@
+package devtoolsfx.connector;
+
+import devtoolsfx.event.*;
+import devtoolsfx.scenegraph.Element;
+import devtoolsfx.scenegraph.LayoutHotSpot;
+import devtoolsfx.scenegraph.NodeProperties;
+import devtoolsfx.scenegraph.WindowProperties;
+import devtoolsfx.scenegraph.attributes.*;
+import javafx.event.Event;
+import javafx.event.EventType;
+import javafx.geometry.BoundingBox;
+import javafx.geometry.Bounds;
+import javafx.geometry.Dimension2D;
+import javafx.geometry.Insets;
+import javafx.geometry.Point2D;
+import javafx.scene.paint.Color;
+import javafx.scene.text.Font;
+import org.jspecify.annotations.NullMarked;
+import org.jspecify.annotations.Nullable;
+
+import java.lang.reflect.Modifier;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Encodes and decodes the connector data types for the remote protocol, see {@link RemoteProtocol}.
+ * Elements are transferred as snapshots and decoded as {@link RemoteElement}. Attribute values
+ * of the known types (numbers, strings, colors, insets, bounds, etc.) are transferred as is,
+ * while all other values are replaced with their string representation.
+ * <p>
+ * Counts, ordinals and the most numbers are written as varints, the timestamps are written
+ * as deltas. The repeated strings, such as class names, style classes or property names,
+ * are written as the session symbols, see {@link WireDictionary}. So, a typical node takes
+ * around ten bytes, most of which is the UID.
+ * <p>
+ * The codec instance belongs to a single session. The timestamps recorded with
+ * {@link System#nanoTime()} are converted to the local clock using the offset
+ * obtained during the handshake.
+ */
+@NullMarked
+final class WireCodec {
+
+    // event IDs, new events can only be added to the end
+    static final int ATTRIBUTE_CATEGORIES_EVENT = 1;
+    static final int ATTRIBUTE_COLLECTION_EVENT = 2;
+    static final int ATTRIBUTE_LIST_EVENT = 3;
+    static final int ATTRIBUTE_UPDATED_EVENT = 4;
+    static final int EXCEPTION_EVENT = 5;
+    static final int JAVAFX_EVENT = 6;
+    static final int LAYOUT_HOT_SPOTS_EVENT = 7;
+    static final int MOUSE_POS_EVENT = 8;
+    static final int NODE_ADDED_EVENT = 9;
+    static final int NODE_REMOVED_EVENT = 10;
+    static final int NODE_SELECTED_EVENT = 11;
+    static final int NODE_STYLE_CLASS_EVENT = 12;
+    static final int NODE_VISIBILITY_EVENT = 13;
+    static final int PERFORMANCE_ENTRIES_EVENT = 14;
+    static final int ROOT_CHANGED_EVENT = 15;
+    static final int SLOW_ATTRIBUTE_EVENT = 16;
+    static final int STALL_EVENT = 17;
+    static final int TIMELINE_EVENT = 18;
+    static final int WATCHED_ATTRIBUTES_EVENT = 19;
+    static final int WINDOW_CLOSED_EVENT = 20;
+    static final int WINDOW_PROPERTIES_EVENT = 21;
+
+    // value types
+    static final int NULL_VALUE = 0;
+    static final int STRING_VALUE = 1;
+    static final int BOOLEAN_VALUE = 2;
+    static final int INTEGER_VALUE = 3;
+    static final int LONG_VALUE = 4;
+    static final int DOUBLE_VALUE = 5;
+    static final int FLOAT_VALUE = 6;
+    static final int COLOR_VALUE = 7;
+    static final int INSETS_VALUE = 8;
+    static final int BOUNDS_VALUE = 9;
+    static final int POINT_VALUE = 10;
+    static final int DIMENSION_VALUE = 11;
+    static final int TRUNCATED_VALUE = 12;
+    static final int CLIP_VALUE = 13;
+    static final int FONT_VALUE = 14;
+    static final int LIST_VALUE = 15;
+    static final int MAP_VALUE = 16;
+    static final int SYMBOL_VALUE = 17;
+
+    // element flags, the node properties are packed into the same byte
+    static final int CONTROL_FLAG = 1;
+    static final int PANE_FLAG = 1 << 1;
+    static final int VISIBLE_FLAG = 1 << 2;
+    static final int ID_FLAG = 1 << 3;
+    static final int STYLE_CLASS_FLAG = 1 << 4;
+    static final int STYLESHEETS_FLAG = 1 << 5;
+    static final int USER_AGENT_STYLESHEET_FLAG = 1 << 6;
+    static final int WINDOW_FLAG = 1 << 7;
+
+    // the child count is written plus one
+    static final int CHILDREN_OMITTED = 0;
+
+    // the event types that can't be resolved are recreated as the subtypes of this one
+    private static final EventType<Event> REMOTE_EVENT_TYPE = new EventType<>(Event.ANY, "DEVTOOLSFX_REMOTE");
+    private static final Map<String, EventType<?>> EVENT_TYPES = new ConcurrentHashMap<>();
+    private static final Class<?>[] KNOWN_EVENT_CLASSES = {
+        javafx.event.ActionEvent.class,
+        javafx.scene.input.ContextMenuEvent.class,
+        javafx.scene.input.DragEvent.class,
+        javafx.scene.input.InputMethodEvent.class,
+        javafx.scene.input.KeyEvent.class,
+        javafx.scene.input.MouseDragEvent.class,
+        javafx.scene.input.MouseEvent.class,
+        javafx.scene.input.RotateEvent.class,
+        javafx.scene.input.ScrollEvent.class,
+        javafx.scene.input.SwipeEvent.class,
+        javafx.scene.input.TouchEvent.class,
+        javafx.scene.input.ZoomEvent.class,
+        javafx.stage.WindowEvent.class,
+    };
+
+    private final long timeOffset;
+
+    /**
+     * @param timeOffset the difference between the local and the remote {@link System#nanoTime()}
+     */
+    WireCodec(long timeOffset) {
+        this.timeOffset = timeOffset;
+    }
+
+    ///////////////////////////////////////////////////////////////////////////
+    // Events                                                                //
+    ///////////////////////////////////////////////////////////////////////////
+
+    void writeEvent(WireOutput out, ConnectorEvent event) {
+        switch (event) {
+            case AttributeCategoriesEvent e -> {
+                writeEventHeader(out, ATTRIBUTE_CATEGORIES_EVENT, e.eventSource());
+                writeElement(out, e.element(), false);
+                writeCategories(out, e.categories());
+            }
+            case AttributeCollectionEvent e -> {
+                writeEventHeader(out, ATTRIBUTE_COLLECTION_EVENT, e.eventSource());
+                writeElement(out, e.element(), false);
+                out.writeVarInt(e.category().ordinal());
+                out.writeSymbol(e.attribute());
+                out.writeVarInt(e.changes().size());
+                for (var change : e.changes()) {
+                    out.writeVarInt(change.from());
+                    writeStrings(out, change.removed());
+                    writeStrings(out, change.added());
+                }
+            }
+            case AttributeListEvent e -> {
+                writeEventHeader(out, ATTRIBUTE_LIST_EVENT, e.eventSource());
+                writeElement(out, e.element(), false);
+                out.writeVarInt(e.category().ordinal());
+                writeAttributes(out, e.attributes());
+            }
+            case AttributeUpdatedEvent e -> {
+                writeEventHeader(out, ATTRIBUTE_UPDATED_EVENT, e.eventSource());
+                writeElement(out, e.element(), false);
+                out.writeVarInt(e.category().ordinal());
+                writeAttributes(out, e.attributes());
+            }
+            case ExceptionEvent e -> {
+                writeEventHeader(out, EXCEPTION_EVENT, e.eventSource());
+                out.writeSymbol(e.className());
+                out.writeString(e.stackTrace());
+                out.writeString(e.message());
+            }
+            case JavaFXEvent e -> {
+                writeEventHeader(out, JAVAFX_EVENT, e.eventSource());
+                writeElement(out, e.element(), false);
+                out.writeSymbol(e.eventType().getName());
+                out.writeString(e.value());
+            }
+            case LayoutHotSpotsEvent e -> {
+                writeEventHeader(out, LAYOUT_HOT_SPOTS_EVENT, e.eventSource());
+                out.writeVarInt(e.hotSpots().size());
+                for (var hotSpot : e.hotSpots()) {
+                    writeElement(out, hotSpot.element(), false);
+                    out.writeVarInt(hotSpot.perSecond());
+                    out.writeVarInt(hotSpot.maxPerPulse());
+                    out.writeVarLong(hotSpot.total());
+                }
+            }
+            case MousePosEvent e -> {
+                writeEventHeader(out, MOUSE_POS_EVENT, e.eventSource());
+                writeElement(out, e.element(), false);
+                out.writeDouble(e.x());
+                out.writeDouble(e.y());
+            }
+            case NodeAddedEvent e -> {
+                writeEventHeader(out, NODE_ADDED_EVENT, e.eventSource());
+                writeElement(out, e.element(), true);
+                writeParent(out, e.element());
+            }
+            case NodeRemovedEvent e -> {
+                writeEventHeader(out, NODE_REMOVED_EVENT, e.eventSource());
+                writeElement(out, e.element(), false);
+            }
+            case NodeSelectedEvent e -> {
+                writeEventHeader(out, NODE_SELECTED_EVENT, e.eventSource());
+                writeElement(out, e.element(), false);
+            }
+            case NodeStyleClassEvent e -> {
+                writeEventHeader(out, NODE_STYLE_CLASS_EVENT, e.eventSource());
+                writeElement(out, e.element(), false);
+                writeSymbols(out, e.styleClass());
+            }
+            case NodeVisibilityEvent e -> {
+                writeEventHeader(out, NODE_VISIBILITY_EVENT, e.eventSource());
+                writeElement(out, e.element(), false);
+                out.writeBoolean(e.visible());
+            }
+            case PerformanceEntriesEvent e -> {
+                writeEventHeader(out, PERFORMANCE_ENTRIES_EVENT, e.eventSource());
+                out.writeVarInt(e.entries().size());
+                // the entries are mostly ordered, so the start time is written as a delta
+                long prevTime = 0;
+                for (var entry : e.entries()) {
+                    out.writeVarInt(entry.type().ordinal());
+                    out.writeSymbol(entry.name());
+                    out.writeSymbol(entry.thread());
+                    out.writeSignedVarLong(entry.startTime() - prevTime);
+                    out.writeVarLong(entry.duration());
+                    prevTime = entry.startTime();
+                }
+                out.writeVarLong(e.dropped());
+            }
+            case RootChangedEvent e -> {
+                writeEventHeader(out, ROOT_CHANGED_EVENT, e.eventSource());
+                writeElement(out, e.element(), true);
+            }
+            case SlowAttributeEvent e -> {
+                writeEventHeader(out, SLOW_ATTRIBUTE_EVENT, e.eventSource());
+                writeElement(out, e.element(), false);
+                out.writeVarInt(e.category().ordinal());
+                out.writeSymbol(e.attribute());
+                out.writeVarLong(e.readTime());
+            }
+            case StallEvent e -> {
+                writeEventHeader(out, STALL_EVENT, e.eventSource());
+                out.writeVarLong(e.duration());
+                out.writeVarInt(e.sampleCount());
+                out.writeVarInt(e.samples().size());
+                for (var sample : e.samples()) {
+                    writeStackSample(out, sample);
+                }
+            }
+            case TimelineEvent e -> {
+                writeEventHeader(out, TIMELINE_EVENT, e.eventSource());
+                out.writeVarInt(e.samples().size());
+                for (var samples : e.samples()) {
+                    out.writeVarInt(samples.lane().ordinal());
+                    out.writeVarInt(samples.size());
+                    long prevTime = 0;
+                    for (int i = 0; i < samples.size(); i++) {
+                        out.writeSignedVarLong(samples.times()[i] - prevTime);
+                        out.writeDouble(samples.values()[i]);
+                        prevTime = samples.times()[i];
+                    }
+                }
+            }
+            case WatchedAttributesEvent e -> {
+                writeEventHeader(out, WATCHED_ATTRIBUTES_EVENT, e.eventSource());
+                out.writeVarInt(e.attributes().size());
+                for (var attribute : e.attributes()) {
+                    writeElement(out, attribute.element(), false);
+                    out.writeSymbol(attribute.name());
+                    writeValue(out, attribute.value());
+                    out.writeBoolean(attribute.watched());
+                }
+            }
+            case WindowClosedEvent e -> writeEventHeader(out, WINDOW_CLOSED_EVENT, e.eventSource());
+            case WindowPropertiesEvent e -> {
+                writeEventHeader(out, WINDOW_PROPERTIES_EVENT, e.eventSource());
+                out.writeDouble(e.position().getX());
+                out.writeDouble(e.position().getY());
+                out.writeDouble(e.size().getWidth());
+                out.writeDouble(e.size().getHeight());
+                out.writeBoolean(e.focused());
+            }
+        }
+    }
+
+    ConnectorEvent readEvent(WireInput in) {
+        int type = in.readVarInt();
+        var eventSource = readEventSource(in);
+
+        return switch (type) {
+            case ATTRIBUTE_CATEGORIES_EVENT -> new AttributeCategoriesEvent(
+                eventSource, readElement(in), readCategories(in)
+            );
+            case ATTRIBUTE_COLLECTION_EVENT -> {
+                var element = readElement(in);
+                var category = readCategory(in);
+                var attribute = in.readNonNullSymbol();
+                int size = in.readVarInt();
+                var changes = new ArrayList<CollectionChange>(size);
+                for (int i = 0; i < size; i++) {
+                    changes.add(new CollectionChange(in.readVarInt(), readStrings(in), readStrings(in)));
+                }
+                yield new AttributeCollectionEvent(eventSource, element, category, attribute, changes);
+            }
+            case ATTRIBUTE_LIST_EVENT -> new AttributeListEvent(
+                eventSource, readElement(in), readCategory(in), readAttributes(in)
+            );
+            case ATTRIBUTE_UPDATED_EVENT -> new AttributeUpdatedEvent(
+                eventSource, readElement(in), readCategory(in), readAttributes(in)
+            );
+            case EXCEPTION_EVENT -> new ExceptionEvent(
+                eventSource, in.readNonNullSymbol(), in.readNonNullString(), in.readString()
+            );
+            case JAVAFX_EVENT -> new JavaFXEvent(
+                eventSource, readElement(in), resolveEventType(in.readNonNullSymbol()), in.readNonNullString()
+            );
+            case LAYOUT_HOT_SPOTS_EVENT -> {
+                int size = in.readVarInt();
+                var hotSpots = new ArrayList<LayoutHotSpot>(size);
+                for (int i = 0; i < size; i++) {
+                    hotSpots.add(new LayoutHotSpot(readElement(in), in.readVarInt(), in.readVarInt(), in.readVarLong()));
+                }
+                yield new LayoutHotSpotsEvent(eventSource, hotSpots);
+            }
+            case MOUSE_POS_EVENT -> new MousePosEvent(eventSource, readElement(in), in.readDouble(), in.readDouble());
+            case NODE_ADDED_EVENT -> {
+                var element = readElement(in);
+                readParent(in, element);
+                yield new NodeAddedEvent(eventSource, element);
+            }
+            case NODE_REMOVED_EVENT -> new NodeRemovedEvent(eventSource, readElement(in));
+            case NODE_SELECTED_EVENT -> new NodeSelectedEvent(eventSource, readElement(in));
+            case NODE_STYLE_CLASS_EVENT -> new NodeStyleClassEvent(eventSource, readElement(in), readSymbols(in));
+            case NODE_VISIBILITY_EVENT -> new NodeVisibilityEvent(eventSource, readElement(in), in.readBoolean());
+            case PERFORMANCE_ENTRIES_EVENT -> {
+                int size = in.readVarInt();
+                var entries = new ArrayList<PerformanceEntry>(size);
+                long prevTime = 0;
+                for (int i = 0; i < size; i++) {
+                    var entryType = PerformanceEntry.Type.values()[in.readVarInt()];
+                    var name = in.readNonNullSymbol();
+                    var thread = in.readNonNullSymbol();
+                    prevTime += in.readSignedVarLong();
+                    entries.add(new PerformanceEntry(entryType, name, thread, prevTime + timeOffset, in.readVarLong()));
+                }
+                yield new PerformanceEntriesEvent(eventSource, Collections.unmodifiableList(entries), in.readVarLong());
+            }
+            case ROOT_CHANGED_EVENT -> new RootChangedEvent(eventSource, readElement(in));
+            case SLOW_ATTRIBUTE_EVENT -> new SlowAttributeEvent(
+                eventSource, readElement(in), readCategory(in), in.readNonNullSymbol(), in.readVarLong()
+            );
+            case STALL_EVENT -> {
+                long duration = in.readVarLong();
+                int sampleCount = in.readVarInt();
+                int size = in.readVarInt();
+                var samples = new ArrayList<StackSample>(size);
+                for (int i = 0; i < size; i++) {
+                    samples.add(readStackSample(in));
+                }
+                yield new StallEvent(eventSource, duration, sampleCount, Collections.unmodifiableList(samples));
+            }
+            case TIMELINE_EVENT -> {
+                int size = in.readVarInt();
+                var samples = new ArrayList<TimelineSamples>(size);
+                for (int i = 0; i < size; i++) {
+                    var lane = TimelineLane.values()[in.readVarInt()];
+                    int count = in.readVarInt();
+                    var times = new long[count];
+                    var values = new double[count];
+                    long prevTime = 0;
+                    for (int j = 0; j < count; j++) {
+                        prevTime += in.readSignedVarLong();
+                        times[j] = prevTime + timeOffset;
+                        values[j] = in.readDouble();
+                    }
+                    samples.add(new TimelineSamples(lane, times, values));
+                }
+                yield new TimelineEvent(eventSource, Collections.unmodifiableList(samples));
+            }
+            case WATCHED_ATTRIBUTES_EVENT -> {
+                int size = in.readVarInt();
+                var attributes = new ArrayList<WatchedAttribute>(size);
+                for (int i = 0; i < size; i++) {
+                    attributes.add(new WatchedAttribute(
+                        readElement(in), in.readNonNullSymbol(), readValue(in), in.readBoolean()
+                    ));
+                }
+                yield new WatchedAttributesEvent(eventSource, Collections.unmodifiableList(attributes));
+            }
+            case WINDOW_CLOSED_EVENT -> new WindowClosedEvent(eventSource);
+            case WINDOW_PROPERTIES_EVENT -> new WindowPropertiesEvent(
+                eventSource,
+                new Point2D(in.readDouble(), in.readDouble()),
+                new Dimension2D(in.readDouble(), in.readDouble()),
+                in.readBoolean()
+            );
+            default -> throw new IllegalStateException("Unknown event type: " + type);
+        };
+    }
+
+    ///////////////////////////////////////////////////////////////////////////
+    // Elements                                                              //
+    ///////////////////////////////////////////////////////////////////////////
+
+    /**
+     * Writes the element snapshot.
+     *
+     * @param deep whether to include the whole element subtree
+     */
+    void writeElement(WireOutput out, Element element, boolean deep) {
+        // UIDs are hash codes, the varint encoding won't make them any shorter
+        out.writeInt(element.getUID());
+        out.writeSymbol(element.getClassInfo());
+
+        var nodeProps = element.getNodeProperties();
+        var windowProps = element.getWindowProperties();
+        if (nodeProps != null) {
+            writeNodeProperties(out, nodeProps);
+        } else if (windowProps != null) {
+            out.writeByte(WINDOW_FLAG);
+            writeWindowProperties(out, windowProps);
+        } else {
+            throw new IllegalArgumentException("Element must be either a node or a window: " + element);
+        }
+
+        if (!deep) {
+            out.writeVarInt(CHILDREN_OMITTED);
+            return;
+        }
+
+        var children = element.getChildren();
+        out.writeVarInt(children.size() + 1);
+        for (var child : children) {
+            writeElement(out, child, true);
+        }
+    }
+
+    Element readElement(WireInput in) {
+        int uid = in.readInt();
+        var classInfo = in.readClassSymbol();
+
+        int flags = in.readByte() & 0xFF;
+        var element = (flags & WINDOW_FLAG) == 0
+            ? new RemoteElement(uid, classInfo, readNodeProperties(in, flags), null)
+            : new RemoteElement(uid, classInfo, null, readWindowProperties(in));
+
+        int childCount = in.readVarInt() - 1;
+        for (int i = 0; i < childCount; i++) {
+            var child = (RemoteElement) readElement(in);
+            child.setParent(element);
+            element.addChild(child);
+        }
+
+        return element;
+    }
+
+    @Nullable Element readNullableElement(WireInput in) {
+        return in.readBoolean() ? readElement(in) : null;
+    }
+
+    void writeNullableElement(WireOutput out, @Nullable Element element) {
+        out.writeBoolean(element != null);
+        if (element != null) {
+            writeElement(out, element, false);
+        }
+    }
+
+    List<Element> readElements(WireInput in) {
+        int size = in.readVarInt();
+        var elements = new ArrayList<Element>(size);
+        for (int i = 0; i < size; i++) {
+            elements.add(readElement(in));
+        }
+        return elements;
+    }
+
+    void writeElements(WireOutput out, List<Element> elements) {
+        out.writeVarInt(elements.size());
+        for (var element : elements) {
+            writeElement(out, element, false);
+        }
+    }
+
+    ///////////////////////////////////////////////////////////////////////////
+    // Values                                                                //
+    ///////////////////////////////////////////////////////////////////////////
+
+    void writeValue(WireOutput out, @Nullable Object value) {
+        switch (value) {
+            case null -> out.writeByte(NULL_VALUE);
+            case String s -> {
+                out.writeByte(STRING_VALUE);
+                out.writeString(s);
+            }
+            case Boolean b -> {
+                out.writeByte(BOOLEAN_VALUE);
+                out.writeBoolean(b);
+            }
+            case Integer i -> {
+                out.writeByte(INTEGER_VALUE);
+                out.writeSignedVarInt(i);
+            }
+            case Long l -> {
+                out.writeByte(LONG_VALUE);
+                out.writeSignedVarLong(l);
+            }
+            case Double d -> {
+                out.writeByte(DOUBLE_VALUE);
+                out.writeDouble(d);
+            }
+            case Float f -> {
+                out.writeByte(FLOAT_VALUE);
+                out.writeDouble(f);
+            }
+            case Color c -> {
+                out.writeByte(COLOR_VALUE);
+                out.writeDouble(c.getRed());
+                out.writeDouble(c.getGreen());
+                out.writeDouble(c.getBlue());
+                out.writeDouble(c.getOpacity());
+            }
+            case Insets i -> {
+                out.writeByte(INSETS_VALUE);
+                out.writeDouble(i.getTop());
+                out.writeDouble(i.getRight());
+                out.writeDouble(i.getBottom());
+                out.writeDouble(i.getLeft());
+            }
+            case Bounds b -> {
+                out.writeByte(BOUNDS_VALUE);
+                writeBounds(out, b);
+            }
+            case Point2D p -> {
+                out.writeByte(POINT_VALUE);
+                out.writeDouble(p.getX());
+                out.writeDouble(p.getY());
+            }
+            case Dimension2D d -> {
+                out.writeByte(DIMENSION_VALUE);
+                out.writeDouble(d.getWidth());
+                out.writeDouble(d.getHeight());
+            }
+            case TruncatedValue t -> {
+                out.writeByte(TRUNCATED_VALUE);
+                out.writeString(t.preview());
+                out.writeSignedVarInt(t.length());
+            }
+            case Clip c -> {
+                out.writeByte(CLIP_VALUE);
+                out.writeSymbol(c.className());
+                writeBounds(out, c.bounds());
+            }
+            case Font f -> {
+                out.writeByte(FONT_VALUE);
+                out.writeSymbol(f.getName());
+                out.writeDouble(f.getSize());
+            }
+            case List<?> list -> {
+                out.writeByte(LIST_VALUE);
+                out.writeVarInt(list.size());
+                for (var item : list) {
+                    writeValue(out, item);
+                }
+            }
+            case Map<?, ?> map -> {
+                out.writeByte(MAP_VALUE);
+                out.writeVarInt(map.size());
+                for (var entry : map.entrySet()) {
+                    writeValue(out, entry.getKey());
+                    writeValue(out, entry.getValue());
+                }
+            }
+            // enum constants are repeated a lot, e.g. alignment or cursor
+            case Enum<?> e -> {
+                out.writeByte(SYMBOL_VALUE);
+                out.writeSymbol(e.toString());
+            }
+            // the complex JavaFX types, which are displayed as text anyway
+            default -> {
+                out.writeByte(STRING_VALUE);
+                out.writeString(String.valueOf(value));
+            }
+        }
+    }
+
+    @Nullable Object readValue(WireInput in) {
+        int type = in.readByte();
+        return switch (type) {
+            case NULL_VALUE -> null;
+            case STRING_VALUE -> in.readString();
+            case BOOLEAN_VALUE -> in.readBoolean();
+            case INTEGER_VALUE -> in.readSignedVarInt();
+            case LONG_VALUE -> in.readSignedVarLong();
+            case DOUBLE_VALUE -> in.readDouble();
+            case FLOAT_VALUE -> (float) in.readDouble();
+            case COLOR_VALUE -> new Color(in.readDouble(), in.readDouble(), in.readDouble(), in.readDouble());
+            case INSETS_VALUE -> new Insets(in.readDouble(), in.readDouble(), in.readDouble(), in.readDouble());
+            case BOUNDS_VALUE -> readBounds(in);
+            case POINT_VALUE -> new Point2D(in.readDouble(), in.readDouble());
+            case DIMENSION_VALUE -> new Dimension2D(in.readDouble(), in.readDouble());
+            case TRUNCATED_VALUE -> new TruncatedValue(in.readNonNullString(), in.readSignedVarInt());
+            case CLIP_VALUE -> new Clip(in.readNonNullSymbol(), readBounds(in));
+            case FONT_VALUE -> new Font(in.readNonNullSymbol(), in.readDouble());
+            case LIST_VALUE -> {
+                int size = in.readVarInt();
+                var list = new ArrayList<@Nullable Object>(size);
+                for (int i = 0; i < size; i++) {
+                    list.add(readValue(in));
+                }
+                yield Collections.unmodifiableList(list);
+            }
+            case MAP_VALUE -> {
+                int size = in.readVarInt();
+                var map = new LinkedHashMap<@Nullable Object, @Nullable Object>(size);
+                for (int i = 0; i < size; i++) {
+                    map.put(readValue(in), readValue(in));
+                }
+                yield Collections.unmodifiableMap(map);
+            }
+            case SYMBOL_VALUE -> in.readSymbol();
+            default -> throw new IllegalStateException("Unknown value type: " + type);
+        };
+    }
+
+    ///////////////////////////////////////////////////////////////////////////
+    // Connector Types                                                       //
+    ///////////////////////////////////////////////////////////////////////////
+
+    void writeEventSource(WireOutput out, EventSource eventSource) {
+        out.writeSymbol(eventSource.application());
+        out.writeInt(eventSource.uid());
+        out.writeBoolean(eventSource.isPrimaryStage());
+    }
+
+    EventSource readEventSource(WireInput in) {
+        return new EventSource(in.readNonNullSymbol(), in.readInt(), in.readBoolean());
+    }
+
+    void writeWindowProperties(WireOutput out, WindowProperties props) {
+        out.writeVarInt(props.windowType().ordinal());
+        writeSymbols(out, props.sceneStylesheets());
+        out.writeSymbol(props.userAgentStylesheet());
+        out.writeBoolean(props.isPrimaryStage());
+        out.writeString(props.windowTitle());
+        out.writeSymbol(props.ownerClassName());
+    }
+
+    WindowProperties readWindowProperties(WireInput in) {
+        return new WindowProperties(
+            WindowProperties.WindowType.values()[in.readVarInt()],
+            readSymbols(in),
+            in.readSymbol(),
+            in.readBoolean(),
+            in.readString(),
+            in.readSymbol()
+        );
+    }
+
+    void writeHighlightOptions(WireOutput out, @Nullable HighlightOptions opts) {
+        out.writeBoolean(opts != null);
+        if (opts != null) {
+            out.writeBoolean(opts.showLayoutBounds());
+            out.writeBoolean(opts.showBoundsInParent());
+            out.writeBoolean(opts.showBaseline());
+        }
+    }
+
+    @Nullable HighlightOptions readHighlightOptions(WireInput in) {
+        return in.readBoolean() ? new HighlightOptions(in.readBoolean(), in.readBoolean(), in.readBoolean()) : null;
+    }
+
+    void writePulseMetrics(WireOutput out, PulseMetrics metrics) {
+        out.writeVarLong(metrics.pulseCount());
+        out.writeVarLong(metrics.droppedFrames());
+        out.writeDouble(metrics.p50());
+        out.writeDouble(metrics.p95());
+        out.writeDouble(metrics.p99());
+        out.writeDouble(metrics.max());
+        out.writeDouble(metrics.fps());
+    }
+
+    PulseMetrics readPulseMetrics(WireInput in) {
+        return new PulseMetrics(
+            in.readVarLong(), in.readVarLong(),
+            in.readDouble(), in.readDouble(), in.readDouble(), in.readDouble(), in.readDouble()
+        );
+    }
+
+    void writeInputLatencyReport(WireOutput out, InputLatencyReport report) {
+        out.writeVarInt(report.stats().size());
+        for (var stats : report.stats()) {
+            out.writeSymbol(stats.eventType());
+            out.writeVarLong(stats.count());
+            out.writeDouble(stats.frameP50());
+            out.writeDouble(stats.frameP95());
+            out.writeDouble(stats.frameP99());
+            out.writeDouble(stats.dispatchP50());
+            out.writeDouble(stats.dispatchP95());
+            out.writeDouble(stats.dispatchP99());
+        }
+
+        out.writeVarInt(report.slowest().size());
+        for (var sample : report.slowest()) {
+            out.writeSymbol(sample.eventType());
+            writeElement(out, sample.target(), false);
+            out.writeLong(sample.timestamp());
+            out.writeDouble(sample.dispatchTime());
+            out.writeDouble(sample.frameLatency());
+        }
+    }
+
+    InputLatencyReport readInputLatencyReport(WireInput in) {
+        int size = in.readVarInt();
+        var stats = new ArrayList<InputLatencyStats>(size);
+        for (int i = 0; i < size; i++) {
+            stats.add(new InputLatencyStats(
+                in.readNonNullSymbol(), in.readVarLong(),
+                in.readDouble(), in.readDouble(), in.readDouble(),
+                in.readDouble(), in.readDouble(), in.readDouble()
+            ));
+        }
+
+        size = in.readVarInt();
+        var slowest = new ArrayList<InputLatencySample>(size);
+        for (int i = 0; i < size; i++) {
+            slowest.add(new InputLatencySample(
+                in.readNonNullSymbol(), readElement(in), in.readLong(), in.readDouble(), in.readDouble()
+            ));
+        }
+
+        return new InputLatencyReport(Collections.unmodifiableList(stats), Collections.unmodifiableList(slowest));
+    }
+
+    void writeProfileNode(WireOutput out, ProfileNode node) {
+        out.writeSymbol(node.frame());
+        out.writeVarInt(node.total());
+        out.writeVarInt(node.self());
+        out.writeVarInt(node.children().size());
+        for (var child : node.children()) {
+            writeProfileNode(out, child);
+        }
+    }
+
+    ProfileNode readProfileNode(WireInput in) {
+        var frame = in.readNonNullSymbol();
+        int total = in.readVarInt();
+        int self = in.readVarInt();
+        int size = in.readVarInt();
+        var children = new ArrayList<ProfileNode>(size);
+        for (int i = 0; i < size; i++) {
+            children.add(readProfileNode(in));
+        }
+        return new ProfileNode(frame, total, self, Collections.unmodifiableList(children));
+    }
+
+    void writeKeyValues(WireOutput out, List<KeyValue> keyValues) {
+        out.writeVarInt(keyValues.size());
+        for (var kv : keyValues) {
+            out.writeString(kv.key());
+            out.writeString(kv.value());
+        }
+    }
+
+    List<KeyValue> readKeyValues(WireInput in) {
+        int size = in.readVarInt();
+        var keyValues = new ArrayList<KeyValue>(size);
+        for (int i = 0; i < size; i++) {
+            keyValues.add(new KeyValue(in.readNonNullString(), in.readString()));
+        }
+        return keyValues;
+    }
+
+    void writeCategories(WireOutput out, Set<AttributeCategory> categories) {
+        out.writeVarInt(categories.size());
+        for (var category : categories) {
+            out.writeVarInt(category.ordinal());
+        }
+    }
+
+    Set<AttributeCategory> readCategories(WireInput in) {
+        int size = in.readVarInt();
+        var categories = EnumSet.noneOf(AttributeCategory.class);
+        for (int i = 0; i < size; i++) {
+            categories.add(readCategory(in));
+        }
+        return Collections.unmodifiableSet(categories);
+    }
+
+    @Nullable AttributeCategory readNullableCategory(WireInput in) {
+        int ordinal = in.readSignedVarInt();
+        return ordinal >= 0 ? AttributeCategory.values()[ordinal] : null;
+    }
+
+    void writeNullableCategory(WireOutput out, @Nullable AttributeCategory category) {
+        out.writeSignedVarInt(category != null ? category.ordinal() : -1);
+    }
+
+    AttributeCategory readCategory(WireInput in) {
+        return AttributeCategory.values()[in.readVarInt()];
+    }
+
+    void writeStrings(WireOutput out, List<String> strings) {
+        out.writeVarInt(strings.size());
+        for (var s : strings) {
+            out.writeString(s);
+        }
+    }
+
+    List<String> readStrings(WireInput in) {
+        int size = in.readVarInt();
+        var strings = new ArrayList<String>(size);
+        for (int i = 0; i < size; i++) {
+            strings.add(in.readNonNullString());
+        }
+        return Collections.unmodifiableList(strings);
+    }
+
+    /**
+     * Writes the strings that are likely to be repeated, such as style classes or stylesheets.
+     */
+    void writeSymbols(WireOutput out, List<String> symbols) {
+        out.writeVarInt(symbols.size());
+        for (var s : symbols) {
+            out.writeSymbol(s);
+        }
+    }
+
+    List<String> readSymbols(WireInput in) {
+        int size = in.readVarInt();
+        if (size == 0) {
+            return List.of();
+        }
+
+        var symbols = new ArrayList<String>(size);
+        for (int i = 0; i < size; i++) {
+            symbols.add(in.readNonNullSymbol());
+        }
+        return Collections.unmodifiableList(symbols);
+    }
+
+    /**
+     * Writes all options, which are applied to the remote connector as is.
+     */
+    void writeOptions(WireOutput out, ConnectorOptions opts) {
+        out.writeBoolean(opts.isIgnoreMouseTransparent());
+        out.writeBoolean(opts.isInspectMode());
+        out.writeBoolean(opts.isPreventPopupAutoHide());
+        out.writeBoolean(opts.isPreserveLazyProperties());
+        out.writeBoolean(opts.isLayoutTracking());
+        out.writeBoolean(opts.isPulseRecording());
+        out.writeBoolean(opts.isPulseOverlay());
+        out.writeBoolean(opts.isStallDetection());
+        out.writeVarInt(opts.getStallThreshold());
+        out.writeBoolean(opts.isInputLatencyTracking());
+        out.writeVarInt(opts.getProfilerSampleRate());
+        out.writeVarInt(opts.getMaxAttributeValueLength());
+        out.writeVarInt(opts.getSlowAttributeThreshold());
+    }
+
+    void readOptions(WireInput in, ConnectorOptions opts) {
+        opts.setIgnoreMouseTransparent(in.readBoolean());
+        opts.setInspectMode(in.readBoolean());
+        opts.setPreventPopupAutoHide(in.readBoolean());
+        opts.setPreserveLazyProperties(in.readBoolean());
+        opts.setLayoutTracking(in.readBoolean());
+        opts.setPulseRecording(in.readBoolean());
+        opts.setPulseOverlay(in.readBoolean());
+        opts.setStallDetection(in.readBoolean());
+        opts.setStallThreshold(in.readVarInt());
+        opts.setInputLatencyTracking(in.readBoolean());
+        opts.setProfilerSampleRate(in.readVarInt());
+        opts.setMaxAttributeValueLength(in.readVarInt());
+        opts.setSlowAttributeThreshold(in.readVarInt());
+    }
+
+    ///////////////////////////////////////////////////////////////////////////
+
+    private void writeEventHeader(WireOutput out, int type, EventSource eventSource) {
+        out.writeVarInt(type);
+        writeEventSource(out, eventSource);
+    }
+
+    /**
+     * Writes the parent of the added element along with its children, so that
+     * the receiver can determine the element position.
+     */
+    private void writeParent(WireOutput out, Element element) {
+        var parent = element.getParent();
+        out.writeBoolean(parent != null);
+        if (parent != null) {
+            writeElement(out, parent, false);
+            writeElements(out, parent.getChildren());
+        }
+    }
+
+    private void readParent(WireInput in, Element element) {
+        if (!in.readBoolean()) {
+            return;
+        }
+
+        var parent = (RemoteElement) readElement(in);
+        for (var sibling : readElements(in)) {
+            // the added element is already decoded with its subtree
+            parent.addChild(sibling.equals(element) ? element : sibling);
+        }
+        ((RemoteElement) element).setParent(parent);
+    }
+
+    /**
+     * Writes the node properties prefixed with the flags, so that the most nodes,
+     * which have no ID, stylesheets and a few style classes, take a couple of bytes.
+     */
+    void writeNodeProperties(WireOutput out, NodeProperties props) {
+        int flags = (props.isControl() ? CONTROL_FLAG : 0)
+            | (props.isPane() ? PANE_FLAG : 0)
+            | (props.isVisible() ? VISIBLE_FLAG : 0)
+            | (props.id() != null ? ID_FLAG : 0)
+            | (!props.styleClass().isEmpty() ? STYLE_CLASS_FLAG : 0)
+            | (!props.stylesheets().isEmpty() ? STYLESHEETS_FLAG : 0)
+            | (props.userAgentStylesheet() != null ? USER_AGENT_STYLESHEET_FLAG : 0);
+        out.writeByte(flags);
+
+        if (props.id() != null) {
+            out.writeString(props.id());
+        }
+        if (!props.styleClass().isEmpty()) {
+            writeSymbols(out, props.styleClass());
+        }
+        if (!props.stylesheets().isEmpty()) {
+            writeSymbols(out, props.stylesheets());
+        }
+        if (props.userAgentStylesheet() != null) {
+            out.writeSymbol(props.userAgentStylesheet());
+        }
+    }
+
+    NodeProperties readNodeProperties(WireInput in) {
+        return readNodeProperties(in, in.readByte() & 0xFF);
+    }
+
+    private NodeProperties readNodeProperties(WireInput in, int flags) {
+        return new NodeProperties(
+            (flags & ID_FLAG) != 0 ? in.readString() : null,
+            (flags & STYLE_CLASS_FLAG) != 0 ? readSymbols(in) : List.of(),
+            (flags & STYLESHEETS_FLAG) != 0 ? readSymbols(in) : List.of(),
+            (flags & USER_AGENT_STYLESHEET_FLAG) != 0 ? in.readSymbol() : null,
+            (flags & CONTROL_FLAG) != 0,
+            (flags & PANE_FLAG) != 0,
+            (flags & VISIBLE_FLAG) != 0
+        );
+    }
+
+    private void writeAttributes(WireOutput out, List<Attribute<?>> attributes) {
+        out.writeVarInt(attributes.size());
+        for (var attribute : attributes) {
+            out.writeSymbol(attribute.name());
+            writeValue(out, attribute.value());
+            out.writeSymbol(attribute.field());
+            out.writeSymbol(attribute.cssProperty());
+            out.writeVarInt(attribute.observableType().ordinal());
+            out.writeVarInt(attribute.displayHint().ordinal());
+            out.writeVarInt(attribute.valueState().ordinal());
+            writeValue(out, attribute.validValues());
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<Attribute<?>> readAttributes(WireInput in) {
+        int size = in.readVarInt();
+        var attributes = new ArrayList<Attribute<?>>(size);
+        for (int i = 0; i < size; i++) {
+            attributes.add(new Attribute<>(
+                in.readNonNullSymbol(),
+                readValue(in),
+                in.readSymbol(),
+                in.readSymbol(),
+                Attribute.ObservableType.values()[in.readVarInt()],
+                Attribute.DisplayHint.values()[in.readVarInt()],
+                Attribute.ValueState.values()[in.readVarInt()],
+                (List<Object>) Objects.requireNonNull(readValue(in))
+            ));
+        }
+        return Collections.unmodifiableList(attributes);
+    }
+
+    private void writeStackSample(WireOutput out, StackSample sample) {
+        out.writeVarInt(sample.count());
+        out.writeVarInt(sample.frames().size());
+        for (var frame : sample.frames()) {
+            out.writeSymbol(frame.getClassLoaderName());
+            out.writeSymbol(frame.getModuleName());
+            out.writeSymbol(frame.getModuleVersion());
+            out.writeSymbol(frame.getClassName());
+            out.writeSymbol(frame.getMethodName());
+            out.writeSymbol(frame.getFileName());
+            // negative for the native methods
+            out.writeSignedVarInt(frame.getLineNumber());
+        }
+    }
+
+    private StackSample readStackSample(WireInput in) {
+        int count = in.readVarInt();
+        int size = in.readVarInt();
+        var frames = new ArrayList<StackTraceElement>(size);
+        for (int i = 0; i < size; i++) {
+            frames.add(new StackTraceElement(
+                in.readSymbol(),
+                in.readSymbol(),
+                in.readSymbol(),
+                in.readNonNullSymbol(),
+                in.readNonNullSymbol(),
+                in.readSymbol(),
+                in.readSignedVarInt()
+            ));
+        }
+        return new StackSample(Collections.unmodifiableList(frames), count);
+    }
+
+    private static void writeBounds(WireOutput out, Bounds bounds) {
+        out.writeDouble(bounds.getMinX());
+        out.writeDouble(bounds.getMinY());
+        out.writeDouble(bounds.getMinZ());
+        out.writeDouble(bounds.getWidth());
+        out.writeDouble(bounds.getHeight());
+        out.writeDouble(bounds.getDepth());
+    }
+
+    private static Bounds readBounds(WireInput in) {
+        return new BoundingBox(
+            in.readDouble(), in.readDouble(), in.readDouble(),
+            in.readDouble(), in.readDouble(), in.readDouble()
+        );
+    }
+
+    /**
+     * Finds the local event type with the given name, or creates a substitute,
+     * because the event types must be unique.
+     */
+    static EventType<?> resolveEventType(String name) {
+        if (EVENT_TYPES.isEmpty()) {
+            for (var eventClass : KNOWN_EVENT_CLASSES) {
+                for (var field : eventClass.getFields()) {
+                    if (Modifier.isStatic(field.getModifiers()) && EventType.class.isAssignableFrom(field.getType())) {
+                        try {
+                            var eventType = (EventType<?>) field.get(null);
+                            EVENT_TYPES.putIfAbsent(eventType.getName(), eventType);
+                        } catch (IllegalAccessException ignored) {
+                            // skip
+                        }
+                    }
+                }
+            }
+        }
+
+        return EVENT_TYPES.computeIfAbsent(name, k -> new EventType<>(REMOTE_EVENT_TYPE, k));
+    }
+}
@@ -0,0 +1,102 @@
+package devtoolsfx.connector;
+
+import org.jspecify.annotations.NullMarked;
+import org.jspecify.annotations.Nullable;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * The per-session dictionary of the repeated symbols, such as class names, style classes
+ * and property names. A symbol is defined in the header of the first frame that uses it,
+ * and every later reference costs a single varint, see {@link WireOutput#writeSymbol(String)}.
+ * <p>
+ * Each end of the connection has two dictionaries, one for the outgoing and one for
+ * the incoming frames. The outgoing dictionary is confined to the encoding thread.
+ * The incoming dictionary is populated by the reader thread before the frame is
+ * dispatched, so it can be read from any thread that received the frame after that.
+ */
+@NullMarked
+final class WireDictionary {
+
+    // 0 and 1 are reserved for null and the inline symbol
+    static final int FIRST_ID = 2;
+    // protects both ends from the unbounded growth, the rest is sent inline
+    static final int MAX_SIZE = 1 << 16;
+
+    // outgoing
+    private final Map<Object, Integer> ids = new HashMap<>();
+    private int nextId = FIRST_ID;
+    // the IDs of the discarded frames, the receiver has never seen them
+    private int[] releasedIds = new int[16];
+    private int releasedCount;
+
+    // incoming
+    private volatile @Nullable Object[] symbols = new Object[256];
+
+    /**
+     * Returns the ID of the symbol that was already sent, or 0.
+     */
+    int getId(Object symbol) {
+        Integer id = ids.get(symbol);
+        return id != null ? id : 0;
+    }
+
+    /**
+     * Reserves a new ID, or returns 0 if the dictionary is full.
+     */
+    int allocateId() {
+        if (releasedCount > 0) {
+            return releasedIds[--releasedCount];
+        }
+        return nextId < FIRST_ID + MAX_SIZE ? nextId++ : 0;
+    }
+
+    /**
+     * Returns the ID that was allocated, but never sent, so that it can be reused.
+     */
+    void release(int id) {
+        if (releasedCount == releasedIds.length) {
+            releasedIds = Arrays.copyOf(releasedIds, releasedCount * 2);
+        }
+        releasedIds[releasedCount++] = id;
+    }
+
+    /**
+     * Records that the symbol has been sent. The same symbol can be defined twice
+     * when the frames are encoded concurrently, the first definition wins, while
+     * the second ID remains valid for the receiver.
+     */
+    void commit(Object symbol, int id) {
+        ids.putIfAbsent(symbol, id);
+    }
+
+    /**
+     * Registers the incoming symbol.
+     */
+    void define(int id, Object symbol) {
+        if (id < FIRST_ID || id >= FIRST_ID + MAX_SIZE) {
+            throw new IllegalStateException("Invalid symbol ID: " + id);
+        }
+
+        var arr = symbols;
+        if (id >= arr.length) {
+            arr = Arrays.copyOf(arr, Math.max(arr.length * 2, id + 1));
+        }
+        arr[id] = symbol;
+        symbols = arr;
+    }
+
+    /**
+     * Returns the incoming symbol.
+     */
+    Object get(int id) {
+        var arr = symbols;
+        var symbol = id >= 0 && id < arr.length ? arr[id] : null;
+        if (symbol == null) {
+            throw new IllegalStateException("Undefined symbol ID: " + id);
+        }
+        return symbol;
+    }
+}
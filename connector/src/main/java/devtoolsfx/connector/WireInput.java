@@ -0,0 +1,178 @@
+package devtoolsfx.connector;
+
+import devtoolsfx.scenegraph.ClassInfo;
+import org.jspecify.annotations.NullMarked;
+import org.jspecify.annotations.Nullable;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Reads a single frame of the remote protocol encoded by the {@link WireOutput}.
+ * The frame is expected without the length prefix. Reading past the end of the
+ * frame throws {@link java.nio.BufferUnderflowException}.
+ * <p>
+ * The frame can be read directly from the shared memory, see {@link SharedRingBuffer},
+ * in that case it must be detached if it's decoded after the buffer is released.
+ */
+@NullMarked
+final class WireInput {
+
+    private final ByteBuffer buf;
+    private final WireDictionary dictionary;
+
+    WireInput(byte[] frame, WireDictionary dictionary) {
+        this(ByteBuffer.wrap(frame), dictionary);
+    }
+
+    WireInput(ByteBuffer frame, WireDictionary dictionary) {
+        this.buf = frame;
+        this.dictionary = dictionary;
+    }
+
+    /**
+     * Copies the unread part of the frame, so that it doesn't depend on the source buffer.
+     */
+    WireInput detach() {
+        var bytes = new byte[buf.remaining()];
+        buf.get(bytes);
+        return new WireInput(bytes, dictionary);
+    }
+
+    /**
+     * Reads the frame type and registers the symbols defined by this frame.
+     * It must be called by the reader thread in the order the frames are received.
+     */
+    int readHeader() {
+        int type = readByte();
+        int defCount = readVarInt();
+        for (int i = 0; i < defCount; i++) {
+            int id = readVarInt();
+            int kind = readByte();
+            dictionary.define(id, switch (kind) {
+                case WireOutput.STRING_SYMBOL -> readNonNullString();
+                case WireOutput.CLASS_SYMBOL -> readClassInfo();
+                default -> throw new IllegalStateException("Unknown symbol kind: " + kind);
+            });
+        }
+        return type;
+    }
+
+    int readByte() {
+        return buf.get();
+    }
+
+    boolean readBoolean() {
+        return buf.get() != 0;
+    }
+
+    int readInt() {
+        return buf.getInt();
+    }
+
+    long readLong() {
+        return buf.getLong();
+    }
+
+    double readDouble() {
+        return buf.getDouble();
+    }
+
+    int readVarInt() {
+        return (int) readVarLong();
+    }
+
+    int readSignedVarInt() {
+        int value = readVarInt();
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    long readVarLong() {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            byte b = buf.get();
+            value |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IllegalStateException("Malformed varint at " + buf.position());
+    }
+
+    long readSignedVarLong() {
+        long value = readVarLong();
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    @Nullable String readString() {
+        int length = readVarInt() - 1;
+        if (length < 0) {
+            return null;
+        }
+        if (length > buf.remaining()) {
+            throw new IllegalStateException("Unexpected end of frame at " + buf.position());
+        }
+
+        if (!buf.hasArray()) {
+            var bytes = new byte[length];
+            buf.get(bytes);
+            return new String(bytes, StandardCharsets.UTF_8);
+        }
+
+        var value = new String(buf.array(), buf.arrayOffset() + buf.position(), length, StandardCharsets.UTF_8);
+        buf.position(buf.position() + length);
+        return value;
+    }
+
+    /**
+     * Reads the string that is known to be not null.
+     */
+    String readNonNullString() {
+        var value = readString();
+        if (value == null) {
+            throw new IllegalStateException("Unexpected null string at " + buf.position());
+        }
+        return value;
+    }
+
+    /**
+     * Reads the string written by {@link WireOutput#writeSymbol(String)}.
+     */
+    @Nullable String readSymbol() {
+        int id = readVarInt();
+        return switch (id) {
+            case WireOutput.NULL_SYMBOL -> null;
+            case WireOutput.INLINE_SYMBOL -> readNonNullString();
+            default -> (String) dictionary.get(id);
+        };
+    }
+
+    /**
+     * Reads the symbol that is known to be not null.
+     */
+    String readNonNullSymbol() {
+        var value = readSymbol();
+        if (value == null) {
+            throw new IllegalStateException("Unexpected null symbol at " + buf.position());
+        }
+        return value;
+    }
+
+    /**
+     * Reads the class info written by {@link WireOutput#writeSymbol(ClassInfo)}.
+     */
+    ClassInfo readClassSymbol() {
+        int id = readVarInt();
+        return id == WireOutput.INLINE_SYMBOL ? readClassInfo() : (ClassInfo) dictionary.get(id);
+    }
+
+    int remaining() {
+        return buf.remaining();
+    }
+
+    ///////////////////////////////////////////////////////////////////////////
+
+    private ClassInfo readClassInfo() {
+        return new ClassInfo(readNonNullString(), readNonNullString(), readNonNullString());
+    }
+}
@@ -0,0 +1,324 @@
+package devtoolsfx.connector;
+
+import devtoolsfx.scenegraph.ClassInfo;
+import org.jspecify.annotations.NullMarked;
+import org.jspecify.annotations.Nullable;
+
+import java.nio.ByteBuffer;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Encodes a single frame of the remote protocol, see {@link WireCodec}.
+ * <p>
+ * Fixed-width numbers are written in the big-endian order. Counts, IDs and ordinals
+ * are written as the unsigned LEB128 varints, the values that can be negative use
+ * the zigzag encoding. Strings are written as the UTF-8 bytes prefixed with their
+ * length plus one, so that zero stands for null. The repeated strings are written
+ * as symbols, see {@link WireDictionary}.
+ * <p>
+ * The frame consists of the length prefix, the frame type, the symbols defined
+ * by this frame and the payload. The buffers are reused for the next frame, so the
+ * encoding doesn't allocate once they have grown to the typical frame size.
+ */
+@NullMarked
+final class WireOutput {
+
+    static final int DEFAULT_CAPACITY = 1024;
+
+    // symbol references
+    static final int NULL_SYMBOL = 0;
+    static final int INLINE_SYMBOL = 1;
+
+    // symbol kinds
+    static final int STRING_SYMBOL = 0;
+    static final int CLASS_SYMBOL = 1;
+
+    private final WireDictionary dictionary;
+    // the symbols defined by the current frame, they're committed to
+    // the dictionary only when the frame is complete
+    private final Map<Object, Integer> pending = new HashMap<>();
+    private final ByteBuffer[] frame = new ByteBuffer[2];
+
+    private ByteBuffer head;
+    private ByteBuffer defs;
+    private ByteBuffer body;
+    private int type;
+    private int defCount;
+
+    WireOutput(WireDictionary dictionary) {
+        this(dictionary, DEFAULT_CAPACITY);
+    }
+
+    WireOutput(WireDictionary dictionary, int capacity) {
+        this.dictionary = dictionary;
+        this.head = ByteBuffer.allocate(64);
+        this.defs = ByteBuffer.allocate(256);
+        this.body = ByteBuffer.allocate(capacity);
+    }
+
+    /**
+     * Starts a new frame of the given type, the previous content is discarded.
+     * The symbol IDs allocated by the discarded frame are returned to the dictionary.
+     */
+    void begin(int type) {
+        this.type = type;
+        body.clear();
+        defs.clear();
+        defCount = 0;
+
+        for (int id : pending.values()) {
+            dictionary.release(id);
+        }
+        pending.clear();
+    }
+
+    /**
+     * Completes the frame and commits its symbols. The returned buffers contain
+     * the header and the payload, they remain valid until the next {@link #begin(int)}.
+     */
+    ByteBuffer[] finish() {
+        for (var entry : pending.entrySet()) {
+            dictionary.commit(entry.getKey(), entry.getValue());
+        }
+        pending.clear();
+
+        defs.flip();
+        body.flip();
+
+        int length = 1 + varIntSize(defCount) + defs.remaining() + body.remaining();
+        head = ensureCapacity(head.clear(), 4 + 1 + 5 + defs.remaining());
+        head.putInt(length);
+        head.put((byte) type);
+        putVarLong(head, defCount);
+        head.put(defs);
+        head.flip();
+
+        frame[0] = head;
+        frame[1] = body;
+        return frame;
+    }
+
+    /**
+     * Completes the frame and copies it into a new array.
+     */
+    byte[] finishToArray() {
+        finish();
+        var bytes = new byte[head.remaining() + body.remaining()];
+        head.get(bytes, 0, head.remaining());
+        body.get(bytes, bytes.length - body.remaining(), body.remaining());
+        return bytes;
+    }
+
+    ///////////////////////////////////////////////////////////////////////////
+
+    void writeByte(int value) {
+        body = ensureCapacity(body, 1);
+        body.put((byte) value);
+    }
+
+    void writeBoolean(boolean value) {
+        writeByte(value ? 1 : 0);
+    }
+
+    void writeInt(int value) {
+        body = ensureCapacity(body, 4);
+        body.putInt(value);
+    }
+
+    void writeLong(long value) {
+        body = ensureCapacity(body, 8);
+        body.putLong(value);
+    }
+
+    void writeDouble(double value) {
+        body = ensureCapacity(body, 8);
+        body.putDouble(value);
+    }
+
+    /**
+     * Writes the non-negative int, negative values are valid, but take 5 bytes.
+     */
+    void writeVarInt(int value) {
+        writeVarLong(value & 0xFFFFFFFFL);
+    }
+
+    void writeSignedVarInt(int value) {
+        writeVarInt((value << 1) ^ (value >> 31));
+    }
+
+    void writeVarLong(long value) {
+        body = ensureCapacity(body, 10);
+        putVarLong(body, value);
+    }
+
+    void writeSignedVarLong(long value) {
+        writeVarLong((value << 1) ^ (value >> 63));
+    }
+
+    void writeString(@Nullable String value) {
+        body = putString(body, value);
+    }
+
+    /**
+     * Writes the string that is likely to be repeated in the session.
+     */
+    void writeSymbol(@Nullable String value) {
+        if (value == null) {
+            writeVarInt(NULL_SYMBOL);
+            return;
+        }
+
+        int id = getSymbolId(value);
+        if (id == 0) {
+            id = defineSymbol(value);
+        }
+        if (id == 0) {
+            writeVarInt(INLINE_SYMBOL);
+            writeString(value);
+            return;
+        }
+
+        writeVarInt(id);
+    }
+
+    /**
+     * Writes the class info as a single symbol.
+     */
+    void writeSymbol(ClassInfo value) {
+        int id = getSymbolId(value);
+        if (id == 0) {
+            id = defineSymbol(value);
+        }
+        if (id == 0) {
+            writeVarInt(INLINE_SYMBOL);
+            writeString(value.module());
+            writeString(value.className());
+            writeString(value.simpleClassName());
+            return;
+        }
+
+        writeVarInt(id);
+    }
+
+    ///////////////////////////////////////////////////////////////////////////
+
+    private int getSymbolId(Object symbol) {
+        int id = dictionary.getId(symbol);
+        if (id == 0) {
+            Integer pendingId = pending.get(symbol);
+            id = pendingId != null ? pendingId : 0;
+        }
+        return id;
+    }
+
+    private int defineSymbol(Object symbol) {
+        int id = dictionary.allocateId();
+        if (id == 0) {
+            return 0;
+        }
+
+        pending.put(symbol, id);
+        defCount++;
+
+        defs = ensureCapacity(defs, 10);
+        putVarLong(defs, id);
+        if (symbol instanceof ClassInfo classInfo) {
+            defs.put((byte) CLASS_SYMBOL);
+            defs = putString(defs, classInfo.module());
+            defs = putString(defs, classInfo.className());
+            defs = putString(defs, classInfo.simpleClassName());
+        } else {
+            defs.put((byte) STRING_SYMBOL);
+            defs = putString(defs, (String) symbol);
+        }
+
+        return id;
+    }
+
+    private static ByteBuffer putString(ByteBuffer buf, @Nullable String value) {
+        if (value == null) {
+            buf = ensureCapacity(buf, 1);
+            buf.put((byte) 0);
+            return buf;
+        }
+
+        int length = utf8Length(value);
+        buf = ensureCapacity(buf, 5 + length);
+        putVarLong(buf, length + 1L);
+        putUtf8(buf, value);
+        return buf;
+    }
+
+    private static void putVarLong(ByteBuffer buf, long value) {
+        while ((value & ~0x7FL) != 0) {
+            buf.put((byte) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        buf.put((byte) value);
+    }
+
+    static int varIntSize(int value) {
+        int size = 1;
+        while ((value & ~0x7F) != 0) {
+            size++;
+            value >>>= 7;
+        }
+        return size;
+    }
+
+    private static int utf8Length(String s) {
+        int length = s.length();
+        for (int i = 0; i < s.length(); i++) {
+            char c = s.charAt(i);
+            if (c >= 0x800) {
+                // the surrogate pair takes 4 bytes, the unpaired surrogate is replaced with 3 bytes
+                length += 2;
+                if (Character.isHighSurrogate(c) && i + 1 < s.length() && Character.isLowSurrogate(s.charAt(i + 1))) {
+                    i++;
+                }
+            } else if (c >= 0x80) {
+                length += 1;
+            }
+        }
+        return length;
+    }
+
+    // writes the string without the intermediate byte array
+    private static void putUtf8(ByteBuffer buf, String s) {
+        for (int i = 0; i < s.length(); i++) {
+            char c = s.charAt(i);
+            if (c < 0x80) {
+                buf.put((byte) c);
+            } else if (c < 0x800) {
+                buf.put((byte) (0xC0 | (c >> 6)));
+                buf.put((byte) (0x80 | (c & 0x3F)));
+            } else if (Character.isSurrogate(c)) {
+                if (Character.isHighSurrogate(c) && i + 1 < s.length() && Character.isLowSurrogate(s.charAt(i + 1))) {
+                    int cp = Character.toCodePoint(c, s.charAt(++i));
+                    buf.put((byte) (0xF0 | (cp >> 18)));
+                    buf.put((byte) (0x80 | ((cp >> 12) & 0x3F)));
+                    buf.put((byte) (0x80 | ((cp >> 6) & 0x3F)));
+                    buf.put((byte) (0x80 | (cp & 0x3F)));
+                } else {
+                    // U+FFFD
+                    buf.put((byte) 0xEF).put((byte) 0xBF).put((byte) 0xBD);
+                }
+            } else {
+                buf.put((byte) (0xE0 | (c >> 12)));
+                buf.put((byte) (0x80 | ((c >> 6) & 0x3F)));
+                buf.put((byte) (0x80 | (c & 0x3F)));
+            }
+        }
+    }
+
+    private static ByteBuffer ensureCapacity(ByteBuffer buf, int length) {
+        if (buf.remaining() >= length) {
+            return buf;
+        }
+
+        var grown = ByteBuffer.allocate(Math.max(buf.capacity() * 2, buf.position() + length));
+        grown.put(buf.flip());
+        return grown;
+    }
+}
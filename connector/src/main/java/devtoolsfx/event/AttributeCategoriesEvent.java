@@ -0,0 +1,35 @@
+package devtoolsfx.event;
+
+import devtoolsfx.connector.Connector;
+import devtoolsfx.scenegraph.Element;
+import devtoolsfx.scenegraph.attributes.AttributeCategory;
+import org.jspecify.annotations.NullMarked;
+
+import java.util.Set;
+
+/**
+ * Notifies about all attribute categories that are supported by the selected element,
+ * regardless of whether they are active or not. Only active categories emit their attributes,
+ * see {@link Connector#setActiveAttributeCategories(int, Set)}.
+ *
+ * @param eventSource the event source
+ * @param element     the selected element
+ * @param categories  the set of supported attribute categories
+ */
+@NullMarked
+public record AttributeCategoriesEvent(EventSource eventSource,
+                                       Element element,
+                                       Set<AttributeCategory> categories) implements ConnectorEvent, ElementEvent {
+
+    @Override
+    public Element getElement() {
+        return element;
+    }
+
+    @Override
+    public String toLogString() {
+        return "source=" + eventSource.toLogString()
+            + " | class=" + element.getSimpleClassName()
+            + " | categories=" + categories;
+    }
+}
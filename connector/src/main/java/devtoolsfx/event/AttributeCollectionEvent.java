@@ -0,0 +1,41 @@
+package devtoolsfx.event;
+
+import devtoolsfx.scenegraph.Element;
+import devtoolsfx.scenegraph.attributes.AttributeCategory;
+import devtoolsfx.scenegraph.attributes.CollectionChange;
+import org.jspecify.annotations.NullMarked;
+
+import java.util.List;
+
+/**
+ * Notifies about the content changes of an observable collection attribute.
+ * Unlike the {@link AttributeUpdatedEvent}, it only contains the changed items, which
+ * should be applied to the previously received attribute value in the specified order.
+ *
+ * @param eventSource the event source
+ * @param element     the element whose attribute has been changed
+ * @param category    the attribute category
+ * @param attribute   the attribute name
+ * @param changes     the list of changes
+ */
+@NullMarked
+public record AttributeCollectionEvent(EventSource eventSource,
+                                       Element element,
+                                       AttributeCategory category,
+                                       String attribute,
+                                       List<CollectionChange> changes) implements ConnectorEvent, ElementEvent {
+
+    @Override
+    public Element getElement() {
+        return element;
+    }
+
+    @Override
+    public String toLogString() {
+        return "source=" + eventSource.toLogString()
+            + " | class=" + element.getSimpleClassName()
+            + " | category=" + category
+            + " | attribute=" + attribute
+            + " | changes=" + changes;
+    }
+}
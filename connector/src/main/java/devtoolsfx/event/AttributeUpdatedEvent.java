@@ -5,21 +5,25 @@ import devtoolsfx.scenegraph.attributes.Attribute;
 import devtoolsfx.scenegraph.attributes.AttributeCategory;
 import org.jspecify.annotations.NullMarked;
 
+import java.util.List;
+import java.util.stream.Collectors;
+
 /**
- * Notifies about a single attribute change in a specific category.
- * The difference from the {@link AttributeListEvent} is semantic,
- * differentiating category changes from a single attribute update.
+ * Notifies about attribute changes in a specific category. Only the attributes whose
+ * values have actually changed are included, and all changes made during the same pulse
+ * are batched into a single event. The difference from the {@link AttributeListEvent}
+ * is semantic, differentiating category changes from partial attribute updates.
  *
  * @param eventSource the event source
  * @param element     the element whose attributes have been changed
  * @param category    the attribute category
- * @param attribute   the changed attribute
+ * @param attributes  the changed attributes
  */
 @NullMarked
 public record AttributeUpdatedEvent(EventSource eventSource,
                                     Element element,
                                     AttributeCategory category,
-                                    Attribute<?> attribute) implements ConnectorEvent, ElementEvent {
+                                    List<Attribute<?>> attributes) implements ConnectorEvent, ElementEvent {
 
     @Override
     public Element getElement() {
@@ -31,6 +35,8 @@ public record AttributeUpdatedEvent(EventSource eventSource,
         return "source=" + eventSource.toLogString()
             + " | class=" + element.getSimpleClassName()
             + " | category: " + category
-            + " | attribute: " + attribute.toLogString();
+            + " | attributes: ["
+            + attributes.stream().map(Attribute::toLogString).collect(Collectors.joining("; "))
+            + "]";
     }
 }
@@ -8,17 +8,25 @@ import org.jspecify.annotations.NullMarked;
  */
 @NullMarked
 public sealed interface ConnectorEvent permits
+    AttributeCategoriesEvent,
+    AttributeCollectionEvent,
     AttributeListEvent,
     AttributeUpdatedEvent,
     ExceptionEvent,
     JavaFXEvent,
+    LayoutHotSpotsEvent,
     MousePosEvent,
     NodeAddedEvent,
     NodeRemovedEvent,
     NodeSelectedEvent,
     NodeStyleClassEvent,
     NodeVisibilityEvent,
+    PerformanceEntriesEvent,
     RootChangedEvent,
+    SlowAttributeEvent,
+    StallEvent,
+    TimelineEvent,
+    WatchedAttributesEvent,
     WindowClosedEvent,
     WindowPropertiesEvent {
 
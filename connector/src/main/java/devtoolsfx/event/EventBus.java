@@ -1,8 +1,11 @@
 package devtoolsfx.event;
 
 import devtoolsfx.connector.LocalConnector;
+import devtoolsfx.jfr.EventDispatchJfrEvent;
 import javafx.application.Platform;
+import jdk.jfr.EventType;
 import org.jspecify.annotations.NullMarked;
+import org.jspecify.annotations.Nullable;
 
 import java.lang.System.Logger;
 import java.util.Map;
@@ -15,14 +18,19 @@ import static java.lang.System.Logger.Level;
 
 /**
  * A straightforward event bus implementation. Events are published in channels
- * distinguished by event type. It must only be called from the FXThread.
+ * distinguished by event type. It must only be called from the FXThread. Each published
+ * event is also measured as {@link EventDispatchJfrEvent}, if the flight recorder event
+ * is enabled. Otherwise, the dispatch costs a single check and doesn't allocate the event.
  */
 @NullMarked
 public final class EventBus {
 
     private static final Logger LOGGER = System.getLogger(LocalConnector.class.getName());
+    // the cached event type, its state is updated by the recorder when the settings change
+    private static final EventType DISPATCH_JFR_EVENT = EventType.getEventType(EventDispatchJfrEvent.class);
 
     private final Map<Class<?>, Set<Consumer<?>>> subscribers = new ConcurrentHashMap<>();
+    private volatile @Nullable Runnable onSubscribersChanged;
 
     /**
      * Creates new {@link EventBus} instance.
@@ -37,22 +45,68 @@ public final class EventBus {
      */
     public <E extends ConnectorEvent> void subscribe(Class<? extends E> eventType, Consumer<E> subscriber) {
         Set<Consumer<?>> eventSubscribers = getOrCreateSubscribers(eventType);
-        eventSubscribers.add(subscriber);
+        if (eventSubscribers.add(subscriber)) {
+            notifySubscribersChanged();
+        }
     }
 
     /**
      * Unsubscribe from all event types.
      */
     public <E extends ConnectorEvent> void unsubscribe(Consumer<E> subscriber) {
-        subscribers.values().forEach(eventSubscribers -> eventSubscribers.remove(subscriber));
+        boolean removed = false;
+        for (var eventSubscribers : subscribers.values()) {
+            removed |= eventSubscribers.remove(subscriber);
+        }
+        if (removed) {
+            notifySubscribersChanged();
+        }
+    }
+
+    /**
+     * Returns true if there's at least one consumer that would receive the event
+     * of the given type.
+     */
+    public boolean hasSubscribers(Class<? extends ConnectorEvent> eventType) {
+        return subscribers.entrySet().stream()
+            .anyMatch(e -> e.getKey().isAssignableFrom(eventType) && !e.getValue().isEmpty());
+    }
+
+    /**
+     * Sets the handler that is notified when a consumer subscribes or unsubscribes,
+     * so that the events that are expensive to produce are only produced on demand.
+     */
+    public void setOnSubscribersChanged(@Nullable Runnable handler) {
+        onSubscribersChanged = handler;
     }
 
     /**
      * Publish an event to all subscribers. The event is published to all consumers
      * which subscribed to this event type or any super class.
      */
-    @SuppressWarnings("unchecked")
     public <E extends ConnectorEvent> void fire(E event) {
+        if (!DISPATCH_JFR_EVENT.isEnabled()) {
+            dispatch(event);
+            return;
+        }
+
+        var jfrEvent = new EventDispatchJfrEvent();
+        jfrEvent.begin();
+
+        dispatch(event);
+
+        jfrEvent.end();
+        if (jfrEvent.shouldCommit()) {
+            jfrEvent.eventType = event.getClass().getSimpleName();
+            jfrEvent.window = event.eventSource().toLogString();
+            jfrEvent.commit();
+        }
+    }
+
+    ///////////////////////////////////////////////////////////////////////////
+
+    @SuppressWarnings("unchecked")
+    private <E extends ConnectorEvent> void dispatch(E event) {
         Class<?> eventType = event.getClass();
         subscribers.keySet().stream()
             .filter(type -> type.isAssignableFrom(eventType))
@@ -60,7 +114,12 @@ public final class EventBus {
             .forEach(subscriber -> fire(event, (Consumer<E>) subscriber));
     }
 
-    ///////////////////////////////////////////////////////////////////////////
+    private void notifySubscribersChanged() {
+        var handler = onSubscribersChanged;
+        if (handler != null) {
+            handler.run();
+        }
+    }
 
     private <E> Set<Consumer<?>> getOrCreateSubscribers(Class<E> eventType) {
         return subscribers.computeIfAbsent(eventType, k -> new CopyOnWriteArraySet<>());
@@ -0,0 +1,30 @@
+package devtoolsfx.event;
+
+import devtoolsfx.scenegraph.LayoutHotSpot;
+import org.jspecify.annotations.NullMarked;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Reports the nodes that requested layout during the last second, ranked by the
+ * number of layout invalidations in descending order. Emitted once per second
+ * while the layout tracking is enabled and there's something to report.
+ *
+ * @param eventSource the event source
+ * @param hotSpots    the ranked list of the layout hot spots
+ */
+@NullMarked
+public record LayoutHotSpotsEvent(EventSource eventSource,
+                                  List<LayoutHotSpot> hotSpots) implements ConnectorEvent {
+
+    @Override
+    public String toLogString() {
+        return "source=" + eventSource.toLogString()
+            + " | hotSpots: ["
+            + hotSpots.stream()
+            .map(h -> h.element().getSimpleClassName() + "=" + h.perSecond() + "/s")
+            .collect(Collectors.joining("; "))
+            + "]";
+    }
+}
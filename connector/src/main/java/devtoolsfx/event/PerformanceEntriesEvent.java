@@ -0,0 +1,36 @@
+package devtoolsfx.event;
+
+import devtoolsfx.connector.Performance;
+import devtoolsfx.connector.PerformanceEntry;
+import org.jspecify.annotations.NullMarked;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Reports the application performance marks and measures recorded since the previous
+ * event, see {@link Performance}. Emitted periodically while there's something to report.
+ *
+ * @param eventSource the event source, entries are reported on behalf of the primary stage
+ * @param entries     the recorded entries in the recording order
+ * @param dropped     the number of entries lost because the buffer overflowed
+ */
+@NullMarked
+public record PerformanceEntriesEvent(EventSource eventSource,
+                                      List<PerformanceEntry> entries,
+                                      long dropped) implements ConnectorEvent {
+
+    @Override
+    public String toLogString() {
+        return "source=" + eventSource.toLogString()
+            + " | entries: ["
+            + entries.stream()
+            .map(e -> e.type() == PerformanceEntry.Type.MARK
+                ? e.name()
+                : e.name() + "=" + e.duration() / 1_000 + "us"
+            )
+            .collect(Collectors.joining("; "))
+            + "]"
+            + (dropped > 0 ? " | dropped=" + dropped : "");
+    }
+}
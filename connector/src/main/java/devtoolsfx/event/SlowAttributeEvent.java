@@ -0,0 +1,41 @@
+package devtoolsfx.event;
+
+import devtoolsfx.connector.ConnectorOptions;
+import devtoolsfx.scenegraph.Element;
+import devtoolsfx.scenegraph.attributes.AttributeCategory;
+import org.jspecify.annotations.NullMarked;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Notifies that reading the attribute value exceeded the time budget, see
+ * {@link ConnectorOptions#getSlowAttributeThreshold()}. Such attribute is no longer reloaded
+ * automatically, the full reload reuses its last value, but it can still be reloaded on demand.
+ *
+ * @param eventSource the event source
+ * @param element     the element whose attribute has been read
+ * @param category    the attribute category
+ * @param attribute   the attribute name
+ * @param readTime    the attribute read time in nanoseconds
+ */
+@NullMarked
+public record SlowAttributeEvent(EventSource eventSource,
+                                 Element element,
+                                 AttributeCategory category,
+                                 String attribute,
+                                 long readTime) implements ConnectorEvent, ElementEvent {
+
+    @Override
+    public Element getElement() {
+        return element;
+    }
+
+    @Override
+    public String toLogString() {
+        return "source=" + eventSource.toLogString()
+            + " | class=" + element.getSimpleClassName()
+            + " | category=" + category
+            + " | attribute=" + attribute
+            + " | readTime=" + TimeUnit.NANOSECONDS.toMillis(readTime) + "ms";
+    }
+}
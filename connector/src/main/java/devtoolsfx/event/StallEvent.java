@@ -0,0 +1,34 @@
+package devtoolsfx.event;
+
+import devtoolsfx.connector.ConnectorOptions;
+import devtoolsfx.connector.StackSample;
+import org.jspecify.annotations.NullMarked;
+
+import java.util.List;
+
+/**
+ * Reports that the FX application thread has been blocked for longer than
+ * {@link ConnectorOptions#getStallThreshold()}. Emitted after the thread recovers.
+ *
+ * @param eventSource the event source, stalls are reported on behalf of the primary stage
+ * @param duration    the stall duration in milliseconds
+ * @param sampleCount the total number of the FX thread stack samples taken during the stall
+ * @param samples     the distinct stack samples, ranked by the number of occurrences in descending order
+ */
+@NullMarked
+public record StallEvent(EventSource eventSource,
+                         long duration,
+                         int sampleCount,
+                         List<StackSample> samples) implements ConnectorEvent {
+
+    @Override
+    public String toLogString() {
+        return "source=" + eventSource.toLogString()
+            + " | duration=" + duration + "ms"
+            + " | samples=" + sampleCount
+            + (samples.isEmpty() || samples.getFirst().frames().isEmpty()
+            ? ""
+            : " | top=" + samples.getFirst().frames().getFirst()
+        );
+    }
+}
@@ -0,0 +1,31 @@
+package devtoolsfx.event;
+
+import devtoolsfx.connector.Connector;
+import devtoolsfx.connector.TimelineSamples;
+import org.jspecify.annotations.NullMarked;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Reports the timeline samples collected since the previous event.
+ * Emitted periodically while the timeline recording is active,
+ * see {@link Connector#startTimelineRecording()}.
+ *
+ * @param eventSource the event source, samples are reported on behalf of the primary stage
+ * @param samples     the sample batches, at most one per lane
+ */
+@NullMarked
+public record TimelineEvent(EventSource eventSource,
+                            List<TimelineSamples> samples) implements ConnectorEvent {
+
+    @Override
+    public String toLogString() {
+        return "source=" + eventSource.toLogString()
+            + " | samples: ["
+            + samples.stream()
+            .map(s -> s.lane().name().toLowerCase() + "=" + s.size())
+            .collect(Collectors.joining("; "))
+            + "]";
+    }
+}
@@ -0,0 +1,28 @@
+package devtoolsfx.event;
+
+import devtoolsfx.scenegraph.attributes.WatchedAttribute;
+import org.jspecify.annotations.NullMarked;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Notifies about value changes of the watched attributes. Unlike the {@link AttributeUpdatedEvent},
+ * it isn't tied to the selected element, but includes the attributes of multiple elements.
+ * All changes made during the same pulse are batched into a single event.
+ *
+ * @param eventSource the event source
+ * @param attributes  the changed attributes
+ */
+@NullMarked
+public record WatchedAttributesEvent(EventSource eventSource,
+                                     List<WatchedAttribute> attributes) implements ConnectorEvent {
+
+    @Override
+    public String toLogString() {
+        return "source=" + eventSource.toLogString()
+            + " | attributes: ["
+            + attributes.stream().map(WatchedAttribute::toLogString).collect(Collectors.joining("; "))
+            + "]";
+    }
+}
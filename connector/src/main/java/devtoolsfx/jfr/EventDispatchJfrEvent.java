@@ -0,0 +1,24 @@
+package devtoolsfx.jfr;
+
+import jdk.jfr.*;
+import org.jspecify.annotations.NullMarked;
+
+/**
+ * Records the time it takes to deliver a connector event to all event bus subscribers.
+ */
+@Name(EventDispatchJfrEvent.NAME)
+@Label("Connector Event Dispatch")
+@Category({"JavaFX", "DevToolsFX"})
+@Description("The delivery of a connector event to the event bus subscribers")
+@StackTrace(false)
+@NullMarked
+public final class EventDispatchJfrEvent extends Event {
+
+    public static final String NAME = "devtoolsfx.EventDispatch";
+
+    @Label("Event Type")
+    public String eventType = "";
+
+    @Label("Window")
+    public String window = "";
+}
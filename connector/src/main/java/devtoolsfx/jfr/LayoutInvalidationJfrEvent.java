@@ -0,0 +1,35 @@
+package devtoolsfx.jfr;
+
+import jdk.jfr.*;
+import org.jspecify.annotations.NullMarked;
+
+/**
+ * Records the layout invalidations requested by the parent nodes of a window
+ * during a single pulse. The event spans from the first invalidation until
+ * the end of the pulse. Only emitted while the layout tracking is enabled.
+ */
+@Name(LayoutInvalidationJfrEvent.NAME)
+@Label("Layout Invalidation Burst")
+@Category({"JavaFX", "Layout"})
+@Description("The layout invalidations requested during a single pulse")
+@StackTrace(false)
+@NullMarked
+public final class LayoutInvalidationJfrEvent extends Event {
+
+    public static final String NAME = "devtoolsfx.LayoutInvalidation";
+
+    @Label("Window")
+    public String window = "";
+
+    @Label("Invalidations")
+    @Description("The total number of layout invalidations")
+    public int invalidations;
+
+    @Label("Parents")
+    @Description("The number of distinct parent nodes that requested layout")
+    public int parents;
+
+    @Label("Top Parent")
+    @Description("The class of the parent node that requested layout most often")
+    public String topParent = "";
+}
@@ -0,0 +1,31 @@
+package devtoolsfx.jfr;
+
+import jdk.jfr.*;
+import org.jspecify.annotations.NullMarked;
+
+/**
+ * Records the node branches added to or removed from the scene graph of a window
+ * during a single pulse. The event spans from the first change until the end
+ * of the pulse.
+ */
+@Name(NodeChurnJfrEvent.NAME)
+@Label("Node Churn")
+@Category({"JavaFX", "Scene Graph"})
+@Description("The node branches added or removed during a single pulse")
+@StackTrace(false)
+@NullMarked
+public final class NodeChurnJfrEvent extends Event {
+
+    public static final String NAME = "devtoolsfx.NodeChurn";
+
+    @Label("Window")
+    public String window = "";
+
+    @Label("Added")
+    @Description("The number of added node branches")
+    public int added;
+
+    @Label("Removed")
+    @Description("The number of removed node branches")
+    public int removed;
+}
@@ -0,0 +1,23 @@
+package devtoolsfx.jfr;
+
+import jdk.jfr.*;
+import org.jspecify.annotations.NullMarked;
+
+/**
+ * Records the CSS and layout pass of a scene during the pulse, i.e. the time between
+ * the scene pre-layout and post-layout pulse listeners. Only emitted for the pulses
+ * that the scene actually processed.
+ */
+@Name(PulseJfrEvent.NAME)
+@Label("Scene Pulse")
+@Category({"JavaFX", "Pulse"})
+@Description("The CSS and layout pass of a scene during the pulse")
+@StackTrace(false)
+@NullMarked
+public final class PulseJfrEvent extends Event {
+
+    public static final String NAME = "devtoolsfx.Pulse";
+
+    @Label("Window")
+    public String window = "";
+}
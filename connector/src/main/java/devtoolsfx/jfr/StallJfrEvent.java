@@ -0,0 +1,32 @@
+package devtoolsfx.jfr;
+
+import jdk.jfr.*;
+import org.jspecify.annotations.NullMarked;
+
+/**
+ * Records the FX application thread stall. The event spans from the stall detection,
+ * i.e. when the stall threshold is exceeded, until the thread recovers, while the
+ * stall duration field contains the full blocking time.
+ */
+@Name(StallJfrEvent.NAME)
+@Label("FX Thread Stall")
+@Category({"JavaFX", "Pulse"})
+@Description("The FX application thread has been blocked for longer than the stall threshold")
+@StackTrace(false)
+@NullMarked
+public final class StallJfrEvent extends Event {
+
+    public static final String NAME = "devtoolsfx.Stall";
+
+    @Label("Stall Duration")
+    @Timespan(Timespan.MILLISECONDS)
+    public long stallDuration;
+
+    @Label("Sample Count")
+    @Description("The number of the FX thread stack samples taken during the stall")
+    public int sampleCount;
+
+    @Label("Top Frame")
+    @Description("The top frame of the most frequent stack sample")
+    public String topFrame = "";
+}
@@ -0,0 +1,7 @@
+/**
+ * The package contains the Java Flight Recorder events emitted by the connector.
+ * All events belong to the "JavaFX" category and are only committed while a recording
+ * with the corresponding event type enabled is running.
+ */
+
+package devtoolsfx.jfr;
@@ -0,0 +1,20 @@
+package devtoolsfx.scenegraph;
+
+import javafx.scene.Parent;
+import org.jspecify.annotations.NullMarked;
+
+/**
+ * Represents the layout invalidation statistics of a {@link Parent} node,
+ * i.e. how often its {@link Parent#needsLayoutProperty()} changes from false to true.
+ *
+ * @param element     the parent node element
+ * @param perSecond   the number of invalidations during the last second
+ * @param maxPerPulse the maximum number of invalidations per pulse during the last second
+ * @param total       the total number of invalidations since the tracking started
+ */
+@NullMarked
+public record LayoutHotSpot(Element element,
+                            int perSecond,
+                            int maxPerPulse,
+                            long total) {
+}
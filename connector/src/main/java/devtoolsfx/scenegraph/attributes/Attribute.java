@@ -111,6 +111,8 @@ public record Attribute<V>(
         PROPERTIES(Map.class),
         ROW_CONSTRAINTS(RowConstraints.class),
         TEXT(String.class),
+        // the collection items are displayed one per line, e.g. the stylesheet URLs
+        TEXT_LINES(String.class),
         TRANSFORMS(Transform.class);
 
         private final Class<?> valueType;
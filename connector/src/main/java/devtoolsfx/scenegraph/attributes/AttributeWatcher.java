@@ -0,0 +1,231 @@
+package devtoolsfx.scenegraph.attributes;
+
+import devtoolsfx.connector.LocalElement;
+import devtoolsfx.event.EventBus;
+import devtoolsfx.event.EventSource;
+import devtoolsfx.event.ExceptionEvent;
+import devtoolsfx.event.WatchedAttributesEvent;
+import devtoolsfx.scenegraph.Element;
+import javafx.application.Platform;
+import javafx.beans.InvalidationListener;
+import javafx.beans.Observable;
+import javafx.beans.value.ObservableValue;
+import javafx.scene.Node;
+import org.jspecify.annotations.NullMarked;
+import org.jspecify.annotations.Nullable;
+
+import java.lang.reflect.InvocationTargetException;
+import java.util.*;
+
+/**
+ * The watch list, which tracks the selected attributes on multiple nodes at once,
+ * independently of the selected element. Unlike the {@link Tracker}, it only supports
+ * observable properties, e.g. "boundsInParent", "needsLayout" or "opacity".
+ * <p>
+ * All watched properties share the same listener instance, and each property is only
+ * listened once, no matter how many times it's added. Changes are coalesced and emitted
+ * once per pulse as a single {@link WatchedAttributesEvent}. The number of watched
+ * attributes is limited by {@link #MAX_WATCHED_ATTRIBUTES}.
+ */
+@NullMarked
+public final class AttributeWatcher {
+
+    public static final int MAX_WATCHED_ATTRIBUTES = 64;
+
+    private final EventBus eventBus;
+    private final EventSource eventSource;
+
+    private final Map<WatchKey, WatchEntry> entries = new LinkedHashMap<>();
+    // observable -> watch entry, to dispatch the shared listener calls
+    private final Map<Observable, WatchKey> observables = new IdentityHashMap<>();
+    private final InvalidationListener invalidationListener = this::onInvalidated;
+
+    // the entries changed during the current pulse, they're emitted at once
+    private final Set<WatchKey> pendingKeys = new LinkedHashSet<>();
+    private final List<WatchedAttribute> pendingRemovals = new ArrayList<>();
+    private boolean flushScheduled;
+
+    public AttributeWatcher(EventBus eventBus, EventSource eventSource) {
+        this.eventBus = Objects.requireNonNull(eventBus, "event bus must not be null");
+        this.eventSource = Objects.requireNonNull(eventSource, "event source must not be null");
+    }
+
+    /**
+     * Adds the node property to the watch list. The current value is emitted on the next pulse.
+     * Returns false if the node has no such observable property or the watch list is full.
+     */
+    public boolean watch(Node node, String property) {
+        var key = new WatchKey(node, property);
+        if (entries.containsKey(key)) {
+            return true;
+        }
+
+        if (entries.size() >= MAX_WATCHED_ATTRIBUTES) {
+            return false;
+        }
+
+        var accessor = ClassMetadata.of(node.getClass()).getProperty(property);
+        if (accessor == null) {
+            return false;
+        }
+
+        ObservableValue<?> obs;
+        try {
+            obs = accessor.get(node);
+        } catch (InvocationTargetException e) {
+            eventBus.fire(ExceptionEvent.of(eventSource, e));
+            return false;
+        }
+
+        if (obs == null) {
+            return false;
+        }
+
+        entries.put(key, new WatchEntry(LocalElement.of(node), obs));
+        observables.put(obs, key);
+        obs.addListener(invalidationListener);
+
+        schedule(key);
+        return true;
+    }
+
+    /**
+     * Removes the node property from the watch list.
+     */
+    public void unwatch(Node node, String property) {
+        var key = new WatchKey(node, property);
+        var entry = entries.remove(key);
+        if (entry != null) {
+            release(key, entry);
+        }
+    }
+
+    /**
+     * Removes all properties of the given node from the watch list, and notifies
+     * the client about that, e.g. when the node has been removed from the scene graph.
+     */
+    public void unwatchAll(Node node) {
+        if (entries.isEmpty()) {
+            return;
+        }
+
+        var it = entries.entrySet().iterator();
+        while (it.hasNext()) {
+            var entry = it.next();
+            if (entry.getKey().node() == node) {
+                it.remove();
+                release(entry.getKey(), entry.getValue());
+                pendingRemovals.add(new WatchedAttribute(
+                    entry.getValue().element, entry.getKey().property(), null, false
+                ));
+                scheduleFlush();
+            }
+        }
+    }
+
+    /**
+     * Clears the watch list.
+     */
+    public void clear() {
+        entries.forEach(this::release);
+        entries.clear();
+        pendingRemovals.clear();
+    }
+
+    /**
+     * Returns the number of watched attributes.
+     */
+    public int size() {
+        return entries.size();
+    }
+
+    ///////////////////////////////////////////////////////////////////////////
+
+    private void onInvalidated(Observable obs) {
+        var key = observables.get(obs);
+        if (key != null) {
+            schedule(key);
+        }
+    }
+
+    private void schedule(WatchKey key) {
+        pendingKeys.add(key);
+        scheduleFlush();
+    }
+
+    private void scheduleFlush() {
+        if (!flushScheduled) {
+            flushScheduled = true;
+            Platform.runLater(this::flush);
+        }
+    }
+
+    private void flush() {
+        flushScheduled = false;
+
+        var result = new ArrayList<>(pendingRemovals);
+        pendingRemovals.clear();
+
+        for (var key : pendingKeys) {
+            var entry = entries.get(key);
+            if (entry == null) {
+                continue;
+            }
+
+            Object value;
+            try {
+                // also revalidates the property, so that the listener is called on the next change
+                value = toValue(entry.observable.getValue());
+            } catch (RuntimeException e) {
+                eventBus.fire(ExceptionEvent.of(eventSource, e));
+                continue;
+            }
+
+            if (!entry.emitted || !Objects.equals(entry.lastValue, value)) {
+                entry.emitted = true;
+                entry.lastValue = value;
+                result.add(new WatchedAttribute(entry.element, key.property(), value, true));
+            }
+        }
+        pendingKeys.clear();
+
+        if (!result.isEmpty()) {
+            eventBus.fire(new WatchedAttributesEvent(eventSource, Collections.unmodifiableList(result)));
+        }
+    }
+
+    private void release(WatchKey key, WatchEntry entry) {
+        entry.observable.removeListener(invalidationListener);
+        observables.remove(entry.observable);
+        pendingKeys.remove(key);
+    }
+
+    private static @Nullable Object toValue(@Nullable Object value) {
+        return switch (value) {
+            case null -> null;
+            case Boolean b -> b;
+            case Number n -> n;
+            case Enum<?> e -> e;
+            case String s -> s;
+            default -> String.valueOf(value);
+        };
+    }
+
+    ///////////////////////////////////////////////////////////////////////////
+
+    private record WatchKey(Node node, String property) {
+    }
+
+    private static final class WatchEntry {
+
+        private final Element element;
+        private final ObservableValue<?> observable;
+        private @Nullable Object lastValue;
+        private boolean emitted;
+
+        private WatchEntry(Element element, ObservableValue<?> observable) {
+            this.element = element;
+            this.observable = observable;
+        }
+    }
+}
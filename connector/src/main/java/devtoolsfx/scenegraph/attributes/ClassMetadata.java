@@ -0,0 +1,329 @@
+package devtoolsfx.scenegraph.attributes;
+
+import javafx.beans.value.ObservableValue;
+import javafx.css.CssMetaData;
+import javafx.css.Styleable;
+import javafx.css.StyleableProperty;
+import javafx.scene.Node;
+import org.jspecify.annotations.NullMarked;
+import org.jspecify.annotations.Nullable;
+
+import java.lang.System.Logger;
+import java.lang.System.Logger.Level;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.InaccessibleObjectException;
+import java.lang.reflect.Field;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.*;
+
+/**
+ * The per-class reflective metadata, which is resolved once per class and then reused
+ * for all instances of that class. It contains the accessors of the observable properties
+ * (methods ending with the 'Property' suffix), their plain getters and backing fields, if
+ * accessible, and the mapping of the property names to the CSS property names.
+ */
+@NullMarked
+final class ClassMetadata {
+
+    private static final Logger LOGGER = System.getLogger(ClassMetadata.class.getName());
+
+    private static final MethodType ACCESSOR_TYPE = MethodType.methodType(ObservableValue.class, Object.class);
+    private static final MethodType GETTER_TYPE = MethodType.methodType(Object.class, Object.class);
+    private static final ClassValue<ClassMetadata> CACHE = new ClassValue<>() {
+        @Override
+        protected ClassMetadata computeValue(Class<?> type) {
+            return new ClassMetadata(type);
+        }
+    };
+
+    private final List<PropertyAccessor> properties;
+    private final Map<String, PropertyAccessor> propertyIndex = new HashMap<>();
+    private volatile @Nullable Map<String, String> cssProperties;
+    private volatile @Nullable Map<String, String> cssPropertiesByName;
+
+    private ClassMetadata(Class<?> type) {
+        this.properties = resolveProperties(type);
+        for (var accessor : properties) {
+            propertyIndex.put(accessor.name(), accessor);
+        }
+    }
+
+    /**
+     * Returns the cached metadata for the given class.
+     */
+    static ClassMetadata of(Class<?> type) {
+        return CACHE.get(type);
+    }
+
+    /**
+     * Returns the observable property accessors sorted by the property name.
+     */
+    List<PropertyAccessor> getProperties() {
+        return properties;
+    }
+
+    /**
+     * Returns the observable property accessor by the property name.
+     */
+    @Nullable
+    PropertyAccessor getProperty(String name) {
+        return propertyIndex.get(name);
+    }
+
+    /**
+     * Returns the mapping of the property names to the CSS property names.
+     * Since the CSS metadata can only be obtained from the node instance,
+     * the mapping is resolved lazily using the first given node.
+     */
+    Map<String, String> getCssProperties(Node node) {
+        var result = cssProperties;
+        if (result == null) {
+            result = resolveCssProperties(node);
+            cssProperties = result;
+        }
+        return result;
+    }
+
+    /**
+     * The same as {@link #getCssProperties(Node)}, but doesn't access the styleable properties
+     * (and thus doesn't instantiate them). The mapping is resolved by the naming convention
+     * instead, e.g. "textFill" to "-fx-text-fill", so it may be incomplete.
+     */
+    Map<String, String> getCssPropertiesByName(Node node) {
+        var result = cssPropertiesByName;
+        if (result == null) {
+            result = resolveCssPropertiesByName(node);
+            cssPropertiesByName = result;
+        }
+        return result;
+    }
+
+    ///////////////////////////////////////////////////////////////////////////
+
+    private static List<PropertyAccessor> resolveProperties(Class<?> type) {
+        var result = new ArrayList<PropertyAccessor>();
+
+        for (Method method : type.getMethods()) {
+            if (!method.getName().endsWith(PropertyListener.PROPERTY_SUFFIX)
+                || method.getParameterCount() > 0
+                || Modifier.isStatic(method.getModifiers())
+                || !ObservableValue.class.isAssignableFrom(method.getReturnType())) {
+                continue;
+            }
+
+            MethodHandle handle = unreflect(type, method);
+            if (handle != null) {
+                String name = method.getName().substring(0, method.getName().lastIndexOf(PropertyListener.PROPERTY_SUFFIX));
+                MethodHandle getter = findGetter(type, name);
+                MethodHandle field = findField(type, name);
+                result.add(new PropertyAccessor(
+                    name,
+                    method.getReturnType(),
+                    handle.asType(ACCESSOR_TYPE),
+                    getter != null ? getter.asType(GETTER_TYPE) : null,
+                    field != null ? field.asType(ACCESSOR_TYPE) : null
+                ));
+            }
+        }
+
+        result.sort(Comparator.comparing(PropertyAccessor::name));
+        return List.copyOf(result);
+    }
+
+    private static @Nullable MethodHandle unreflect(Class<?> type, Method method) {
+        try {
+            method.setAccessible(true);
+            return MethodHandles.lookup().unreflect(method);
+        } catch (InaccessibleObjectException | IllegalAccessException e) {
+            // the method is declared in a class that is not exported from its module,
+            // e.g. javafx-controls internals, try to find the same method in a public supertype
+            for (Class<?> cls = type; cls != null; cls = cls.getSuperclass()) {
+                if (!Modifier.isPublic(cls.getModifiers()) || !cls.getModule().isExported(cls.getPackageName())) {
+                    continue;
+                }
+
+                try {
+                    return MethodHandles.publicLookup().findVirtual(
+                        cls, method.getName(), MethodType.methodType(method.getReturnType())
+                    );
+                } catch (NoSuchMethodException | IllegalAccessException ignored) {
+                    // try next
+                }
+            }
+
+            LOGGER.log(Level.INFO, e.getMessage());
+            return null;
+        }
+    }
+
+    private static @Nullable MethodHandle findGetter(Class<?> type, String name) {
+        String suffix = Character.toUpperCase(name.charAt(0)) + name.substring(1);
+        for (String prefix : new String[] { "get", "is" }) {
+            try {
+                Method method = type.getMethod(prefix + suffix);
+                if (!Modifier.isStatic(method.getModifiers()) && method.getReturnType() != void.class) {
+                    return unreflect(type, method);
+                }
+            } catch (NoSuchMethodException ignored) {
+                // try next
+            }
+        }
+        return null;
+    }
+
+    private static @Nullable MethodHandle findField(Class<?> type, String name) {
+        for (Class<?> cls = type; cls != null; cls = cls.getSuperclass()) {
+            Field field;
+            try {
+                field = cls.getDeclaredField(name);
+            } catch (NoSuchFieldException e) {
+                continue;
+            }
+
+            // backing fields are private, so they're only accessible if the package is open to us,
+            // e.g. via --add-opens, otherwise skip without triggering the exception
+            if (Modifier.isStatic(field.getModifiers())
+                || !ObservableValue.class.isAssignableFrom(field.getType())
+                || !cls.getModule().isOpen(cls.getPackageName(), ClassMetadata.class.getModule())) {
+                return null;
+            }
+
+            try {
+                field.setAccessible(true);
+                return MethodHandles.lookup().unreflectGetter(field);
+            } catch (InaccessibleObjectException | IllegalAccessException e) {
+                return null;
+            }
+        }
+        return null;
+    }
+
+    @SuppressWarnings({"rawtypes", "unchecked"})
+    private Map<String, String> resolveCssProperties(Node node) {
+        var styleables = new IdentityHashMap<Object, String>();
+        for (CssMetaData<? extends Styleable, ?> meta : node.getCssMetaData()) {
+            StyleableProperty<?> styleable = ((CssMetaData) meta).getStyleableProperty(node);
+            String name = meta.getProperty();
+            if (styleable != null && name != null) {
+                styleables.put(styleable, name);
+            }
+        }
+
+        var result = new HashMap<String, String>();
+        for (PropertyAccessor accessor : properties) {
+            try {
+                String name = styleables.get(accessor.get(node));
+                if (name != null) {
+                    result.put(accessor.name(), name);
+                }
+            } catch (InvocationTargetException e) {
+                LOGGER.log(Level.INFO, e.getMessage());
+            }
+        }
+
+        return Collections.unmodifiableMap(result);
+    }
+
+    private Map<String, String> resolveCssPropertiesByName(Node node) {
+        var result = new HashMap<String, String>();
+        for (CssMetaData<? extends Styleable, ?> meta : node.getCssMetaData()) {
+            String cssName = meta.getProperty();
+            if (cssName == null || !cssName.startsWith("-fx-")) {
+                continue;
+            }
+
+            // "-fx-text-fill" -> "textFill"
+            var sb = new StringBuilder(cssName.length());
+            boolean upper = false;
+            for (int i = "-fx-".length(); i < cssName.length(); i++) {
+                char c = cssName.charAt(i);
+                if (c == '-') {
+                    upper = true;
+                } else {
+                    sb.append(upper ? Character.toUpperCase(c) : c);
+                    upper = false;
+                }
+            }
+
+            String name = sb.toString();
+            if (propertyIndex.containsKey(name)) {
+                result.put(name, cssName);
+            }
+        }
+
+        return Collections.unmodifiableMap(result);
+    }
+
+    ///////////////////////////////////////////////////////////////////////////
+
+    /**
+     * The observable property accessor.
+     *
+     * @param name     the property name without the 'Property' suffix
+     * @param type     the return type of the '*Property()' method
+     * @param property the method handle of the '*Property()' method
+     * @param getter   the method handle of the plain getter, if any
+     * @param field    the getter handle of the backing field, if any and accessible
+     */
+    record PropertyAccessor(String name,
+                            Class<?> type,
+                            MethodHandle property,
+                            @Nullable MethodHandle getter,
+                            @Nullable MethodHandle field) {
+
+        /**
+         * Obtains the observable property from the given target.
+         * Note that it instantiates the property, if it's created lazily.
+         */
+        @Nullable
+        ObservableValue<?> get(Object target) throws InvocationTargetException {
+            try {
+                return (ObservableValue<?>) property.invokeExact(target);
+            } catch (Error e) {
+                throw e;
+            } catch (Throwable e) {
+                throw new InvocationTargetException(e);
+            }
+        }
+
+        /**
+         * Obtains the observable property from the given target only if it's already
+         * instantiated. Returns null if it's not or the backing field is not accessible.
+         */
+        @Nullable
+        ObservableValue<?> getIfInstantiated(Object target) throws InvocationTargetException {
+            if (field == null) {
+                return null;
+            }
+
+            try {
+                return (ObservableValue<?>) field.invokeExact(target);
+            } catch (Error e) {
+                throw e;
+            } catch (Throwable e) {
+                throw new InvocationTargetException(e);
+            }
+        }
+
+        /**
+         * Obtains the property value from the given target via the plain getter.
+         * Should only be called if the getter is present.
+         */
+        @Nullable
+        Object getValue(Object target) throws InvocationTargetException {
+            Objects.requireNonNull(getter, "getter must not be null");
+
+            try {
+                return (Object) getter.invokeExact(target);
+            } catch (Error e) {
+                throw e;
+            } catch (Throwable e) {
+                throw new InvocationTargetException(e);
+            }
+        }
+    }
+}
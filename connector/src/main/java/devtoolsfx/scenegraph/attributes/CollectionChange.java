@@ -0,0 +1,30 @@
+package devtoolsfx.scenegraph.attributes;
+
+import org.jspecify.annotations.NullMarked;
+
+import java.util.List;
+
+/**
+ * Describes a single change of the observable collection attribute, so that the
+ * client can apply it to the previously received value instead of reloading the
+ * whole collection. Collection items are represented by their string values.
+ * <p>
+ * For ordered collections (lists), the change replaces the {@code removed} items
+ * starting from the {@code from} index with the {@code added} items. For unordered
+ * collections (sets and maps), the {@code from} index is always {@link #UNORDERED},
+ * and the items are removed and added by their values. Map entries are represented
+ * as "key=value" strings.
+ *
+ * @param from    the index at which the change occurred, or {@link #UNORDERED}
+ * @param removed the removed items
+ * @param added   the added items
+ */
+@NullMarked
+public record CollectionChange(int from, List<String> removed, List<String> added) {
+
+    public static final int UNORDERED = -1;
+
+    public boolean isOrdered() {
+        return from != UNORDERED;
+    }
+}
@@ -17,10 +17,10 @@ import java.util.List;
 @NullMarked
 public final class ControlTracker extends Tracker {
 
-    public static final List<String> SUPPORTED_PROPERTIES = List.of(
-        "skin", "minWidth", "minHeight", "prefWidth", "prefHeight", "maxWidth", "maxHeight",
-        "stylesheets", "userAgentStylesheet"
-    );
+    // the supported properties in the emission order, see ReadPlan
+    private static final ReadPlan<Control> READ_PLAN = createReadPlan();
+
+    public static final List<String> SUPPORTED_PROPERTIES = READ_PLAN.getProperties();
 
     public ControlTracker(EventBus eventBus, EventSource eventSource) {
         super(eventBus, eventSource, AttributeCategory.CONTROL);
@@ -33,7 +33,7 @@ public final class ControlTracker extends Tracker {
             return;
         }
 
-        reload(property -> read(control, property), SUPPORTED_PROPERTIES, properties);
+        reload(READ_PLAN, control, properties);
     }
 
     @Override
@@ -43,85 +43,84 @@ public final class ControlTracker extends Tracker {
 
     ///////////////////////////////////////////////////////////////////////////
 
-    private @Nullable Attribute<?> read(Control control, String property) {
-        return switch (property) {
-            case "skin" -> new Attribute<>(
+    private static ReadPlan<Control> createReadPlan() {
+        return ReadPlan.<Control>builder()
+            .add("skin", (tracker, control) -> new Attribute<>(
                 "skin",
                 control.getSkin().getClass().getCanonicalName(),
                 "skin",
                 "-fx-skin",
-                ObservableType.of(control.skinProperty()),
+                tracker.observableTypeOf("skin"),
                 DisplayHint.TEXT,
                 ValueState.AUTO
-            );
-            case "minWidth" -> new Attribute<>(
+            ))
+            .add("minWidth", (tracker, control) -> new Attribute<>(
                 "minWidth",
                 control.getMinWidth(),
                 "minWidthProperty",
-                ObservableType.of(control.minWidthProperty()),
+                tracker.observableTypeOf("minWidth"),
                 DisplayHint.NUMERIC,
                 ValueState.defaultIf(control.getMinWidth() == Control.USE_COMPUTED_SIZE)
-            );
-            case "minHeight" -> new Attribute<>(
+            ))
+            .add("minHeight", (tracker, control) -> new Attribute<>(
                 "minHeight",
                 control.getMinHeight(),
                 "minHeightProperty",
-                ObservableType.of(control.minHeightProperty()),
+                tracker.observableTypeOf("minHeight"),
                 DisplayHint.NUMERIC,
                 ValueState.defaultIf(control.getMinHeight() == Control.USE_COMPUTED_SIZE)
-            );
-            case "prefWidth" -> new Attribute<>(
+            ))
+            .add("prefWidth", (tracker, control) -> new Attribute<>(
                 "prefWidth",
                 control.getPrefWidth(),
                 "prefWidthProperty",
-                ObservableType.of(control.prefWidthProperty()),
+                tracker.observableTypeOf("prefWidth"),
                 DisplayHint.NUMERIC,
                 ValueState.defaultIf(control.getPrefWidth() == Control.USE_COMPUTED_SIZE)
-            );
-            case "prefHeight" -> new Attribute<>(
+            ))
+            .add("prefHeight", (tracker, control) -> new Attribute<>(
                 "prefHeight",
                 control.getPrefHeight(),
                 "prefHeightProperty",
-                ObservableType.of(control.prefHeightProperty()),
+                tracker.observableTypeOf("prefHeight"),
                 DisplayHint.NUMERIC,
                 ValueState.defaultIf(control.getPrefHeight() == Control.USE_COMPUTED_SIZE)
-            );
-            case "maxWidth" -> new Attribute<>(
+            ))
+            .add("maxWidth", (tracker, control) -> new Attribute<>(
                 "maxWidth",
                 control.getMaxWidth(),
                 "maxWidthProperty",
-                ObservableType.of(control.maxWidthProperty()),
+                tracker.observableTypeOf("maxWidth"),
                 DisplayHint.NUMERIC,
                 ValueState.defaultIf(control.getMaxWidth() == Control.USE_COMPUTED_SIZE)
-            );
-            case "maxHeight" -> new Attribute<>(
+            ))
+            .add("maxHeight", (tracker, control) -> new Attribute<>(
                 "maxHeight",
                 control.getMaxHeight(),
                 "maxHeightProperty",
-                ObservableType.of(control.maxHeightProperty()),
+                tracker.observableTypeOf("maxHeight"),
                 DisplayHint.NUMERIC,
                 ValueState.defaultIf(control.getMaxHeight() == Control.USE_COMPUTED_SIZE)
-            );
-            case "stylesheets" -> {
-                String stylesheets = String.join("\n", control.getStylesheets());
-                yield new Attribute<>(
+            ))
+            .add("stylesheets", (tracker, control) -> {
+                tracker.watchCollection("stylesheets", control.getStylesheets());
+                return new Attribute<>(
                     "stylesheets",
-                    stylesheets,
+                    snapshotOf(control.getStylesheets()),
                     "getStylesheets",
                     ObservableType.LIST,
-                    DisplayHint.TEXT,
+                    DisplayHint.TEXT_LINES,
                     ValueState.defaultIf(control.getStylesheets().isEmpty())
                 );
-            }
-            case "userAgentStylesheet" -> new Attribute<>(
+            })
+            .add("userAgentStylesheet", (tracker, control) -> new Attribute<>(
                 "userAgentStylesheet",
                 control.getUserAgentStylesheet(),
                 "userAgentStylesheet",
                 ObservableType.NOT_OBSERVABLE,
                 DisplayHint.TEXT,
                 ValueState.defaultIf(control.getUserAgentStylesheet() == null)
-            );
-            default -> null;
-        };
+            ))
+            .build();
     }
 }
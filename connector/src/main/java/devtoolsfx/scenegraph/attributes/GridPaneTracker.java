@@ -13,7 +13,6 @@ import javafx.scene.layout.RowConstraints;
 import org.jspecify.annotations.NullMarked;
 import org.jspecify.annotations.Nullable;
 
-import java.util.Collections;
 import java.util.List;
 
 /**
@@ -22,12 +21,13 @@ import java.util.List;
 @NullMarked
 public final class GridPaneTracker extends Tracker {
 
-    public static final List<String> SUPPORTED_PROPERTIES = List.of(
-        "hgap", "vgap", "alignment", "gridLinesVisible", "rowConstrains", "columnConstraints"
-    );
+    // the supported properties in the emission order, see ReadPlan
+    private static final ReadPlan<GridPane> READ_PLAN = createReadPlan();
 
-    private final ListChangeListener<RowConstraints> rowListener = c -> reload("rowConstrains");
-    private final ListChangeListener<ColumnConstraints> colListener = c -> reload("columnConstraints");
+    public static final List<String> SUPPORTED_PROPERTIES = READ_PLAN.getProperties();
+
+    private final ListChangeListener<RowConstraints> rowListener = c -> scheduleReload("rowConstrains");
+    private final ListChangeListener<ColumnConstraints> colListener = c -> scheduleReload("columnConstraints");
 
     public GridPaneTracker(EventBus eventBus, EventSource eventSource) {
         super(eventBus, eventSource, AttributeCategory.GRID_PANE);
@@ -40,7 +40,7 @@ public final class GridPaneTracker extends Tracker {
             return;
         }
 
-        reload(property -> read(gridpane, property), SUPPORTED_PROPERTIES, properties);
+        reload(READ_PLAN, gridpane, properties);
     }
 
     @Override
@@ -73,61 +73,60 @@ public final class GridPaneTracker extends Tracker {
 
     ///////////////////////////////////////////////////////////////////////////
 
-    private @Nullable Attribute<?> read(GridPane gridpane, String property) {
-        return switch (property) {
-            case "hgap" -> new Attribute<>(
+    private static ReadPlan<GridPane> createReadPlan() {
+        return ReadPlan.<GridPane>builder()
+            .add("hgap", (tracker, gridpane) -> new Attribute<>(
                 "hgap",
                 gridpane.getHgap(),
                 "hgapProperty",
                 "-fx-hgap",
-                ObservableType.of(gridpane.hgapProperty()),
+                tracker.observableTypeOf("hgap"),
                 DisplayHint.NUMERIC,
                 ValueState.defaultIf(gridpane.getHgap() == 0)
-            );
-            case "vgap" -> new Attribute<>(
+            ))
+            .add("vgap", (tracker, gridpane) -> new Attribute<>(
                 "vgap",
                 gridpane.getVgap(),
                 "vgapProperty",
                 "-fx-vgap",
-                ObservableType.of(gridpane.vgapProperty()),
+                tracker.observableTypeOf("vgap"),
                 DisplayHint.NUMERIC,
                 ValueState.defaultIf(gridpane.getVgap() == 0)
-            );
-            case "alignment" -> new Attribute<>(
+            ))
+            .add("alignment", (tracker, gridpane) -> new Attribute<>(
                 "alignment",
                 gridpane.getAlignment(),
                 "alignmentProperty",
                 "-fx-alignment",
-                ObservableType.of(gridpane.alignmentProperty()),
+                tracker.observableTypeOf("alignment"),
                 DisplayHint.ENUM,
                 ValueState.defaultIf(gridpane.getAlignment() == null || gridpane.getAlignment() == Pos.TOP_LEFT)
-            );
-            case "gridLinesVisible" -> new Attribute<>(
+            ))
+            .add("gridLinesVisible", (tracker, gridpane) -> new Attribute<>(
                 "gridLinesVisible",
                 gridpane.isGridLinesVisible(),
                 "gridLinesVisibleProperty",
                 "-fx-grid-lines-visible",
-                ObservableType.of(gridpane.gridLinesVisibleProperty()),
+                tracker.observableTypeOf("gridLinesVisible"),
                 DisplayHint.BOOLEAN,
                 ValueState.defaultIf(!gridpane.isGridLinesVisible())
-            );
-            case "rowConstrains" -> new Attribute<>(
+            ))
+            .add("rowConstrains", (tracker, gridpane) -> new Attribute<>(
                 "rowConstrains",
-                Collections.unmodifiableList(gridpane.getRowConstraints()),
+                List.copyOf(gridpane.getRowConstraints()),
                 "getRowConstraints",
                 ObservableType.LIST,
                 DisplayHint.ROW_CONSTRAINTS,
                 ValueState.defaultIf(gridpane.getRowConstraints().isEmpty())
-            );
-            case "columnConstraints" -> new Attribute<>(
+            ))
+            .add("columnConstraints", (tracker, gridpane) -> new Attribute<>(
                 "columnConstraints",
-                Collections.unmodifiableList(gridpane.getColumnConstraints()),
+                List.copyOf(gridpane.getColumnConstraints()),
                 "getColumnConstraints",
                 ObservableType.LIST,
                 DisplayHint.COLUMN_CONSTRAINTS,
                 ValueState.defaultIf(gridpane.getColumnConstraints().isEmpty())
-            );
-            default -> null;
-        };
+            ))
+            .build();
     }
 }
@@ -18,9 +18,10 @@ import java.util.Objects;
 @NullMarked
 public final class ImageViewTracker extends Tracker {
 
-    public static final List<String> SUPPORTED_PROPERTIES = List.of(
-        "fitWidth", "fitHeight", "image", "preserveRatio", "smooth"
-    );
+    // the supported properties in the emission order, see ReadPlan
+    private static final ReadPlan<ImageView> READ_PLAN = createReadPlan();
+
+    public static final List<String> SUPPORTED_PROPERTIES = READ_PLAN.getProperties();
 
     public ImageViewTracker(EventBus eventBus, EventSource eventSource) {
         super(eventBus, eventSource, AttributeCategory.IMAGE_VIEW);
@@ -33,7 +34,7 @@ public final class ImageViewTracker extends Tracker {
             return;
         }
 
-        reload(property -> read(imageView, property), SUPPORTED_PROPERTIES, properties);
+        reload(READ_PLAN, imageView, properties);
     }
 
     @Override
@@ -43,59 +44,58 @@ public final class ImageViewTracker extends Tracker {
 
     ///////////////////////////////////////////////////////////////////////////
 
-    private @Nullable Attribute<?> read(ImageView imageView, String property) {
-        return switch (property) {
-            case "fitWidth" -> new Attribute<>(
+    private static ReadPlan<ImageView> createReadPlan() {
+        return ReadPlan.<ImageView>builder()
+            .add("fitWidth", (tracker, imageView) -> new Attribute<>(
                 "fitWidth",
                 imageView.getFitWidth(),
                 "fitWidthProperty",
                 "-fx-fit-width",
-                ObservableType.of(imageView.fitWidthProperty()),
+                tracker.observableTypeOf("fitWidth"),
                 DisplayHint.NUMERIC,
                 ValueState.defaultIf(imageView.getFitWidth() == 0)
-            );
-            case "fitHeight" -> new Attribute<>(
+            ))
+            .add("fitHeight", (tracker, imageView) -> new Attribute<>(
                 "fitHeight",
                 imageView.getFitHeight(),
                 "fitHeightProperty",
                 "-fx-fit-height",
-                ObservableType.of(imageView.fitHeightProperty()),
+                tracker.observableTypeOf("fitHeight"),
                 DisplayHint.NUMERIC,
                 ValueState.defaultIf(imageView.getFitWidth() == 0)
-            );
-            case "image" -> {
+            ))
+            .add("image", (tracker, imageView) -> {
                 var image = imageView.getImage();
-                yield new Attribute<>(
+                return new Attribute<>(
                     "image",
                     image != null
                         ? Objects.requireNonNullElse(image.getUrl(), String.valueOf(image))
                         : null,
                     "imageProperty",
                     "-fx-image",
-                    ObservableType.of(imageView.imageProperty()),
+                    tracker.observableTypeOf("image"),
                     DisplayHint.TEXT,
                     ValueState.defaultIf(image == null)
                 );
-            }
-            case "preserveRatio" -> new Attribute<>(
+            })
+            .add("preserveRatio", (tracker, imageView) -> new Attribute<>(
                 "preserveRatio",
                 imageView.isPreserveRatio(),
                 "preserveRatioProperty",
                 "-fx-preserve-ratio",
-                ObservableType.of(imageView.preserveRatioProperty()),
+                tracker.observableTypeOf("preserveRatio"),
                 DisplayHint.BOOLEAN,
                 ValueState.defaultIf(!imageView.isPreserveRatio())
-            );
-            case "smooth" -> new Attribute<>(
+            ))
+            .add("smooth", (tracker, imageView) -> new Attribute<>(
                 "smooth",
                 imageView.isSmooth(),
                 "smoothProperty",
                 "-fx-smooth",
-                ObservableType.of(imageView.smoothProperty()),
+                tracker.observableTypeOf("smooth"),
                 DisplayHint.BOOLEAN,
                 ValueState.AUTO // platform-dependent, no API
-            );
-            default -> null;
-        };
+            ))
+            .build();
     }
 }
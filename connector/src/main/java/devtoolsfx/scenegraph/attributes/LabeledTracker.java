@@ -23,11 +23,10 @@ import java.util.List;
 @NullMarked
 public final class LabeledTracker extends Tracker {
 
-    public static final List<String> SUPPORTED_PROPERTIES = List.of(
-        "text", "font", "textFill", "graphic", "graphicTextGap", "labelPadding",
-        "contentDisplay", "alignment", "textAlignment",
-        "textOverrun", "wrapText", "underline", "ellipsisString"
-    ); // label padding, text fill, ellipsis-string
+    // the supported properties in the emission order, see ReadPlan
+    private static final ReadPlan<Labeled> READ_PLAN = createReadPlan();
+
+    public static final List<String> SUPPORTED_PROPERTIES = READ_PLAN.getProperties();
 
     public LabeledTracker(EventBus eventBus, EventSource eventSource) {
         super(eventBus, eventSource, AttributeCategory.LABELED);
@@ -40,7 +39,7 @@ public final class LabeledTracker extends Tracker {
             return;
         }
 
-        reload(property -> read(labeled, property), SUPPORTED_PROPERTIES, properties);
+        reload(READ_PLAN, labeled, properties);
     }
 
     @Override
@@ -50,129 +49,128 @@ public final class LabeledTracker extends Tracker {
 
     ///////////////////////////////////////////////////////////////////////////
 
-    private @Nullable Attribute<?> read(Labeled label, String property) {
-        return switch (property) {
-            case "text" -> new Attribute<>(
+    private static ReadPlan<Labeled> createReadPlan() {
+        return ReadPlan.<Labeled>builder()
+            .add("text", (tracker, label) -> new Attribute<>(
                 "text",
                 label.getText(),
                 "textProperty",
-                ObservableType.of(label.textProperty()),
+                tracker.observableTypeOf("text"),
                 DisplayHint.TEXT,
                 ValueState.defaultIf(label.getText() == null || label.getText().isEmpty())
-            );
-            case "font" -> new Attribute<>(
+            ))
+            .add("font", (tracker, label) -> new Attribute<>(
                 "font",
                 label.getFont(),
                 "fontProperty",
                 "-fx-font",
-                ObservableType.of(label.fontProperty()),
+                tracker.observableTypeOf("font"),
                 DisplayHint.FONT,
                 ValueState.defaultIf(label.getFont() == null)
-            );
-            case "textFill" -> new Attribute<>(
+            ))
+            .add("textFill", (tracker, label) -> new Attribute<>(
                 "textFill",
                 label.getTextFill(),
                 "textFillProperty",
                 "-fx-text-fill",
-                ObservableType.of(label.textFillProperty()),
+                tracker.observableTypeOf("textFill"),
                 DisplayHint.COLOR,
                 ValueState.defaultIf(Color.BLACK.equals(label.getTextFill()))
-            );
-            case "graphic" -> new Attribute<>(
+            ))
+            .add("graphic", (tracker, label) -> new Attribute<>(
                 "graphic",
                 label.getGraphic() != null ? label.getGraphic().getClass().getSimpleName() : null,
                 "graphicProperty",
                 "-fx-graphic",
-                ObservableType.of(label.graphicProperty()),
+                tracker.observableTypeOf("graphic"),
                 DisplayHint.TEXT,
                 ValueState.defaultIf(label.getGraphic() == null)
-            );
-            case "graphicTextGap" -> new Attribute<>(
+            ))
+            .add("graphicTextGap", (tracker, label) -> new Attribute<>(
                 "graphicTextGap",
                 label.getGraphicTextGap(),
                 "graphicTextGapProperty",
                 "-fx-graphic-text-gap",
-                ObservableType.of(label.graphicTextGapProperty()),
+                tracker.observableTypeOf("graphicTextGap"),
                 DisplayHint.NUMERIC,
                 ValueState.defaultIf(label.getGraphicTextGap() == 4)
-            );
-            case "labelPadding" -> new Attribute<>(
+            ))
+            .add("labelPadding", (tracker, label) -> new Attribute<>(
                 "labelPadding",
                 label.getLabelPadding(),
                 "labelPaddingProperty",
                 "-fx-label-padding",
-                ObservableType.of(label.labelPaddingProperty()),
+                tracker.observableTypeOf("labelPadding"),
                 DisplayHint.INSETS,
                 ValueState.defaultIf(label.getLabelPadding() == null || Insets.EMPTY.equals(label.getLabelPadding()))
-            );
-            case "contentDisplay" -> new Attribute<>(
+            ))
+            .add("contentDisplay", (tracker, label) -> new Attribute<>(
                 "contentDisplay",
                 label.getContentDisplay(),
                 "contentDisplayProperty",
                 "-fx-content-display",
-                ObservableType.of(label.contentDisplayProperty()),
+                tracker.observableTypeOf("contentDisplay"),
                 DisplayHint.ENUM,
                 ValueState.defaultIf(label.getContentDisplay() == null || label.getContentDisplay() == ContentDisplay.LEFT),
                 List.of(ContentDisplay.values())
-            );
-            case "alignment" -> new Attribute<>(
+            ))
+            .add("alignment", (tracker, label) -> new Attribute<>(
                 "alignment",
                 label.getAlignment(),
                 "alignmentProperty",
                 "-fx-alignment",
-                ObservableType.of(label.alignmentProperty()),
+                tracker.observableTypeOf("alignment"),
                 DisplayHint.ENUM,
                 ValueState.defaultIf(label.getAlignment() == null || label.getAlignment() == Pos.CENTER_LEFT),
                 List.of(Pos.values())
-            );
-            case "textAlignment" -> new Attribute<>(
+            ))
+            .add("textAlignment", (tracker, label) -> new Attribute<>(
                 "textAlignment",
                 label.getTextAlignment(),
                 "textAlignmentProperty",
                 "-fx-text-alignment",
-                ObservableType.of(label.textAlignmentProperty()),
+                tracker.observableTypeOf("textAlignment"),
                 DisplayHint.ENUM,
                 ValueState.defaultIf(label.getTextAlignment() == null || label.getTextAlignment() == TextAlignment.LEFT),
                 List.of(TextAlignment.values())
-            );
-            case "textOverrun" -> new Attribute<>(
+            ))
+            .add("textOverrun", (tracker, label) -> new Attribute<>(
                 "textOverrun",
                 label.getTextOverrun(),
                 "textOverrunProperty",
                 "-fx-text-overrun",
-                ObservableType.of(label.textOverrunProperty()),
+                tracker.observableTypeOf("textOverrun"),
                 DisplayHint.ENUM,
                 ValueState.defaultIf(label.getTextOverrun() == null || label.getTextOverrun() == OverrunStyle.ELLIPSIS),
                 List.of(OverrunStyle.values())
-            );
-            case "wrapText" -> new Attribute<>(
+            ))
+            .add("wrapText", (tracker, label) -> new Attribute<>(
                 "wrapText",
                 label.isWrapText(),
                 "wrapTextProperty",
                 "-fx-wrap-text",
-                ObservableType.of(label.wrapTextProperty()),
+                tracker.observableTypeOf("wrapText"),
                 DisplayHint.BOOLEAN,
                 ValueState.defaultIf(!label.isWrapText())
-            );
-            case "underline" -> new Attribute<>(
+            ))
+            .add("underline", (tracker, label) -> new Attribute<>(
                 "underline",
                 label.isUnderline(),
                 "underlineProperty",
                 "-fx-underline",
-                ObservableType.of(label.underlineProperty()),
+                tracker.observableTypeOf("underline"),
                 DisplayHint.BOOLEAN,
                 ValueState.defaultIf(!label.isUnderline())
-            );
-            case "ellipsisString" -> new Attribute<>(
+            ))
+            .add("ellipsisString", (tracker, label) -> new Attribute<>(
                 "ellipsisString",
                 label.getEllipsisString(),
                 "ellipsisStringProperty",
                 "-fx-ellipsis-string",
-                ObservableType.of(label.ellipsisStringProperty()),
+                tracker.observableTypeOf("ellipsisString"),
                 DisplayHint.TEXT,
                 ValueState.defaultIf("...".equals(label.getEllipsisString()))
-            );
-            default -> null;
-        };
+            ))
+            .build();
     }
 }
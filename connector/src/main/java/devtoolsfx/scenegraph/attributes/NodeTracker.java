@@ -4,19 +4,15 @@ import devtoolsfx.event.EventBus;
 import devtoolsfx.event.EventSource;
 import devtoolsfx.scenegraph.attributes.Attribute.DisplayHint;
 import devtoolsfx.scenegraph.attributes.Attribute.ValueState;
-import javafx.collections.ListChangeListener;
-import javafx.css.PseudoClass;
 import javafx.geometry.Insets;
 import javafx.geometry.Orientation;
 import javafx.scene.Node;
 import javafx.scene.SubScene;
 import javafx.scene.effect.BlendMode;
-import javafx.scene.transform.Transform;
 import org.jspecify.annotations.NullMarked;
 import org.jspecify.annotations.Nullable;
 
 import java.util.*;
-import java.util.stream.Collectors;
 
 import static devtoolsfx.scenegraph.attributes.Attribute.ObservableType;
 
@@ -26,18 +22,19 @@ import static devtoolsfx.scenegraph.attributes.Attribute.ObservableType;
 @NullMarked
 public final class NodeTracker extends Tracker {
 
-    public static final List<String> SUPPORTED_PROPERTIES = List.of(
-        "className", "pseudoClass", "styleClass", "stylesheets",
-        "managed", "visible", "focusVisible", "focusWithin", "resizable",
-        "layoutBounds", "boundsInParent", "baselineOffset", "layoutConstraints",
-        "opacity", "viewOrder", "blendMode", "cursor", "effect", "clip", "rotate", "transforms",
-        "layoutX", "layoutY", "scaleX", "scaleY", "scaleZ", "translateX", "translateY", "translateZ",
-        "contentBias", "minWidth", "minHeight", "prefWidth", "prefHeight", "maxWidth", "maxHeight",
-        "userAgentStylesheet", "userData"
-    );
-    public static final List<String> SUB_SCENE_PROPERTIES = List.of("userAgentStylesheet");
+    // the supported properties in the emission order, see ReadPlan,
+    // the sub-scene plan additionally contains the sub-scene specific properties
+    private static final ReadPlan<Node> READ_PLAN = createReadPlan(false);
+    private static final ReadPlan<Node> SUB_SCENE_READ_PLAN = createReadPlan(true);
 
-    private final ListChangeListener<Transform> transformListener = c -> reload("transforms");
+    public static final List<String> SUPPORTED_PROPERTIES = SUB_SCENE_READ_PLAN.getProperties();
+    public static final List<String> SUB_SCENE_PROPERTIES = SUPPORTED_PROPERTIES.stream()
+        .filter(property -> !READ_PLAN.getProperties().contains(property))
+        .toList();
+
+    // the node dimensions are expensive to compute and shared by multiple properties,
+    // so they're computed lazily and at most once per reload
+    private @Nullable Dimensions dimensions;
 
     public NodeTracker(EventBus eventBus, EventSource eventSource) {
         super(eventBus, eventSource, AttributeCategory.NODE);
@@ -50,25 +47,11 @@ public final class NodeTracker extends Tracker {
             return;
         }
 
-        var supportedProperties = new ArrayList<>(SUPPORTED_PROPERTIES);
-        if (!(node instanceof SubScene)) {
-            supportedProperties.removeAll(SUB_SCENE_PROPERTIES);
-        }
-
-        reload(property -> read(node, property), supportedProperties, properties);
-    }
-
-    @Override
-    public void setTarget(@Nullable Object target) {
-        Node old = (Node) getTarget();
-        if (old != null) {
-            old.getTransforms().removeListener(transformListener);
-        }
-
-        super.setTarget(target);
-
-        if (target != null) {
-            ((Node) target).getTransforms().addListener(transformListener);
+        dimensions = null;
+        try {
+            reload(node instanceof SubScene ? SUB_SCENE_READ_PLAN : READ_PLAN, node, properties);
+        } finally {
+            dimensions = null;
         }
     }
 
@@ -77,119 +60,110 @@ public final class NodeTracker extends Tracker {
         return target instanceof Node;
     }
 
-    @Override
-    protected void beforeResetTarget(Object target) {
-        ((Node) target).getTransforms().removeListener(transformListener);
-    }
-
     ///////////////////////////////////////////////////////////////////////////
 
-    private @Nullable Attribute<?> read(Node node, String property) {
-        var dimensions = Dimensions.of(node);
-
-        return switch (property) {
-            case "className" -> new Attribute<>(
+    private static ReadPlan<Node> createReadPlan(boolean includeSubScene) {
+        var builder = ReadPlan.<Node>builder()
+            .add("className", (tracker, node) -> new Attribute<>(
                 "className",
                 node.getClass().getName(),
                 null,
                 ObservableType.NOT_OBSERVABLE,
                 DisplayHint.TEXT,
                 ValueState.AUTO
-            );
-            case "pseudoClass" -> {
-                String pseudoClass = node.getPseudoClassStates().stream()
-                    .map(PseudoClass::getPseudoClassName)
-                    .collect(Collectors.joining(" "));
-                yield new Attribute<>(
+            ))
+            .add("pseudoClass", (tracker, node) -> {
+                tracker.watchCollection("pseudoClass", node.getPseudoClassStates());
+                return new Attribute<>(
                     "pseudoClass",
-                    pseudoClass,
+                    snapshotOf(node.getPseudoClassStates()),
                     "getPseudoClassStates",
                     ObservableType.SET,
                     DisplayHint.TEXT,
                     ValueState.defaultIf(node.getPseudoClassStates().isEmpty())
                 );
-            }
-            case "styleClass" -> {
-                String styleClass = String.join(" ", node.getStyleClass());
-                yield new Attribute<>(
+            })
+            .add("styleClass", (tracker, node) -> {
+                tracker.watchCollection("styleClass", node.getStyleClass());
+                return new Attribute<>(
                     "styleClass",
-                    styleClass,
+                    snapshotOf(node.getStyleClass()),
                     "getStyleClass",
                     ObservableType.LIST,
                     DisplayHint.TEXT,
                     ValueState.defaultIf(node.getStyleClass().isEmpty())
                 );
-            }
-            case "visible" -> new Attribute<>(
-                "visible",
-                node.isVisible(),
-                "visibleProperty",
-                "visibility",
-                ObservableType.of(node.visibleProperty()),
-                DisplayHint.BOOLEAN,
-                ValueState.defaultIf(node.isVisible())
-            );
-            case "managed" -> new Attribute<>(
+            })
+            .add("managed", (tracker, node) -> new Attribute<>(
                 "managed",
                 node.isManaged(),
                 "managedProperty",
                 "-fx-managed",
-                ObservableType.of(node.managedProperty()),
+                tracker.observableTypeOf("managed"),
                 DisplayHint.BOOLEAN,
                 ValueState.defaultIf(node.isManaged()),
                 List.of()
-            );
-            case "focusVisible" -> new Attribute<>(
+            ))
+            .add("visible", (tracker, node) -> new Attribute<>(
+                "visible",
+                node.isVisible(),
+                "visibleProperty",
+                "visibility",
+                tracker.observableTypeOf("visible"),
+                DisplayHint.BOOLEAN,
+                ValueState.defaultIf(node.isVisible())
+            ))
+            .add("focusVisible", (tracker, node) -> new Attribute<>(
                 "focusVisible",
                 node.isFocusVisible(),
                 "focusVisibleProperty",
                 ObservableType.READ_ONLY,
                 DisplayHint.BOOLEAN,
                 ValueState.defaultIf(!node.isFocusVisible())
-            );
-            case "focusWithin" -> new Attribute<>(
+            ))
+            .add("focusWithin", (tracker, node) -> new Attribute<>(
                 "focusWithin",
                 node.isFocusWithin(),
                 "focusWithinProperty",
                 ObservableType.READ_ONLY,
                 DisplayHint.BOOLEAN,
                 ValueState.defaultIf(!node.isFocusWithin())
-            );
-            case "resizable" -> new Attribute<>(
+            ))
+            .add("resizable", (tracker, node) -> new Attribute<>(
                 "resizable",
                 node.isResizable(),
                 null,
                 ObservableType.NOT_OBSERVABLE,
                 DisplayHint.BOOLEAN,
                 ValueState.AUTO
-            );
-            case "layoutBounds" -> new Attribute<>(
+            ))
+            .add("layoutBounds", (tracker, node) -> new Attribute<>(
                 "layoutBounds",
                 node.getLayoutBounds(),
                 "layoutBoundsProperty",
                 ObservableType.READ_ONLY,
                 DisplayHint.BOUNDS,
                 ValueState.AUTO
-            );
-            case "boundsInParent" -> new Attribute<>(
+            ))
+            .add("boundsInParent", (tracker, node) -> new Attribute<>(
                 "boundsInParent",
                 node.getBoundsInParent(),
                 "boundsInParentProperty",
                 ObservableType.READ_ONLY,
                 DisplayHint.BOUNDS,
                 ValueState.AUTO
-            );
-            case "baselineOffset" -> new Attribute<>(
+            ))
+            .add("baselineOffset", (tracker, node) -> new Attribute<>(
                 "baselineOffset",
                 node.getBaselineOffset(),
                 null,
                 ObservableType.NOT_OBSERVABLE,
                 DisplayHint.NUMERIC,
                 ValueState.AUTO
-            );
-            case "layoutConstraints" -> {
+            ))
+            .add("layoutConstraints", (tracker, node) -> {
                 Map<String, String> properties = getLayoutConstraints(node);
-                yield new Attribute<>(
+                return new Attribute<>(
                     "layoutConstraints",
                     properties,
                     null,
@@ -197,153 +171,156 @@ public final class NodeTracker extends Tracker {
                     DisplayHint.PROPERTIES,
                     ValueState.AUTO
                 );
-            }
-            case "opacity" -> new Attribute<>(
+            })
+            .add("opacity", (tracker, node) -> new Attribute<>(
                 "opacity",
                 node.getOpacity(),
                 "opacityProperty",
                 "-fx-opacity",
-                ObservableType.of(node.opacityProperty()),
+                tracker.observableTypeOf("opacity"),
                 DisplayHint.NUMERIC,
                 ValueState.defaultIf(node.getOpacity() == 1.0),
                 List.of(0.0, 1.0)
-            );
-            case "viewOrder" -> new Attribute<>(
+            ))
+            .add("viewOrder", (tracker, node) -> new Attribute<>(
                 "viewOrder",
                 node.getViewOrder(),
                 "viewOrderProperty",
                 "-fx-view-order",
-                ObservableType.of(node.viewOrderProperty()),
+                tracker.observableTypeOf("viewOrder"),
                 DisplayHint.NUMERIC,
                 ValueState.defaultIf(node.getViewOrder() == 0)
-            );
-            case "blendMode" -> new Attribute<>(
+            ))
+            .add("blendMode", (tracker, node) -> new Attribute<>(
                 "blendMode",
                 node.getBlendMode(),
                 "blendModeProperty",
                 "-fx-blend-mode",
-                ObservableType.of(node.blendModeProperty()),
+                tracker.observableTypeOf("blendMode"),
                 DisplayHint.ENUM,
                 ValueState.defaultIf(node.getBlendMode() == null),
                 List.of(BlendMode.values())
-            );
-            case "cursor" -> new Attribute<>(
+            ))
+            .add("cursor", (tracker, node) -> new Attribute<>(
                 "cursor",
                 node.getCursor() != null ? String.valueOf(node.getCursor()) : null,
                 "cursorProperty",
                 "-fx-cursor",
-                ObservableType.of(node.cursorProperty()),
+                tracker.observableTypeOf("cursor"),
                 DisplayHint.TEXT,
                 ValueState.defaultIf(node.getCursor() == null)
-            );
-            case "effect" -> new Attribute<>(
+            ))
+            .add("effect", (tracker, node) -> new Attribute<>(
                 "effect",
                 node.getEffect(),
                 "effectProperty",
                 "-fx-effect",
-                ObservableType.of(node.effectProperty()),
+                tracker.observableTypeOf("effect"),
                 DisplayHint.EFFECT,
                 ValueState.defaultIf(node.getEffect() == null)
-            );
-            case "clip" -> {
+            ))
+            .add("clip", (tracker, node) -> {
                 var clip = node.getClip();
-                yield new Attribute<>(
+                return new Attribute<>(
                     "clip",
                     clip != null ? new Clip(clip.getClass().getSimpleName(), clip.getBoundsInLocal()) : null,
                     "clipProperty",
-                    ObservableType.of(node.clipProperty()),
+                    tracker.observableTypeOf("clip"),
                     DisplayHint.CLIP,
                     ValueState.defaultIf(node.getClip() == null)
                 );
-            }
-            case "rotate" -> new Attribute<>(
+            })
+            .add("rotate", (tracker, node) -> new Attribute<>(
                 "rotate",
                 node.getRotate(),
                 "rotateProperty",
                 "-fx-rotate",
-                ObservableType.of(node.rotateProperty()),
+                tracker.observableTypeOf("rotate"),
                 DisplayHint.NUMERIC,
                 ValueState.defaultIf(node.getRotate() == 0)
-            );
-            case "transforms" -> new Attribute<>(
-                "transforms",
-                Collections.unmodifiableList(node.getTransforms()),
-                "getTransforms",
-                ObservableType.LIST,
-                DisplayHint.TRANSFORMS,
-                ValueState.defaultIf(node.getTransforms().isEmpty())
-            );
-            case "layoutX" -> new Attribute<>(
+            ))
+            .add("transforms", (tracker, node) -> {
+                tracker.watchCollection("transforms", node.getTransforms());
+                return new Attribute<>(
+                    "transforms",
+                    snapshotOf(node.getTransforms()),
+                    "getTransforms",
+                    ObservableType.LIST,
+                    DisplayHint.TRANSFORMS,
+                    ValueState.defaultIf(node.getTransforms().isEmpty())
+                );
+            })
+            .add("layoutX", (tracker, node) -> new Attribute<>(
                 "layoutX",
                 node.getLayoutX(),
                 "layoutXProperty",
-                ObservableType.of(node.layoutXProperty()),
+                tracker.observableTypeOf("layoutX"),
                 DisplayHint.NUMERIC,
                 ValueState.AUTO
-            );
-            case "layoutY" -> new Attribute<>(
+            ))
+            .add("layoutY", (tracker, node) -> new Attribute<>(
                 "layoutY",
                 node.getLayoutY(),
                 "layoutYProperty",
-                ObservableType.of(node.layoutYProperty()),
+                tracker.observableTypeOf("layoutY"),
                 DisplayHint.NUMERIC,
                 ValueState.AUTO
-            );
-            case "scaleX" -> new Attribute<>(
+            ))
+            .add("scaleX", (tracker, node) -> new Attribute<>(
                 "scaleX",
                 node.getScaleX(),
                 "scaleXProperty",
                 "-fx-scale-x",
-                ObservableType.of(node.scaleXProperty()),
+                tracker.observableTypeOf("scaleX"),
                 DisplayHint.NUMERIC,
                 ValueState.defaultIf(node.getScaleX() == 1.0)
-            );
-            case "scaleY" -> new Attribute<>(
+            ))
+            .add("scaleY", (tracker, node) -> new Attribute<>(
                 "scaleY",
                 node.getScaleY(),
                 "scaleYProperty",
                 "-fx-scale-y",
-                ObservableType.of(node.scaleYProperty()),
+                tracker.observableTypeOf("scaleY"),
                 DisplayHint.NUMERIC,
                 ValueState.defaultIf(node.getScaleY() == 1.0)
-            );
-            case "scaleZ" -> new Attribute<>(
+            ))
+            .add("scaleZ", (tracker, node) -> new Attribute<>(
                 "scaleZ",
                 node.getScaleZ(),
                 "scaleZProperty",
                 "-fx-scale-z",
-                ObservableType.of(node.scaleZProperty()),
+                tracker.observableTypeOf("scaleZ"),
                 DisplayHint.NUMERIC,
                 ValueState.defaultIf(node.getScaleZ() == 1.0)
-            );
-            case "translateX" -> new Attribute<>(
+            ))
+            .add("translateX", (tracker, node) -> new Attribute<>(
                 "translateX",
                 node.getTranslateX(),
                 "translateXProperty",
                 "-fx-translate-x",
-                ObservableType.of(node.translateXProperty()),
+                tracker.observableTypeOf("translateX"),
                 DisplayHint.NUMERIC,
                 ValueState.defaultIf(node.getTranslateX() == 0)
-            );
-            case "translateY" -> new Attribute<>(
+            ))
+            .add("translateY", (tracker, node) -> new Attribute<>(
                 "translateY",
                 node.getTranslateY(),
                 "translateYProperty",
                 "-fx-translate-y",
-                ObservableType.of(node.translateYProperty()),
+                tracker.observableTypeOf("translateY"),
                 DisplayHint.NUMERIC,
                 ValueState.defaultIf(node.getTranslateY() == 0)
-            );
-            case "translateZ" -> new Attribute<>(
+            ))
+            .add("translateZ", (tracker, node) -> new Attribute<>(
                 "translateZ",
                 node.getTranslateZ(),
                 "translateZProperty",
                 "-fx-translate-z",
-                ObservableType.of(node.translateZProperty()),
+                tracker.observableTypeOf("translateZ"),
                 DisplayHint.NUMERIC,
                 ValueState.defaultIf(node.getTranslateZ() == 0)
-            );
-            case "contentBias" -> new Attribute<>(
+            ))
+            .add("contentBias", (tracker, node) -> new Attribute<>(
                 "contentBias",
                 node.getContentBias(),
                 null,
@@ -352,87 +329,100 @@ public final class NodeTracker extends Tracker {
                 DisplayHint.ENUM,
                 ValueState.defaultIf(node.getContentBias() == null),
                 List.of(Orientation.values())
-            );
-            case "minWidth" -> new Attribute<>(
+            ))
+            .add("minWidth", (tracker, node) -> new Attribute<>(
                 "minWidth",
-                dimensions.minWidth(),
+                dimensionsOf(tracker, node).minWidth(),
                 null,
                 ObservableType.NOT_OBSERVABLE,
                 DisplayHint.NUMERIC,
                 ValueState.AUTO
-            );
-            case "minHeight" -> new Attribute<>(
+            ))
+            .add("minHeight", (tracker, node) -> new Attribute<>(
                 "minHeight",
-                dimensions.minHeight(),
+                dimensionsOf(tracker, node).minHeight(),
                 null,
                 ObservableType.NOT_OBSERVABLE,
                 DisplayHint.NUMERIC,
                 ValueState.AUTO
-            );
-            case "prefWidth" -> new Attribute<>(
+            ))
+            .add("prefWidth", (tracker, node) -> new Attribute<>(
                 "prefWidth",
-                dimensions.prefWidth(),
+                dimensionsOf(tracker, node).prefWidth(),
                 null,
                 ObservableType.NOT_OBSERVABLE,
                 DisplayHint.NUMERIC,
                 ValueState.AUTO
-            );
-            case "prefHeight" -> new Attribute<>(
+            ))
+            .add("prefHeight", (tracker, node) -> new Attribute<>(
                 "prefHeight",
-                dimensions.prefHeight(),
+                dimensionsOf(tracker, node).prefHeight(),
                 null,
                 ObservableType.NOT_OBSERVABLE,
                 DisplayHint.NUMERIC,
                 ValueState.AUTO
-            );
-            case "maxWidth" -> new Attribute<>(
+            ))
+            .add("maxWidth", (tracker, node) -> new Attribute<>(
                 "maxWidth",
-                dimensions.maxWidth(),
+                dimensionsOf(tracker, node).maxWidth(),
                 null,
                 ObservableType.NOT_OBSERVABLE,
                 DisplayHint.NUMERIC,
                 ValueState.AUTO
-            );
-            case "maxHeight" -> new Attribute<>(
+            ))
+            .add("maxHeight", (tracker, node) -> new Attribute<>(
                 "maxHeight",
-                dimensions.maxHeight(),
+                dimensionsOf(tracker, node).maxHeight(),
                 null,
                 ObservableType.NOT_OBSERVABLE,
                 DisplayHint.NUMERIC,
                 ValueState.AUTO
-            );
-            case "userData" -> new Attribute<>(
+            ))
+            .add("userData", (tracker, node) -> new Attribute<>(
                 "userData",
-                String.valueOf(node.getUserData()),
+                tracker.format(node.getUserData()),
                 "userData",
                 ObservableType.NOT_OBSERVABLE,
                 DisplayHint.TEXT,
                 ValueState.defaultIf(node.getUserData() == null)
-            );
-            // SubScene
-            case "stylesheets" -> {
-                if (node instanceof SubScene subScene) {
-                    yield new Attribute<>(
-                        "userAgentStylesheet",
-                        subScene.getUserAgentStylesheet(),
-                        "userAgentStylesheet",
-                        ObservableType.of(subScene.userAgentStylesheetProperty()),
-                        DisplayHint.TEXT,
-                        ValueState.defaultIf(subScene.getUserAgentStylesheet() == null)
-                    );
-                } else {
-                    yield null;
-                }
-            }
-            default -> null;
-        };
+            ));
+
+        if (includeSubScene) {
+            builder.add("userAgentStylesheet", (tracker, node) -> {
+                var subScene = (SubScene) node;
+                return new Attribute<>(
+                    "userAgentStylesheet",
+                    subScene.getUserAgentStylesheet(),
+                    "userAgentStylesheet",
+                    tracker.observableTypeOf("userAgentStylesheet"),
+                    DisplayHint.TEXT,
+                    ValueState.defaultIf(subScene.getUserAgentStylesheet() == null)
+                );
+            });
+        }
+
+        return builder.build();
+    }
+
+    // the dimensions are shared by the readers of the same pass
+    private static Dimensions dimensionsOf(Tracker tracker, Node node) {
+        return ((NodeTracker) tracker).getDimensions(node);
+    }
+
+    private Dimensions getDimensions(Node node) {
+        var d = dimensions;
+        if (d == null) {
+            d = Dimensions.of(node);
+            dimensions = d;
+        }
+        return d;
     }
 
     /**
      * Attempts to obtain layout constraints from the full node properties map.
      * See {@link Node#getProperties()} for more details.
      */
-    private Map<String, String> getLayoutConstraints(Node node) {
+    private static Map<String, String> getLayoutConstraints(Node node) {
         if (!node.hasProperties()) {
             return Map.of();
         }
@@ -451,7 +441,7 @@ public final class NodeTracker extends Tracker {
         return properties;
     }
 
-    private String insetsToString(Insets insets) {
+    private static String insetsToString(Insets insets) {
         return insets.getTop() + " " + insets.getRight() + " " + insets.getBottom() + " " + insets.getLeft();
     }
 
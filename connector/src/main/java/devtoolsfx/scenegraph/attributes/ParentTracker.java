@@ -18,9 +18,10 @@ import java.util.List;
 @NullMarked
 public final class ParentTracker extends Tracker {
 
-    public static final List<String> SUPPORTED_PROPERTIES = List.of(
-        "stylesheets", "needsLayout", "childCount", "branchCount"
-    );
+    // the supported properties in the emission order, see ReadPlan
+    private static final ReadPlan<Parent> READ_PLAN = createReadPlan();
+
+    public static final List<String> SUPPORTED_PROPERTIES = READ_PLAN.getProperties();
 
     public ParentTracker(EventBus eventBus, EventSource eventSource) {
         super(eventBus, eventSource, AttributeCategory.PARENT);
@@ -33,7 +34,7 @@ public final class ParentTracker extends Tracker {
             return;
         }
 
-        reload(property -> read(parent, property), SUPPORTED_PROPERTIES, properties);
+        reload(READ_PLAN, parent, properties);
     }
 
     @Override
@@ -43,44 +44,43 @@ public final class ParentTracker extends Tracker {
 
     ///////////////////////////////////////////////////////////////////////////
 
-    private @Nullable Attribute<?> read(Parent parent, String property) {
-        return switch (property) {
-            case "stylesheets" -> {
-                String stylesheets = String.join("\n", parent.getStylesheets());
-                yield new Attribute<>(
+    private static ReadPlan<Parent> createReadPlan() {
+        return ReadPlan.<Parent>builder()
+            .add("stylesheets", (tracker, parent) -> {
+                tracker.watchCollection("stylesheets", parent.getStylesheets());
+                return new Attribute<>(
                     "stylesheets",
-                    stylesheets,
+                    snapshotOf(parent.getStylesheets()),
                     "getStylesheets",
                     ObservableType.LIST,
-                    DisplayHint.TEXT,
+                    DisplayHint.TEXT_LINES,
                     ValueState.AUTO
                 );
-            }
-            case "needsLayout" -> new Attribute<>(
+            })
+            .add("needsLayout", (tracker, parent) -> new Attribute<>(
                 "needsLayout",
                 parent.isNeedsLayout(),
                 "needsLayoutProperty",
                 ObservableType.READ_ONLY,
                 DisplayHint.BOOLEAN,
                 ValueState.AUTO
-            );
-            case "childCount" -> new Attribute<>(
+            ))
+            .add("childCount", (tracker, parent) -> new Attribute<>(
                 "childCount",
                 SceneUtils.countChildren(parent),
                 null,
                 ObservableType.NOT_OBSERVABLE,
                 DisplayHint.NUMERIC,
                 ValueState.AUTO
-            );
-            case "branchCount" -> new Attribute<>(
+            ))
+            .add("branchCount", (tracker, parent) -> new Attribute<>(
                 "branchCount",
                 SceneUtils.countNodesInBranch(parent),
                 null,
                 ObservableType.NOT_OBSERVABLE,
                 DisplayHint.NUMERIC,
                 ValueState.AUTO
-            );
-            default -> null;
-        };
+            ))
+            .build();
     }
 }
@@ -3,11 +3,9 @@ package devtoolsfx.scenegraph.attributes;
 import javafx.beans.InvalidationListener;
 import javafx.beans.value.ObservableValue;
 import org.jspecify.annotations.NullMarked;
+import org.jspecify.annotations.Nullable;
 
-import java.lang.System.Logger.Level;
-import java.lang.reflect.InaccessibleObjectException;
 import java.lang.reflect.InvocationTargetException;
-import java.lang.reflect.Method;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
@@ -15,7 +13,8 @@ import java.util.Map;
 /**
  * The property listener accepts the target node, reflectively scans all its
  * methods that return observable properties (which must end with the 'Property' suffix),
- * and listens for changes to all found properties.
+ * and listens for changes to all found properties. The scan result is cached per class,
+ * so that subsequent targets of the same class don't require reflection.
  * <p>
  * When a change is detected, the {@link #onPropertyChanged} method is called. To use this class,
  * the client should implement this abstract method and include the desired logic within it.
@@ -23,13 +22,15 @@ import java.util.Map;
 @NullMarked
 public abstract class PropertyListener {
 
-    private static final System.Logger LOGGER = System.getLogger(PropertyListener.class.getName());
     public static final String PROPERTY_SUFFIX = "Property";
 
     private final Map<ObservableValue<?>, String> properties = new HashMap<>();
+    private final Map<String, ObservableValue<?>> propertiesByName = new HashMap<>();
     private final InvalidationListener propertyListener = obs ->
         onPropertyChanged(properties.get((ObservableValue<?>) obs), (ObservableValue<?>) obs);
 
+    private boolean preserveLazyProperties = false;
+
     public PropertyListener() {
         // pass
     }
@@ -47,30 +48,47 @@ public abstract class PropertyListener {
     }
 
     /**
-     * Sets the target to be tracked for property changes.
+     * Returns the tracked observable property by its name (without the 'Property' suffix),
+     * or null if the property hasn't been found or instantiated.
      */
-    public void use(Object target) throws InvocationTargetException, IllegalAccessException {
-        properties.clear();
+    public @Nullable ObservableValue<?> getProperty(String name) {
+        return propertiesByName.get(name);
+    }
 
-        // using reflection, locate all properties and their corresponding property references
-        for (Method method : target.getClass().getMethods()) {
-            if (!method.getName().endsWith(PROPERTY_SUFFIX)) {
-                continue;
-            }
+    /**
+     * Returns whether lazily created properties are preserved.
+     * See {@link #setPreserveLazyProperties(boolean)}.
+     */
+    public boolean isPreserveLazyProperties() {
+        return preserveLazyProperties;
+    }
 
-            Class<?> returnType = method.getReturnType();
-            if (ObservableValue.class.isAssignableFrom(returnType)) {
-                // suppress InaccessibleObjectException on classes not exported from javafx-controls module
-                try {
-                    method.setAccessible(true);
-                } catch (InaccessibleObjectException e) {
-                    LOGGER.log(Level.INFO, e.getMessage());
-                }
+    /**
+     * JavaFX creates most of the properties lazily, on the first '*Property()' method call.
+     * If enabled, the listener doesn't call these methods and only tracks the properties that
+     * have already been instantiated, which are detected via their backing fields. This requires
+     * the target package to be open for reflection, otherwise no properties will be tracked.
+     * The option is applied to the next target.
+     */
+    public void setPreserveLazyProperties(boolean preserveLazyProperties) {
+        this.preserveLazyProperties = preserveLazyProperties;
+    }
 
-                ObservableValue<?> property = (ObservableValue<?>) method.invoke(target);
+    /**
+     * Sets the target to be tracked for property changes.
+     */
+    public void use(Object target) throws InvocationTargetException, IllegalAccessException {
+        properties.clear();
+        propertiesByName.clear();
 
-                String propertyName = method.getName().substring(0, method.getName().lastIndexOf(PROPERTY_SUFFIX));
-                properties.put(property, propertyName);
+        // property accessors are resolved once per class and cached
+        for (ClassMetadata.PropertyAccessor accessor : ClassMetadata.of(target.getClass()).getProperties()) {
+            ObservableValue<?> property = preserveLazyProperties
+                ? accessor.getIfInstantiated(target)
+                : accessor.get(target);
+            if (property != null) {
+                properties.put(property, accessor.name());
+                propertiesByName.put(accessor.name(), property);
             }
         }
 
@@ -87,5 +105,6 @@ public abstract class PropertyListener {
             obs.removeListener(propertyListener);
         }
         properties.clear();
+        propertiesByName.clear();
     }
 }
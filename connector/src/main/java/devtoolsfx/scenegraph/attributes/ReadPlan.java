@@ -0,0 +1,101 @@
+package devtoolsfx.scenegraph.attributes;
+
+import org.jspecify.annotations.NullMarked;
+import org.jspecify.annotations.Nullable;
+
+import java.util.*;
+import java.util.function.Function;
+
+/**
+ * The immutable read plan of a {@link Tracker}: the supported properties in the emission
+ * order, each paired with its typed reader. The plan is built once, so the full reload
+ * is a single linear pass over the readers without dispatching each property by its name.
+ * If the readers depend on the target class, the plan is compiled once per class instead,
+ * see {@link #perClass(Function)}, so that the class specific checks are resolved upfront.
+ *
+ * @param <T> the target type
+ */
+@NullMarked
+final class ReadPlan<T> {
+
+    /**
+     * Reads a single property of the target. Returns null if the property
+     * isn't applicable to the target.
+     */
+    @FunctionalInterface
+    interface Reader<T> {
+
+        @Nullable Attribute<?> read(Tracker tracker, T target);
+    }
+
+    private final List<String> properties;
+    private final List<Reader<T>> readers;
+    private final Map<String, Reader<T>> readersByName;
+
+    private ReadPlan(Map<String, Reader<T>> readers) {
+        this.properties = List.copyOf(readers.keySet());
+        this.readers = List.copyOf(readers.values());
+        this.readersByName = Map.copyOf(readers);
+    }
+
+    /**
+     * Returns the supported properties in the emission order.
+     */
+    List<String> getProperties() {
+        return properties;
+    }
+
+    int size() {
+        return properties.size();
+    }
+
+    String getProperty(int index) {
+        return properties.get(index);
+    }
+
+    Reader<T> getReader(int index) {
+        return readers.get(index);
+    }
+
+    @Nullable Reader<T> getReader(String property) {
+        return readersByName.get(property);
+    }
+
+    /**
+     * Creates the cache that compiles the plan on the first access to the target class.
+     */
+    static <T> ClassValue<ReadPlan<T>> perClass(Function<Class<?>, ReadPlan<T>> compiler) {
+        return new ClassValue<>() {
+            @Override
+            protected ReadPlan<T> computeValue(Class<?> type) {
+                return compiler.apply(type);
+            }
+        };
+    }
+
+    static <T> Builder<T> builder() {
+        return new Builder<>();
+    }
+
+    ///////////////////////////////////////////////////////////////////////////
+
+    static final class Builder<T> {
+
+        private final Map<String, Reader<T>> readers = new LinkedHashMap<>();
+
+        private Builder() {
+            // pass
+        }
+
+        Builder<T> add(String property, Reader<T> reader) {
+            if (readers.putIfAbsent(property, reader) != null) {
+                throw new IllegalArgumentException("Duplicate property: " + property);
+            }
+            return this;
+        }
+
+        ReadPlan<T> build() {
+            return new ReadPlan<>(readers);
+        }
+    }
+}
@@ -2,13 +2,14 @@ package devtoolsfx.scenegraph.attributes;
 
 import devtoolsfx.event.EventBus;
 import devtoolsfx.event.EventSource;
+import devtoolsfx.event.ExceptionEvent;
 import devtoolsfx.scenegraph.attributes.Attribute.DisplayHint;
 import devtoolsfx.scenegraph.attributes.Attribute.ObservableType;
 import devtoolsfx.scenegraph.attributes.Attribute.ValueState;
 import javafx.beans.value.ObservableValue;
-import javafx.beans.value.WritableValue;
-import javafx.css.CssMetaData;
-import javafx.css.StyleableProperty;
+import javafx.collections.ObservableList;
+import javafx.collections.ObservableMap;
+import javafx.collections.ObservableSet;
 import javafx.scene.Node;
 import javafx.scene.control.Tooltip;
 import javafx.scene.image.Image;
@@ -18,20 +19,24 @@ import javafx.scene.paint.Color;
 import org.jspecify.annotations.NullMarked;
 import org.jspecify.annotations.Nullable;
 
-import java.util.HashMap;
-import java.util.List;
-import java.util.Map;
-import java.util.TreeMap;
+import java.lang.reflect.InvocationTargetException;
+import java.util.*;
 
 /**
  * The {@link Tracker} implementation that attempts to reflectively obtain all
  * the properties of the target node.
+ * <p>
+ * By default, it calls all the '*Property()' methods of the target, which instantiates
+ * lazily created properties. If {@link #setPreserveLazyProperties(boolean)} is enabled,
+ * the values of the properties that haven't been instantiated yet are read via plain
+ * getters instead, and only the existing properties are observed.
  */
 @NullMarked
 public final class ReflectiveTracker extends Tracker {
 
     private final Map<String, ObservableValue<?>> orderedProperties = new TreeMap<>();
-    private final Map<WritableValue<?>, String> styleableProperties = new HashMap<>();
+    private final Set<String> propertyNames = new TreeSet<>();
+    private Map<String, String> cssProperties = Map.of();
 
     public ReflectiveTracker(EventBus eventBus, EventSource eventSource) {
         super(eventBus, eventSource, AttributeCategory.REFLECTIVE);
@@ -44,7 +49,7 @@ public final class ReflectiveTracker extends Tracker {
             return;
         }
 
-        reload(this::read, orderedProperties.keySet(), properties);
+        reload(this::read, propertyNames, properties);
     }
 
     @Override
@@ -60,12 +65,13 @@ public final class ReflectiveTracker extends Tracker {
     @Override
     protected void beforeResetTarget(Object target) {
         orderedProperties.clear();
-        styleableProperties.clear();
+        propertyNames.clear();
+        cssProperties = Map.of();
     }
 
     ///////////////////////////////////////////////////////////////////////////
 
-    @SuppressWarnings({"rawtypes", "unchecked", "ConstantValue"})
+    @SuppressWarnings("ConstantValue")
     private void scan(Object target) {
         orderedProperties.clear();
         for (Map.Entry<ObservableValue<?>, String> entry : propertyListener.getProperties().entrySet()) {
@@ -75,25 +81,63 @@ public final class ReflectiveTracker extends Tracker {
             }
         }
 
-        styleableProperties.clear();
-        if (target instanceof Node node) {
-            for (CssMetaData meta : node.getCssMetaData()) {
-                StyleableProperty<?> styleable = meta.getStyleableProperty(node);
-                String name = meta.getProperty();
-                if (styleable != null && name != null) {
-                    styleableProperties.put(styleable, name);
+        var metadata = ClassMetadata.of(target.getClass());
+        boolean preserveLazyProperties = propertyListener.isPreserveLazyProperties();
+
+        propertyNames.clear();
+        propertyNames.addAll(orderedProperties.keySet());
+        if (preserveLazyProperties) {
+            // the properties that are not instantiated yet are still readable via getters
+            for (var accessor : metadata.getProperties()) {
+                if (accessor.getter() != null) {
+                    propertyNames.add(accessor.name());
                 }
             }
         }
+
+        if (target instanceof Node node) {
+            cssProperties = preserveLazyProperties
+                ? metadata.getCssPropertiesByName(node)
+                : metadata.getCssProperties(node);
+        } else {
+            cssProperties = Map.of();
+        }
     }
 
-    private Attribute<?> read(String property) {
+    private @Nullable Attribute<?> read(String property) {
+        Object node = getTarget();
+        if (node == null) {
+            return null;
+        }
+
+        Object value; // can be null and when it's null we won't get any DisplayHint...
+        ObservableType obsType;
+
         ObservableValue<?> obs = orderedProperties.get(property);
-        Object value = obs.getValue(); // can be null and when it's null we won't get any DisplayHint...
+        if (obs != null) {
+            value = obs.getValue();
+            obsType = ObservableType.of(obs);
+        } else {
+            // the property is not instantiated, read the value via getter without touching it
+            var accessor = ClassMetadata.of(node.getClass()).getProperty(property);
+            if (accessor == null || accessor.getter() == null) {
+                return null;
+            }
+
+            try {
+                value = accessor.getValue(node);
+            } catch (InvocationTargetException e) {
+                eventBus.fire(ExceptionEvent.of(eventSource, e));
+                return null;
+            }
+
+            obsType = accessor.type().getSimpleName().startsWith("ReadOnly")
+                ? ObservableType.READ_ONLY
+                : ObservableType.READ_WRITE;
+        }
 
-        ObservableType obsType = ObservableType.of(obs);
         String field = property + PropertyListener.PROPERTY_SUFFIX;
-        String styleable = obs instanceof WritableValue<?> writable ? styleableProperties.get(writable) : null;
+        String styleable = cssProperties.get(property);
 
         // ValueState.NOT_APPLICABLE everywhere, because it's not possible to guess
         // whether the observable property has default value or not
@@ -191,10 +235,14 @@ public final class ReflectiveTracker extends Tracker {
                 DisplayHint.TEXT,
                 ValueState.AUTO
             );
+            // observable collections are tracked incrementally
+            case ObservableList<?> list -> collectionAttribute(property, list, field, styleable, obsType);
+            case ObservableSet<?> set -> collectionAttribute(property, set, field, styleable, obsType);
+            case ObservableMap<?, ?> map -> collectionAttribute(property, map, field, styleable, obsType);
             // the remainder is ObjectProperty<?>
             case null, default -> new Attribute<>(
                 property,
-                String.valueOf(value),
+                format(value),
                 field,
                 styleable,
                 obsType,
@@ -203,4 +251,21 @@ public final class ReflectiveTracker extends Tracker {
             );
         };
     }
+
+    private Attribute<?> collectionAttribute(String property,
+                                             Object collection,
+                                             String field,
+                                             @Nullable String styleable,
+                                             ObservableType obsType) {
+        watchCollection(property, collection);
+        return new Attribute<>(
+            property,
+            snapshotOf(collection),
+            field,
+            styleable,
+            obsType,
+            DisplayHint.OBJECT,
+            ValueState.AUTO
+        );
+    }
 }
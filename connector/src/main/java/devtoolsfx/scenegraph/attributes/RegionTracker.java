@@ -19,10 +19,10 @@ import java.util.List;
 @NullMarked
 public final class RegionTracker extends Tracker {
 
-    public static final List<String> SUPPORTED_PROPERTIES = List.of(
-        "padding", "insets", "snapToPixel", "shape", "scaleShape", "centerShape",
-        "userAgentStylesheet", "minWidth", "minHeight", "prefWidth", "prefHeight", "maxWidth", "maxHeight"
-    );
+    // the supported properties in the emission order, see ReadPlan
+    private static final ReadPlan<Region> READ_PLAN = createReadPlan();
+
+    public static final List<String> SUPPORTED_PROPERTIES = READ_PLAN.getProperties();
 
     public RegionTracker(EventBus eventBus, EventSource eventSource) {
         super(eventBus, eventSource, AttributeCategory.REGION);
@@ -35,7 +35,7 @@ public final class RegionTracker extends Tracker {
             return;
         }
 
-        reload(property -> read(region, property), SUPPORTED_PROPERTIES, properties);
+        reload(READ_PLAN, region, properties);
     }
 
     @Override
@@ -45,124 +45,123 @@ public final class RegionTracker extends Tracker {
 
     ///////////////////////////////////////////////////////////////////////////
 
-    private @Nullable Attribute<?> read(Region region, String property) {
-        return switch (property) {
-            case "insets" -> new Attribute<>(
-                "insets",
-                region.getInsets(),
-                "insetsProperty",
-                ObservableType.READ_ONLY,
-                DisplayHint.INSETS,
-                ValueState.defaultIf(region.getInsets() == null || Insets.EMPTY.equals(region.getInsets()))
-            );
-            case "padding" -> new Attribute<>(
+    private static ReadPlan<Region> createReadPlan() {
+        return ReadPlan.<Region>builder()
+            .add("padding", (tracker, region) -> new Attribute<>(
                 "padding",
                 region.getPadding(),
                 "paddingProperty",
                 "-fx-padding",
-                ObservableType.of(region.paddingProperty()),
+                tracker.observableTypeOf("padding"),
                 DisplayHint.INSETS,
                 ValueState.defaultIf(region.getPadding() == null || Insets.EMPTY.equals(region.getPadding()))
-            );
-            case "snapToPixel" -> new Attribute<>(
+            ))
+            .add("insets", (tracker, region) -> new Attribute<>(
+                "insets",
+                region.getInsets(),
+                "insetsProperty",
+                ObservableType.READ_ONLY,
+                DisplayHint.INSETS,
+                ValueState.defaultIf(region.getInsets() == null || Insets.EMPTY.equals(region.getInsets()))
+            ))
+            .add("snapToPixel", (tracker, region) -> new Attribute<>(
                 "snapToPixel",
                 region.isSnapToPixel(),
                 "snapToPixelProperty",
                 "-fx-snap-to-pixel",
-                ObservableType.of(region.snapToPixelProperty()),
+                tracker.observableTypeOf("snapToPixel"),
                 DisplayHint.BOOLEAN,
                 ValueState.defaultIf(region.isSnapToPixel())
-            );
-            case "shape" -> new Attribute<>(
+            ))
+            .add("shape", (tracker, region) -> new Attribute<>(
                 "shape",
                 region.getShape() != null ? String.valueOf(region.getShape()) : null,
                 "shapeProperty",
                 "-fx-shape",
-                ObservableType.of(region.shapeProperty()),
+                tracker.observableTypeOf("shape"),
                 DisplayHint.TEXT,
                 ValueState.defaultIf(region.getShape() == null)
-            );
-            case "scaleShape" -> new Attribute<>(
+            ))
+            .add("scaleShape", (tracker, region) -> new Attribute<>(
                 "scaleShape",
                 region.isScaleShape(),
                 "scaleShapeProperty",
                 "-fx-scale-shape",
-                ObservableType.of(region.scaleShapeProperty()),
+                tracker.observableTypeOf("scaleShape"),
                 DisplayHint.BOOLEAN,
                 ValueState.defaultIf(region.isScaleShape())
-            );
-            case "centerShape" -> new Attribute<>(
+            ))
+            .add("centerShape", (tracker, region) -> new Attribute<>(
                 "centerShape",
                 region.isCenterShape(),
                 "centerShapeProperty",
                 "-fx-position-shape",
-                ObservableType.of(region.centerShapeProperty()),
+                tracker.observableTypeOf("centerShape"),
                 DisplayHint.BOOLEAN,
                 ValueState.defaultIf(region.isCenterShape())
-            );
-            case "userAgentStylesheet" -> new Attribute<>(
+            ))
+            .add("userAgentStylesheet", (tracker, region) -> new Attribute<>(
                 "userAgentStylesheet",
                 region.getUserAgentStylesheet(),
                 "userAgentStylesheet",
                 ObservableType.NOT_OBSERVABLE,
                 DisplayHint.TEXT,
                 ValueState.defaultIf(region.getUserAgentStylesheet() == null)
-            );
-            case "minWidth" -> new Attribute<>(
+            ))
+            .add("minWidth", (tracker, region) -> new Attribute<>(
                 "minWidth",
                 region.getMinWidth(),
                 "minWidthProperty",
                 "-fx-min-width",
-                ObservableType.of(region.minWidthProperty()),
+                tracker.observableTypeOf("minWidth"),
                 DisplayHint.NUMERIC,
                 ValueState.defaultIf(region.getMinWidth() == Control.USE_COMPUTED_SIZE)
-            );
-            case "minHeight" -> new Attribute<>(
+            ))
+            .add("minHeight", (tracker, region) -> new Attribute<>(
                 "minHeight",
                 region.getMinHeight(),
                 "minHeightProperty",
                 "-fx-min-height",
-                ObservableType.of(region.minHeightProperty()),
+                tracker.observableTypeOf("minHeight"),
                 DisplayHint.NUMERIC,
                 ValueState.defaultIf(region.getMinHeight() == Control.USE_COMPUTED_SIZE)
-            );
-            case "prefWidth" -> new Attribute<>(
+            ))
+            .add("prefWidth", (tracker, region) -> new Attribute<>(
                 "prefWidth",
                 region.getPrefWidth(),
                 "prefWidthProperty",
                 "-fx-pref-width",
-                ObservableType.of(region.prefWidthProperty()),
+                tracker.observableTypeOf("prefWidth"),
                 DisplayHint.NUMERIC,
                 ValueState.defaultIf(region.getPrefWidth() == Control.USE_COMPUTED_SIZE)
-            );
-            case "prefHeight" -> new Attribute<>(
+            ))
+            .add("prefHeight", (tracker, region) -> new Attribute<>(
                 "prefHeight",
                 region.getPrefHeight(),
                 "prefHeightProperty",
                 "-fx-pref-height",
-                ObservableType.of(region.prefHeightProperty()),
+                tracker.observableTypeOf("prefHeight"),
                 DisplayHint.NUMERIC,
                 ValueState.defaultIf(region.getPrefHeight() == Control.USE_COMPUTED_SIZE)
-            );
-            case "maxWidth" -> new Attribute<>(
+            ))
+            .add("maxWidth", (tracker, region) -> new Attribute<>(
                 "maxWidth",
                 region.getMaxWidth(),
                 "maxWidthProperty",
                 "-fx-max-width",
-                ObservableType.of(region.maxWidthProperty()),
+                tracker.observableTypeOf("maxWidth"),
                 DisplayHint.NUMERIC,
                 ValueState.defaultIf(region.getMaxWidth() == Control.USE_COMPUTED_SIZE)
-            );
-            case "maxHeight" -> new Attribute<>(
+            ))
+            .add("maxHeight", (tracker, region) -> new Attribute<>(
                 "maxHeight",
                 region.getMaxHeight(),
                 "maxHeightProperty",
                 "-fx-max-height",
-                ObservableType.of(region.maxHeightProperty()),
+                tracker.observableTypeOf("maxHeight"),
                 DisplayHint.NUMERIC,
                 ValueState.defaultIf(region.getMaxHeight() == Control.USE_COMPUTED_SIZE)
-            );
-            default -> null;
-        };
+            ))
+            .build();
     }
 }
@@ -20,7 +20,6 @@ import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.TreeMap;
-import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 @NullMarked
@@ -29,6 +28,8 @@ public final class SceneTracker extends Tracker {
     public static final Set<String> NON_REFLECTIVE_PROPERTIES = Set.of("stylesheets", "userData");
 
     private final Map<String, ObservableValue<?>> orderedProperties = new TreeMap<>();
+    // the properties only change with the target, so they're computed once per target
+    private List<String> supportedProperties = List.of();
 
     // Only one reflective tracker per target is allowed, and we already use one to obtain
     // the window properties. However, the scene contains too many attributes to ignore,
@@ -44,11 +45,6 @@ public final class SceneTracker extends Tracker {
             return;
         }
 
-        List<String> supportedProperties = Stream.concat(
-            orderedProperties.keySet().stream(),
-            NON_REFLECTIVE_PROPERTIES.stream()
-        ).sorted().collect(Collectors.toList());
-
         reload(property -> read(scene, property), supportedProperties, properties);
     }
 
@@ -67,6 +63,7 @@ public final class SceneTracker extends Tracker {
     @Override
     protected void beforeResetTarget(Object target) {
         orderedProperties.clear();
+        supportedProperties = List.of();
     }
 
     @Override
@@ -85,25 +82,30 @@ public final class SceneTracker extends Tracker {
                 orderedProperties.put(entry.getValue(), entry.getKey());
             }
         }
+
+        supportedProperties = Stream.concat(
+            orderedProperties.keySet().stream(),
+            NON_REFLECTIVE_PROPERTIES.stream()
+        ).sorted().toList();
     }
 
     private @Nullable Attribute<?> read(Scene scene, String property) {
         if (NON_REFLECTIVE_PROPERTIES.contains(property)) {
             return switch (property) {
                 case "stylesheets" -> {
-                    String stylesheets = String.join("\n", scene.getStylesheets());
+                    watchCollection("stylesheets", scene.getStylesheets());
                     yield new Attribute<>(
                         "stylesheets",
-                        stylesheets,
+                        snapshotOf(scene.getStylesheets()),
                         "getStylesheets",
                         ObservableType.LIST,
-                        DisplayHint.TEXT,
+                        DisplayHint.TEXT_LINES,
                         ValueState.defaultIf(scene.getStylesheets().isEmpty())
                     );
                 }
                 case "userData" -> new Attribute<>(
                     "userData",
-                    String.valueOf(scene.getUserData()),
+                    format(scene.getUserData()),
                     "userData",
                     ObservableType.NOT_OBSERVABLE,
                     DisplayHint.TEXT,
@@ -222,7 +224,7 @@ public final class SceneTracker extends Tracker {
             // the remainder is ObjectProperty<?>
             case null, default -> new Attribute<>(
                 property,
-                String.valueOf(value),
+                format(value),
                 field,
                 null,
                 obsType,
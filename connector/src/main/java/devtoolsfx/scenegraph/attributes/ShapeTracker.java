@@ -22,10 +22,10 @@ public final class ShapeTracker extends Tracker {
 
     private static final System.Logger LOGGER = System.getLogger(ReflectiveTracker.class.getName());
 
-    public static final List<String> SUPPORTED_PROPERTIES = List.of(
-        "fill", "smooth", "stroke", "strokeType", "strokeWidth", "strokeDashArray",
-        "strokeDashOffset", "strokeLineCap", "strokeLineJoin", "strokeMiterLimit"
-    );
+    // the stroke default depends on the shape class, so the plan is compiled per class, see ReadPlan
+    private static final ClassValue<ReadPlan<Shape>> READ_PLANS = ReadPlan.perClass(ShapeTracker::compile);
+
+    public static final List<String> SUPPORTED_PROPERTIES = READ_PLANS.get(Shape.class).getProperties();
 
     public ShapeTracker(EventBus eventBus, EventSource eventSource) {
         super(eventBus, eventSource, AttributeCategory.SHAPE);
@@ -38,7 +38,7 @@ public final class ShapeTracker extends Tracker {
             return;
         }
 
-        reload(property -> read(shape, property), SUPPORTED_PROPERTIES, properties);
+        reload(READ_PLANS.get(shape.getClass()), shape, properties);
     }
 
     @Override
@@ -48,110 +48,116 @@ public final class ShapeTracker extends Tracker {
 
     ///////////////////////////////////////////////////////////////////////////
 
-    private @Nullable Attribute<?> read(Shape shape, String property) {
-        return switch (property) {
-            case "fill" -> {
+    private static ReadPlan<Shape> compile(Class<?> type) {
+        // the stroke of these shapes is drawn with the fill color by default
+        boolean strokeFollowsFill = Line.class.isAssignableFrom(type)
+            || Polyline.class.isAssignableFrom(type)
+            || Path.class.isAssignableFrom(type);
+
+        return ReadPlan.<Shape>builder()
+            .add("fill", (tracker, shape) -> {
                 if (shape.getFill() == null) {
-                    LOGGER.log(Level.WARNING, "[Error] null shape fill for node: " + target);
+                    LOGGER.log(Level.WARNING, "[Error] null shape fill for node: " + shape);
                 }
 
-                yield new Attribute<>(
+                return new Attribute<>(
                     "fill",
                     shape.getFill(),
                     "fillProperty",
                     "-fx-fill",
-                    ObservableType.of(shape.fillProperty()),
+                    tracker.observableTypeOf("fill"),
                     DisplayHint.COLOR,
                     ValueState.defaultIf(Color.BLACK.equals(shape.getFill()))
                 );
-            }
-            case "smooth" -> new Attribute<>(
+            })
+            .add("smooth", (tracker, shape) -> new Attribute<>(
                 "smooth",
                 shape.isSmooth(),
                 "smoothProperty",
                 "-fx-smooth",
-                ObservableType.of(shape.smoothProperty()),
+                tracker.observableTypeOf("smooth"),
                 DisplayHint.BOOLEAN,
                 ValueState.defaultIf(shape.isSmooth())
-            );
-            case "stroke" -> new Attribute<>(
+            ))
+            .add("stroke", (tracker, shape) -> new Attribute<>(
                 "stroke",
                 shape.getStroke(),
                 "strokeProperty",
                 "-fx-stroke",
-                ObservableType.of(shape.strokeProperty()),
+                tracker.observableTypeOf("stroke"),
                 DisplayHint.COLOR,
-                ValueState.defaultIf((Color.BLACK.equals(shape.getFill()) &&
-                    (shape instanceof Line || shape instanceof Polyline || shape instanceof Path)
-                ) || shape.getStroke() == null)
-            );
-            case "strokeType" -> new Attribute<>(
+                ValueState.defaultIf((strokeFollowsFill && Color.BLACK.equals(shape.getFill()))
+                    || shape.getStroke() == null)
+            ))
+            .add("strokeType", (tracker, shape) -> new Attribute<>(
                 "strokeType",
                 shape.getStrokeType(),
                 "strokeTypeProperty",
                 "-fx-stroke-type",
-                ObservableType.of(shape.strokeTypeProperty()),
+                tracker.observableTypeOf("strokeType"),
                 DisplayHint.ENUM,
                 ValueState.defaultIf(StrokeType.CENTERED.equals(shape.getStrokeType())),
                 List.of(StrokeType.values())
-            );
-            case "strokeWidth" -> new Attribute<>(
+            ))
+            .add("strokeWidth", (tracker, shape) -> new Attribute<>(
                 "strokeWidth",
                 shape.getStrokeWidth(),
                 "strokeWidthProperty",
                 "-fx-stroke-width",
-                ObservableType.of(shape.strokeWidthProperty()),
+                tracker.observableTypeOf("strokeWidth"),
                 DisplayHint.NUMERIC,
                 ValueState.defaultIf(shape.getStrokeWidth() == 1)
-            );
-            case "strokeDashArray" -> new Attribute<>(
-                "strokeWidth",
-                shape.getStrokeDashArray(),
-                "getStrokeDashArray",
-                "-fx-stroke-dash-array",
-                ObservableType.LIST,
-                DisplayHint.OBJECT,
-                ValueState.defaultIf(shape.getStrokeDashArray().isEmpty())
-            );
-            case "strokeDashOffset" -> new Attribute<>(
+            ))
+            .add("strokeDashArray", (tracker, shape) -> {
+                tracker.watchCollection("strokeDashArray", shape.getStrokeDashArray());
+                return new Attribute<>(
+                    "strokeDashArray",
+                    snapshotOf(shape.getStrokeDashArray()),
+                    "getStrokeDashArray",
+                    "-fx-stroke-dash-array",
+                    ObservableType.LIST,
+                    DisplayHint.OBJECT,
+                    ValueState.defaultIf(shape.getStrokeDashArray().isEmpty())
+                );
+            })
+            .add("strokeDashOffset", (tracker, shape) -> new Attribute<>(
                 "strokeDashOffset",
                 shape.getStrokeDashOffset(),
                 "strokeDashOffsetProperty",
                 "-fx-stroke-dash-offset",
-                ObservableType.of(shape.strokeDashOffsetProperty()),
+                tracker.observableTypeOf("strokeDashOffset"),
                 DisplayHint.NUMERIC,
                 ValueState.defaultIf(shape.getStrokeDashOffset() == 0)
-            );
-            case "strokeLineCap" -> new Attribute<>(
+            ))
+            .add("strokeLineCap", (tracker, shape) -> new Attribute<>(
                 "strokeLineCap",
                 shape.getStrokeLineCap(),
                 "strokeLineCapProperty",
                 "-fx-stroke-line-cap",
-                ObservableType.of(shape.strokeLineCapProperty()),
+                tracker.observableTypeOf("strokeLineCap"),
                 DisplayHint.ENUM,
                 ValueState.defaultIf(shape.getStrokeLineCap() == StrokeLineCap.SQUARE),
                 List.of(StrokeLineCap.values())
-            );
-            case "strokeLineJoin" -> new Attribute<>(
+            ))
+            .add("strokeLineJoin", (tracker, shape) -> new Attribute<>(
                 "strokeLineJoin",
                 shape.getStrokeLineJoin(),
                 "strokeLineJoinProperty",
                 "-fx-stroke-line-join",
-                ObservableType.of(shape.strokeLineJoinProperty()),
+                tracker.observableTypeOf("strokeLineJoin"),
                 DisplayHint.ENUM,
                 ValueState.defaultIf(shape.getStrokeLineJoin() == StrokeLineJoin.MITER),
                 List.of(StrokeLineJoin.values())
-            );
-            case "strokeMiterLimit" -> new Attribute<>(
+            ))
+            .add("strokeMiterLimit", (tracker, shape) -> new Attribute<>(
                 "strokeMiterLimit",
                 shape.getStrokeMiterLimit(),
                 "strokeMiterLimitProperty",
                 "-fx-stroke-miter-limit",
-                ObservableType.of(shape.strokeMiterLimitProperty()),
+                tracker.observableTypeOf("strokeMiterLimit"),
                 DisplayHint.NUMERIC,
                 ValueState.defaultIf(shape.getStrokeMiterLimit() == 10)
-            );
-            default -> null;
-        };
+            ))
+            .build();
     }
 }
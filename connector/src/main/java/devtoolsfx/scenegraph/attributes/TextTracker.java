@@ -21,10 +21,10 @@ import java.util.List;
 @NullMarked
 public final class TextTracker extends Tracker {
 
-    public static final List<String> SUPPORTED_PROPERTIES = List.of(
-        "text", "font", "textOrigin", "x", "y", "textAlignment", "boundsType",
-        "tabSize", "lineSpacing", "wrappingWidth", "underline", "strikethrough", "fontSmoothingType"
-    );
+    // the supported properties in the emission order, see ReadPlan
+    private static final ReadPlan<Text> READ_PLAN = createReadPlan();
+
+    public static final List<String> SUPPORTED_PROPERTIES = READ_PLAN.getProperties();
 
     public TextTracker(EventBus eventBus, EventSource eventSource) {
         super(eventBus, eventSource, AttributeCategory.TEXT);
@@ -37,7 +37,7 @@ public final class TextTracker extends Tracker {
             return;
         }
 
-        reload(property -> read(text, property), SUPPORTED_PROPERTIES, properties);
+        reload(READ_PLAN, text, properties);
     }
 
     @Override
@@ -47,125 +47,124 @@ public final class TextTracker extends Tracker {
 
     ///////////////////////////////////////////////////////////////////////////
 
-    private @Nullable Attribute<?> read(Text text, String property) {
-        return switch (property) {
-            case "text" -> new Attribute<>(
+    private static ReadPlan<Text> createReadPlan() {
+        return ReadPlan.<Text>builder()
+            .add("text", (tracker, text) -> new Attribute<>(
                 "text",
                 text.getText(),
                 "textProperty",
-                ObservableType.of(text.textProperty()),
+                tracker.observableTypeOf("text"),
                 DisplayHint.TEXT,
                 ValueState.defaultIf(text.getText() == null)
-            );
-            case "font" -> new Attribute<>(
+            ))
+            .add("font", (tracker, text) -> new Attribute<>(
                 "font",
                 text.getFont(),
                 "fontProperty",
                 "-fx-font",
-                ObservableType.of(text.fontProperty()),
+                tracker.observableTypeOf("font"),
                 DisplayHint.FONT,
                 ValueState.defaultIf(text.getFont() == null)
-            );
-            case "textOrigin" -> new Attribute<>(
+            ))
+            .add("textOrigin", (tracker, text) -> new Attribute<>(
                 "textOrigin",
                 text.getTextOrigin(),
                 "textOriginProperty",
                 "-fx-text-origin",
-                ObservableType.of(text.textOriginProperty()),
+                tracker.observableTypeOf("textOrigin"),
                 DisplayHint.ENUM,
                 ValueState.defaultIf(text.getTextOrigin() == null),
                 List.of(VPos.values())
-            );
-            case "x" -> new Attribute<>(
+            ))
+            .add("x", (tracker, text) -> new Attribute<>(
                 "x",
                 text.getX(),
                 "xProperty",
-                ObservableType.of(text.xProperty()),
+                tracker.observableTypeOf("x"),
                 DisplayHint.NUMERIC,
                 ValueState.defaultIf(text.getX() == 0)
-            );
-            case "y" -> new Attribute<>(
+            ))
+            .add("y", (tracker, text) -> new Attribute<>(
                 "y",
                 text.getY(),
                 "yProperty",
-                ObservableType.of(text.yProperty()),
+                tracker.observableTypeOf("y"),
                 DisplayHint.NUMERIC,
                 ValueState.defaultIf(text.getY() == 0)
-            );
-            case "textAlignment" -> new Attribute<>(
+            ))
+            .add("textAlignment", (tracker, text) -> new Attribute<>(
                 "textAlignment",
                 text.getTextAlignment(),
                 "textAlignmentProperty",
                 "-fx-text-alignment",
-                ObservableType.of(text.textAlignmentProperty()),
+                tracker.observableTypeOf("textAlignment"),
                 DisplayHint.ENUM,
                 ValueState.defaultIf(text.getTextAlignment() == TextAlignment.LEFT)
-            );
-            case "boundsType" -> new Attribute<>(
+            ))
+            .add("boundsType", (tracker, text) -> new Attribute<>(
                 "boundsType",
                 text.getBoundsType(),
                 "boundsTypeProperty",
                 "-fx-bounds-type",
-                ObservableType.of(text.boundsTypeProperty()),
+                tracker.observableTypeOf("boundsType"),
                 DisplayHint.ENUM,
                 ValueState.defaultIf(text.getBoundsType() == TextBoundsType.LOGICAL),
                 List.of(TextBoundsType.values())
-            );
-            case "tabSize" -> new Attribute<>(
+            ))
+            .add("tabSize", (tracker, text) -> new Attribute<>(
                 "tabSize",
                 text.getTabSize(),
                 "tabSizeProperty",
                 "-fx-tab-size",
-                ObservableType.of(text.tabSizeProperty()),
+                tracker.observableTypeOf("tabSize"),
                 DisplayHint.NUMERIC,
                 ValueState.defaultIf(text.getTabSize() == 8)
-            );
-            case "lineSpacing" -> new Attribute<>(
+            ))
+            .add("lineSpacing", (tracker, text) -> new Attribute<>(
                 "lineSpacing",
                 text.getLineSpacing(),
                 "lineSpacingProperty",
                 "-fx-line-spacing",
-                ObservableType.of(text.lineSpacingProperty()),
+                tracker.observableTypeOf("lineSpacing"),
                 DisplayHint.NUMERIC,
                 ValueState.defaultIf(text.getLineSpacing() == 0)
-            );
-            case "wrappingWidth" -> new Attribute<>(
+            ))
+            .add("wrappingWidth", (tracker, text) -> new Attribute<>(
                 "wrappingWidth",
                 text.getWrappingWidth(),
                 "wrappingWidthProperty",
-                ObservableType.of(text.wrappingWidthProperty()),
+                tracker.observableTypeOf("wrappingWidth"),
                 DisplayHint.NUMERIC,
                 ValueState.defaultIf(text.getWrappingWidth() == 0)
-            );
-            case "underline" -> new Attribute<>(
+            ))
+            .add("underline", (tracker, text) -> new Attribute<>(
                 "underline",
                 text.isUnderline(),
                 "underlineProperty",
                 "-fx-underline",
-                ObservableType.of(text.underlineProperty()),
+                tracker.observableTypeOf("underline"),
                 DisplayHint.BOOLEAN,
                 Attribute.ValueState.defaultIf(!text.isUnderline())
-            );
-            case "strikethrough" -> new Attribute<>(
+            ))
+            .add("strikethrough", (tracker, text) -> new Attribute<>(
                 "strikethrough",
                 text.isStrikethrough(),
                 "strikethroughProperty",
                 "-fx-strikethrough",
-                ObservableType.of(text.strikethroughProperty()),
+                tracker.observableTypeOf("strikethrough"),
                 DisplayHint.BOOLEAN,
                 Attribute.ValueState.defaultIf(!text.isStrikethrough())
-            );
-            case "fontSmoothingType" -> new Attribute<>(
+            ))
+            .add("fontSmoothingType", (tracker, text) -> new Attribute<>(
                 "fontSmoothingType",
                 text.getFontSmoothingType(),
                 "fontSmoothingTypeProperty",
                 "-fx-font-smoothing-type",
-                ObservableType.of(text.fontSmoothingTypeProperty()),
+                tracker.observableTypeOf("fontSmoothingType"),
                 DisplayHint.ENUM,
                 ValueState.defaultIf(text.getFontSmoothingType() == FontSmoothingType.GRAY),
                 List.of(FontSmoothingType.values())
-            );
-            default -> null;
-        };
+            ))
+            .build();
     }
 }
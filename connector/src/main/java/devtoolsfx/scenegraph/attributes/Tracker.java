@@ -2,7 +2,11 @@ package devtoolsfx.scenegraph.attributes;
 
 import devtoolsfx.connector.LocalElement;
 import devtoolsfx.event.*;
+import devtoolsfx.scenegraph.attributes.Attribute.ObservableType;
+import devtoolsfx.scenegraph.Element;
+import javafx.application.Platform;
 import javafx.beans.value.ObservableValue;
+import javafx.collections.*;
 import javafx.scene.Node;
 import javafx.scene.Scene;
 import javafx.stage.Window;
@@ -44,14 +48,53 @@ public abstract sealed class Tracker permits
 
     private static final Logger LOGGER = System.getLogger(Tracker.class.getName());
 
+    /**
+     * The default attribute read time budget in milliseconds. Properties that take longer
+     * to read are reported as slow and excluded from automatic reloads.
+     */
+    public static final int DEFAULT_SLOW_READ_THRESHOLD = 10;
+    public static final int DEFAULT_MAX_VALUE_LENGTH = 1_000;
+    /**
+     * The maximum number of items in the collection snapshot, see {@link #snapshotOf(Object)}.
+     */
+    public static final int MAX_SNAPSHOT_SIZE = 100;
+
     protected final PropertyListener propertyListener = new PropertyListener() {
         @Override
         protected void onPropertyChanged(String propertyName, ObservableValue<?> obs) {
-            // emit property changes (won't work for observable collections)
-            reload(propertyName);
+            // collection properties (e.g. ListProperty) are invalidated on content change,
+            // that is already covered by the collection changes, if the collection is watched
+            var watched = watchedCollections.get(propertyName);
+            if (watched != null && watched.collection() == obs.getValue()) {
+                return;
+            }
+
+            scheduleReload(propertyName);
         }
     };
 
+    // the last emitted attributes, to suppress updates that don't change anything
+    private final Map<String, Attribute<?>> emittedAttributes = new HashMap<>();
+    // the properties changed during the current pulse, they're emitted at once
+    private final Set<String> pendingProperties = new LinkedHashSet<>();
+    private boolean reloadScheduled = false;
+    // the scene whose next pulse emits the pending changes, if the target has one
+    private @Nullable Scene reloadScene;
+    private final Runnable postLayoutListener = this::reloadPending;
+    // the properties that exceeded the read time budget for the current target
+    // the last value of each slow property, the full reload reuses it instead of reading again
+    private final Map<String, @Nullable Attribute<?>> slowProperties = new HashMap<>();
+    // the mapper of the last reload, it's bound to the current target
+    private @Nullable Function<String, @Nullable Attribute<?>> lastMapper;
+    private int maxValueLength = DEFAULT_MAX_VALUE_LENGTH;
+    private long slowReadThresholdNanos = DEFAULT_SLOW_READ_THRESHOLD * 1_000_000L;
+    // the value length limit of the current read, see format()
+    private int formatLimit;
+    // the observable collections watched for content changes, by attribute name
+    private final Map<String, WatchedCollection> watchedCollections = new HashMap<>();
+    // the collection changes made during the current pulse, they're emitted at once
+    private final Map<String, List<CollectionChange>> pendingChanges = new LinkedHashMap<>();
+
     protected final EventBus eventBus;
     protected final AttributeCategory category;
     protected final EventSource eventSource;
@@ -106,6 +149,7 @@ public abstract sealed class Tracker permits
         if (t != null) {
             beforeResetTarget(t);
             doSetTarget(null);
+            emittedAttributes.clear();
             fireAttributeListEvent(List.of());
         }
     }
@@ -116,6 +160,50 @@ public abstract sealed class Tracker permits
      */
     public abstract void reload(String... properties);
 
+    /**
+     * Reads the specified property from the target node without emitting any events
+     * and without truncating its value. Returns null if the property isn't supported.
+     */
+    public @Nullable Attribute<?> readAttribute(String property) {
+        var mapper = lastMapper;
+        return target != null && mapper != null ? mapper.apply(property) : null;
+    }
+
+    /**
+     * Sets the maximum length of the attribute text values. Longer values are replaced
+     * with the {@link TruncatedValue}. Zero or a negative value disables truncation.
+     */
+    public void setMaxValueLength(int maxValueLength) {
+        this.maxValueLength = maxValueLength;
+    }
+
+    /**
+     * Sets the attribute read time budget in milliseconds. The properties that take longer
+     * to read are reported via {@link SlowAttributeEvent}, and are only read again on demand.
+     * Zero or a negative value disables the detection.
+     */
+    public void setSlowReadThreshold(int slowReadThreshold) {
+        this.slowReadThresholdNanos = slowReadThreshold > 0 ? slowReadThreshold * 1_000_000L : Long.MAX_VALUE;
+    }
+
+    /**
+     * See {@link PropertyListener#setPreserveLazyProperties(boolean)}.
+     * If the tracker already has a target, it will be re-scanned.
+     */
+    public void setPreserveLazyProperties(boolean preserveLazyProperties) {
+        if (propertyListener.isPreserveLazyProperties() == preserveLazyProperties) {
+            return;
+        }
+
+        propertyListener.setPreserveLazyProperties(preserveLazyProperties);
+
+        var t = target;
+        if (t != null) {
+            reset();
+            setTarget(t);
+        }
+    }
+
     /**
      * Checks whether the given target can be accepted by the tracker implementation.
      */
@@ -135,6 +223,11 @@ public abstract sealed class Tracker permits
         if (old != null) {
             propertyListener.release();
         }
+        cancelReload();
+        pendingProperties.clear();
+        slowProperties.clear();
+        lastMapper = null;
+        unwatchCollections();
 
         if (candidate != null) {
             try {
@@ -167,73 +260,488 @@ public abstract sealed class Tracker permits
         // pass
     }
 
+    /**
+     * Returns the observable type of the target property. Unlike {@link ObservableType#of},
+     * it doesn't call the '*Property()' method, so the lazily created property that hasn't
+     * been instantiated yet stays that way.
+     */
+    protected ObservableType observableTypeOf(String property) {
+        var obs = propertyListener.getProperty(property);
+        if (obs != null) {
+            return ObservableType.of(obs);
+        }
+
+        // the property doesn't exist yet, so it can't be bound either
+        var accessor = target != null ? ClassMetadata.of(target.getClass()).getProperty(property) : null;
+        return accessor != null && accessor.type().getSimpleName().startsWith("ReadOnly")
+            ? ObservableType.READ_ONLY
+            : ObservableType.READ_WRITE;
+    }
+
+    /**
+     * Schedules the property to be reloaded later. All properties changed
+     * during the same pulse are reloaded and emitted at once.
+     */
+    protected void scheduleReload(String property) {
+        pendingProperties.add(property);
+        scheduleReloadPending();
+    }
+
+    /**
+     * Watches the content changes of the given observable collection (list, set or map)
+     * and emits them as {@link AttributeCollectionEvent} without reloading the attribute.
+     * The corresponding attribute value must be a snapshot of the collection, see
+     * {@link #snapshotOf(Object)}. The snapshot of a large collection is truncated, so the
+     * changes can't be applied to it, and the attribute is reloaded instead. All watched
+     * collections are released on target change.
+     */
+    protected void watchCollection(String attribute, Object collection) {
+        var watched = watchedCollections.get(attribute);
+        if (watched != null) {
+            if (watched.collection() == collection) {
+                return;
+            }
+            watched.unwatch().run();
+            watchedCollections.remove(attribute);
+        }
+
+        Runnable unwatch = switch (collection) {
+            case ObservableList<?> list -> watchList(attribute, list);
+            case ObservableSet<?> set -> watchSet(attribute, set);
+            case ObservableMap<?, ?> map -> watchMap(attribute, map);
+            default -> null;
+        };
+
+        if (unwatch != null) {
+            watchedCollections.put(attribute, new WatchedCollection(collection, unwatch));
+        }
+    }
+
+    /**
+     * Returns the immutable snapshot of the given collection (list, set or map) with
+     * the items converted to strings, to be used as the collection attribute value.
+     * Only the first {@link #MAX_SNAPSHOT_SIZE} items are copied, followed by the item
+     * with the total size, so the cost doesn't depend on the collection size.
+     */
+    protected static List<String> snapshotOf(Object collection) {
+        return switch (collection) {
+            case Collection<?> c -> snapshotOf(c, c.size(), String::valueOf);
+            case Map<?, ?> m -> snapshotOf(m.entrySet(), m.size(), e -> e.getKey() + "=" + e.getValue());
+            default -> List.of(String.valueOf(collection));
+        };
+    }
+
+    private static <E> List<String> snapshotOf(Iterable<E> items, int size, Function<E, String> formatter) {
+        var result = new ArrayList<String>(Math.min(size, MAX_SNAPSHOT_SIZE) + 1);
+        for (var item : items) {
+            if (result.size() == MAX_SNAPSHOT_SIZE) {
+                result.add("… (" + size + " items)");
+                break;
+            }
+            result.add(formatter.apply(item));
+        }
+        return Collections.unmodifiableList(result);
+    }
+
+    /**
+     * Formats the value as the attribute text. Collections and maps are formatted item
+     * by item, and while reading the property, the formatting stops as soon as the text
+     * exceeds the maximum value length, so that a huge collection is never converted
+     * to the string entirely. The full value is formatted on demand, see
+     * {@link #readAttribute(String)}.
+     *
+     * @return the string or the {@link TruncatedValue} of unknown length
+     */
+    protected Object format(@Nullable Object value) {
+        int limit = formatLimit;
+        if (limit <= 0 || !(value instanceof Collection<?> || value instanceof Map<?, ?>)) {
+            return String.valueOf(value);
+        }
+
+        var sb = new StringBuilder();
+        Iterator<?> it = value instanceof Map<?, ?> map ? map.entrySet().iterator() : ((Collection<?>) value).iterator();
+        sb.append(value instanceof Map<?, ?> ? '{' : '[');
+        while (it.hasNext()) {
+            if (sb.length() > limit) {
+                return new TruncatedValue(sb.substring(0, limit), TruncatedValue.UNKNOWN_LENGTH);
+            }
+
+            var item = it.next();
+            sb.append(item == value ? "(this Collection)" : item);
+            if (it.hasNext()) {
+                sb.append(", ");
+            }
+        }
+        return sb.append(value instanceof Map<?, ?> ? '}' : ']').toString();
+    }
+
     /**
      * A handy method to simplify reloading properties in implementations.
+     * The full reload always emits all properties, while a partial reload
+     * only emits the properties whose values have changed since the last time.
      */
     protected void reload(Function<String, @Nullable Attribute<?>> mapper,
                           Collection<String> supportedProperties,
                           String... properties) {
-        if (properties.length == 0) { // hot path 1
-            var attributes = new ArrayList<Attribute<?>>(properties.length);
+        lastMapper = mapper;
+
+        if (properties.length == 0) { // hot path
+            emittedAttributes.clear();
+
+            var attributes = new ArrayList<Attribute<?>>(supportedProperties.size());
             for (var property : supportedProperties) {
-                Attribute<?> attr = mapper.apply(property);
-                if (attr != null) {
-                    attributes.add(attr);
-                }
+                addEmitted(attributes, slowProperties.containsKey(property)
+                    ? slowProperties.get(property)
+                    : read(mapper, property)
+                );
             }
             fireAttributeListEvent(attributes);
-        } else if (properties.length == 1) { // hot path 2
-            Attribute<?> attr = mapper.apply(properties[0]);
-            if (attr != null) {
-                fireAttributeUpdatedEvent(attr);
+            return;
+        }
+
+        List<Attribute<?>> changed = null;
+        for (var property : properties) {
+            Attribute<?> attr = read(mapper, property);
+            if (attr == null || isSameAttribute(emittedAttributes.get(attr.name()), attr)) {
+                continue;
             }
-        } else {
-            Arrays.stream(properties)
-                .map(mapper)
-                .filter(Objects::nonNull)
-                .forEach(this::fireAttributeUpdatedEvent);
+
+            emittedAttributes.put(attr.name(), attr);
+            if (changed == null) {
+                changed = new ArrayList<>(properties.length);
+            }
+            changed.add(attr);
+        }
+
+        if (changed != null) {
+            fireAttributeUpdatedEvent(changed);
+        }
+    }
+
+    /**
+     * Same as {@link #reload(Function, Collection, String...)}, but uses the read plan
+     * of the target class, so that the full reload is a single pass over the plan readers.
+     */
+    protected <T> void reload(ReadPlan<T> plan, T target, String... properties) {
+        Function<String, @Nullable Attribute<?>> mapper = property -> {
+            var reader = plan.getReader(property);
+            return reader != null ? reader.read(this, target) : null;
+        };
+
+        if (properties.length > 0) {
+            reload(mapper, plan.getProperties(), properties);
+            return;
+        }
+
+        lastMapper = mapper;
+        emittedAttributes.clear();
+
+        var attributes = new ArrayList<Attribute<?>>(plan.size());
+        for (int i = 0; i < plan.size(); i++) {
+            var property = plan.getProperty(i);
+            addEmitted(attributes, slowProperties.containsKey(property)
+                ? slowProperties.get(property)
+                : read(property, plan.getReader(i), target)
+            );
         }
+        fireAttributeListEvent(attributes);
     }
 
     /**
      * Emits an {@link AttributeListEvent} based on the target type.
      */
     protected void fireAttributeListEvent(List<Attribute<?>> attributes) {
-        if (target instanceof Node node) {
-            eventBus.fire(
-                new AttributeListEvent(eventSource, LocalElement.of(node), category, attributes)
-            );
-        } else if (target instanceof Window window) {
-            eventBus.fire(
-                new AttributeListEvent(eventSource, LocalElement.of(window, eventSource), category, attributes)
-            );
-        } else if (target instanceof Scene scene) {
-            eventBus.fire(
-                new AttributeListEvent(eventSource, LocalElement.of(scene.getWindow(), eventSource), category, attributes)
-            );
-        } else if (target != null) {
-            LOGGER.log(Logger.Level.WARNING, "Unable to emit event: unknown object type '" + target.getClass() + "'");
+        var element = getTargetElement();
+        if (element != null) {
+            eventBus.fire(new AttributeListEvent(eventSource, element, category, attributes));
         }
     }
 
     /**
      * Emits an {@link AttributeUpdatedEvent} based on the target type.
      */
-    protected void fireAttributeUpdatedEvent(Attribute<?> attribute) {
-        if (target instanceof Node node) {
-            eventBus.fire(
-                new AttributeUpdatedEvent(eventSource, LocalElement.of(node), category, attribute)
-            );
-        } else if (target instanceof Window window) {
-            eventBus.fire(
-                new AttributeUpdatedEvent(eventSource, LocalElement.of(window, eventSource), category, attribute)
-            );
-        } else if (target instanceof Scene scene) {
-            eventBus.fire(
-                new AttributeUpdatedEvent(eventSource, LocalElement.of(scene.getWindow(), eventSource), category, attribute)
+    protected void fireAttributeUpdatedEvent(List<Attribute<?>> attributes) {
+        var element = getTargetElement();
+        if (element != null) {
+            eventBus.fire(new AttributeUpdatedEvent(eventSource, element, category, attributes));
+        }
+    }
+
+    /**
+     * Emits an {@link AttributeCollectionEvent} based on the target type.
+     */
+    protected void fireAttributeCollectionEvent(String attribute, List<CollectionChange> changes) {
+        var element = getTargetElement();
+        if (element != null) {
+            eventBus.fire(new AttributeCollectionEvent(eventSource, element, category, attribute, changes));
+        }
+    }
+
+    /**
+     * Emits a {@link SlowAttributeEvent} based on the target type.
+     */
+    protected void fireSlowAttributeEvent(String attribute, long readTime) {
+        var element = getTargetElement();
+        if (element != null) {
+            eventBus.fire(new SlowAttributeEvent(eventSource, element, category, attribute, readTime));
+        }
+    }
+
+    ///////////////////////////////////////////////////////////////////////////
+
+    /**
+     * Emits the pending changes once the layout of the target scene is done, so that
+     * the layout-dependent properties are read once per pulse and after they're updated.
+     * The target that isn't attached to a scene is reloaded in the next FX thread cycle.
+     */
+    private void scheduleReloadPending() {
+        if (reloadScheduled) {
+            return;
+        }
+        reloadScheduled = true;
+
+        var scene = getTargetScene();
+        if (scene != null) {
+            reloadScene = scene;
+            scene.addPostLayoutPulseListener(postLayoutListener);
+            // not every property change requests a pulse, e.g. the user data
+            Platform.requestNextPulse();
+        } else {
+            Platform.runLater(this::reloadPending);
+        }
+    }
+
+    private void cancelReload() {
+        if (reloadScene != null) {
+            reloadScene.removePostLayoutPulseListener(postLayoutListener);
+            reloadScene = null;
+        }
+        reloadScheduled = false;
+    }
+
+    private void reloadPending() {
+        cancelReload();
+
+        if (!pendingChanges.isEmpty()) {
+            // the changes are superseded by the full attribute reload
+            pendingChanges.keySet().removeAll(pendingProperties);
+            if (target != null) {
+                pendingChanges.forEach(this::fireAttributeCollectionEvent);
+            }
+            pendingChanges.clear();
+        }
+
+        if (pendingProperties.isEmpty()) {
+            return;
+        }
+
+        // slow properties are only read on demand
+        pendingProperties.removeAll(slowProperties.keySet());
+        var properties = pendingProperties.toArray(String[]::new);
+        pendingProperties.clear();
+
+        if (target != null && properties.length > 0) {
+            reload(properties);
+        }
+    }
+
+    private @Nullable Attribute<?> read(Function<String, @Nullable Attribute<?>> mapper, String property) {
+        return read(property, (tracker, name) -> mapper.apply(name), property);
+    }
+
+    /**
+     * Reads the property, measures the read time and truncates long text values.
+     * An exception thrown by the property must not break reading the rest of them.
+     * The slow properties are remembered along with their last value, so that
+     * the full reload doesn't read them again.
+     */
+    private <T> @Nullable Attribute<?> read(String property, ReadPlan.Reader<T> reader, T target) {
+        long start = System.nanoTime();
+
+        Attribute<?> attr;
+        formatLimit = maxValueLength;
+        try {
+            attr = truncate(reader.read(this, target));
+        } catch (RuntimeException e) {
+            LOGGER.log(Logger.Level.WARNING, "Unable to read property '" + property + "': " + e.getMessage());
+            eventBus.fire(ExceptionEvent.of(eventSource, e));
+            return null;
+        } finally {
+            formatLimit = 0;
+        }
+
+        long readTime = System.nanoTime() - start;
+        boolean slow = slowProperties.containsKey(property);
+        if (slow || readTime > slowReadThresholdNanos) {
+            slowProperties.put(property, attr);
+            if (!slow) {
+                fireSlowAttributeEvent(attr != null ? attr.name() : property, readTime);
+            }
+        }
+
+        return attr;
+    }
+
+    private @Nullable Attribute<?> truncate(@Nullable Attribute<?> attr) {
+        if (attr != null
+            && maxValueLength > 0
+            && attr.value() instanceof String str
+            && str.length() > maxValueLength) {
+            return new Attribute<>(
+                attr.name(),
+                new TruncatedValue(str.substring(0, maxValueLength), str.length()),
+                attr.field(),
+                attr.cssProperty(),
+                attr.observableType(),
+                attr.displayHint(),
+                attr.valueState(),
+                List.of()
             );
-        } else if (target != null) {
-            LOGGER.log(Logger.Level.WARNING, "Unable to emit event: unknown object type '" + target.getClass() + "'");
         }
+
+        return attr;
+    }
+
+    private void addEmitted(List<Attribute<?>> attributes, @Nullable Attribute<?> attr) {
+        if (attr != null) {
+            attributes.add(attr);
+            emittedAttributes.put(attr.name(), attr);
+        }
+    }
+
+    private @Nullable Element getTargetElement() {
+        return switch (target) {
+            case Node node -> LocalElement.of(node);
+            case Window window -> LocalElement.of(window, eventSource);
+            case Scene scene -> LocalElement.of(scene.getWindow(), eventSource);
+            case null -> null;
+            default -> {
+                LOGGER.log(Logger.Level.WARNING, "Unable to emit event: unknown object type '" + target.getClass() + "'");
+                yield null;
+            }
+        };
+    }
+
+    private @Nullable Scene getTargetScene() {
+        return switch (target) {
+            case Node node -> node.getScene();
+            case Window window -> window.getScene();
+            case Scene scene -> scene;
+            case null, default -> null;
+        };
+    }
+
+    private void scheduleChanges(String attribute, List<CollectionChange> changes) {
+        if (changes.isEmpty()) {
+            return;
+        }
+
+        pendingChanges.computeIfAbsent(attribute, k -> new ArrayList<>()).addAll(changes);
+        // the last emitted value is outdated now
+        emittedAttributes.remove(attribute);
+        scheduleReloadPending();
+    }
+
+    private <E> Runnable watchList(String attribute, ObservableList<E> list) {
+        ListChangeListener<E> listener = c -> {
+            int sizeBefore = c.getList().size();
+            while (c.next()) {
+                sizeBefore += c.getRemovedSize() - c.getAddedSize();
+            }
+            if (reloadIfTruncated(attribute, sizeBefore, c.getList().size())) {
+                return;
+            }
+            c.reset();
+
+            var changes = new ArrayList<CollectionChange>();
+            while (c.next()) {
+                int from = c.getFrom();
+                var current = snapshotOf(c.getList().subList(from, c.getTo()));
+
+                if (c.wasPermutated()) {
+                    var previous = new ArrayList<String>(current.size());
+                    for (int i = from; i < c.getTo(); i++) {
+                        previous.add(String.valueOf(c.getList().get(c.getPermutation(i))));
+                    }
+                    changes.add(new CollectionChange(from, previous, current));
+                } else if (c.wasUpdated()) {
+                    changes.add(new CollectionChange(from, current, current));
+                } else {
+                    changes.add(new CollectionChange(from, snapshotOf(c.getRemoved()), snapshotOf(c.getAddedSubList())));
+                }
+            }
+            scheduleChanges(attribute, changes);
+        };
+
+        list.addListener(listener);
+        return () -> list.removeListener(listener);
+    }
+
+    private <E> Runnable watchSet(String attribute, ObservableSet<E> set) {
+        SetChangeListener<E> listener = c -> {
+            int size = c.getSet().size();
+            if (reloadIfTruncated(attribute, size + (c.wasRemoved() ? 1 : 0) - (c.wasAdded() ? 1 : 0), size)) {
+                return;
+            }
+
+            scheduleChanges(attribute, List.of(new CollectionChange(
+                CollectionChange.UNORDERED,
+                c.wasRemoved() ? List.of(String.valueOf(c.getElementRemoved())) : List.of(),
+                c.wasAdded() ? List.of(String.valueOf(c.getElementAdded())) : List.of()
+            )));
+        };
+
+        set.addListener(listener);
+        return () -> set.removeListener(listener);
+    }
+
+    private <K, V> Runnable watchMap(String attribute, ObservableMap<K, V> map) {
+        MapChangeListener<K, V> listener = c -> {
+            // replacing the value doesn't change the size
+            int size = c.getMap().size();
+            int sizeBefore = size + (c.wasRemoved() && !c.wasAdded() ? 1 : 0) - (c.wasAdded() && !c.wasRemoved() ? 1 : 0);
+            if (reloadIfTruncated(attribute, sizeBefore, size)) {
+                return;
+            }
+
+            scheduleChanges(attribute, List.of(new CollectionChange(
+                CollectionChange.UNORDERED,
+                c.wasRemoved() ? List.of(c.getKey() + "=" + c.getValueRemoved()) : List.of(),
+                c.wasAdded() ? List.of(c.getKey() + "=" + c.getValueAdded()) : List.of()
+            )));
+        };
+
+        map.addListener(listener);
+        return () -> map.removeListener(listener);
+    }
+
+    // the truncated snapshot is replaced entirely, which is cheap, because it's bounded
+    private boolean reloadIfTruncated(String attribute, int sizeBefore, int sizeAfter) {
+        if (Math.max(sizeBefore, sizeAfter) <= MAX_SNAPSHOT_SIZE) {
+            return false;
+        }
+
+        scheduleReload(attribute);
+        return true;
+    }
+
+    private void unwatchCollections() {
+        watchedCollections.values().forEach(watched -> watched.unwatch().run());
+        watchedCollections.clear();
+        pendingChanges.clear();
+    }
+
+    private static boolean isSameAttribute(@Nullable Attribute<?> old, Attribute<?> attr) {
+        // attributes are equal by name, so compare the displayed state instead
+        return old != null
+            && Objects.equals(old.value(), attr.value())
+            && Objects.equals(old.cssProperty(), attr.cssProperty())
+            && old.observableType() == attr.observableType()
+            && old.valueState() == attr.valueState();
+    }
+
+    ///////////////////////////////////////////////////////////////////////////
+
+    private record WatchedCollection(Object collection, Runnable unwatch) {
     }
 }
@@ -0,0 +1,22 @@
+package devtoolsfx.scenegraph.attributes;
+
+import org.jspecify.annotations.NullMarked;
+
+/**
+ * A wrapper for the attribute text value that exceeds the maximum length and
+ * has been truncated. The full value can be requested separately.
+ *
+ * @param preview the beginning of the full value
+ * @param length  the length of the full value, or {@link #UNKNOWN_LENGTH} if the formatting
+ *                stopped early, because the full value is too large
+ */
+@NullMarked
+public record TruncatedValue(String preview, int length) {
+
+    public static final int UNKNOWN_LENGTH = -1;
+
+    @Override
+    public String toString() {
+        return preview + "…";
+    }
+}
@@ -0,0 +1,27 @@
+package devtoolsfx.scenegraph.attributes;
+
+import devtoolsfx.scenegraph.Element;
+import org.jspecify.annotations.NullMarked;
+import org.jspecify.annotations.Nullable;
+
+/**
+ * The current value of the attribute from the watch list, see {@link AttributeWatcher}.
+ * Only primitive, enum and string values are passed as is, the rest are converted
+ * to strings, so that the value doesn't hold the scene graph objects.
+ *
+ * @param element the element whose attribute is watched
+ * @param name    the attribute (property) name
+ * @param value   the attribute value
+ * @param watched false if the attribute is no longer watched, e.g. because the node
+ *                has been removed from the scene graph
+ */
+@NullMarked
+public record WatchedAttribute(Element element,
+                               String name,
+                               @Nullable Object value,
+                               boolean watched) {
+
+    public String toLogString() {
+        return element.getSimpleClassName() + "." + name + "=" + (watched ? value : "<unwatched>");
+    }
+}
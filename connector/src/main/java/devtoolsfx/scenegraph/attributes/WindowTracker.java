@@ -14,10 +14,10 @@ import java.util.List;
 @NullMarked
 public final class WindowTracker extends Tracker {
 
-    public static final List<String> SUPPORTED_PROPERTIES = List.of(
-        "width", "height", "x", "y", "opacity", "focused", "showing",
-        "outputScaleX", "outputScaleY", "renderScaleX", "renderScaleY", "forceIntegerRenderScale", "userData"
-    );
+    // the supported properties in the emission order, see ReadPlan
+    private static final ReadPlan<Window> READ_PLAN = createReadPlan();
+
+    public static final List<String> SUPPORTED_PROPERTIES = READ_PLAN.getProperties();
 
     public WindowTracker(EventBus eventBus, EventSource eventSource) {
         super(eventBus, eventSource, AttributeCategory.WINDOW);
@@ -30,7 +30,7 @@ public final class WindowTracker extends Tracker {
             return;
         }
 
-        reload(property -> read(window, property), SUPPORTED_PROPERTIES, properties);
+        reload(READ_PLAN, window, properties);
     }
 
     @Override
@@ -40,115 +40,114 @@ public final class WindowTracker extends Tracker {
 
     ///////////////////////////////////////////////////////////////////////////
 
-    private @Nullable Attribute<?> read(Window window, String property) {
-        return switch (property) {
-            case "width" -> new Attribute<>(
+    private static ReadPlan<Window> createReadPlan() {
+        return ReadPlan.<Window>builder()
+            .add("width", (tracker, window) -> new Attribute<>(
                 "width",
                 window.getWidth(),
                 "widthProperty",
-                ObservableType.of(window.widthProperty()),
+                tracker.observableTypeOf("width"),
                 DisplayHint.NUMERIC,
                 ValueState.AUTO
-            );
-            case "height" -> new Attribute<>(
+            ))
+            .add("height", (tracker, window) -> new Attribute<>(
                 "height",
                 window.getHeight(),
                 "heightProperty",
-                ObservableType.of(window.heightProperty()),
+                tracker.observableTypeOf("height"),
                 DisplayHint.NUMERIC,
                 ValueState.AUTO
-            );
-            case "x" -> new Attribute<>(
+            ))
+            .add("x", (tracker, window) -> new Attribute<>(
                 "x",
                 window.getX(),
                 "xProperty",
-                ObservableType.of(window.xProperty()),
+                tracker.observableTypeOf("x"),
                 DisplayHint.NUMERIC,
                 ValueState.AUTO
-            );
-            case "y" -> new Attribute<>(
+            ))
+            .add("y", (tracker, window) -> new Attribute<>(
                 "y",
                 window.getY(),
                 "yProperty",
-                ObservableType.of(window.yProperty()),
+                tracker.observableTypeOf("y"),
                 DisplayHint.NUMERIC,
                 ValueState.AUTO
-            );
-            case "opacity" -> new Attribute<>(
+            ))
+            .add("opacity", (tracker, window) -> new Attribute<>(
                 "opacity",
                 window.getOpacity(),
                 "opacityProperty",
                 null,
-                ObservableType.of(window.opacityProperty()),
+                tracker.observableTypeOf("opacity"),
                 DisplayHint.NUMERIC,
                 ValueState.defaultIf(window.getOpacity() == 1.0),
                 List.of(0.0, 1.0)
-            );
-            case "focused" -> new Attribute<>(
+            ))
+            .add("focused", (tracker, window) -> new Attribute<>(
                 "focused",
                 window.isFocused(),
                 "focusedProperty",
-                ObservableType.of(window.focusedProperty()),
+                tracker.observableTypeOf("focused"),
                 DisplayHint.BOOLEAN,
                 ValueState.defaultIf(!window.isFocused())
-            );
-            case "showing" -> new Attribute<>(
+            ))
+            .add("showing", (tracker, window) -> new Attribute<>(
                 "showing",
                 window.isShowing(),
                 "showingProperty",
-                ObservableType.of(window.showingProperty()),
+                tracker.observableTypeOf("showing"),
                 DisplayHint.BOOLEAN,
                 ValueState.defaultIf(!window.isShowing())
-            );
-            case "outputScaleX" -> new Attribute<>(
+            ))
+            .add("outputScaleX", (tracker, window) -> new Attribute<>(
                 "outputScaleX",
                 window.getOutputScaleX(),
                 "outputScaleXProperty",
-                ObservableType.of(window.outputScaleXProperty()),
+                tracker.observableTypeOf("outputScaleX"),
                 DisplayHint.NUMERIC,
                 ValueState.defaultIf(window.getOutputScaleX() == 1.0)
-            );
-            case "outputScaleY" -> new Attribute<>(
+            ))
+            .add("outputScaleY", (tracker, window) -> new Attribute<>(
                 "outputScaleY",
                 window.getOutputScaleY(),
                 "outputScaleYProperty",
-                ObservableType.of(window.outputScaleYProperty()),
+                tracker.observableTypeOf("outputScaleY"),
                 DisplayHint.NUMERIC,
                 ValueState.defaultIf(window.getOutputScaleY() == 1.0)
-            );
-            case "renderScaleX" -> new Attribute<>(
+            ))
+            .add("renderScaleX", (tracker, window) -> new Attribute<>(
                 "renderScaleX",
                 window.getRenderScaleX(),
                 "renderScaleXProperty",
-                ObservableType.of(window.renderScaleXProperty()),
+                tracker.observableTypeOf("renderScaleX"),
                 DisplayHint.NUMERIC,
                 ValueState.defaultIf(window.getRenderScaleX() == 1.0)
-            );
-            case "renderScaleY" -> new Attribute<>(
+            ))
+            .add("renderScaleY", (tracker, window) -> new Attribute<>(
                 "renderScaleY",
                 window.getRenderScaleY(),
                 "renderScaleYProperty",
-                ObservableType.of(window.renderScaleYProperty()),
+                tracker.observableTypeOf("renderScaleY"),
                 DisplayHint.NUMERIC,
                 ValueState.defaultIf(window.getRenderScaleY() == 1.0)
-            );
-            case "forceIntegerRenderScale" -> new Attribute<>(
+            ))
+            .add("forceIntegerRenderScale", (tracker, window) -> new Attribute<>(
                 "forceIntegerRenderScale",
                 window.isForceIntegerRenderScale(),
                 "forceIntegerRenderScaleProperty",
-                ObservableType.of(window.forceIntegerRenderScaleProperty()),
+                tracker.observableTypeOf("forceIntegerRenderScale"),
                 DisplayHint.BOOLEAN,
                 ValueState.defaultIf(!window.isForceIntegerRenderScale())
-            );
-            case "userData" -> new Attribute<>(
+            ))
+            .add("userData", (tracker, window) -> new Attribute<>(
                 "userData",
-                String.valueOf(window.getUserData()),
+                tracker.format(window.getUserData()),
                 "userData",
                 ObservableType.NOT_OBSERVABLE,
                 DisplayHint.TEXT,
                 ValueState.defaultIf(window.getUserData() == null)
-            );
-            default -> null;
-        };
+            ))
+            .build();
     }
 }
@@ -1,6 +1,9 @@
 module devtoolsfx.connector {
 
     requires javafx.controls;
+    requires java.management;
+    requires jdk.jfr;
+    requires jdk.httpserver;
     requires static org.jspecify;
 
     exports devtoolsfx.connector;
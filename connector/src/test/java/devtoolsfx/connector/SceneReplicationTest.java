@@ -0,0 +1,171 @@
+package devtoolsfx.connector;
+
+import devtoolsfx.event.EventSource;
+import devtoolsfx.event.NodeAddedEvent;
+import devtoolsfx.event.NodeRemovedEvent;
+import devtoolsfx.event.RootChangedEvent;
+import devtoolsfx.scenegraph.ClassInfo;
+import devtoolsfx.scenegraph.Element;
+import devtoolsfx.scenegraph.WindowProperties;
+import javafx.scene.layout.Region;
+import javafx.scene.layout.StackPane;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.net.UnixDomainSocketAddress;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static devtoolsfx.connector.WireCodecTest.assertSameTree;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Replicates the scene graph through the wire frames without the FX toolkit
+ * and the socket, the same way {@link ConnectorServer} and {@link RemoteConnector} do.
+ */
+public class SceneReplicationTest {
+
+    static final EventSource SOURCE = new EventSource("test", 42, true);
+    static final ClassInfo STAGE_CLASS = new ClassInfo("javafx.graphics", "javafx.stage.Stage", "Stage");
+
+    final WireCodec codec = new WireCodec(0);
+    final List<byte[]> frames = new ArrayList<>();
+    final WireDictionary serverDictionary = new WireDictionary();
+    final WireDictionary clientDictionary = new WireDictionary();
+    final RemoteConnector client = new RemoteConnector(UnixDomainSocketAddress.of("unused.sock"));
+
+    // the flush is called manually instead of at the end of the FX thread cycle
+    final SceneReplicator replicator = createReplicator(serverDictionary);
+
+    final StackPane root = new StackPane();
+    final StackPane a = new StackPane();
+    final Region a1 = new Region();
+    final Region b = new Region();
+    final StackPane c = new StackPane();
+
+    @BeforeEach
+    public void setUp() {
+        a.getChildren().add(a1);
+        root.getChildren().addAll(a, b, c);
+
+        replicator.handle(new RootChangedEvent(SOURCE, createWindow()));
+        replicator.flush();
+        receiveAll(clientDictionary);
+    }
+
+    @Test
+    public void testSnapshotIsReplicated() {
+        var replica = client.getReplica(SOURCE.uid());
+
+        assertThat(replica).isNotNull();
+        assertSameTree(replica.getRoot(), createWindow());
+        assertThat(replica.getHash()).isEqualTo(SceneReplica.computeHash(createWindow()));
+    }
+
+    @Test
+    public void testRemoveAndMoveBatchMatchesResync() {
+        root.getChildren().remove(a);
+        replicator.handle(new NodeRemovedEvent(SOURCE, LocalElement.of(a)));
+        c.getChildren().add(a);
+        replicator.handle(new NodeAddedEvent(SOURCE, LocalElement.of(a)));
+        root.getChildren().remove(b);
+        replicator.handle(new NodeRemovedEvent(SOURCE, LocalElement.of(b)));
+        replicator.flush();
+
+        // the detached subtree is re-attached without transferring it again
+        assertThat(frames).hasSize(1);
+        var batch = receive(frames.getFirst(), new WireDictionary());
+        assertThat(batch.readInt()).isEqualTo(SOURCE.uid());
+        assertThat(batch.readVarLong()).isEqualTo(2);
+        assertThat(batch.readVarInt()).isEqualTo(SceneReplicator.REMOVE_OP);
+        assertThat(batch.readInt()).isEqualTo(a.hashCode());
+        assertThat(batch.readVarInt()).isEqualTo(SceneReplicator.MOVE_OP);
+        assertThat(batch.readInt()).isEqualTo(a.hashCode());
+        assertThat(batch.readInt()).isEqualTo(c.hashCode());
+        assertThat(batch.readVarInt()).isZero();
+        assertThat(batch.readVarInt()).isEqualTo(SceneReplicator.REMOVE_OP);
+        assertThat(batch.readInt()).isEqualTo(b.hashCode());
+        assertThat(batch.readVarInt()).isEqualTo(SceneReplicator.END_OP);
+
+        receiveAll(clientDictionary);
+        var replica = client.getReplica(SOURCE.uid());
+        var resynced = requestSnapshot();
+
+        assertThat(replica).isNotNull();
+        assertThat(replica.getSeq()).isEqualTo(resynced.getSeq());
+        assertSameTree(replica.getRoot(), resynced.getRoot());
+        assertSameTree(replica.getRoot(), createWindow());
+        assertThat(replica.getHash()).isEqualTo(resynced.getHash());
+        assertThat(replica.getHash()).isEqualTo(SceneReplica.computeHash(createWindow()));
+    }
+
+    @Test
+    public void testReconnectConfirmsTheKnownReplica() {
+        var replica = client.getReplica(SOURCE.uid());
+        assertThat(replica).isNotNull();
+
+        // the new session, the client declares the hash of the replica it already has
+        var dictionary = new WireDictionary();
+        var reconnected = createReplicator(dictionary);
+        reconnected.declare(SOURCE.uid(), replica.getHash());
+        reconnected.handle(new RootChangedEvent(SOURCE, createWindow()));
+        reconnected.flush();
+
+        var confirm = receive(frames.getFirst(), new WireDictionary());
+        confirm.readInt();
+        confirm.readVarLong();
+        assertThat(confirm.readVarInt()).isEqualTo(SceneReplicator.CONFIRM_OP);
+
+        receiveAll(new WireDictionary());
+        assertThat(client.getReplica(SOURCE.uid()).getRoot()).isSameAs(replica.getRoot());
+    }
+
+    ///////////////////////////////////////////////////////////////////////////
+
+    private SceneReplicator createReplicator(WireDictionary dictionary) {
+        return new SceneReplicator(codec, dictionary, out -> frames.add(out.finishToArray()), task -> { });
+    }
+
+    private Element createWindow() {
+        var window = new RemoteElement(SOURCE.uid(), STAGE_CLASS, null, new WindowProperties(
+            WindowProperties.WindowType.STAGE, List.of(), null, true, "Test", null
+        ));
+        window.addChild(LocalElement.of(root));
+        return window;
+    }
+
+    private void receiveAll(WireDictionary dictionary) {
+        for (var frame : frames) {
+            client.applySync(receive(frame, dictionary));
+        }
+        frames.clear();
+    }
+
+    private SceneReplica requestSnapshot() {
+        var request = new WireOutput(new WireDictionary());
+        request.begin(RemoteProtocol.REQUEST);
+        request.writeInt(SOURCE.uid());
+        var requestFrame = request.finishToArray();
+
+        var response = new WireOutput(serverDictionary);
+        response.begin(RemoteProtocol.RESPONSE);
+        replicator.writeSnapshot(receive(requestFrame, new WireDictionary(), RemoteProtocol.REQUEST), response);
+
+        var in = receive(response.finishToArray(), clientDictionary, RemoteProtocol.RESPONSE);
+        assertThat(in.readBoolean()).isTrue();
+        long seq = in.readVarLong();
+        var eventSource = codec.readEventSource(in);
+        return new SceneReplica(eventSource, (RemoteElement) codec.readElement(in), seq);
+    }
+
+    private static WireInput receive(byte[] frame, WireDictionary dictionary) {
+        return receive(frame, dictionary, RemoteProtocol.SYNC);
+    }
+
+    private static WireInput receive(byte[] frame, WireDictionary dictionary, int type) {
+        var in = new WireInput(Arrays.copyOfRange(frame, 4, frame.length), dictionary);
+        assertThat(in.readHeader()).isEqualTo(type);
+        return in;
+    }
+}
@@ -0,0 +1,231 @@
+package devtoolsfx.connector;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.net.StandardProtocolFamily;
+import java.net.UnixDomainSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class SharedRingBufferTest {
+
+    private static final int CAPACITY = 4096;
+
+    @TempDir
+    Path dir;
+
+    SharedRingBuffer consumer;
+    SharedRingBuffer producer;
+
+    @BeforeEach
+    public void setUp() throws IOException {
+        // the client creates the file and reads, the server maps it and writes
+        consumer = SharedRingBuffer.create(dir, CAPACITY);
+        producer = SharedRingBuffer.open(consumer.getPath());
+    }
+
+    @AfterEach
+    public void tearDown() {
+        consumer.close();
+    }
+
+    @Test
+    public void testFramesWrapAroundWithPadding() throws Exception {
+        var random = new Random(42);
+        var frames = new ArrayList<byte[]>();
+        // the sizes are not aligned to the record size, and the total is many times the capacity
+        for (int i = 0; i < 500; i++) {
+            frames.add(randomFrame(random, 1 + random.nextInt(producer.getMaxChunkSize())));
+        }
+
+        assertThat(transfer(frames)).containsExactlyElementsOf(frames);
+    }
+
+    @Test
+    public void testLargeFramesAreReassembled() throws Exception {
+        int maxChunkSize = producer.getMaxChunkSize();
+        var random = new Random(42);
+        var frames = List.of(
+            randomFrame(random, maxChunkSize),
+            randomFrame(random, maxChunkSize + 1),
+            randomFrame(random, 10),
+            randomFrame(random, maxChunkSize * 3),
+            randomFrame(random, maxChunkSize * 5 + 17),
+            randomFrame(random, 1)
+        );
+
+        assertThat(transfer(frames)).containsExactlyElementsOf(frames);
+    }
+
+    @Test
+    public void testEmptyFramesKeepTheConsumerInSync() throws Exception {
+        var random = new Random(42);
+        var frames = new ArrayList<byte[]>();
+        for (int i = 0; i < 200; i++) {
+            frames.add(new byte[0]);
+            frames.add(randomFrame(random, 1 + random.nextInt(CAPACITY)));
+        }
+
+        assertThat(transfer(frames)).containsExactlyElementsOf(frames);
+    }
+
+    @Test
+    public void testCloseReleasesTheBlockedProducer() throws Exception {
+        var frame = new byte[producer.getMaxChunkSize()];
+        // nobody reads, so the producer blocks when the buffer is full
+        var writer = CompletableFuture.supplyAsync(() -> {
+            while (true) {
+                if (!producer.write(frame, 0, frame.length)) {
+                    return false;
+                }
+            }
+        });
+
+        Thread.sleep(100);
+        assertThat(writer).isNotDone();
+
+        consumer.close();
+        assertThat(writer.get(5, TimeUnit.SECONDS)).isFalse();
+        assertThat(producer.isClosed()).isTrue();
+    }
+
+    @Test
+    public void testCloseReleasesTheBlockedConsumer() throws Exception {
+        var reader = CompletableFuture.supplyAsync(() -> consumer.read(buffer -> { }));
+
+        Thread.sleep(100);
+        assertThat(reader).isNotDone();
+
+        producer.close();
+        assertThat(reader.get(5, TimeUnit.SECONDS)).isFalse();
+    }
+
+    /**
+     * Compares the round trip latency with the Unix domain socket. It's only reported,
+     * because the absolute numbers depend on the machine.
+     */
+    @Test
+    public void testRoundTripLatency() throws Exception {
+        int iterations = 20_000;
+        var frame = randomFrame(new Random(42), 256);
+
+        var back = SharedRingBuffer.create(dir, CAPACITY);
+        var backProducer = SharedRingBuffer.open(back.getPath());
+        var echo = CompletableFuture.runAsync(() -> {
+            var copy = new byte[frame.length];
+            for (int i = 0; i < iterations; i++) {
+                consumer.read(buffer -> buffer.get(copy));
+                backProducer.write(copy, 0, copy.length);
+            }
+        });
+
+        long[] ringNanos = new long[iterations];
+        for (int i = 0; i < iterations; i++) {
+            long start = System.nanoTime();
+            producer.write(frame, 0, frame.length);
+            back.read(buffer -> { });
+            ringNanos[i] = System.nanoTime() - start;
+        }
+        echo.get(10, TimeUnit.SECONDS);
+        back.close();
+
+        long[] socketNanos = measureSocketRoundTrip(iterations, frame);
+
+        System.out.printf(
+            "Round trip of %d bytes, median: ring buffer %.1f us, Unix domain socket %.1f us%n",
+            frame.length, median(ringNanos) / 1000d, median(socketNanos) / 1000d
+        );
+        assertThat(median(ringNanos)).isPositive();
+        assertThat(median(socketNanos)).isPositive();
+    }
+
+    ///////////////////////////////////////////////////////////////////////////
+
+    private List<byte[]> transfer(List<byte[]> frames) throws Exception {
+        var writer = CompletableFuture.runAsync(() -> {
+            for (var frame : frames) {
+                assertThat(producer.write(frame, 0, frame.length)).isTrue();
+            }
+        });
+
+        var received = new ArrayList<byte[]>();
+        for (int i = 0; i < frames.size(); i++) {
+            assertThat(consumer.read(buffer -> {
+                var copy = new byte[buffer.remaining()];
+                buffer.get(copy);
+                received.add(copy);
+            })).isTrue();
+        }
+
+        writer.get(5, TimeUnit.SECONDS);
+        return received;
+    }
+
+    private long[] measureSocketRoundTrip(int iterations, byte[] frame) throws Exception {
+        var address = UnixDomainSocketAddress.of(dir.resolve("test.sock"));
+        try (var server = ServerSocketChannel.open(StandardProtocolFamily.UNIX)) {
+            server.bind(address);
+
+            var echo = CompletableFuture.runAsync(() -> {
+                try (var socket = server.accept()) {
+                    var buffer = ByteBuffer.allocate(frame.length);
+                    for (int i = 0; i < iterations; i++) {
+                        readFully(socket, buffer.clear());
+                        socket.write(buffer.flip());
+                    }
+                } catch (IOException e) {
+                    throw new RuntimeException(e);
+                }
+            });
+
+            long[] nanos = new long[iterations];
+            try (var socket = SocketChannel.open(address)) {
+                var out = ByteBuffer.wrap(frame);
+                var in = ByteBuffer.allocate(frame.length);
+                for (int i = 0; i < iterations; i++) {
+                    long start = System.nanoTime();
+                    socket.write(out.clear());
+                    readFully(socket, in.clear());
+                    nanos[i] = System.nanoTime() - start;
+                }
+            }
+
+            echo.get(10, TimeUnit.SECONDS);
+            return nanos;
+        }
+    }
+
+    private static void readFully(SocketChannel socket, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            if (socket.read(buffer) < 0) {
+                throw new IOException("Unexpected end of stream");
+            }
+        }
+    }
+
+    private static byte[] randomFrame(Random random, int size) {
+        var frame = new byte[size];
+        random.nextBytes(frame);
+        return frame;
+    }
+
+    private static long median(long[] values) {
+        var sorted = values.clone();
+        Arrays.sort(sorted);
+        return sorted[sorted.length / 2];
+    }
+}
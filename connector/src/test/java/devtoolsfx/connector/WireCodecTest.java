@@ -0,0 +1,157 @@
+package devtoolsfx.connector;
+
+import devtoolsfx.scenegraph.ClassInfo;
+import devtoolsfx.scenegraph.Element;
+import devtoolsfx.scenegraph.NodeProperties;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class WireCodecTest {
+
+    static final int TYPE = RemoteProtocol.EVENT;
+    static final ClassInfo PANE_CLASS = new ClassInfo("javafx.graphics", "javafx.scene.layout.StackPane", "StackPane");
+    static final ClassInfo REGION_CLASS = new ClassInfo("javafx.graphics", "javafx.scene.layout.Region", "Region");
+
+    final WireOutput out = new WireOutput(new WireDictionary());
+    final WireDictionary inbound = new WireDictionary();
+    final WireCodec codec = new WireCodec(0);
+
+    @ParameterizedTest
+    @ValueSource(ints = { 0, 1, 127, 128, 16_383, 16_384, Integer.MAX_VALUE, -1, Integer.MIN_VALUE })
+    public void testVarIntRoundTrip(int value) {
+        out.begin(TYPE);
+        out.writeVarInt(value);
+        out.writeSignedVarInt(value);
+
+        var in = receive(out);
+        assertThat(in.readVarInt()).isEqualTo(value);
+        assertThat(in.readSignedVarInt()).isEqualTo(value);
+        assertThat(in.remaining()).isZero();
+    }
+
+    @ParameterizedTest
+    @ValueSource(longs = { 0, 1, 127, 128, Integer.MAX_VALUE + 1L, Long.MAX_VALUE, -1, Long.MIN_VALUE })
+    public void testVarLongRoundTrip(long value) {
+        out.begin(TYPE);
+        out.writeVarLong(value);
+        out.writeSignedVarLong(value);
+
+        var in = receive(out);
+        assertThat(in.readVarLong()).isEqualTo(value);
+        assertThat(in.readSignedVarLong()).isEqualTo(value);
+        assertThat(in.remaining()).isZero();
+    }
+
+    @Test
+    public void testVarIntSize() {
+        assertThat(WireOutput.varIntSize(0)).isEqualTo(1);
+        assertThat(WireOutput.varIntSize(127)).isEqualTo(1);
+        assertThat(WireOutput.varIntSize(128)).isEqualTo(2);
+        assertThat(WireOutput.varIntSize(16_384)).isEqualTo(3);
+        // the negative values are unsigned, hence the zigzag encoding
+        assertThat(WireOutput.varIntSize(-1)).isEqualTo(5);
+    }
+
+    @Test
+    public void testZigZagKeepsSmallNegativeValuesShort() {
+        out.begin(TYPE);
+        out.writeSignedVarInt(-1);
+        out.writeSignedVarInt(-64);
+        var frame = out.finishToArray();
+
+        // the length prefix, the type, no symbols and two single byte varints
+        assertThat(frame).hasSize(4 + 1 + 1 + 2);
+    }
+
+    @Test
+    public void testStringRoundTrip() {
+        var strings = Arrays.asList(null, "", "ascii", "é€", "😀 surrogate pair");
+
+        out.begin(TYPE);
+        strings.forEach(out::writeString);
+
+        var in = receive(out);
+        for (var s : strings) {
+            assertThat(in.readString()).isEqualTo(s);
+        }
+        assertThat(in.remaining()).isZero();
+    }
+
+    @Test
+    public void testElementTreeRoundTrip() {
+        var root = new RemoteElement(1, PANE_CLASS, new NodeProperties(
+            "root", List.of("stack-pane", "root"), List.of("app.css"), "ua.css", false, true, true
+        ), null);
+        for (int uid = 2; uid < 5; uid++) {
+            var child = new RemoteElement(uid, REGION_CLASS, new NodeProperties(
+                null, List.of("child"), List.of(), null, false, false, uid % 2 == 0
+            ), null);
+            child.setParent(root);
+            root.addChild(child);
+        }
+
+        out.begin(TYPE);
+        codec.writeElement(out, root, true);
+        codec.writeElement(out, root, false);
+
+        var in = receive(out);
+        var deep = codec.readElement(in);
+        var shallow = codec.readElement(in);
+
+        assertSameTree(deep, root);
+        assertThat(shallow.getUID()).isEqualTo(root.getUID());
+        assertThat(shallow.getChildren()).isEmpty();
+        assertThat(deep.getChildren()).allSatisfy(child -> assertThat(child.getParent()).isSameAs(deep));
+    }
+
+    @Test
+    public void testProfileRoundTrip() {
+        var profile = new ProfileNode(FxThreadProfiler.ROOT_NAME, 10, 0, List.of(
+            new ProfileNode("a.B.c", 7, 2, List.of(new ProfileNode("a.B.d", 5, 5, List.of()))),
+            new ProfileNode("a.B.d", 3, 3, List.of())
+        ));
+
+        out.begin(TYPE);
+        codec.writeProfileNode(out, profile);
+
+        assertThat(codec.readProfileNode(receive(out))).isEqualTo(profile);
+    }
+
+    @Test
+    public void testKeyValuesRoundTrip() {
+        var keyValues = List.of(new KeyValue("java.version", "21"), new KeyValue("empty", null));
+
+        out.begin(TYPE);
+        codec.writeKeyValues(out, keyValues);
+
+        assertThat(codec.readKeyValues(receive(out))).isEqualTo(keyValues);
+    }
+
+    ///////////////////////////////////////////////////////////////////////////
+
+    /**
+     * Decodes the frame the same way the reader threads do.
+     */
+    WireInput receive(WireOutput out) {
+        var frame = out.finishToArray();
+        var in = new WireInput(Arrays.copyOfRange(frame, 4, frame.length), inbound);
+        assertThat(in.readHeader()).isEqualTo(TYPE);
+        return in;
+    }
+
+    static void assertSameTree(Element actual, Element expected) {
+        assertThat(actual.getUID()).isEqualTo(expected.getUID());
+        assertThat(actual.getClassInfo()).isEqualTo(expected.getClassInfo());
+        assertThat(actual.getNodeProperties()).isEqualTo(expected.getNodeProperties());
+        assertThat(actual.getChildren()).hasSameSizeAs(expected.getChildren());
+        for (int i = 0; i < expected.getChildren().size(); i++) {
+            assertSameTree(actual.getChildren().get(i), expected.getChildren().get(i));
+        }
+    }
+}
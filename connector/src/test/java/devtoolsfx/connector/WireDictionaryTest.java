@@ -0,0 +1,121 @@
+package devtoolsfx.connector;
+
+import devtoolsfx.scenegraph.ClassInfo;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class WireDictionaryTest {
+
+    static final int TYPE = RemoteProtocol.EVENT;
+
+    final WireDictionary outbound = new WireDictionary();
+    final WireDictionary inbound = new WireDictionary();
+    final WireOutput out = new WireOutput(outbound);
+
+    @Test
+    public void testSymbolIsDefinedOnce() {
+        out.begin(TYPE);
+        out.writeSymbol("style-class");
+        out.writeSymbol("style-class");
+        out.writeSymbol((String) null);
+        var first = out.finishToArray();
+
+        out.begin(TYPE);
+        out.writeSymbol("style-class");
+        var second = out.finishToArray();
+
+        var in = receive(first);
+        assertThat(in.readSymbol()).isEqualTo("style-class");
+        assertThat(in.readSymbol()).isEqualTo("style-class");
+        assertThat(in.readSymbol()).isNull();
+
+        // the later frame only contains the reference
+        assertThat(second).hasSize(4 + 1 + 1 + 1);
+        assertThat(receive(second).readSymbol()).isEqualTo("style-class");
+    }
+
+    @Test
+    public void testClassSymbolRoundTrip() {
+        var classInfo = new ClassInfo("javafx.controls", "javafx.scene.control.Button", "Button");
+
+        out.begin(TYPE);
+        out.writeSymbol(classInfo);
+        out.writeSymbol(classInfo);
+        var in = receive(out.finishToArray());
+
+        assertThat(in.readClassSymbol()).isEqualTo(classInfo);
+        assertThat(in.readClassSymbol()).isEqualTo(classInfo);
+        assertThat(outbound.getId(classInfo)).isNotZero();
+    }
+
+    @Test
+    public void testDiscardedFrameReleasesItsSymbols() {
+        out.begin(TYPE);
+        out.writeSymbol("discarded");
+        // the frame is replaced before it's sent, e.g. the request has failed
+        out.begin(TYPE);
+        assertThat(outbound.getId("discarded")).isZero();
+
+        out.writeSymbol("sent");
+        var in = receive(out.finishToArray());
+
+        // the released ID is reused, and the receiver never sees the discarded symbol
+        assertThat(outbound.getId("sent")).isEqualTo(WireDictionary.FIRST_ID);
+        assertThat(in.readSymbol()).isEqualTo("sent");
+        assertThat(inbound.get(WireDictionary.FIRST_ID)).isEqualTo("sent");
+
+        // the discarded symbol is defined again by the next frame that is sent
+        out.begin(TYPE);
+        out.writeSymbol("discarded");
+        assertThat(receive(out.finishToArray()).readSymbol()).isEqualTo("discarded");
+        assertThat(outbound.getId("discarded")).isEqualTo(WireDictionary.FIRST_ID + 1);
+    }
+
+    @Test
+    public void testReleasedIdsAreReused() {
+        int first = outbound.allocateId();
+        int second = outbound.allocateId();
+        outbound.release(first);
+        outbound.release(second);
+
+        assertThat(outbound.allocateId()).isEqualTo(second);
+        assertThat(outbound.allocateId()).isEqualTo(first);
+        assertThat(outbound.allocateId()).isEqualTo(second + 1);
+    }
+
+    @Test
+    public void testSymbolsAreInlinedWhenDictionaryIsFull() {
+        for (int i = 0; i < WireDictionary.MAX_SIZE; i++) {
+            assertThat(outbound.allocateId()).isNotZero();
+        }
+        assertThat(outbound.allocateId()).isZero();
+
+        out.begin(TYPE);
+        out.writeSymbol("inline");
+        out.writeSymbol(new ClassInfo("m", "a.B", "B"));
+        var in = receive(out.finishToArray());
+
+        assertThat(in.readSymbol()).isEqualTo("inline");
+        assertThat(in.readClassSymbol()).isEqualTo(new ClassInfo("m", "a.B", "B"));
+        assertThat(outbound.getId("inline")).isZero();
+    }
+
+    @Test
+    public void testUndefinedSymbolIsRejected() {
+        assertThatThrownBy(() -> inbound.get(WireDictionary.FIRST_ID)).isInstanceOf(IllegalStateException.class);
+        assertThatThrownBy(() -> inbound.define(WireDictionary.FIRST_ID + WireDictionary.MAX_SIZE, "overflow"))
+            .isInstanceOf(IllegalStateException.class);
+    }
+
+    ///////////////////////////////////////////////////////////////////////////
+
+    WireInput receive(byte[] frame) {
+        var in = new WireInput(Arrays.copyOfRange(frame, 4, frame.length), inbound);
+        assertThat(in.readHeader()).isEqualTo(TYPE);
+        return in;
+    }
+}
@@ -1,5 +1,7 @@
 package devtoolsfx;
 
+import devtoolsfx.connector.ConnectorServer;
+import devtoolsfx.connector.LocalConnector;
 import devtoolsfx.gui.GUI;
 import fr.brouillard.oss.cssfx.CSSFX;
 import javafx.application.Application;
@@ -10,6 +12,8 @@ import javafx.scene.layout.VBox;
 import javafx.stage.Modality;
 import javafx.stage.Stage;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.Base64;
 import java.util.Objects;
 import java.util.Random;
@@ -22,7 +26,7 @@ public class Launcher extends Application {
     static final String DATA_URI_PREFIX = "data:base64,";
 
     public static void main(String[] args) {
-        launch();
+        launch(args);
     }
 
     @Override
@@ -64,12 +68,27 @@ public class Launcher extends Application {
         scene.getStylesheets().add(getResource("/demo.css"));
         primaryStage.setScene(scene);
         primaryStage.setTitle("Demo");
-        primaryStage.setOnShown(e -> GUI.openToolStage(primaryStage, getHostServices()));
+        if (getParameters().getUnnamed().contains("--server")) {
+            // inspect with devtoolsfx.gui.RemoteGUI
+            startServer(primaryStage);
+        } else {
+            primaryStage.setOnShown(e -> GUI.openToolStage(primaryStage, getHostServices()));
+        }
         primaryStage.show();
 
         CSSFX.start();
     }
 
+    static void startServer(Stage primaryStage) {
+        var server = new ConnectorServer(new LocalConnector(primaryStage, "Demo"));
+        try {
+            server.start();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        primaryStage.setOnHidden(e -> server.stop());
+    }
+
     static String getResource(String path) {
         return Objects.requireNonNull(Launcher.class.getResource(path)).toString();
     }
@@ -1,6 +1,7 @@
 module devtoolsfx.demo {
 
     requires javafx.controls;
+    requires devtoolsfx.connector;
     requires devtoolsfx.gui;
     requires fr.brouillard.oss.cssfx;
 
@@ -1,6 +1,8 @@
 package devtoolsfx.gui;
 
+import devtoolsfx.connector.ConnectorServer;
 import devtoolsfx.connector.LocalConnector;
+import devtoolsfx.connector.RemoteConnector;
 import javafx.application.HostServices;
 import javafx.scene.Scene;
 import javafx.stage.Stage;
@@ -8,6 +10,7 @@ import javafx.stage.WindowEvent;
 import org.jspecify.annotations.NullMarked;
 import org.jspecify.annotations.Nullable;
 
+import java.net.SocketAddress;
 import java.net.URL;
 import java.util.Objects;
 
@@ -64,6 +67,45 @@ public final class GUI {
         toolStage.show();
     }
 
+    /**
+     * See @{@link #openRemoteToolStage(Stage, Preferences, SocketAddress, String)}.
+     */
+    public static void openRemoteToolStage(Stage toolStage,
+                                           Preferences preferences,
+                                           SocketAddress address) {
+        openRemoteToolStage(toolStage, preferences, address, null);
+    }
+
+    /**
+     * Starts the GUI in the given stage, which is connected to the application running
+     * in another JVM. The application must start the {@link ConnectorServer} on the given
+     * address. Unlike the embedded GUI, it adds no rendering cost to the application.
+     *
+     * @param toolStage   the stage to display the GUI
+     * @param preferences the initial GUI preferences
+     * @param address     the address of the connector server
+     * @param token       the connector server token, if null, it's read from the file
+     *                    written by the server, see {@link ConnectorServer#getTokenPath(SocketAddress)}
+     */
+    public static void openRemoteToolStage(Stage toolStage,
+                                           Preferences preferences,
+                                           SocketAddress address,
+                                           @Nullable String token) {
+        Objects.requireNonNull(toolStage, "toolStage can not be null");
+        Objects.requireNonNull(preferences, "preferences can not be null");
+        Objects.requireNonNull(address, "address can not be null");
+
+        var toolPane = new ToolPane(new RemoteConnector(address, null, true, token), preferences);
+        var scene = new Scene(toolPane, DEFAULT_STAGE_WIDTH, DEFAULT_STAGE_HEIGHT);
+        scene.setUserAgentStylesheet(USER_AGENT_STYLESHEET);
+
+        toolStage.setScene(scene);
+        toolStage.setTitle("devtoolsfx - " + address);
+        toolStage.setOnShown(e -> toolPane.getConnector().start());
+        toolStage.setOnHidden(e -> toolPane.getConnector().stop());
+        toolStage.show();
+    }
+
     /**
      * See @{@link #createToolPane(Stage, Preferences, String)}.
      */
@@ -24,6 +24,10 @@ public class Preferences {
     public static final int MIN_EVENT_LOG_SIZE = 10;
     public static final int MAX_EVENT_LOG_SIZE = 10_000_000;
     public static final int DEFAULT_EVENT_LOG_SIZE = 10_000;
+    public static final int MIN_STALL_THRESHOLD = 50;
+    public static final int MAX_STALL_THRESHOLD = 60_000;
+    public static final int MIN_PROFILER_SAMPLE_RATE = 1;
+    public static final int MAX_PROFILER_SAMPLE_RATE = 1_000;
     public static final boolean KEEP_ATTRIBUTES_SORT = true;
 
     protected final BooleanProperty autoRefreshSceneGraph = new SimpleBooleanProperty(true);
@@ -34,6 +38,14 @@ public class Preferences {
     protected final BooleanProperty showBoundsInParent = new SimpleBooleanProperty(true);
     protected final BooleanProperty showBaseline = new SimpleBooleanProperty(true);
     protected final BooleanProperty ignoreMouseTransparent = new SimpleBooleanProperty(false);
+    protected final BooleanProperty preserveLazyProperties = new SimpleBooleanProperty(false);
+    protected final BooleanProperty layoutTracking = new SimpleBooleanProperty(false);
+    protected final BooleanProperty pulseRecording = new SimpleBooleanProperty(false);
+    protected final BooleanProperty pulseOverlay = new SimpleBooleanProperty(false);
+    protected final BooleanProperty stallDetection = new SimpleBooleanProperty(false);
+    protected final BooleanProperty inputLatencyTracking = new SimpleBooleanProperty(false);
+    protected final IntegerProperty stallThreshold = new SimpleIntegerProperty(ConnectorOptions.DEFAULT_STALL_THRESHOLD);
+    protected final IntegerProperty profilerSampleRate = new SimpleIntegerProperty(ConnectorOptions.DEFAULT_PROFILER_SAMPLE_RATE);
     protected final BooleanProperty enableEventLog = new SimpleBooleanProperty(false); // non-UI
     protected final IntegerProperty maxEventLogSize = new SimpleIntegerProperty(DEFAULT_EVENT_LOG_SIZE);
     protected final BooleanProperty darkMode = new SimpleBooleanProperty(false);
@@ -177,6 +189,126 @@ public class Preferences {
         this.ignoreMouseTransparent.set(ignoreMouseTransparent);
     }
 
+    /**
+     * See {@link ConnectorOptions#isPreserveLazyProperties()}.
+     */
+    public boolean isPreserveLazyProperties() {
+        return preserveLazyProperties.get();
+    }
+
+    public BooleanProperty preserveLazyPropertiesProperty() {
+        return preserveLazyProperties;
+    }
+
+    public void setPreserveLazyProperties(boolean preserveLazyProperties) {
+        this.preserveLazyProperties.set(preserveLazyProperties);
+    }
+
+    /**
+     * See {@link ConnectorOptions#isLayoutTracking()}.
+     */
+    public boolean isLayoutTracking() {
+        return layoutTracking.get();
+    }
+
+    public BooleanProperty layoutTrackingProperty() {
+        return layoutTracking;
+    }
+
+    public void setLayoutTracking(boolean layoutTracking) {
+        this.layoutTracking.set(layoutTracking);
+    }
+
+    /**
+     * See {@link ConnectorOptions#isPulseRecording()}.
+     */
+    public boolean isPulseRecording() {
+        return pulseRecording.get();
+    }
+
+    public BooleanProperty pulseRecordingProperty() {
+        return pulseRecording;
+    }
+
+    public void setPulseRecording(boolean pulseRecording) {
+        this.pulseRecording.set(pulseRecording);
+    }
+
+    /**
+     * See {@link ConnectorOptions#isPulseOverlay()}.
+     */
+    public boolean isPulseOverlay() {
+        return pulseOverlay.get();
+    }
+
+    public BooleanProperty pulseOverlayProperty() {
+        return pulseOverlay;
+    }
+
+    public void setPulseOverlay(boolean pulseOverlay) {
+        this.pulseOverlay.set(pulseOverlay);
+    }
+
+    /**
+     * See {@link ConnectorOptions#isStallDetection()}.
+     */
+    public boolean isStallDetection() {
+        return stallDetection.get();
+    }
+
+    public BooleanProperty stallDetectionProperty() {
+        return stallDetection;
+    }
+
+    public void setStallDetection(boolean stallDetection) {
+        this.stallDetection.set(stallDetection);
+    }
+
+    /**
+     * See {@link ConnectorOptions#getStallThreshold()}.
+     */
+    public IntegerProperty stallThresholdProperty() {
+        return stallThreshold;
+    }
+
+    public int getStallThreshold() {
+        return stallThreshold.get();
+    }
+
+    public void setStallThreshold(int stallThreshold) {
+        this.stallThreshold.set(stallThreshold);
+    }
+
+    /**
+     * See {@link ConnectorOptions#isInputLatencyTracking()}.
+     */
+    public boolean isInputLatencyTracking() {
+        return inputLatencyTracking.get();
+    }
+
+    public BooleanProperty inputLatencyTrackingProperty() {
+        return inputLatencyTracking;
+    }
+
+    public void setInputLatencyTracking(boolean inputLatencyTracking) {
+        this.inputLatencyTracking.set(inputLatencyTracking);
+    }
+
+    /**
+     * See {@link ConnectorOptions#getProfilerSampleRate()}.
+     */
+    public IntegerProperty profilerSampleRateProperty() {
+        return profilerSampleRate;
+    }
+
+    public int getProfilerSampleRate() {
+        return profilerSampleRate.get();
+    }
+
+    public void setProfilerSampleRate(int profilerSampleRate) {
+        this.profilerSampleRate.set(profilerSampleRate);
+    }
+
     /**
      * Enables or disables runtime event logging.
      */
@@ -233,6 +365,14 @@ public class Preferences {
             ", showBoundsInParent=" + showBoundsInParent +
             ", showBaseline=" + showBaseline +
             ", ignoreMouseTransparent=" + ignoreMouseTransparent +
+            ", preserveLazyProperties=" + preserveLazyProperties +
+            ", layoutTracking=" + layoutTracking +
+            ", pulseRecording=" + pulseRecording +
+            ", pulseOverlay=" + pulseOverlay +
+            ", stallDetection=" + stallDetection +
+            ", stallThreshold=" + stallThreshold +
+            ", inputLatencyTracking=" + inputLatencyTracking +
+            ", profilerSampleRate=" + profilerSampleRate +
             ", enableEventLog=" + enableEventLog +
             ", maxEventLogSize=" + maxEventLogSize +
             ", darkMode=" + darkMode +
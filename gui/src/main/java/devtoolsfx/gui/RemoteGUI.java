@@ -0,0 +1,47 @@
+package devtoolsfx.gui;
+
+import devtoolsfx.connector.ConnectorServer;
+import javafx.application.Application;
+import javafx.stage.Stage;
+import org.jspecify.annotations.NullMarked;
+
+import java.net.InetSocketAddress;
+import java.net.SocketAddress;
+import java.net.UnixDomainSocketAddress;
+
+/**
+ * The standalone dev tools application, which inspects the application running in another JVM,
+ * see {@link GUI#openRemoteToolStage(Stage, Preferences, SocketAddress, String)}. The only argument
+ * is the connector server address, either {@code host:port} or {@code unix:/path/to/socket}.
+ * The default is {@code localhost:}{@link ConnectorServer#DEFAULT_PORT}. The server token
+ * is passed as {@code --token=<token>}, otherwise it's read from the file written by the server.
+ */
+@NullMarked
+public final class RemoteGUI extends Application {
+
+    static final String UNIX_PREFIX = "unix:";
+
+    public static void main(String[] args) {
+        launch(RemoteGUI.class, args);
+    }
+
+    @Override
+    public void start(Stage stage) {
+        var args = getParameters().getUnnamed();
+        var address = parseAddress(args.isEmpty() ? "localhost:" + ConnectorServer.DEFAULT_PORT : args.get(0));
+        var token = getParameters().getNamed().get("token");
+        GUI.openRemoteToolStage(stage, new Preferences(getHostServices()), address, token);
+    }
+
+    static SocketAddress parseAddress(String s) {
+        if (s.startsWith(UNIX_PREFIX)) {
+            return UnixDomainSocketAddress.of(s.substring(UNIX_PREFIX.length()));
+        }
+
+        int colon = s.lastIndexOf(':');
+        if (colon < 0) {
+            return new InetSocketAddress("localhost", Integer.parseInt(s));
+        }
+        return new InetSocketAddress(s.substring(0, colon), Integer.parseInt(s.substring(colon + 1)));
+    }
+}
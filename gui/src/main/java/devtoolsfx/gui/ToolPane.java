@@ -4,12 +4,18 @@ import devtoolsfx.connector.Connector;
 import devtoolsfx.connector.ConnectorOptions;
 import devtoolsfx.connector.Env;
 import devtoolsfx.connector.HighlightOptions;
+import devtoolsfx.connector.InputLatencyReport;
+import devtoolsfx.connector.ProfileNode;
+import devtoolsfx.connector.PulseMetrics;
 import devtoolsfx.event.*;
 import devtoolsfx.gui.controls.Dialog;
 import devtoolsfx.gui.controls.TabLine;
 import devtoolsfx.gui.env.EnvironmentTab;
 import devtoolsfx.gui.eventlog.EventLogTab;
 import devtoolsfx.gui.inspector.InspectorTab;
+import devtoolsfx.gui.perf.PerformanceTab;
+import devtoolsfx.gui.perf.ProfilerTab;
+import devtoolsfx.gui.perf.TimelineTab;
 import devtoolsfx.gui.preferences.PreferencesTab;
 import devtoolsfx.gui.style.StylesheetTab;
 import devtoolsfx.gui.util.Formatters;
@@ -34,6 +40,7 @@ import java.lang.System.Logger;
 import java.lang.System.Logger.Level;
 import java.lang.Thread.UncaughtExceptionHandler;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * The embeddable development tools root node.
@@ -55,6 +62,14 @@ public final class ToolPane extends BorderPane {
 
     private final ChangeListener<Boolean> ignoreMouseTransparentListener;
     private final ChangeListener<Boolean> preventPopupAutoHideListener;
+    private final ChangeListener<Boolean> preserveLazyPropertiesListener;
+    private final ChangeListener<Boolean> layoutTrackingListener;
+    private final ChangeListener<Boolean> pulseRecordingListener;
+    private final ChangeListener<Boolean> pulseOverlayListener;
+    private final ChangeListener<Boolean> stallDetectionListener;
+    private final ChangeListener<Number> stallThresholdListener;
+    private final ChangeListener<Boolean> inputLatencyTrackingListener;
+    private final ChangeListener<Number> profilerSampleRateListener;
     private final Runnable refreshSelectionHandler;
 
     // tabs
@@ -62,6 +77,9 @@ public final class ToolPane extends BorderPane {
         InspectorTab.TAB_NAME,
         EventLogTab.TAB_NAME,
         StylesheetTab.TAB_NAME,
+        PerformanceTab.TAB_NAME,
+        ProfilerTab.TAB_NAME,
+        TimelineTab.TAB_NAME,
         EnvironmentTab.TAB_NAME,
         PreferencesTab.TAB_NAME
     );
@@ -69,6 +87,9 @@ public final class ToolPane extends BorderPane {
     private final InspectorTab inspectorTab;
     private final EventLogTab eventLogTab;
     private final StylesheetTab stylesheetTab;
+    private final PerformanceTab performanceTab;
+    private final ProfilerTab profilerTab;
+    private final TimelineTab timelineTab;
     private final EnvironmentTab environmentTab;
     private final PreferencesTab preferencesTab;
     private final Button inspectButton = new Button();
@@ -84,11 +105,22 @@ public final class ToolPane extends BorderPane {
         inspectorTab = new InspectorTab(this);
         eventLogTab = new EventLogTab(this);
         stylesheetTab = new StylesheetTab(this);
+        performanceTab = new PerformanceTab(this);
+        profilerTab = new ProfilerTab(this);
+        timelineTab = new TimelineTab(this);
         environmentTab = new EnvironmentTab(this);
         preferencesTab = new PreferencesTab(this);
 
         ignoreMouseTransparentListener = (obs, old, val) -> connectorOpts.setIgnoreMouseTransparent(val);
         preventPopupAutoHideListener = (obs, old, val) -> connectorOpts.setPreventPopupAutoHide(val);
+        preserveLazyPropertiesListener = (obs, old, val) -> connectorOpts.setPreserveLazyProperties(val);
+        layoutTrackingListener = (obs, old, val) -> connectorOpts.setLayoutTracking(val);
+        pulseRecordingListener = (obs, old, val) -> connectorOpts.setPulseRecording(val);
+        pulseOverlayListener = (obs, old, val) -> connectorOpts.setPulseOverlay(val);
+        stallDetectionListener = (obs, old, val) -> connectorOpts.setStallDetection(val);
+        stallThresholdListener = (obs, old, val) -> connectorOpts.setStallThreshold(val.intValue());
+        inputLatencyTrackingListener = (obs, old, val) -> connectorOpts.setInputLatencyTracking(val);
+        profilerSampleRateListener = (obs, old, val) -> connectorOpts.setProfilerSampleRate(val.intValue());
         refreshSelectionHandler = () -> getConnector().refreshSelection();
 
         createLayout();
@@ -124,6 +156,11 @@ public final class ToolPane extends BorderPane {
 
     public class ConnectorAdapter {
 
+        // reflective attributes are the most expensive to obtain, so they're not loaded by default
+        private final Set<AttributeCategory> activeAttributeCategories = EnumSet.complementOf(
+            EnumSet.of(AttributeCategory.REFLECTIVE)
+        );
+
         /**
          * See {@link Connector#start()}.
          */
@@ -135,7 +172,7 @@ public final class ToolPane extends BorderPane {
          * See {@link Connector#stop()}}.
          */
         public void stop() {
-            connector.start();
+            connector.stop();
         }
 
         /**
@@ -150,6 +187,7 @@ public final class ToolPane extends BorderPane {
          */
         public void selectElement(int uid, Element element) {
             inspectorTab.clearAttributes();
+            connector.setActiveAttributeCategories(uid, activeAttributeCategories);
 
             if (element.isWindowElement()) {
                 connector.selectWindow(uid);
@@ -177,6 +215,153 @@ public final class ToolPane extends BorderPane {
             connector.reloadSelectedAttributes(uid, category, property);
         }
 
+        /**
+         * Returns the attribute categories that are currently loaded for the selected element.
+         */
+        public Set<AttributeCategory> getActiveAttributeCategories() {
+            return Collections.unmodifiableSet(activeAttributeCategories);
+        }
+
+        /**
+         * Activates or deactivates the specified attribute category for the selected element.
+         * See {@link Connector#setActiveAttributeCategories(int, Set)}}.
+         */
+        public void setAttributeCategoryActive(AttributeCategory category, boolean active) {
+            boolean changed = active
+                ? activeAttributeCategories.add(category)
+                : activeAttributeCategories.remove(category);
+            if (!changed) {
+                return;
+            }
+
+            Element selected = inspectorTab.getSelectedTreeElement();
+            if (selected == null) {
+                return;
+            }
+
+            int uid = inspectorTab.getWindow(selected);
+            if (uid == 0) {
+                return;
+            }
+
+            connector.setActiveAttributeCategories(uid, activeAttributeCategories);
+        }
+
+        /**
+         * See {@link Connector#getAttributeValue(int, AttributeCategory, String)}}.
+         */
+        public CompletableFuture<@Nullable String> getAttributeValue(AttributeCategory category, String attribute) {
+            Element selected = inspectorTab.getSelectedTreeElement();
+            if (selected == null) {
+                return CompletableFuture.completedFuture(null);
+            }
+
+            int uid = inspectorTab.getWindow(selected);
+            if (uid == 0) {
+                return CompletableFuture.completedFuture(null);
+            }
+
+            return connector.getAttributeValue(uid, category, attribute);
+        }
+
+        /**
+         * See {@link Connector#getPulseMetrics()}}.
+         */
+        public CompletableFuture<PulseMetrics> getPulseMetrics() {
+            return connector.getPulseMetrics();
+        }
+
+        /**
+         * See {@link Connector#resetPulseMetrics()}}.
+         */
+        public void resetPulseMetrics() {
+            connector.resetPulseMetrics();
+        }
+
+        /**
+         * See {@link Connector#getInputLatencyReport()}}.
+         */
+        public CompletableFuture<InputLatencyReport> getInputLatencyReport() {
+            return connector.getInputLatencyReport();
+        }
+
+        /**
+         * See {@link Connector#resetInputLatency()}}.
+         */
+        public void resetInputLatency() {
+            connector.resetInputLatency();
+        }
+
+        /**
+         * See {@link Connector#startProfiling()}}.
+         */
+        public void startProfiling() {
+            connector.startProfiling();
+        }
+
+        /**
+         * See {@link Connector#stopProfiling()}}.
+         */
+        public void stopProfiling() {
+            connector.stopProfiling();
+        }
+
+        /**
+         * See {@link Connector#resetProfiling()}}.
+         */
+        public void resetProfiling() {
+            connector.resetProfiling();
+        }
+
+        /**
+         * See {@link Connector#getProfile()}}.
+         */
+        public CompletableFuture<ProfileNode> getProfile() {
+            return connector.getProfile();
+        }
+
+        /**
+         * See {@link Connector#startTimelineRecording()}}.
+         */
+        public void startTimelineRecording() {
+            connector.startTimelineRecording();
+        }
+
+        /**
+         * See {@link Connector#stopTimelineRecording()}}.
+         */
+        public void stopTimelineRecording() {
+            connector.stopTimelineRecording();
+        }
+
+        /**
+         * Adds the selected element property to the watch list.
+         * See {@link Connector#watchAttribute(int, Element, String)}}.
+         */
+        public CompletableFuture<Boolean> watchAttribute(String property) {
+            Element selected = inspectorTab.getSelectedTreeElement();
+            if (selected == null || !selected.isNodeElement()) {
+                return CompletableFuture.completedFuture(false);
+            }
+
+            int uid = inspectorTab.getWindow(selected);
+            if (uid == 0) {
+                return CompletableFuture.completedFuture(false);
+            }
+
+            return connector.watchAttribute(uid, selected, property);
+        }
+
+        /**
+         * See {@link Connector#unwatchAttribute(int, Element, String)}}.
+         */
+        public void unwatchAttribute(Element element, String property) {
+            int uid = inspectorTab.getWindow(element);
+            if (uid != 0) {
+                connector.unwatchAttribute(uid, element, property);
+            }
+        }
+
         /**
          * See {@link Connector#clearSelection(int)}}.
          */
@@ -208,35 +393,35 @@ public final class ToolPane extends BorderPane {
         /**
          * Returns the identifiers of the currently monitored windows.
          */
-        public List<Integer> getMonitorIdentifiers() {
-            return connector.getEventSources().stream().map(EventSource::uid).toList();
+        public CompletableFuture<List<Integer>> getMonitorIdentifiers() {
+            return connector.getEventSources().thenApply(sources -> sources.stream().map(EventSource::uid).toList());
         }
 
         /**
          * See {@link Connector#getStyledElements(int)}}.
          */
-        public Map.@Nullable Entry<WindowProperties, List<Element>> getStyledElements(int uid) {
+        public CompletableFuture<Map.@Nullable Entry<WindowProperties, List<Element>>> getStyledElements(int uid) {
             return connector.getStyledElements(uid);
         }
 
         /**
          * See {@link Connector#getUserAgentStylesheet()}}.
          */
-        public String getUserAgentStylesheet() {
+        public CompletableFuture<String> getUserAgentStylesheet() {
             return connector.getUserAgentStylesheet();
         }
 
         /**
          * See {@link Connector#getResource(int, String)}}.
          */
-        public @Nullable String getResource(int uid, String uri) {
+        public CompletableFuture<@Nullable String> getResource(int uid, String uri) {
             return connector.getResource(uid, uri);
         }
 
         /**
          * See {@link Connector#getDeclaringClass(String, String)}}.
          */
-        public @Nullable String getDeclaringClass(String className, String property) {
+        public CompletableFuture<@Nullable String> getDeclaringClass(String className, String property) {
             return connector.getDeclaringClass(className, property);
         }
     }
@@ -273,6 +458,9 @@ public final class ToolPane extends BorderPane {
             inspectorTab,
             eventLogTab,
             stylesheetTab,
+            performanceTab,
+            profilerTab,
+            timelineTab,
             environmentTab,
             preferencesTab
         );
@@ -288,6 +476,30 @@ public final class ToolPane extends BorderPane {
         preferences.preventPopupAutoHideProperty().addListener(preventPopupAutoHideListener);
         connectorOpts.setPreventPopupAutoHide(preferences.isPreventPopupAutoHide());
 
+        preferences.preserveLazyPropertiesProperty().addListener(preserveLazyPropertiesListener);
+        connectorOpts.setPreserveLazyProperties(preferences.isPreserveLazyProperties());
+
+        preferences.layoutTrackingProperty().addListener(layoutTrackingListener);
+        connectorOpts.setLayoutTracking(preferences.isLayoutTracking());
+
+        preferences.pulseRecordingProperty().addListener(pulseRecordingListener);
+        connectorOpts.setPulseRecording(preferences.isPulseRecording());
+
+        preferences.pulseOverlayProperty().addListener(pulseOverlayListener);
+        connectorOpts.setPulseOverlay(preferences.isPulseOverlay());
+
+        preferences.stallDetectionProperty().addListener(stallDetectionListener);
+        connectorOpts.setStallDetection(preferences.isStallDetection());
+
+        preferences.stallThresholdProperty().addListener(stallThresholdListener);
+        connectorOpts.setStallThreshold(preferences.getStallThreshold());
+
+        preferences.inputLatencyTrackingProperty().addListener(inputLatencyTrackingListener);
+        connectorOpts.setInputLatencyTracking(preferences.isInputLatencyTracking());
+
+        preferences.profilerSampleRateProperty().addListener(profilerSampleRateListener);
+        connectorOpts.setProfilerSampleRate(preferences.getProfilerSampleRate());
+
         preferences.showLayoutBoundsProperty().subscribe(refreshSelectionHandler);
         preferences.showBoundsInParentProperty().subscribe(refreshSelectionHandler);
         preferences.showBaselineProperty().subscribe(refreshSelectionHandler);
@@ -302,6 +514,15 @@ public final class ToolPane extends BorderPane {
                     stylesheetTab.toFront();
                     stylesheetTab.update();
                 }
+                case PerformanceTab.TAB_NAME -> {
+                    performanceTab.toFront();
+                    performanceTab.update();
+                }
+                case ProfilerTab.TAB_NAME -> {
+                    profilerTab.toFront();
+                    profilerTab.update();
+                }
+                case TimelineTab.TAB_NAME -> timelineTab.toFront();
                 case EnvironmentTab.TAB_NAME -> {
                     environmentTab.toFront();
                     environmentTab.update();
@@ -360,14 +581,27 @@ public final class ToolPane extends BorderPane {
 
     private void dispatchEvent(ConnectorEvent connectorEvent) {
         eventLogTab.offer(connectorEvent);
+        timelineTab.addEvent(connectorEvent);
 
         switch (connectorEvent) {
+            case AttributeCategoriesEvent event -> inspectorTab.setAttributeCategories(event.categories());
             case AttributeListEvent event -> inspectorTab.setAttributes(
                 event.category(), event.attributes()
             );
-            case AttributeUpdatedEvent event -> inspectorTab.updateAttribute(
+            case AttributeUpdatedEvent event -> inspectorTab.updateAttributes(
+                event.category(), event.attributes()
+            );
+            case AttributeCollectionEvent event -> inspectorTab.applyCollectionChanges(
+                event.category(), event.attribute(), event.changes()
+            );
+            case SlowAttributeEvent event -> inspectorTab.markSlowAttribute(
                 event.category(), event.attribute()
             );
+            case StallEvent event -> performanceTab.addStall(event);
+            case TimelineEvent event -> timelineTab.addSamples(event.samples());
+            case LayoutHotSpotsEvent event -> inspectorTab.updateLayoutHotSpots(
+                event.eventSource().uid(), event.hotSpots()
+            );
             case NodeAddedEvent event -> inspectorTab.addTreeElement(event.element());
             case NodeRemovedEvent event -> inspectorTab.removeTreeElement(event.element());
             case NodeSelectedEvent event -> {
@@ -381,7 +615,12 @@ public final class ToolPane extends BorderPane {
             case NodeVisibilityEvent event -> inspectorTab.updateTreeElementVisibilityState(
                 event.element(), event.visible()
             );
+            case PerformanceEntriesEvent event -> {
+                performanceTab.addPerformanceEntries(event.entries());
+                timelineTab.addPerformanceEntries(event.entries());
+            }
             case RootChangedEvent event -> inspectorTab.addOrUpdateWindow(event.element());
+            case WatchedAttributesEvent event -> inspectorTab.updateWatchedAttributes(event.attributes());
             case WindowClosedEvent event -> inspectorTab.removeWindow(event.eventSource().uid());
             default -> {
                 // if there's no specific event here, then it's just for logging
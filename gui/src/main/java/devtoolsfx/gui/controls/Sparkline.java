@@ -0,0 +1,80 @@
+package devtoolsfx.gui.controls;
+
+import javafx.scene.layout.Region;
+import javafx.scene.shape.Polyline;
+import org.jspecify.annotations.NullMarked;
+
+/**
+ * A minimal line chart without axes, which displays the value trend over time.
+ * The chart is scaled to fit the data, so that small changes are visible as well.
+ */
+@NullMarked
+public final class Sparkline extends Region {
+
+    private final Polyline line = new Polyline();
+
+    private long[] timestamps = new long[0];
+    private double[] values = new double[0];
+    private int count;
+
+    public Sparkline() {
+        super();
+
+        line.getStyleClass().add("line");
+        line.setManaged(false);
+
+        getStyleClass().add("sparkline");
+        getChildren().add(line);
+        setPrefSize(200, 30);
+    }
+
+    /**
+     * Sets the chart data. The arrays are not copied, so they must not be modified afterward.
+     *
+     * @param timestamps the sample timestamps in ascending order
+     * @param values     the sample values
+     * @param count      the number of samples to display
+     */
+    public void setData(long[] timestamps, double[] values, int count) {
+        if (count > timestamps.length || count > values.length) {
+            throw new IllegalArgumentException("Sample count exceeds the data length");
+        }
+
+        this.timestamps = timestamps;
+        this.values = values;
+        this.count = count;
+        requestLayout();
+    }
+
+    @Override
+    protected void layoutChildren() {
+        line.getPoints().clear();
+        if (count == 0) {
+            return;
+        }
+
+        double x = snappedLeftInset();
+        double y = snappedTopInset();
+        double w = getWidth() - x - snappedRightInset();
+        double h = getHeight() - y - snappedBottomInset();
+
+        double min = Double.POSITIVE_INFINITY;
+        double max = Double.NEGATIVE_INFINITY;
+        for (int i = 0; i < count; i++) {
+            min = Math.min(min, values[i]);
+            max = Math.max(max, values[i]);
+        }
+
+        long start = timestamps[0];
+        long duration = Math.max(1, timestamps[count - 1] - start);
+        double range = max - min;
+
+        var points = new Double[count * 2];
+        for (int i = 0; i < count; i++) {
+            points[i * 2] = x + (count == 1 ? w : w * (timestamps[i] - start) / duration);
+            // flat line in the middle if all values are the same
+            points[i * 2 + 1] = y + (range == 0 ? h / 2 : h - h * (values[i] - min) / range);
+        }
+        line.getPoints().setAll(points);
+    }
+}
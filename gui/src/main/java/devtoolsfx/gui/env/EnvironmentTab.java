@@ -3,6 +3,7 @@ package devtoolsfx.gui.env;
 import devtoolsfx.connector.ConnectorOptions;
 import devtoolsfx.connector.Env;
 import devtoolsfx.connector.KeyValue;
+import devtoolsfx.connector.PulseMetrics;
 import devtoolsfx.gui.ToolPane;
 import devtoolsfx.gui.controls.Dialog;
 import devtoolsfx.gui.controls.FilterField;
@@ -24,8 +25,10 @@ import javafx.scene.layout.VBox;
 import org.jspecify.annotations.NullMarked;
 import org.jspecify.annotations.Nullable;
 
+import java.text.DecimalFormat;
 import java.util.Collection;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 import java.util.function.Function;
 import java.util.stream.Stream;
 
@@ -37,6 +40,7 @@ public class EnvironmentTab extends VBox {
     private static final int MIN_FILTER_LENGTH = 3;
     private static final PseudoClass GROUP = PseudoClass.getPseudoClass("group");
     private static final PseudoClass LEAF = PseudoClass.getPseudoClass("leaf");
+    private static final DecimalFormat DECIMAL_FORMAT = new DecimalFormat("0.##");
 
     private final FilterField filterField = new FilterField();
     private final TreeTableView<KeyValue> kvTable = new TreeTableView<>();
@@ -50,6 +54,9 @@ public class EnvironmentTab extends VBox {
     private final FilterableTreeItem<KeyValue> envVariablesRoot = new FilterableTreeItem<>(
         new KeyValue("Environment Variables", null)
     );
+    private final FilterableTreeItem<KeyValue> pulseMetricsRoot = new FilterableTreeItem<>(
+        new KeyValue("Pulse Metrics", null)
+    );
     private @Nullable Dialog<TextView> textViewDialog = null;
 
     private final ToolPane toolPane;
@@ -66,30 +73,39 @@ public class EnvironmentTab extends VBox {
     }
 
     public void update() {
-        var platformProps = Stream.of(
-                env.getConditionalFeatures(),
-                env.getPlatformPreferences(),
-                env.getOtherPlatformProperties()
-            )
-            .flatMap(Collection::stream)
-            .sorted()
-            .map(TreeItem::new)
-            .toList();
-        platformRoot.setItems(platformProps);
-
-        var systemProps = env.getSystemProperties().stream()
-            .sorted()
-            .map(TreeItem::new)
-            .toList();
-        propertiesRoot.setItems(systemProps);
-
-        var envVariables = env.getEnvVariables().stream()
-            .sorted()
-            .map(TreeItem::new)
-            .toList();
-        envVariablesRoot.setItems(envVariables);
-
-        setFilter(filterField.getText());
+        var conditionalFeatures = env.getConditionalFeatures();
+        var platformPreferences = env.getPlatformPreferences();
+        var otherPlatformProperties = env.getOtherPlatformProperties();
+        var systemProperties = env.getSystemProperties();
+        var envVariables = env.getEnvVariables();
+        var pulseMetrics = toolPane.getConnector().getPulseMetrics();
+
+        // the futures are completed in the FX thread, so the table is only updated once
+        CompletableFuture.allOf(
+            conditionalFeatures,
+            platformPreferences,
+            otherPlatformProperties,
+            systemProperties,
+            envVariables,
+            pulseMetrics
+        ).thenRun(() -> {
+            var platformProps = Stream.of(
+                    conditionalFeatures.join(),
+                    platformPreferences.join(),
+                    otherPlatformProperties.join()
+                )
+                .flatMap(Collection::stream)
+                .sorted()
+                .map(TreeItem::new)
+                .toList();
+            platformRoot.setItems(platformProps);
+
+            propertiesRoot.setItems(toSortedItems(systemProperties.join()));
+            envVariablesRoot.setItems(toSortedItems(envVariables.join()));
+            pulseMetricsRoot.setItems(createPulseMetricsItems(pulseMetrics.join()));
+
+            setFilter(filterField.getText());
+        });
     }
 
     ///////////////////////////////////////////////////////////////////////////
@@ -108,8 +124,9 @@ public class EnvironmentTab extends VBox {
         platformRoot.setExpanded(true);
         propertiesRoot.setExpanded(true);
         envVariablesRoot.setExpanded(true);
+        pulseMetricsRoot.setExpanded(true);
 
-        treeRoot.setItems(List.of(platformRoot, propertiesRoot, envVariablesRoot));
+        treeRoot.setItems(List.of(pulseMetricsRoot, platformRoot, propertiesRoot, envVariablesRoot));
         kvTable.setRoot(treeRoot);
         kvTable.setShowRoot(false);
 
@@ -191,9 +208,15 @@ public class EnvironmentTab extends VBox {
         var refresh = new MenuItem("Refresh");
         refresh.setOnAction(e -> update());
 
+        var resetPulseMetrics = new MenuItem("Reset pulse metrics");
+        resetPulseMetrics.setOnAction(e -> {
+            toolPane.getConnector().resetPulseMetrics();
+            update();
+        });
+
         var contextMenu = new ContextMenu();
         contextMenu.setId(ConnectorOptions.AUX_NODE_ID_PREFIX + "envTableOptionsMenu");
-        contextMenu.getItems().addAll(refresh);
+        contextMenu.getItems().addAll(refresh, resetPulseMetrics);
 
         return contextMenu;
     }
@@ -203,10 +226,12 @@ public class EnvironmentTab extends VBox {
             platformRoot.setFilterPredicate(item -> containsIgnoreCase(item.getValue().key(), filter));
             propertiesRoot.setFilterPredicate(item -> containsIgnoreCase(item.getValue().key(), filter));
             envVariablesRoot.setFilterPredicate(item -> containsIgnoreCase(item.getValue().key(), filter));
+            pulseMetricsRoot.setFilterPredicate(item -> containsIgnoreCase(item.getValue().key(), filter));
         } else {
             platformRoot.setFilterPredicate(null);
             propertiesRoot.setFilterPredicate(null);
             envVariablesRoot.setFilterPredicate(null);
+            pulseMetricsRoot.setFilterPredicate(null);
         }
 
         refreshRootFilter();
@@ -243,6 +268,31 @@ public class EnvironmentTab extends VBox {
         return textViewDialog;
     }
 
+    private List<TreeItem<KeyValue>> toSortedItems(List<KeyValue> values) {
+        return values.stream()
+            .sorted()
+            .map(TreeItem::new)
+            .toList();
+    }
+
+    private List<TreeItem<KeyValue>> createPulseMetricsItems(PulseMetrics metrics) {
+        if (metrics.pulseCount() == 0) {
+            return List.of(new TreeItem<>(new KeyValue("pulses", "not recorded, see the preferences")));
+        }
+
+        return Stream.of(
+                new KeyValue("pulses", String.valueOf(metrics.pulseCount())),
+                new KeyValue("dropped frames", String.valueOf(metrics.droppedFrames())),
+                new KeyValue("fps", DECIMAL_FORMAT.format(metrics.fps())),
+                new KeyValue("frame time p50", DECIMAL_FORMAT.format(metrics.p50()) + " ms"),
+                new KeyValue("frame time p95", DECIMAL_FORMAT.format(metrics.p95()) + " ms"),
+                new KeyValue("frame time p99", DECIMAL_FORMAT.format(metrics.p99()) + " ms"),
+                new KeyValue("frame time max", DECIMAL_FORMAT.format(metrics.max()) + " ms")
+            )
+            .map(TreeItem::new)
+            .toList();
+    }
+
     private boolean containsIgnoreCase(@Nullable String str, @Nullable String subStr) {
         return str != null && (subStr == null || str.toLowerCase().contains(subStr.toLowerCase()));
     }
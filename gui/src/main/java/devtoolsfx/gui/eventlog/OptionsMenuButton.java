@@ -4,6 +4,7 @@ import devtoolsfx.connector.ConnectorOptions;
 import devtoolsfx.event.ConnectorEvent;
 import devtoolsfx.event.JavaFXEvent;
 import devtoolsfx.event.MousePosEvent;
+import devtoolsfx.event.TimelineEvent;
 import devtoolsfx.event.WindowPropertiesEvent;
 import javafx.event.ActionEvent;
 import javafx.event.EventHandler;
@@ -21,6 +22,7 @@ final class OptionsMenuButton extends MenuButton {
     private static final Set<Class<? extends ConnectorEvent>> PREDISABLED_EVENTS = Set.of(
         JavaFXEvent.class,
         MousePosEvent.class,
+        TimelineEvent.class,
         WindowPropertiesEvent.class
     );
 
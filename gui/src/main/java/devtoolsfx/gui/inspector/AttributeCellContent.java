@@ -3,9 +3,15 @@ package devtoolsfx.gui.inspector;
 import devtoolsfx.gui.Preferences;
 import devtoolsfx.scenegraph.attributes.Attribute;
 import devtoolsfx.scenegraph.attributes.AttributeCategory;
+import devtoolsfx.scenegraph.attributes.CollectionChange;
+import javafx.beans.property.ReadOnlyObjectProperty;
+import javafx.beans.property.ReadOnlyObjectWrapper;
 import org.jspecify.annotations.NullMarked;
 import org.jspecify.annotations.Nullable;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
 import java.util.Objects;
 
 import static devtoolsfx.scenegraph.attributes.AttributeCategory.REFLECTIVE;
@@ -14,12 +20,21 @@ import static devtoolsfx.scenegraph.attributes.AttributeCategory.REFLECTIVE;
 final class AttributeCellContent implements Comparable<AttributeCellContent> {
 
     private final @Nullable AttributeCategory category;
-    private final @Nullable Attribute<?> attribute;
+    private final ReadOnlyObjectWrapper<@Nullable Attribute<?>> attribute;
+    // the mutable copy of the collection attribute value, which is created
+    // on the first collection change and then patched by subsequent changes
+    private @Nullable List<String> collection;
+    // the numeric or bounds value history, if applicable
+    private @Nullable ValueHistory history;
 
     private AttributeCellContent(@Nullable AttributeCategory category,
                                  @Nullable Attribute<?> attribute) {
         this.category = category;
-        this.attribute = attribute;
+        this.attribute = new ReadOnlyObjectWrapper<>(attribute);
+
+        if (attribute != null) {
+            recordHistory(attribute.value());
+        }
     }
 
     @Nullable
@@ -29,7 +44,94 @@ final class AttributeCellContent implements Comparable<AttributeCellContent> {
 
     @Nullable
     Attribute<?> getAttribute() {
-        return attribute;
+        return attribute.get();
+    }
+
+    /**
+     * The attribute value changes in place, so that the tree item holding
+     * this content doesn't have to be replaced (and thus re-sorted).
+     */
+    ReadOnlyObjectProperty<@Nullable Attribute<?>> attributeProperty() {
+        return attribute.getReadOnlyProperty();
+    }
+
+    /**
+     * Replaces the attribute value. The attribute name must be the same,
+     * because it's used as the item key.
+     */
+    void updateAttribute(Attribute<?> update) {
+        Objects.requireNonNull(update, "attribute must be specified");
+
+        var current = attribute.get();
+        if (current == null || !Objects.equals(current.name(), update.name())) {
+            throw new IllegalArgumentException("Unable to update attribute: name mismatch or not a value cell");
+        }
+
+        collection = null;
+        recordHistory(update.value());
+        attribute.set(update);
+    }
+
+    /**
+     * Returns the attribute value history, if the value is numeric or bounds.
+     */
+    @Nullable
+    ValueHistory getHistory() {
+        return history;
+    }
+
+    /**
+     * Applies the collection changes to the attribute value, which must be a list
+     * (a collection snapshot), without reloading the whole attribute.
+     */
+    void applyCollectionChanges(List<CollectionChange> changes) {
+        var current = attribute.get();
+        if (current == null || !(current.value() instanceof List<?> list)) {
+            return;
+        }
+
+        if (collection == null) {
+            collection = new ArrayList<>(list.size());
+            for (var item : list) {
+                collection.add(String.valueOf(item));
+            }
+        }
+
+        for (var change : changes) {
+            if (change.isOrdered()) {
+                int from = Math.min(change.from(), collection.size());
+                int to = Math.min(from + change.removed().size(), collection.size());
+                collection.subList(from, to).clear();
+                collection.addAll(from, change.added());
+            } else {
+                change.removed().forEach(collection::remove);
+                collection.addAll(change.added());
+            }
+        }
+
+        attribute.set(new Attribute<Object>(
+            current.name(),
+            Collections.unmodifiableList(new ArrayList<>(collection)),
+            current.field(),
+            current.cssProperty(),
+            current.observableType(),
+            current.displayHint(),
+            current.valueState() == Attribute.ValueState.AUTO
+                ? Attribute.ValueState.AUTO
+                : Attribute.ValueState.defaultIf(collection.isEmpty()),
+            List.of()
+        ));
+    }
+
+    private void recordHistory(@Nullable Object value) {
+        long timestamp = System.nanoTime();
+        // the value type can change, e.g. from null to number, the history is reset then
+        if (history == null || !history.record(timestamp, value)) {
+            history = ValueHistory.forValue(value);
+            if (history != null) {
+                history.record(timestamp, value);
+            }
+        }
     }
 
     boolean isRoot() {
@@ -37,13 +139,14 @@ final class AttributeCellContent implements Comparable<AttributeCellContent> {
     }
 
     boolean isGroup() {
-        return category != null && attribute == null;
+        return category != null && attribute.get() == null;
     }
 
     boolean matches(@Nullable String filter) {
+        var attr = attribute.get();
         return filter != null
-            && attribute != null
-            && attribute.name().toLowerCase().contains(filter.toLowerCase());
+            && attr != null
+            && attr.name().toLowerCase().contains(filter.toLowerCase());
     }
 
     ///////////////////////////////////////////////////////////////////////////
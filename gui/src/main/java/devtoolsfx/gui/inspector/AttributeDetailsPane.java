@@ -1,7 +1,10 @@
 package devtoolsfx.gui.inspector;
 
 import devtoolsfx.gui.Preferences;
+import devtoolsfx.gui.controls.Sparkline;
 import devtoolsfx.scenegraph.Element;
+import devtoolsfx.scenegraph.attributes.AttributeCategory;
+import devtoolsfx.scenegraph.attributes.TruncatedValue;
 import javafx.css.PseudoClass;
 import javafx.geometry.HPos;
 import javafx.scene.control.Hyperlink;
@@ -12,10 +15,14 @@ import javafx.scene.layout.ColumnConstraints;
 import javafx.scene.layout.GridPane;
 import javafx.scene.layout.Priority;
 import javafx.scene.layout.Region;
+import javafx.scene.layout.VBox;
+import javafx.util.Subscription;
 import org.jspecify.annotations.NullMarked;
 import org.jspecify.annotations.Nullable;
 
+import java.text.DecimalFormat;
 import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
 
 @NullMarked
 final class AttributeDetailsPane extends ScrollPane {
@@ -23,12 +30,14 @@ final class AttributeDetailsPane extends ScrollPane {
     private static final PseudoClass EMPTY = PseudoClass.getPseudoClass("empty");
     private static final String EMPTY_VALUE = "-";
     private static final int MIN_NAME_WIDTH = 100;
+    private static final DecimalFormat DECIMAL_FORMAT = new DecimalFormat("#.##");
 
     private final AttributePane pane;
 
     private final Hyperlink propertyTitleLink = new Hyperlink("Property");
     private final Label propertyLabel = new Label();
     private final Tooltip propertyTooltip = new Tooltip();
+    private final Hyperlink loadFullValueLink = new Hyperlink();
 
     private final Hyperlink cssPropertyTitleLink = new Hyperlink("CSS property");
     private final Label cssPropertyLabel = new Label();
@@ -36,6 +45,14 @@ final class AttributeDetailsPane extends ScrollPane {
 
     private final Label defaultLabel = new Label();
 
+    private final Label historyTitleLabel = new Label("History");
+    private final VBox historyBox = new VBox();
+    private final Label historyRateLabel = new Label();
+    private @Nullable Subscription historySubscription;
+
+    private @Nullable AttributeCategory category;
+    private @Nullable String attributeName;
+
     AttributeDetailsPane(AttributePane pane) {
         super();
 
@@ -46,22 +63,39 @@ final class AttributeDetailsPane extends ScrollPane {
         initListeners();
     }
 
-    void setContent(@Nullable AttributeCellContent content) {
+    void setContent(@Nullable AttributeCellContent content,
+                    @Nullable AttributeCategory category) {
+        this.category = category;
+        this.attributeName = null;
+
+        if (historySubscription != null) {
+            historySubscription.unsubscribe();
+            historySubscription = null;
+        }
+        updateHistory(null);
+
         if (content != null && content.getAttribute() != null) {
             var attr = content.getAttribute();
+            attributeName = attr.name();
 
             propertyTitleLink.setText(attr.name());
-            toggleDocLink(
-                propertyTitleLink,
-                propertyTooltip,
-                createJavadocUri(Objects.requireNonNullElse(attr.field(), attr.name()))
-            );
+            toggleDocLink(propertyTitleLink, propertyTooltip, null);
+            createJavadocUri(Objects.requireNonNullElse(attr.field(), attr.name())).thenAccept(uri -> {
+                // the response may come after another attribute is selected
+                if (attr.name().equals(attributeName)) {
+                    toggleDocLink(propertyTitleLink, propertyTooltip, uri);
+                }
+            });
             propertyLabel.setText(defaultIfEmpty(String.valueOf(attr.value())));
+            toggleLoadFullValueLink(attr.value());
 
             cssPropertyLabel.setText(defaultIfEmpty(attr.cssProperty()));
             toggleDocLink(cssPropertyTitleLink, cssPropertyTooltip, createCSSReferenceUri(attr.cssProperty()));
 
             defaultLabel.setText(String.valueOf(attr.valueState()));
+
+            // the history is recorded on value update, so it has to be redrawn as well
+            historySubscription = content.attributeProperty().subscribe(val -> updateHistory(content.getHistory()));
         }
     }
 
@@ -76,8 +110,10 @@ final class AttributeDetailsPane extends ScrollPane {
         );
 
         propertyLabel.setWrapText(true);
+        loadFullValueLink.setManaged(false);
+        loadFullValueLink.setVisible(false);
         grid.add(propertyTitleLink, 0, 0);
-        grid.add(propertyLabel, 1, 0);
+        grid.add(new VBox(propertyLabel, loadFullValueLink), 1, 0);
 
         cssPropertyLabel.setWrapText(true);
         grid.add(cssPropertyTitleLink, 0, 1);
@@ -87,6 +123,10 @@ final class AttributeDetailsPane extends ScrollPane {
         grid.add(new Label("State"), 0, 2);
         grid.add(defaultLabel, 1, 2);
 
+        historyBox.getStyleClass().add("history");
+        grid.add(historyTitleLabel, 0, 3);
+        grid.add(historyBox, 1, 3);
+
         setContent(grid);
         setVbarPolicy(ScrollBarPolicy.AS_NEEDED);
         setHbarPolicy(ScrollBarPolicy.NEVER);
@@ -98,24 +138,92 @@ final class AttributeDetailsPane extends ScrollPane {
     private void initListeners() {
         propertyTitleLink.setOnAction(e -> openDocLink(propertyTitleLink));
         cssPropertyTitleLink.setOnAction(e -> openDocLink(cssPropertyTitleLink));
+        loadFullValueLink.setOnAction(e -> loadFullValue());
     }
 
-    private @Nullable String createJavadocUri(String field) {
-        Element element = pane.getToolPane().getSelectedElement();
-        if (element == null || !element.getClassInfo().module().startsWith("javafx.")) {
-            return null;
+    private void updateHistory(@Nullable ValueHistory history) {
+        boolean visible = history != null && history.size() > 0;
+        historyTitleLabel.setManaged(visible);
+        historyTitleLabel.setVisible(visible);
+        historyBox.setManaged(visible);
+        historyBox.setVisible(visible);
+
+        if (!visible) {
+            historyBox.getChildren().clear();
+            return;
         }
 
-        String query = field;
-        String declaringClassName = pane.getToolPane().getConnector().getDeclaringClass(
-            element.getClassInfo().className(), field
+        var seriesNames = history.getSeriesNames();
+        int count = history.size();
+
+        var timestamps = new long[count];
+        history.copyTimestamps(timestamps);
+
+        // each series is displayed as the sparkline followed by the min/max label
+        if (historyBox.getChildren().size() != seriesNames.size() * 2 + 1) {
+            historyBox.getChildren().clear();
+            for (int i = 0; i < seriesNames.size(); i++) {
+                historyBox.getChildren().addAll(new Sparkline(), new Label());
+            }
+            historyBox.getChildren().add(historyRateLabel);
+        }
+
+        for (int i = 0; i < seriesNames.size(); i++) {
+            var values = new double[count];
+            history.copyValues(i, values);
+
+            var sparkline = (Sparkline) historyBox.getChildren().get(i * 2);
+            sparkline.setData(timestamps, values, count);
+
+            var label = (Label) historyBox.getChildren().get(i * 2 + 1);
+            label.setText((seriesNames.size() > 1 ? seriesNames.get(i) + ": " : "")
+                + "min " + DECIMAL_FORMAT.format(history.getMin(i))
+                + ", max " + DECIMAL_FORMAT.format(history.getMax(i))
+            );
+        }
+
+        historyRateLabel.setText(
+            count + " samples, " + DECIMAL_FORMAT.format(history.getChangeRate()) + " changes/s"
         );
+    }
+
+    private void toggleLoadFullValueLink(@Nullable Object value) {
+        boolean truncated = value instanceof TruncatedValue;
+        loadFullValueLink.setText(switch (value) {
+            case TruncatedValue t when t.length() == TruncatedValue.UNKNOWN_LENGTH -> "Load full value";
+            case TruncatedValue t -> "Load full value (" + t.length() + " characters)";
+            case null, default -> null;
+        });
+        loadFullValueLink.setManaged(truncated);
+        loadFullValueLink.setVisible(truncated);
+    }
+
+    private void loadFullValue() {
+        if (category == null || attributeName == null) {
+            return;
+        }
+
+        String name = attributeName;
+        pane.getToolPane().getConnector().getAttributeValue(category, name).thenAccept(value -> {
+            if (value != null && name.equals(attributeName)) {
+                propertyLabel.setText(defaultIfEmpty(value));
+                toggleLoadFullValueLink(null);
+            }
+        });
+    }
 
-        if (declaringClassName != null) {
-            query = declaringClassName + "." + field;
+    private CompletableFuture<@Nullable String> createJavadocUri(String field) {
+        Element element = pane.getToolPane().getSelectedElement();
+        if (element == null || !element.getClassInfo().module().startsWith("javafx.")) {
+            return CompletableFuture.completedFuture(null);
         }
 
-        return Preferences.JAVADOC_SEARCH_URI + "?q=" + query;
+        return pane.getToolPane().getConnector().getDeclaringClass(
+            element.getClassInfo().className(), field
+        ).thenApply(declaringClassName -> {
+            String query = declaringClassName != null ? declaringClassName + "." + field : field;
+            return Preferences.JAVADOC_SEARCH_URI + "?q=" + query;
+        });
     }
 
     private @Nullable String createCSSReferenceUri(@Nullable String cssProperty) {
@@ -4,6 +4,8 @@ import devtoolsfx.gui.ToolPane;
 import devtoolsfx.gui.controls.FilterField;
 import devtoolsfx.scenegraph.attributes.Attribute;
 import devtoolsfx.scenegraph.attributes.AttributeCategory;
+import devtoolsfx.scenegraph.attributes.CollectionChange;
+import devtoolsfx.scenegraph.attributes.WatchedAttribute;
 import javafx.geometry.Orientation;
 import javafx.scene.control.SplitPane;
 import javafx.scene.layout.HBox;
@@ -14,6 +16,7 @@ import org.jspecify.annotations.NullMarked;
 import org.jspecify.annotations.Nullable;
 
 import java.util.List;
+import java.util.Set;
 
 @NullMarked
 final class AttributePane extends SplitPane {
@@ -24,6 +27,7 @@ final class AttributePane extends SplitPane {
     private final AttributeTreeTable table = new AttributeTreeTable();
     private final FilterField filterField = new FilterField();
     private final AttributeDetailsPane details = new AttributeDetailsPane(this);
+    private final WatchListPane watchList = new WatchListPane();
 
     AttributePane(ToolPane toolPane) {
         super();
@@ -34,12 +38,29 @@ final class AttributePane extends SplitPane {
         initListeners();
     }
 
+    void setCategories(Set<AttributeCategory> categories) {
+        table.setCategories(categories, toolPane.getConnector().getActiveAttributeCategories());
+    }
+
     void setAttributes(AttributeCategory category, List<Attribute<?>> attributes) {
         table.setAttributes(category, attributes);
     }
 
-    void updateAttribute(AttributeCategory category, Attribute<?> attribute) {
-        table.updateAttribute(category, attribute);
+    void updateAttributes(AttributeCategory category, List<Attribute<?>> attributes) {
+        table.updateAttributes(category, attributes);
+    }
+
+    void applyCollectionChanges(AttributeCategory category, String attribute, List<CollectionChange> changes) {
+        table.applyCollectionChanges(category, attribute, changes);
+    }
+
+    void markSlowAttribute(AttributeCategory category, String attribute) {
+        table.markSlowAttribute(category, attribute);
+    }
+
+    void updateWatchedAttributes(List<WatchedAttribute> attributes) {
+        watchList.updateAttributes(attributes);
+        toggleWatchList();
     }
 
     void clearAttributes() {
@@ -80,6 +101,15 @@ final class AttributePane extends SplitPane {
         setOrientation(Orientation.VERTICAL);
         setDividerPositions(1);
         setResizableWithParent(details, false);
+        setResizableWithParent(watchList, false);
+    }
+
+    private void toggleWatchList() {
+        if (watchList.getItems().isEmpty()) {
+            getItems().remove(watchList);
+        } else if (!getItems().contains(watchList)) {
+            getItems().add(watchList);
+        }
     }
 
     private void initListeners() {
@@ -93,7 +123,10 @@ final class AttributePane extends SplitPane {
         filterField.setOnClearButtonClick(() -> setFilter(null));
 
         table.getSelectionModel().selectedItemProperty().addListener((obs, old, val) -> {
-            details.setContent(val != null ? val.getValue() : null);
+            details.setContent(
+                val != null ? val.getValue() : null,
+                val != null && val.getParent() != null ? val.getParent().getValue().getCategory() : null
+            );
             if (val != null) {
                 if (!getItems().contains(details)) {
                     getItems().add(details);
@@ -105,6 +138,23 @@ final class AttributePane extends SplitPane {
             }
         });
 
+        table.setExpandHandler((category, expanded) ->
+            toolPane.getConnector().setAttributeCategoryActive(category, expanded)
+        );
+
+        table.setWatchHandler(attribute -> toolPane.getConnector().watchAttribute(attribute).thenAccept(watched -> {
+            if (!watched) {
+                toolPane.handleException(new IllegalStateException(
+                    "Unable to watch '" + attribute + "': the watch list is full or the property is not observable"
+                ));
+            }
+        }));
+
+        watchList.setRemoveHandler((element, attribute) -> {
+            toolPane.getConnector().unwatchAttribute(element, attribute);
+            toggleWatchList();
+        });
+
         table.setRefreshHandler(() -> {
             String filter = table.getFilter();
 
@@ -2,6 +2,7 @@ package devtoolsfx.gui.inspector;
 
 import devtoolsfx.scenegraph.attributes.Attribute;
 import devtoolsfx.scenegraph.attributes.AttributeCategory;
+import devtoolsfx.scenegraph.attributes.CollectionChange;
 import javafx.beans.binding.Bindings;
 import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
@@ -11,10 +12,7 @@ import javafx.scene.control.TreeItem;
 import org.jspecify.annotations.NullMarked;
 import org.jspecify.annotations.Nullable;
 
-import java.util.Collections;
-import java.util.Comparator;
-import java.util.List;
-import java.util.Objects;
+import java.util.*;
 import java.util.function.Predicate;
 
 @NullMarked
@@ -27,6 +25,16 @@ final class AttributeTreeItem extends TreeItem<AttributeCellContent> {
         filteredList, Comparator.comparing(TreeItem::getValue)
     );
 
+    // attribute name -> child item, to update attributes without scanning
+    // and modifying the source list, which would trigger re-sorting
+    private final Map<String, AttributeTreeItem> attributeIndex = new HashMap<>();
+
+    // whether the group category is supported by the selected element,
+    // even if its attributes are not loaded (the category is inactive)
+    private boolean available;
+    // the group attributes that are slow to read
+    private final Set<String> slowAttributes = new HashSet<>();
+
     AttributeTreeItem(AttributeCellContent value) {
         super(value);
         Bindings.bindContent(getChildren(), sortedList);
@@ -41,25 +49,29 @@ final class AttributeTreeItem extends TreeItem<AttributeCellContent> {
     }
 
     void setAttributes(List<Attribute<?>> attributes) {
-        List<AttributeTreeItem> items = attributes.stream()
-            .map(AttributeCellContent::forValue)
-            .map(AttributeTreeItem::new)
-            .toList();
+        attributeIndex.clear();
+
+        var items = new ArrayList<AttributeTreeItem>(attributes.size());
+        for (var attribute : attributes) {
+            var item = new AttributeTreeItem(AttributeCellContent.forValue(attribute));
+            attributeIndex.put(attribute.name(), item);
+            items.add(item);
+        }
+
         sourceList.setAll(items);
     }
 
     void updateAttribute(Attribute<?> attribute) {
-        int index = -1;
-        for (int i = 0; i < sourceList.size(); i++) {
-            AttributeCellContent content = sourceList.get(i).getValue();
-            if (content.getAttribute() != null && Objects.equals(content.getAttribute().name(), attribute.name())) {
-                index = i;
-                break;
-            }
+        var item = attributeIndex.get(attribute.name());
+        if (item != null) {
+            item.getValue().updateAttribute(attribute);
         }
+    }
 
-        if (index > 0) {
-            sourceList.set(index, new AttributeTreeItem(AttributeCellContent.forValue(attribute)));
+    void applyCollectionChanges(String name, List<CollectionChange> changes) {
+        var item = attributeIndex.get(name);
+        if (item != null) {
+            item.getValue().applyCollectionChanges(changes);
         }
     }
 
@@ -68,9 +80,26 @@ final class AttributeTreeItem extends TreeItem<AttributeCellContent> {
     }
 
     void clear() {
+        attributeIndex.clear();
         sourceList.clear();
     }
 
+    boolean isAvailable() {
+        return available;
+    }
+
+    void setAvailable(boolean available) {
+        this.available = available;
+    }
+
+    boolean isSlowAttribute(String name) {
+        return slowAttributes.contains(name);
+    }
+
+    void addSlowAttribute(String name) {
+        slowAttributes.add(name);
+    }
+
     boolean isEmpty() {
         return getChildren().isEmpty();
     }
@@ -83,6 +112,12 @@ final class AttributeTreeItem extends TreeItem<AttributeCellContent> {
         }
     }
 
+    @Override
+    public boolean isLeaf() {
+        // the group attributes are loaded lazily, so it has to be expandable even if empty
+        return !getValue().isGroup() && super.isLeaf();
+    }
+
     void setFilterPredicate(@Nullable Predicate<? super AttributeTreeItem> predicate) {
         filteredList.setPredicate(predicate);
     }
@@ -8,6 +8,8 @@ import devtoolsfx.scenegraph.attributes.Attribute;
 import devtoolsfx.scenegraph.attributes.Attribute.DisplayHint;
 import devtoolsfx.scenegraph.attributes.Attribute.ValueState;
 import devtoolsfx.scenegraph.attributes.AttributeCategory;
+import devtoolsfx.scenegraph.attributes.CollectionChange;
+import devtoolsfx.scenegraph.attributes.Tracker;
 import javafx.beans.property.SimpleObjectProperty;
 import javafx.beans.value.ObservableValue;
 import javafx.css.PseudoClass;
@@ -27,20 +29,29 @@ import org.jspecify.annotations.Nullable;
 import java.text.DecimalFormat;
 import java.util.List;
 import java.util.Objects;
+import java.util.Set;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
 
 @NullMarked
 final class AttributeTreeTable extends TreeTableView<AttributeCellContent> {
 
     private static final DecimalFormat DECIMAL_FORMAT = new DecimalFormat("#.###");
+    // the collection snapshots are already truncated, along with the item containing the total size
+    private static final int MAX_DISPLAYED_ITEMS = Tracker.MAX_SNAPSHOT_SIZE + 1;
 
     private static final PseudoClass GROUP = PseudoClass.getPseudoClass("group");
     private static final PseudoClass DEFAULT = PseudoClass.getPseudoClass("default");
     private static final PseudoClass LEAF = PseudoClass.getPseudoClass("leaf");
+    private static final PseudoClass SLOW = PseudoClass.getPseudoClass("slow");
 
     private final AttributeTreeItem root = new AttributeTreeItem(AttributeCellContent.forRoot());
 
     private @Nullable Runnable refreshHandler;
+    private @Nullable Consumer<String> watchHandler;
+    private @Nullable BiConsumer<AttributeCategory, Boolean> expandHandler;
     private @Nullable String filter;
+    private boolean ignoreExpandEvents;
 
     AttributeTreeTable() {
         super();
@@ -66,27 +77,66 @@ final class AttributeTreeTable extends TreeTableView<AttributeCellContent> {
         refreshRootFilter();
     }
 
+    void setCategories(Set<AttributeCategory> categories,
+                       Set<AttributeCategory> activeCategories) {
+        for (var category : categories) {
+            AttributeTreeItem group = findGroupByCategory(category);
+            if (group == null) {
+                group = createGroup(category);
+            }
+
+            group.setAvailable(true);
+            setGroupExpanded(group, activeCategories.contains(category));
+        }
+
+        refreshRootFilter();
+    }
+
     void setAttributes(AttributeCategory category,
                        List<Attribute<?>> attributes) {
         AttributeTreeItem group = findGroupByCategory(category);
         if (group == null) {
-            group = new AttributeTreeItem(AttributeCellContent.forGroup(category));
-            root.addGroup(group);
+            group = createGroup(category);
+            setGroupExpanded(group, true);
         }
 
         group.setAttributes(attributes);
-        group.setExpanded(true);
 
         refreshRootFilter();
     }
 
-    void updateAttribute(AttributeCategory category,
-                         Attribute<?> attribute) {
+    void updateAttributes(AttributeCategory category,
+                          List<Attribute<?>> attributes) {
         AttributeTreeItem group = findGroupByCategory(category);
         if (group == null) {
             return;
         }
-        group.updateAttribute(attribute);
+
+        for (var attribute : attributes) {
+            group.updateAttribute(attribute);
+        }
+    }
+
+    void applyCollectionChanges(AttributeCategory category,
+                                String attribute,
+                                List<CollectionChange> changes) {
+        AttributeTreeItem group = findGroupByCategory(category);
+        if (group == null) {
+            return;
+        }
+
+        group.applyCollectionChanges(attribute, changes);
+    }
+
+    void markSlowAttribute(AttributeCategory category,
+                           String attribute) {
+        AttributeTreeItem group = findGroupByCategory(category);
+        if (group == null) {
+            return;
+        }
+
+        group.addSlowAttribute(attribute);
+        refresh();
     }
 
     void clear() {
@@ -116,11 +166,27 @@ final class AttributeTreeTable extends TreeTableView<AttributeCellContent> {
         this.refreshHandler = handler;
     }
 
+    /**
+     * Sets the handler that is called when the user expands or collapses
+     * an attribute group.
+     */
+    void setExpandHandler(BiConsumer<AttributeCategory, Boolean> handler) {
+        this.expandHandler = handler;
+    }
+
+    /**
+     * Sets the handler that is called when the user adds the selected
+     * attribute to the watch list.
+     */
+    void setWatchHandler(Consumer<String> handler) {
+        this.watchHandler = handler;
+    }
+
     ///////////////////////////////////////////////////////////////////////////
 
     private void createTableColumns() {
         var propertyCol = new TreeTableColumn<AttributeCellContent, AttributeCellContent>("Property");
-        var valueCol = new TreeTableColumn<AttributeCellContent, AttributeCellContent>("Value");
+        var valueCol = new TreeTableColumn<AttributeCellContent, @Nullable Attribute<?>>("Value");
 
         Callback<CellDataFeatures<AttributeCellContent, AttributeCellContent>, ObservableValue<AttributeCellContent>>
             cellValueFactory = cdf -> new SimpleObjectProperty<>(cdf.getValue().getValue());
@@ -143,10 +209,13 @@ final class AttributeTreeTable extends TreeTableView<AttributeCellContent> {
                     setGraphic(null);
                     infoLabel.setText(null);
                     setText(null);
+                    pseudoClassStateChanged(SLOW, false);
                     getTableRow().pseudoClassStateChanged(GROUP, false);
                     return;
                 }
 
+                boolean slow = false;
+
                 String text = null;
 
                 if (content.isGroup()) {
@@ -170,17 +239,21 @@ final class AttributeTreeTable extends TreeTableView<AttributeCellContent> {
                     infoLabel.setText(null);
                 } else if (content.getAttribute() != null) {
                     text = content.getAttribute().name();
+                    slow = getTableRow().getTreeItem().getParent() instanceof AttributeTreeItem group
+                        && group.isSlowAttribute(text);
 
                     var cssProperty = content.getAttribute().cssProperty();
-                    if (cssProperty != null && !cssProperty.isEmpty()) {
+                    boolean css = cssProperty != null && !cssProperty.isEmpty();
+                    if (css || slow) {
                         setGraphic(infoLabel);
-                        infoLabel.setText("CSS");
+                        infoLabel.setText(css && slow ? "CSS SLOW" : (css ? "CSS" : "SLOW"));
                     } else {
                         setGraphic(null);
                         infoLabel.setText(null);
                     }
                 }
 
+                pseudoClassStateChanged(SLOW, slow);
                 pseudoClassStateChanged(LEAF, getTableRow().getTreeItem().isLeaf());
                 getTableRow().pseudoClassStateChanged(GROUP, content.isGroup());
                 setText(text);
@@ -192,24 +265,31 @@ final class AttributeTreeTable extends TreeTableView<AttributeCellContent> {
         propertyCol.setPrefWidth(200);
         propertyCol.setMaxWidth(300);
 
-        valueCol.setCellValueFactory(cellValueFactory);
+        // observe the attribute itself, because it's updated in place without replacing the tree item
+        valueCol.setCellValueFactory(cdf -> cdf.getValue().getValue().attributeProperty());
         valueCol.setCellFactory(c -> new TreeTableCell<>() {
             @Override
-            protected void updateItem(@Nullable AttributeCellContent content, boolean empty) {
-                super.updateItem(content, empty);
+            protected void updateItem(@Nullable Attribute<?> attribute, boolean empty) {
+                super.updateItem(attribute, empty);
 
-                if (empty || content == null || content.getAttribute() == null) {
+                if (empty || attribute == null) {
                     setText(null);
                     setGraphic(null);
                     getTableRow().pseudoClassStateChanged(DEFAULT, false);
                 } else {
-                    var cv = formatValueByText(content.getAttribute());
+                    var cv = formatValueByText(attribute);
                     setText(cv.value());
                     getTableRow().pseudoClassStateChanged(DEFAULT, cv.isDefault());
 
-                    setGraphic(getOptionalValueGraphic(content.getAttribute()));
+                    setGraphic(getOptionalValueGraphic(attribute));
                 }
             }
+
+            @Override
+            protected boolean isItemChanged(@Nullable Attribute<?> oldItem, @Nullable Attribute<?> newItem) {
+                // attributes are equal by name, so compare by reference instead
+                return oldItem != newItem;
+            }
         });
         valueCol.setSortable(false);
         valueCol.setReorderable(false);
@@ -226,13 +306,57 @@ final class AttributeTreeTable extends TreeTableView<AttributeCellContent> {
             }
         });
 
+        var watch = new MenuItem("Watch");
+        watch.setOnAction(e -> {
+            var attribute = getSelectedWatchableAttribute();
+            if (watchHandler != null && attribute != null) {
+                watchHandler.accept(attribute);
+            }
+        });
+
         var contextMenu = new ContextMenu();
         contextMenu.setId(ConnectorOptions.AUX_NODE_ID_PREFIX + "attributeTableOptionsMenu");
-        contextMenu.getItems().addAll(refresh);
+        contextMenu.getItems().addAll(refresh, watch);
+        contextMenu.setOnShowing(e -> watch.setDisable(getSelectedWatchableAttribute() == null));
 
         return contextMenu;
     }
 
+    private @Nullable String getSelectedWatchableAttribute() {
+        var selected = getSelectionModel().getSelectedItem();
+        if (selected == null || selected.getParent() == null || selected.getValue().getAttribute() == null) {
+            return null;
+        }
+
+        // only the node observable properties can be watched
+        var category = selected.getParent().getValue().getCategory();
+        var attribute = selected.getValue().getAttribute();
+        if (category == AttributeCategory.WINDOW
+            || category == AttributeCategory.SCENE
+            || !Objects.equals(attribute.field(), attribute.name() + "Property")) {
+            return null;
+        }
+
+        return attribute.name();
+    }
+
+    private AttributeTreeItem createGroup(AttributeCategory category) {
+        var group = new AttributeTreeItem(AttributeCellContent.forGroup(category));
+        group.expandedProperty().addListener((obs, old, val) -> {
+            if (!ignoreExpandEvents && expandHandler != null) {
+                expandHandler.accept(category, val);
+            }
+        });
+        root.addGroup(group);
+        return group;
+    }
+
+    private void setGroupExpanded(AttributeTreeItem group, boolean expanded) {
+        ignoreExpandEvents = true;
+        group.setExpanded(expanded);
+        ignoreExpandEvents = false;
+    }
+
     private @Nullable AttributeTreeItem findGroupByCategory(AttributeCategory category) {
         for (var child : root.getChildren()) {
             if (child instanceof AttributeTreeItem item && item.isGroupOf(category)) {
@@ -246,7 +370,9 @@ final class AttributeTreeTable extends TreeTableView<AttributeCellContent> {
         // even though we're creating a new predicate instance each time,
         // it won't work without setting it to null first
         root.setFilterText(null);
-        root.setFilterPredicate(group -> !group.isEmpty());
+        // collapsed groups are empty until expanded, but still have to be displayed
+        boolean noFilter = filter == null || filter.isBlank();
+        root.setFilterPredicate(group -> !group.isEmpty() || (noFilter && group.isAvailable()));
     }
 
     private CellValue formatValueByText(Attribute<?> attribute) {
@@ -297,6 +423,28 @@ final class AttributeTreeTable extends TreeTableView<AttributeCellContent> {
                     yield new CellValue("[]", true);
                 }
 
+                // collection snapshots, e.g. style classes, can be large
+                if (value instanceof List<?> list) {
+                    var sb = new StringBuilder();
+                    String delimiter = switch (attribute.displayHint()) {
+                        case TEXT -> " ";
+                        case TEXT_LINES -> "\n";
+                        default -> ", ";
+                    };
+                    for (int i = 0; i < Math.min(list.size(), MAX_DISPLAYED_ITEMS); i++) {
+                        sb.append(i > 0 ? delimiter : "").append(list.get(i));
+                    }
+                    if (list.size() > MAX_DISPLAYED_ITEMS) {
+                        sb.append(delimiter).append("… (").append(list.size()).append(" items)");
+                    }
+
+                    String s = switch (attribute.displayHint()) {
+                        case TEXT, TEXT_LINES -> sb.toString();
+                        default -> "[" + sb + "]";
+                    };
+                    yield CellValue.of(s, attribute);
+                }
+
                 var s = String.valueOf(value);
                 boolean isDefault = attribute.valueState() == ValueState.DEFAULT || s.isEmpty() || "null".equals(s);
                 yield new CellValue(s, isDefault);
@@ -2,13 +2,17 @@ package devtoolsfx.gui.inspector;
 
 import devtoolsfx.gui.ToolPane;
 import devtoolsfx.scenegraph.Element;
+import devtoolsfx.scenegraph.LayoutHotSpot;
 import devtoolsfx.scenegraph.attributes.Attribute;
 import devtoolsfx.scenegraph.attributes.AttributeCategory;
+import devtoolsfx.scenegraph.attributes.CollectionChange;
+import devtoolsfx.scenegraph.attributes.WatchedAttribute;
 import javafx.scene.control.SplitPane;
 import org.jspecify.annotations.NullMarked;
 import org.jspecify.annotations.Nullable;
 
 import java.util.List;
+import java.util.Set;
 
 @NullMarked
 public final class InspectorTab extends SplitPane {
@@ -99,6 +103,20 @@ public final class InspectorTab extends SplitPane {
         sceneGraphPane.updateTreeElementStyleClass(element, styleClass);
     }
 
+    /**
+     * Updates the layout hot spots of the specified window.
+     */
+    public void updateLayoutHotSpots(int uid, List<LayoutHotSpot> hotSpots) {
+        sceneGraphPane.updateLayoutHotSpots(uid, hotSpots);
+    }
+
+    /**
+     * Sets the attribute categories supported by the selected element.
+     */
+    public void setAttributeCategories(Set<AttributeCategory> categories) {
+        attributePane.setCategories(categories);
+    }
+
     /**
      * Sets (replaces) the list of displayed attributes.
      */
@@ -107,10 +125,31 @@ public final class InspectorTab extends SplitPane {
     }
 
     /**
-     * Updates a single attribute value.
+     * Updates the values of the specified attributes.
+     */
+    public void updateAttributes(AttributeCategory category, List<Attribute<?>> attributes) {
+        attributePane.updateAttributes(category, attributes);
+    }
+
+    /**
+     * Applies the incremental changes to the collection attribute.
+     */
+    public void applyCollectionChanges(AttributeCategory category, String attribute, List<CollectionChange> changes) {
+        attributePane.applyCollectionChanges(category, attribute, changes);
+    }
+
+    /**
+     * Marks the attribute as slow to read, so that it's not reloaded automatically.
+     */
+    public void markSlowAttribute(AttributeCategory category, String attribute) {
+        attributePane.markSlowAttribute(category, attribute);
+    }
+
+    /**
+     * Updates the values of the watched attributes.
      */
-    public void updateAttribute(AttributeCategory category, Attribute<?> attribute) {
-        attributePane.updateAttribute(category, attribute);
+    public void updateWatchedAttributes(List<WatchedAttribute> attributes) {
+        attributePane.updateWatchedAttributes(attributes);
     }
 
     /**
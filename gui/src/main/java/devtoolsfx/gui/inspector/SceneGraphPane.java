@@ -1,7 +1,11 @@
 package devtoolsfx.gui.inspector;
 
 import devtoolsfx.gui.ToolPane;
+import devtoolsfx.gui.util.Formatters;
 import devtoolsfx.scenegraph.Element;
+import devtoolsfx.scenegraph.LayoutHotSpot;
+import javafx.scene.control.ListCell;
+import javafx.scene.control.ListView;
 import javafx.scene.control.TreeItem;
 import javafx.scene.layout.HBox;
 import javafx.scene.layout.Priority;
@@ -9,13 +13,19 @@ import javafx.scene.layout.VBox;
 import org.jspecify.annotations.NullMarked;
 import org.jspecify.annotations.Nullable;
 
+import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 @NullMarked
 final class SceneGraphPane extends VBox {
 
     private final SearchField<TreeItem<Element>> searchField = new SearchField<>();
     private final SceneGraphTree tree;
+    private final ListView<LayoutHotSpot> hotSpotsList = new ListView<>();
+    // window UID -> the last reported layout hot spots
+    private final Map<Integer, List<LayoutHotSpot>> layoutHotSpots = new HashMap<>();
 
     SceneGraphPane(ToolPane toolPane) {
         super();
@@ -32,6 +42,9 @@ final class SceneGraphPane extends VBox {
 
     void removeWindow(int uid) {
         tree.removeWindow(uid);
+        if (layoutHotSpots.containsKey(uid)) {
+            updateLayoutHotSpots(uid, List.of());
+        }
     }
 
     int getWindow(Element element) {
@@ -71,6 +84,30 @@ final class SceneGraphPane extends VBox {
         tree.refresh();
     }
 
+    void updateLayoutHotSpots(int uid, List<LayoutHotSpot> hotSpots) {
+        var previous = layoutHotSpots.remove(uid);
+        if (previous != null) {
+            previous.forEach(hotSpot -> tree.setLayoutRate(hotSpot.element(), 0));
+        }
+
+        if (!hotSpots.isEmpty()) {
+            layoutHotSpots.put(uid, hotSpots);
+            hotSpots.forEach(hotSpot -> tree.setLayoutRate(hotSpot.element(), hotSpot.perSecond()));
+        }
+
+        hotSpotsList.getItems().setAll(layoutHotSpots.values().stream()
+            .flatMap(List::stream)
+            .sorted(Comparator.comparingInt(LayoutHotSpot::perSecond).reversed())
+            .toList()
+        );
+
+        boolean visible = !hotSpotsList.getItems().isEmpty();
+        hotSpotsList.setVisible(visible);
+        hotSpotsList.setManaged(visible);
+
+        tree.refresh();
+    }
+
     ///////////////////////////////////////////////////////////////////////////
 
     private void createLayout() {
@@ -81,8 +118,23 @@ final class SceneGraphPane extends VBox {
 
         VBox.setVgrow(tree, Priority.ALWAYS);
 
+        hotSpotsList.setId("layout-hot-spots");
+        hotSpotsList.setPrefHeight(120);
+        hotSpotsList.setVisible(false);
+        hotSpotsList.setManaged(false);
+        hotSpotsList.setCellFactory(c -> new ListCell<>() {
+            @Override
+            protected void updateItem(LayoutHotSpot hotSpot, boolean empty) {
+                super.updateItem(hotSpot, empty);
+                setText(empty || hotSpot == null ? null
+                    : Formatters.formatForTreeItem(hotSpot.element())
+                    + " | " + hotSpot.perSecond() + "/s, max " + hotSpot.maxPerPulse() + "/pulse"
+                );
+            }
+        });
+
         setId("scenegraph-pane");
-        getChildren().setAll(tree, filterBox);
+        getChildren().setAll(tree, hotSpotsList, filterBox);
     }
 
     private void initListeners() {
@@ -106,6 +158,12 @@ final class SceneGraphPane extends VBox {
 
         searchField.setNavigationHandler((position, item) -> tree.navigate(item));
 
+        hotSpotsList.getSelectionModel().selectedItemProperty().addListener((obs, old, val) -> {
+            if (val != null) {
+                tree.selectElement(val.element());
+            }
+        });
+
         searchField.setOnClearButtonClick(() -> {
             searchField.setText(null);
             clearSearchResult();
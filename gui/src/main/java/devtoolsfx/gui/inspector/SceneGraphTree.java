@@ -154,6 +154,15 @@ final class SceneGraphTree extends TreeView<Element> {
         }
     }
 
+    /**
+     * Sets the layout invalidation rate of the specified element.
+     */
+    void setLayoutRate(Element element, int layoutRate) {
+        if (treeIndex.get(element) instanceof SceneGraphTreeItem sg) {
+            sg.setLayoutRate(layoutRate);
+        }
+    }
+
     /**
      * Searches the tree items for the specified string.
      */
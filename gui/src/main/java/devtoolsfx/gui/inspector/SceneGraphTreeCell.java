@@ -14,6 +14,12 @@ final class SceneGraphTreeCell extends TreeCell<Element> {
 
     static final PseudoClass HIDDEN = PseudoClass.getPseudoClass("hidden");
     static final PseudoClass FILTERED = PseudoClass.getPseudoClass("filtered");
+    static final PseudoClass LAYOUT_WARM = PseudoClass.getPseudoClass("layout-warm");
+    static final PseudoClass LAYOUT_HOT = PseudoClass.getPseudoClass("layout-hot");
+
+    // layout invalidations per second, the hot threshold is about one per frame
+    static final int LAYOUT_WARM_RATE = 5;
+    static final int LAYOUT_HOT_RATE = 30;
 
     private final Label label = new Label();
 
@@ -29,6 +35,8 @@ final class SceneGraphTreeCell extends TreeCell<Element> {
         if (empty || element == null) {
             pseudoClassStateChanged(HIDDEN, false);
             pseudoClassStateChanged(FILTERED, false);
+            pseudoClassStateChanged(LAYOUT_WARM, false);
+            pseudoClassStateChanged(LAYOUT_HOT, false);
 
             label.setText(null);
             setText(null);
@@ -42,6 +50,10 @@ final class SceneGraphTreeCell extends TreeCell<Element> {
 
         pseudoClassStateChanged(HIDDEN, isHidden(element));
         pseudoClassStateChanged(FILTERED, isFiltered(getTreeItem()));
+
+        int layoutRate = getTreeItem() instanceof SceneGraphTreeItem sg ? sg.getLayoutRate() : 0;
+        pseudoClassStateChanged(LAYOUT_WARM, layoutRate >= LAYOUT_WARM_RATE && layoutRate < LAYOUT_HOT_RATE);
+        pseudoClassStateChanged(LAYOUT_HOT, layoutRate >= LAYOUT_HOT_RATE);
     }
 
     private boolean isHidden(@Nullable Element element) {
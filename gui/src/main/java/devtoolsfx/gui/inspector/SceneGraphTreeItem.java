@@ -13,6 +13,8 @@ import java.util.List;
 final class SceneGraphTreeItem extends TreeItem<Element> implements Comparable<TreeItem<Element>> {
 
     private final BooleanProperty filtered = new SimpleBooleanProperty();
+    // the number of layout invalidations per second
+    private int layoutRate;
 
     SceneGraphTreeItem(Element value) {
         super(value);
@@ -26,6 +28,14 @@ final class SceneGraphTreeItem extends TreeItem<Element> implements Comparable<T
         this.filtered.set(filtered);
     }
 
+    int getLayoutRate() {
+        return layoutRate;
+    }
+
+    void setLayoutRate(int layoutRate) {
+        this.layoutRate = layoutRate;
+    }
+
     @Override
     public int compareTo(TreeItem<Element> other) {
         var thisPath = getPathIndices(this, new ArrayList<>()).reversed();
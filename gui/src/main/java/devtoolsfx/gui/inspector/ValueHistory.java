@@ -0,0 +1,140 @@
+package devtoolsfx.gui.inspector;
+
+import javafx.geometry.Bounds;
+import org.jspecify.annotations.NullMarked;
+import org.jspecify.annotations.Nullable;
+
+import java.util.List;
+
+/**
+ * The fixed-size history of a numeric or bounds attribute value. Samples are stored
+ * in the primitive ring buffers, so that recording doesn't allocate. Bounds values
+ * are split into multiple series, see {@link #getSeriesNames()}.
+ */
+@NullMarked
+final class ValueHistory {
+
+    static final int DEFAULT_CAPACITY = 120;
+    // samples closer than half a frame (at 60 FPS) are considered to be from the same pulse
+    static final long MIN_SAMPLE_INTERVAL_NANOS = 8_000_000;
+
+    private static final List<String> NUMBER_SERIES = List.of("value");
+    private static final List<String> BOUNDS_SERIES = List.of("minX", "minY", "width", "height");
+
+    private final List<String> seriesNames;
+    private final int capacity;
+    private final long[] timestamps;
+    private final double[] values; // sample-major: [s0.v0, s0.v1, ..., s1.v0, ...]
+    private int head; // the index of the next sample
+    private int size;
+
+    private ValueHistory(List<String> seriesNames, int capacity) {
+        this.seriesNames = seriesNames;
+        this.capacity = capacity;
+        this.timestamps = new long[capacity];
+        this.values = new double[capacity * seriesNames.size()];
+    }
+
+    /**
+     * Creates a new history instance, if the value type is supported.
+     */
+    static @Nullable ValueHistory forValue(@Nullable Object value) {
+        return switch (value) {
+            case Number ignored -> new ValueHistory(NUMBER_SERIES, DEFAULT_CAPACITY);
+            case Bounds ignored -> new ValueHistory(BOUNDS_SERIES, DEFAULT_CAPACITY);
+            case null, default -> null;
+        };
+    }
+
+    /**
+     * Records a new sample, overwriting the oldest one if the buffer is full.
+     * Returns false if the value type doesn't match the history type.
+     */
+    boolean record(long timestamp, @Nullable Object value) {
+        boolean supported = seriesNames == NUMBER_SERIES ? value instanceof Number : value instanceof Bounds;
+        if (!supported) {
+            return false;
+        }
+
+        // at most one sample per pulse, the latest value wins
+        boolean samePulse = size > 0 && timestamp - timestamps[index(size - 1)] < MIN_SAMPLE_INTERVAL_NANOS;
+        if (samePulse) {
+            head = (head - 1 + capacity) % capacity;
+            size--;
+        }
+
+        int offset = head * seriesNames.size();
+        if (value instanceof Bounds bounds) {
+            values[offset] = bounds.getMinX();
+            values[offset + 1] = bounds.getMinY();
+            values[offset + 2] = bounds.getWidth();
+            values[offset + 3] = bounds.getHeight();
+        } else {
+            values[offset] = ((Number) value).doubleValue();
+        }
+
+        timestamps[head] = timestamp;
+        head = (head + 1) % capacity;
+        size = Math.min(size + 1, capacity);
+        return true;
+    }
+
+    List<String> getSeriesNames() {
+        return seriesNames;
+    }
+
+    int size() {
+        return size;
+    }
+
+    /**
+     * Copies the sample timestamps in chronological order to the given array.
+     */
+    void copyTimestamps(long[] dest) {
+        for (int i = 0; i < size; i++) {
+            dest[i] = timestamps[index(i)];
+        }
+    }
+
+    /**
+     * Copies the series values in chronological order to the given array.
+     */
+    void copyValues(int series, double[] dest) {
+        for (int i = 0; i < size; i++) {
+            dest[i] = values[index(i) * seriesNames.size() + series];
+        }
+    }
+
+    double getMin(int series) {
+        double min = Double.POSITIVE_INFINITY;
+        for (int i = 0; i < size; i++) {
+            min = Math.min(min, values[i * seriesNames.size() + series]);
+        }
+        return min;
+    }
+
+    double getMax(int series) {
+        double max = Double.NEGATIVE_INFINITY;
+        for (int i = 0; i < size; i++) {
+            max = Math.max(max, values[i * seriesNames.size() + series]);
+        }
+        return max;
+    }
+
+    /**
+     * Returns the number of recorded changes per second over the buffered time range.
+     */
+    double getChangeRate() {
+        if (size < 2) {
+            return 0;
+        }
+
+        long duration = timestamps[index(size - 1)] - timestamps[index(0)];
+        return duration > 0 ? (size - 1) * 1_000_000_000d / duration : 0;
+    }
+
+    // chronological index -> buffer index
+    private int index(int i) {
+        return (head - size + i + capacity) % capacity;
+    }
+}
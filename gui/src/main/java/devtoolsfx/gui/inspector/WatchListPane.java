@@ -0,0 +1,159 @@
+package devtoolsfx.gui.inspector;
+
+import devtoolsfx.connector.ConnectorOptions;
+import devtoolsfx.gui.util.Formatters;
+import devtoolsfx.scenegraph.Element;
+import devtoolsfx.scenegraph.attributes.WatchedAttribute;
+import javafx.beans.property.ReadOnlyStringWrapper;
+import javafx.beans.property.SimpleStringProperty;
+import javafx.beans.property.StringProperty;
+import javafx.scene.control.*;
+import org.jspecify.annotations.NullMarked;
+import org.jspecify.annotations.Nullable;
+
+import java.text.DecimalFormat;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.BiConsumer;
+
+/**
+ * Displays the live values of the watched attributes, see {@link WatchedAttribute}.
+ */
+@NullMarked
+final class WatchListPane extends TableView<WatchListPane.Item> {
+
+    private static final DecimalFormat DECIMAL_FORMAT = new DecimalFormat("#.###");
+
+    private @Nullable BiConsumer<Element, String> removeHandler;
+
+    WatchListPane() {
+        super();
+
+        createTableColumns();
+        setColumnResizePolicy(CONSTRAINED_RESIZE_POLICY_FLEX_LAST_COLUMN);
+        getSelectionModel().setSelectionMode(SelectionMode.SINGLE);
+        setContextMenu(createContextMenu());
+        setPlaceholder(new Label("Use the attribute context menu to watch it"));
+
+        setId("watch-list-pane");
+        setPrefHeight(150);
+    }
+
+    /**
+     * Updates the displayed values. New attributes are appended to the list,
+     * the attributes that are no longer watched are removed from it.
+     */
+    void updateAttributes(List<WatchedAttribute> attributes) {
+        for (var attribute : attributes) {
+            var item = findItem(attribute.element(), attribute.name());
+
+            if (!attribute.watched()) {
+                if (item != null) {
+                    getItems().remove(item);
+                }
+                continue;
+            }
+
+            if (item == null) {
+                item = new Item(attribute.element(), attribute.name());
+                getItems().add(item);
+            }
+            item.value.set(formatValue(attribute.value()));
+        }
+    }
+
+    /**
+     * Removes all attributes from the watch list.
+     */
+    void removeAll() {
+        for (var item : List.copyOf(getItems())) {
+            remove(item);
+        }
+    }
+
+    void setRemoveHandler(@Nullable BiConsumer<Element, String> removeHandler) {
+        this.removeHandler = removeHandler;
+    }
+
+    ///////////////////////////////////////////////////////////////////////////
+
+    private void createTableColumns() {
+        var elementCol = new TableColumn<Item, String>("Node");
+        elementCol.setCellValueFactory(
+            features -> new ReadOnlyStringWrapper(Formatters.formatForTreeItem(features.getValue().element))
+        );
+        elementCol.setSortable(false);
+        elementCol.setReorderable(false);
+
+        var nameCol = new TableColumn<Item, String>("Property");
+        nameCol.setCellValueFactory(features -> new ReadOnlyStringWrapper(features.getValue().name));
+        nameCol.setSortable(false);
+        nameCol.setReorderable(false);
+
+        var valueCol = new TableColumn<Item, String>("Value");
+        valueCol.setCellValueFactory(features -> features.getValue().value);
+        valueCol.setSortable(false);
+        valueCol.setReorderable(false);
+
+        getColumns().add(elementCol);
+        getColumns().add(nameCol);
+        getColumns().add(valueCol);
+    }
+
+    private ContextMenu createContextMenu() {
+        var removeItem = new MenuItem("Remove");
+        removeItem.setOnAction(e -> {
+            var selected = getSelectionModel().getSelectedItem();
+            if (selected != null) {
+                remove(selected);
+            }
+        });
+        removeItem.disableProperty().bind(getSelectionModel().selectedItemProperty().isNull());
+
+        var removeAllItem = new MenuItem("Remove all");
+        removeAllItem.setOnAction(e -> removeAll());
+
+        var contextMenu = new ContextMenu();
+        contextMenu.setId(ConnectorOptions.AUX_NODE_ID_PREFIX + "watchListContextMenu");
+        contextMenu.getItems().addAll(removeItem, removeAllItem);
+
+        return contextMenu;
+    }
+
+    private void remove(Item item) {
+        getItems().remove(item);
+        if (removeHandler != null) {
+            removeHandler.accept(item.element, item.name);
+        }
+    }
+
+    private @Nullable Item findItem(Element element, String name) {
+        for (var item : getItems()) {
+            if (item.element.getUID() == element.getUID() && Objects.equals(item.name, name)) {
+                return item;
+            }
+        }
+        return null;
+    }
+
+    private static String formatValue(@Nullable Object value) {
+        if (value instanceof Double num) {
+            return DECIMAL_FORMAT.format(num);
+        }
+        return String.valueOf(value);
+    }
+
+    ///////////////////////////////////////////////////////////////////////////
+
+    static final class Item {
+
+        private final Element element;
+        private final String name;
+        private final StringProperty value = new SimpleStringProperty();
+
+        private Item(Element element, String name) {
+            this.element = element;
+            this.name = name;
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package devtoolsfx.gui.perf;
+
+import devtoolsfx.connector.StackSample;
+import org.jspecify.annotations.NullMarked;
+
+import java.util.*;
+
+/**
+ * The call tree node, which aggregates the stack samples that share the same
+ * path from the thread entry point. The root node is a virtual node that
+ * contains all samples.
+ */
+@NullMarked
+final class CallTreeNode {
+
+    private final String frame;
+    private final Map<String, CallTreeNode> children = new LinkedHashMap<>();
+    private int count;
+
+    private CallTreeNode(String frame) {
+        this.frame = frame;
+    }
+
+    /**
+     * Builds the call tree from the given stack samples.
+     */
+    static CallTreeNode of(String rootName, List<StackSample> samples) {
+        var root = new CallTreeNode(rootName);
+        for (var sample : samples) {
+            root.count += sample.count();
+
+            // stack traces start from the top of the stack
+            var node = root;
+            for (int i = sample.frames().size() - 1; i >= 0; i--) {
+                node = node.children.computeIfAbsent(String.valueOf(sample.frames().get(i)), CallTreeNode::new);
+                node.count += sample.count();
+            }
+        }
+        return root;
+    }
+
+    String getFrame() {
+        return frame;
+    }
+
+    int getCount() {
+        return count;
+    }
+
+    /**
+     * Returns the child nodes sorted by the number of samples in descending order.
+     */
+    List<CallTreeNode> getChildren() {
+        var sorted = new ArrayList<>(children.values());
+        sorted.sort(Comparator.comparingInt(CallTreeNode::getCount).reversed());
+        return sorted;
+    }
+}
@@ -0,0 +1,269 @@
+package devtoolsfx.gui.perf;
+
+import devtoolsfx.connector.ProfileNode;
+import javafx.geometry.VPos;
+import javafx.scene.canvas.Canvas;
+import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.input.MouseEvent;
+import javafx.scene.layout.Region;
+import javafx.scene.paint.Color;
+import javafx.scene.text.Font;
+import javafx.scene.text.TextAlignment;
+import org.jspecify.annotations.NullMarked;
+import org.jspecify.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Consumer;
+
+/**
+ * Renders the {@link ProfileNode} call tree as an icicle flame graph, where the root is
+ * at the top and the callees are below their callers. The frame width is proportional
+ * to the number of samples. Clicking a frame zooms into it, clicking one of its
+ * ancestors zooms out.
+ */
+@NullMarked
+final class FlameGraph extends Region {
+
+    static final double ROW_HEIGHT = 18;
+    static final double MIN_FRAME_WIDTH = 0.5;
+    static final double MIN_LABEL_WIDTH = 30;
+    static final double CHAR_WIDTH = 7;
+
+    private static final String[] PLATFORM_PACKAGES = {
+        "java.", "javax.", "javafx.", "jdk.", "sun.", "com.sun."
+    };
+
+    private final Canvas canvas = new Canvas();
+    // the path from the root to the zoomed frame
+    private final List<ProfileNode> focusPath = new ArrayList<>();
+    private @Nullable ProfileNode root;
+    private @Nullable Consumer<@Nullable ProfileNode> hoverHandler;
+
+    FlameGraph() {
+        super();
+
+        getChildren().add(canvas);
+        getStyleClass().add("flame-graph");
+
+        canvas.setOnMouseMoved(this::onMouseMoved);
+        canvas.setOnMouseExited(e -> notifyHover(null));
+        canvas.setOnMouseClicked(this::onMouseClicked);
+    }
+
+    /**
+     * Sets the call tree to display. The zoomed frame is preserved if the new tree
+     * contains the same call path.
+     */
+    void setRoot(@Nullable ProfileNode root) {
+        var path = new ArrayList<>(focusPath);
+
+        this.root = root;
+        focusPath.clear();
+        if (root != null) {
+            focusPath.add(root);
+            restoreFocusPath(path);
+        }
+
+        requestLayout();
+        draw();
+    }
+
+    void setOnHover(@Nullable Consumer<@Nullable ProfileNode> hoverHandler) {
+        this.hoverHandler = hoverHandler;
+    }
+
+    @Override
+    protected double computePrefHeight(double width) {
+        return (focusPath.size() - 1 + depthOf(getFocus())) * ROW_HEIGHT;
+    }
+
+    @Override
+    protected double computePrefWidth(double height) {
+        return 0;
+    }
+
+    @Override
+    protected void layoutChildren() {
+        if (canvas.getWidth() != getWidth() || canvas.getHeight() != getHeight()) {
+            canvas.setWidth(getWidth());
+            canvas.setHeight(getHeight());
+            draw();
+        }
+    }
+
+    ///////////////////////////////////////////////////////////////////////////
+
+    private @Nullable ProfileNode getFocus() {
+        return focusPath.isEmpty() ? null : focusPath.getLast();
+    }
+
+    private void restoreFocusPath(List<ProfileNode> path) {
+        for (int i = 1; i < path.size(); i++) {
+            var frame = path.get(i).frame();
+            var next = focusPath.getLast().children().stream()
+                .filter(child -> Objects.equals(child.frame(), frame))
+                .findFirst()
+                .orElse(null);
+            if (next == null) {
+                return;
+            }
+            focusPath.add(next);
+        }
+    }
+
+    private void draw() {
+        var gc = canvas.getGraphicsContext2D();
+        gc.clearRect(0, 0, canvas.getWidth(), canvas.getHeight());
+
+        var focus = getFocus();
+        if (focus == null || focus.total() == 0) {
+            return;
+        }
+
+        gc.setFont(Font.font("monospaced", 11));
+        gc.setTextBaseline(VPos.CENTER);
+        gc.setTextAlign(TextAlignment.LEFT);
+
+        // ancestors of the zoomed frame take the full width
+        for (int i = 0; i < focusPath.size() - 1; i++) {
+            drawFrame(gc, focusPath.get(i), 0, canvas.getWidth(), i, true);
+        }
+
+        drawBranch(gc, focus, 0, canvas.getWidth(), focusPath.size() - 1);
+    }
+
+    private void drawBranch(GraphicsContext gc, ProfileNode node, double x, double width, int row) {
+        drawFrame(gc, node, x, width, row, false);
+
+        double childX = x;
+        for (var child : node.children()) {
+            double childWidth = width * child.total() / node.total();
+            if (childWidth >= MIN_FRAME_WIDTH) {
+                drawBranch(gc, child, childX, childWidth, row + 1);
+            }
+            childX += childWidth;
+        }
+    }
+
+    private void drawFrame(GraphicsContext gc, ProfileNode node, double x, double width, int row, boolean ancestor) {
+        double y = row * ROW_HEIGHT;
+
+        gc.setFill(ancestor ? Color.LIGHTGRAY : colorOf(node.frame()));
+        gc.fillRect(x, y, Math.max(width - 1, MIN_FRAME_WIDTH), ROW_HEIGHT - 1);
+
+        if (width >= MIN_LABEL_WIDTH) {
+            int maxChars = (int) ((width - 6) / CHAR_WIDTH);
+            var text = node.frame().length() > maxChars
+                ? node.frame().substring(0, Math.max(0, maxChars - 2)) + ".."
+                : node.frame();
+            gc.setFill(Color.BLACK);
+            gc.fillText(text, x + 3, y + ROW_HEIGHT / 2);
+        }
+    }
+
+    private @Nullable ProfileNode findNode(double x, double y) {
+        var focus = getFocus();
+        if (focus == null || focus.total() == 0 || x < 0 || x > canvas.getWidth()) {
+            return null;
+        }
+
+        int row = (int) (y / ROW_HEIGHT);
+        if (row < focusPath.size()) {
+            return focusPath.get(row);
+        }
+
+        var node = focus;
+        double nodeX = 0;
+        double nodeWidth = canvas.getWidth();
+        for (int i = focusPath.size(); i <= row; i++) {
+            ProfileNode found = null;
+            double childX = nodeX;
+            for (var child : node.children()) {
+                double childWidth = nodeWidth * child.total() / node.total();
+                if (x >= childX && x < childX + childWidth) {
+                    found = child;
+                    nodeX = childX;
+                    nodeWidth = childWidth;
+                    break;
+                }
+                childX += childWidth;
+            }
+
+            if (found == null) {
+                return null;
+            }
+            node = found;
+        }
+
+        return node;
+    }
+
+    private void onMouseMoved(MouseEvent e) {
+        notifyHover(findNode(e.getX(), e.getY()));
+    }
+
+    private void onMouseClicked(MouseEvent e) {
+        var node = findNode(e.getX(), e.getY());
+        if (node == null) {
+            return;
+        }
+
+        int index = focusPath.indexOf(node);
+        if (index >= 0) {
+            // zoom out
+            focusPath.subList(index + 1, focusPath.size()).clear();
+        } else {
+            // zoom in, the path between the focus and the node must be restored
+            var path = new ArrayList<ProfileNode>();
+            collectPath(Objects.requireNonNull(getFocus()), node, path);
+            focusPath.addAll(path);
+        }
+
+        requestLayout();
+        draw();
+    }
+
+    private void notifyHover(@Nullable ProfileNode node) {
+        if (hoverHandler != null) {
+            hoverHandler.accept(node);
+        }
+    }
+
+    ///////////////////////////////////////////////////////////////////////////
+
+    private static boolean collectPath(ProfileNode from, ProfileNode to, List<ProfileNode> path) {
+        for (var child : from.children()) {
+            path.add(child);
+            if (child == to || collectPath(child, to, path)) {
+                return true;
+            }
+            path.removeLast();
+        }
+        return false;
+    }
+
+    private static int depthOf(@Nullable ProfileNode node) {
+        if (node == null) {
+            return 0;
+        }
+
+        int depth = 0;
+        for (var child : node.children()) {
+            depth = Math.max(depth, depthOf(child));
+        }
+        return depth + 1;
+    }
+
+    private static Color colorOf(String frame) {
+        // the application frames are warm, the platform frames are cold
+        double hash = (frame.hashCode() & 0xFF) / 255d;
+        for (var pkg : PLATFORM_PACKAGES) {
+            if (frame.startsWith(pkg)) {
+                return Color.hsb(190 + hash * 40, 0.35, 0.9);
+            }
+        }
+        return Color.hsb(hash * 50, 0.55, 0.95);
+    }
+}
@@ -0,0 +1,86 @@
+package devtoolsfx.gui.perf;
+
+import devtoolsfx.connector.InputLatencyReport;
+import devtoolsfx.connector.InputLatencySample;
+import devtoolsfx.connector.InputLatencyStats;
+import devtoolsfx.gui.util.Formatters;
+import javafx.beans.property.ReadOnlyStringWrapper;
+import javafx.scene.control.*;
+import javafx.scene.layout.Priority;
+import javafx.scene.layout.VBox;
+import org.jspecify.annotations.NullMarked;
+
+import java.text.DecimalFormat;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.function.Function;
+
+/**
+ * Displays the input event latency statistics per event type
+ * and the slowest recent events, see {@link InputLatencyReport}.
+ */
+@NullMarked
+final class InputLatencyPane extends VBox {
+
+    private static final DateTimeFormatter TIME_FORMAT = DateTimeFormatter.ofPattern("HH:mm:ss.SSS")
+        .withZone(ZoneId.systemDefault());
+    private static final DecimalFormat DECIMAL_FORMAT = new DecimalFormat("0.#");
+
+    private final TableView<InputLatencyStats> statsTable = new TableView<>();
+    private final TableView<InputLatencySample> slowestTable = new TableView<>();
+
+    InputLatencyPane() {
+        super();
+
+        createLayout();
+    }
+
+    /**
+     * Displays the given report.
+     */
+    void update(InputLatencyReport report) {
+        statsTable.getItems().setAll(report.stats());
+        slowestTable.getItems().setAll(report.slowest());
+    }
+
+    ///////////////////////////////////////////////////////////////////////////
+
+    private void createLayout() {
+        statsTable.getColumns().add(column("Event", InputLatencyStats::eventType));
+        statsTable.getColumns().add(column("Count", stats -> String.valueOf(stats.count())));
+        statsTable.getColumns().add(column("Frame p50", stats -> formatTime(stats.frameP50())));
+        statsTable.getColumns().add(column("Frame p95", stats -> formatTime(stats.frameP95())));
+        statsTable.getColumns().add(column("Frame p99", stats -> formatTime(stats.frameP99())));
+        statsTable.getColumns().add(column("Dispatch p50", stats -> formatTime(stats.dispatchP50())));
+        statsTable.getColumns().add(column("Dispatch p95", stats -> formatTime(stats.dispatchP95())));
+        statsTable.getColumns().add(column("Dispatch p99", stats -> formatTime(stats.dispatchP99())));
+        statsTable.setColumnResizePolicy(TableView.CONSTRAINED_RESIZE_POLICY_FLEX_LAST_COLUMN);
+        statsTable.setPlaceholder(new Label("No input events measured, see the preferences"));
+        VBox.setVgrow(statsTable, Priority.ALWAYS);
+
+        slowestTable.getColumns().add(column("Time", sample -> TIME_FORMAT.format(Instant.ofEpochMilli(sample.timestamp()))));
+        slowestTable.getColumns().add(column("Event", InputLatencySample::eventType));
+        slowestTable.getColumns().add(column("Target", sample -> Formatters.formatForTreeItem(sample.target())));
+        slowestTable.getColumns().add(column("Dispatch", sample -> sample.dispatchTime() >= 0 ? formatTime(sample.dispatchTime()) : "consumed"));
+        slowestTable.getColumns().add(column("Frame", sample -> formatTime(sample.frameLatency())));
+        slowestTable.setColumnResizePolicy(TableView.CONSTRAINED_RESIZE_POLICY_FLEX_LAST_COLUMN);
+        slowestTable.setPlaceholder(new Label("No input events measured"));
+        VBox.setVgrow(slowestTable, Priority.ALWAYS);
+
+        getStyleClass().add("input-latency");
+        getChildren().setAll(statsTable, slowestTable);
+    }
+
+    private static <T> TableColumn<T, String> column(String name, Function<T, String> mapper) {
+        var column = new TableColumn<T, String>(name);
+        column.setCellValueFactory(features -> new ReadOnlyStringWrapper(mapper.apply(features.getValue())));
+        column.setSortable(false);
+        column.setReorderable(false);
+        return column;
+    }
+
+    private static String formatTime(double millis) {
+        return DECIMAL_FORMAT.format(millis) + " ms";
+    }
+}
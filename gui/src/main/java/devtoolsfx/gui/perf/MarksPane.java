@@ -0,0 +1,75 @@
+package devtoolsfx.gui.perf;
+
+import devtoolsfx.connector.Performance;
+import devtoolsfx.connector.PerformanceEntry;
+import javafx.beans.property.ReadOnlyStringWrapper;
+import javafx.scene.control.Label;
+import javafx.scene.control.TableColumn;
+import javafx.scene.control.TableView;
+import org.jspecify.annotations.NullMarked;
+
+import java.text.DecimalFormat;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Displays the application performance marks and measures, see {@link Performance}.
+ * The newest entries are at the top.
+ */
+@NullMarked
+final class MarksPane extends TableView<PerformanceEntry> {
+
+    static final int MAX_ENTRIES = 1000;
+    private static final DecimalFormat SECONDS_FORMAT = new DecimalFormat("0.000");
+    private static final DecimalFormat MILLIS_FORMAT = new DecimalFormat("0.###");
+
+    // the start times are displayed relative to the first received entry
+    private long originTime = Long.MIN_VALUE;
+
+    MarksPane() {
+        super();
+
+        getColumns().add(column("Start, s", e -> SECONDS_FORMAT.format((e.startTime() - originTime) / 1e9)));
+        getColumns().add(column("Type", e -> e.type().name().toLowerCase()));
+        getColumns().add(column("Name", PerformanceEntry::name));
+        getColumns().add(column("Thread", PerformanceEntry::thread));
+        getColumns().add(column("Duration, ms", e -> e.type() == PerformanceEntry.Type.MEASURE
+            ? MILLIS_FORMAT.format(e.duration() / 1e6)
+            : ""
+        ));
+        setColumnResizePolicy(CONSTRAINED_RESIZE_POLICY_FLEX_LAST_COLUMN);
+        setPlaceholder(new Label("Use the Performance API to record marks and measures"));
+        getStyleClass().add("marks");
+    }
+
+    void addEntries(List<PerformanceEntry> entries) {
+        if (entries.isEmpty()) {
+            return;
+        }
+
+        if (originTime == Long.MIN_VALUE) {
+            originTime = entries.getFirst().startTime();
+        }
+
+        getItems().addAll(0, entries.reversed());
+        if (getItems().size() > MAX_ENTRIES) {
+            getItems().remove(MAX_ENTRIES, getItems().size());
+        }
+    }
+
+    void clear() {
+        getItems().clear();
+        originTime = Long.MIN_VALUE;
+    }
+
+    ///////////////////////////////////////////////////////////////////////////
+
+    private static TableColumn<PerformanceEntry, String> column(String name,
+                                                                Function<PerformanceEntry, String> mapper) {
+        var column = new TableColumn<PerformanceEntry, String>(name);
+        column.setCellValueFactory(features -> new ReadOnlyStringWrapper(mapper.apply(features.getValue())));
+        column.setSortable(false);
+        column.setReorderable(false);
+        return column;
+    }
+}
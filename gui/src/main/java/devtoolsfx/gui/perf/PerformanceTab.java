@@ -0,0 +1,235 @@
+package devtoolsfx.gui.perf;
+
+import devtoolsfx.connector.ConnectorOptions;
+import devtoolsfx.connector.PerformanceEntry;
+import devtoolsfx.event.StallEvent;
+import devtoolsfx.gui.ToolPane;
+import javafx.animation.Animation;
+import javafx.animation.KeyFrame;
+import javafx.animation.Timeline;
+import javafx.beans.property.ReadOnlyObjectWrapper;
+import javafx.beans.property.ReadOnlyStringWrapper;
+import javafx.geometry.Orientation;
+import javafx.scene.control.*;
+import javafx.scene.layout.HBox;
+import javafx.scene.layout.Priority;
+import javafx.scene.layout.Region;
+import javafx.scene.layout.VBox;
+import javafx.util.Duration;
+import org.jspecify.annotations.NullMarked;
+import org.jspecify.annotations.Nullable;
+
+import java.text.DecimalFormat;
+import java.time.LocalTime;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+
+/**
+ * Displays the FX application thread performance issues: the thread stalls,
+ * the input event latency and the application marks and measures.
+ */
+@NullMarked
+public final class PerformanceTab extends VBox {
+
+    public static final String TAB_NAME = "Performance";
+
+    static final int MAX_STALLS = 100;
+    private static final DateTimeFormatter TIME_FORMAT = DateTimeFormatter.ofPattern("HH:mm:ss");
+    private static final DecimalFormat PERCENT_FORMAT = new DecimalFormat("0.#");
+
+    private final ToolPane toolPane;
+    private final ListView<Stall> stallList = new ListView<>();
+    private final TreeTableView<CallTreeNode> callTree = new TreeTableView<>();
+    private final InputLatencyPane inputLatencyPane = new InputLatencyPane();
+    private final MarksPane marksPane = new MarksPane();
+    private final Timeline refreshTimeline;
+
+    public PerformanceTab(ToolPane toolPane) {
+        super();
+
+        this.toolPane = toolPane;
+
+        refreshTimeline = new Timeline(new KeyFrame(Duration.seconds(1), e -> update()));
+        refreshTimeline.setCycleCount(Animation.INDEFINITE);
+
+        createLayout();
+        initListeners();
+    }
+
+    /**
+     * Appends the reported application marks and measures.
+     */
+    public void addPerformanceEntries(List<PerformanceEntry> entries) {
+        marksPane.addEntries(entries);
+    }
+
+    /**
+     * Reloads the input latency statistics from the connector.
+     */
+    public void update() {
+        toolPane.getConnector().getInputLatencyReport().thenAccept(inputLatencyPane::update);
+    }
+
+    /**
+     * Adds the reported stall to the top of the stall list.
+     */
+    public void addStall(StallEvent event) {
+        stallList.getItems().addFirst(new Stall(LocalTime.now(), event));
+        if (stallList.getItems().size() > MAX_STALLS) {
+            stallList.getItems().removeLast();
+        }
+    }
+
+    ///////////////////////////////////////////////////////////////////////////
+
+    private void createLayout() {
+        stallList.getStyleClass().add("stall-list");
+        stallList.setPlaceholder(new Label("No FX thread stalls detected, see the preferences"));
+        stallList.setCellFactory(c -> new ListCell<>() {
+            @Override
+            protected void updateItem(@Nullable Stall stall, boolean empty) {
+                super.updateItem(stall, empty);
+                setText(!empty && stall != null ? stall.format() : null);
+            }
+        });
+        stallList.setContextMenu(createStallContextMenu());
+
+        createCallTreeColumns();
+        callTree.getStyleClass().add("call-tree");
+        callTree.setShowRoot(true);
+        callTree.setColumnResizePolicy(TreeTableView.CONSTRAINED_RESIZE_POLICY_SUBSEQUENT_COLUMNS);
+        callTree.setPlaceholder(new Label("Select a stall to display the sampled call tree"));
+
+        var stallPane = new SplitPane(stallList, callTree);
+        stallPane.setOrientation(Orientation.HORIZONTAL);
+        stallPane.setDividerPositions(0.3);
+        VBox.setVgrow(stallPane, Priority.ALWAYS);
+
+        var resetLatencyButton = new Button("Reset");
+        resetLatencyButton.setOnAction(e -> {
+            toolPane.getConnector().resetInputLatency();
+            update();
+        });
+        VBox.setVgrow(inputLatencyPane, Priority.ALWAYS);
+
+        var clearMarksButton = new Button("Clear");
+        clearMarksButton.setOnAction(e -> marksPane.clear());
+        VBox.setVgrow(marksPane, Priority.ALWAYS);
+
+        var splitPane = new SplitPane(
+            new VBox(createHeader("FX Thread Stalls"), stallPane),
+            new VBox(createHeader("Input Latency", resetLatencyButton), inputLatencyPane),
+            new VBox(createHeader("Marks & Measures", clearMarksButton), marksPane)
+        );
+        splitPane.setOrientation(Orientation.VERTICAL);
+        splitPane.setDividerPositions(0.35, 0.7);
+        VBox.setVgrow(splitPane, Priority.ALWAYS);
+
+        setId("performance-tab");
+        getStyleClass().setAll("tab");
+        getChildren().setAll(splitPane);
+    }
+
+    private void initListeners() {
+        stallList.getSelectionModel().selectedItemProperty().addListener(
+            (obs, old, val) -> showCallTree(val)
+        );
+
+        // refresh the statistics only while they are collected
+        toolPane.getPreferences().inputLatencyTrackingProperty().subscribe(tracking -> {
+            if (tracking) {
+                refreshTimeline.play();
+            } else {
+                refreshTimeline.stop();
+            }
+        });
+    }
+
+    private HBox createHeader(String title, Control... controls) {
+        var spacer = new Region();
+        HBox.setHgrow(spacer, Priority.ALWAYS);
+
+        var header = new HBox(new Label(title), spacer);
+        header.getChildren().addAll(controls);
+        header.getStyleClass().add("header");
+        VBox.setVgrow(header, Priority.NEVER);
+
+        return header;
+    }
+
+    private void createCallTreeColumns() {
+        var frameCol = new TreeTableColumn<CallTreeNode, String>("Method");
+        frameCol.setCellValueFactory(features -> new ReadOnlyStringWrapper(features.getValue().getValue().getFrame()));
+        frameCol.setSortable(false);
+        frameCol.setReorderable(false);
+
+        var countCol = new TreeTableColumn<CallTreeNode, Integer>("Samples");
+        countCol.setCellValueFactory(features -> new ReadOnlyObjectWrapper<>(features.getValue().getValue().getCount()));
+        countCol.setSortable(false);
+        countCol.setReorderable(false);
+        countCol.setPrefWidth(80);
+        countCol.setMaxWidth(120);
+
+        var percentCol = new TreeTableColumn<CallTreeNode, String>("%");
+        percentCol.setCellValueFactory(features -> {
+            var root = callTree.getRoot();
+            int total = root != null ? root.getValue().getCount() : 0;
+            int count = features.getValue().getValue().getCount();
+            return new ReadOnlyStringWrapper(total > 0 ? PERCENT_FORMAT.format(count * 100d / total) : "");
+        });
+        percentCol.setSortable(false);
+        percentCol.setReorderable(false);
+        percentCol.setPrefWidth(60);
+        percentCol.setMaxWidth(80);
+
+        callTree.getColumns().add(frameCol);
+        callTree.getColumns().add(countCol);
+        callTree.getColumns().add(percentCol);
+    }
+
+    private ContextMenu createStallContextMenu() {
+        var clearItem = new MenuItem("Clear");
+        clearItem.setOnAction(e -> stallList.getItems().clear());
+
+        var contextMenu = new ContextMenu();
+        contextMenu.setId(ConnectorOptions.AUX_NODE_ID_PREFIX + "stallListContextMenu");
+        contextMenu.getItems().addAll(clearItem);
+
+        return contextMenu;
+    }
+
+    private void showCallTree(@Nullable Stall stall) {
+        if (stall == null) {
+            callTree.setRoot(null);
+            return;
+        }
+
+        var root = CallTreeNode.of(stall.format(), stall.event().samples());
+        callTree.setRoot(createTreeItem(root, true));
+    }
+
+    private TreeItem<CallTreeNode> createTreeItem(CallTreeNode node, boolean expanded) {
+        var item = new TreeItem<>(node);
+
+        // expand the heaviest path, so the most likely cause of the stall is visible at once
+        boolean first = true;
+        for (var child : node.getChildren()) {
+            item.getChildren().add(createTreeItem(child, expanded && first));
+            first = false;
+        }
+        item.setExpanded(expanded);
+
+        return item;
+    }
+
+    ///////////////////////////////////////////////////////////////////////////
+
+    private record Stall(LocalTime time, StallEvent event) {
+
+        private String format() {
+            return TIME_FORMAT.format(time)
+                + " | " + event.duration() + " ms"
+                + " | " + event.sampleCount() + " samples";
+        }
+    }
+}
@@ -0,0 +1,131 @@
+package devtoolsfx.gui.perf;
+
+import devtoolsfx.connector.ProfileNode;
+import devtoolsfx.gui.ToolPane;
+import javafx.animation.Animation;
+import javafx.animation.KeyFrame;
+import javafx.animation.Timeline;
+import javafx.css.PseudoClass;
+import javafx.scene.control.Button;
+import javafx.scene.control.Label;
+import javafx.scene.control.ScrollPane;
+import javafx.scene.layout.HBox;
+import javafx.scene.layout.Priority;
+import javafx.scene.layout.Region;
+import javafx.scene.layout.VBox;
+import javafx.util.Duration;
+import org.jspecify.annotations.NullMarked;
+import org.jspecify.annotations.Nullable;
+
+import java.text.DecimalFormat;
+
+/**
+ * Displays the FX application thread profile as a flame graph.
+ * See {@link devtoolsfx.connector.Connector#startProfiling()}.
+ */
+@NullMarked
+public final class ProfilerTab extends VBox {
+
+    public static final String TAB_NAME = "Profiler";
+
+    private static final PseudoClass STARTED = PseudoClass.getPseudoClass("started");
+    private static final DecimalFormat PERCENT_FORMAT = new DecimalFormat("0.##");
+
+    private final ToolPane toolPane;
+    private final FlameGraph flameGraph = new FlameGraph();
+    private final Button startStopButton = new Button("Start");
+    private final Button resetButton = new Button("Reset");
+    private final Label sampleCountLabel = new Label();
+    private final Label statusLabel = new Label();
+    private final Timeline refreshTimeline;
+
+    private @Nullable ProfileNode profile;
+    private boolean started;
+
+    public ProfilerTab(ToolPane toolPane) {
+        super();
+
+        this.toolPane = toolPane;
+
+        refreshTimeline = new Timeline(new KeyFrame(Duration.seconds(1), e -> update()));
+        refreshTimeline.setCycleCount(Animation.INDEFINITE);
+
+        createLayout();
+        initListeners();
+        update();
+    }
+
+    /**
+     * Reloads the profile from the connector.
+     */
+    public void update() {
+        toolPane.getConnector().getProfile().thenAccept(root -> {
+            profile = root;
+            flameGraph.setRoot(root);
+            sampleCountLabel.setText(root.total() + " samples");
+        });
+    }
+
+    ///////////////////////////////////////////////////////////////////////////
+
+    private void createLayout() {
+        startStopButton.getStyleClass().add("start-stop-button");
+        resetButton.getStyleClass().add("reset-button");
+
+        var spacer = new Region();
+        HBox.setHgrow(spacer, Priority.ALWAYS);
+
+        var controlsBox = new HBox(startStopButton, resetButton, spacer, sampleCountLabel);
+        controlsBox.getStyleClass().add("controls");
+        VBox.setVgrow(controlsBox, Priority.NEVER);
+
+        var scrollPane = new ScrollPane(flameGraph);
+        scrollPane.setFitToWidth(true);
+        scrollPane.setHbarPolicy(ScrollPane.ScrollBarPolicy.NEVER);
+        VBox.setVgrow(scrollPane, Priority.ALWAYS);
+
+        var statusBar = new HBox(statusLabel);
+        statusBar.getStyleClass().add("status-bar");
+        VBox.setVgrow(statusBar, Priority.NEVER);
+
+        setId("profiler-tab");
+        getStyleClass().setAll("tab");
+        getChildren().setAll(controlsBox, scrollPane, statusBar);
+    }
+
+    private void initListeners() {
+        startStopButton.setOnAction(e -> {
+            started = !started;
+            if (started) {
+                toolPane.getConnector().startProfiling();
+                refreshTimeline.play();
+            } else {
+                toolPane.getConnector().stopProfiling();
+                refreshTimeline.stop();
+                update();
+            }
+
+            startStopButton.setText(started ? "Stop" : "Start");
+            startStopButton.pseudoClassStateChanged(STARTED, started);
+        });
+
+        resetButton.setOnAction(e -> {
+            toolPane.getConnector().resetProfiling();
+            update();
+        });
+
+        flameGraph.setOnHover(this::updateStatus);
+    }
+
+    private void updateStatus(@Nullable ProfileNode node) {
+        if (node == null || profile == null || profile.total() == 0) {
+            statusLabel.setText(null);
+            return;
+        }
+
+        statusLabel.setText(node.frame()
+            + " | total: " + node.total() + " (" + PERCENT_FORMAT.format(node.total() * 100d / profile.total()) + "%)"
+            + " | self: " + node.self() + " (" + PERCENT_FORMAT.format(node.self() * 100d / profile.total()) + "%)"
+        );
+    }
+}
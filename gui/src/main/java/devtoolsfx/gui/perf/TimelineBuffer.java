@@ -0,0 +1,402 @@
+package devtoolsfx.gui.perf;
+
+import devtoolsfx.connector.PerformanceEntry;
+import devtoolsfx.connector.TimelineLane;
+import devtoolsfx.connector.TimelineSamples;
+import devtoolsfx.event.ConnectorEvent;
+import devtoolsfx.event.StallEvent;
+import org.jspecify.annotations.NullMarked;
+import org.jspecify.annotations.Nullable;
+
+import java.util.*;
+
+/**
+ * Stores the timeline recording in memory. Each lane is a column pair of the primitive
+ * sample times and values, so an hour of pulses takes about 2.5 MB. The values are also
+ * aggregated per block of samples, so that the range queries of the zoomed out view don't
+ * have to visit every sample. The connector events are stored as the times and the indices
+ * of the event type names, only the stalls are kept as is, because of their stack samples.
+ */
+@NullMarked
+final class TimelineBuffer {
+
+    private final Map<TimelineLane, Series> lanes = new EnumMap<>(TimelineLane.class);
+    // the application marks and measures, see Performance
+    private final Series measures;
+    private final List<String> eventTypes;
+    private final Map<String, Integer> eventTypeIndices;
+    private final List<Stall> stalls;
+
+    private long[] eventTimes;
+    private int[] eventTypeIds;
+    private int eventCount;
+    private String application = "";
+    private long startTime = Long.MAX_VALUE;
+    private long endTime = Long.MIN_VALUE;
+
+    TimelineBuffer() {
+        for (var lane : TimelineLane.values()) {
+            lanes.put(lane, new Series(false));
+        }
+        measures = new Series(true);
+        eventTypes = new ArrayList<>();
+        eventTypeIndices = new HashMap<>();
+        stalls = new ArrayList<>();
+        eventTimes = new long[Series.BLOCK_SIZE];
+        eventTypeIds = new int[Series.BLOCK_SIZE];
+    }
+
+    // deep copy
+    private TimelineBuffer(TimelineBuffer other) {
+        other.lanes.forEach((lane, series) -> lanes.put(lane, new Series(series)));
+        measures = new Series(other.measures);
+        eventTypes = new ArrayList<>(other.eventTypes);
+        eventTypeIndices = new HashMap<>(other.eventTypeIndices);
+        stalls = new ArrayList<>(other.stalls);
+        eventTimes = Arrays.copyOf(other.eventTimes, other.eventCount);
+        eventTypeIds = Arrays.copyOf(other.eventTypeIds, other.eventCount);
+        eventCount = other.eventCount;
+        application = other.application;
+        startTime = other.startTime;
+        endTime = other.endTime;
+    }
+
+    void add(TimelineSamples samples) {
+        var series = lanes.get(samples.lane());
+        for (int i = 0; i < samples.size(); i++) {
+            add(series, samples.times()[i], (float) samples.values()[i], null, null, isSpan(samples.lane()));
+        }
+    }
+
+    void add(List<PerformanceEntry> entries) {
+        for (var entry : entries) {
+            add(measures, entry.startTime(), entry.duration() / 1_000_000f, entry.name(), entry.thread(), true);
+        }
+    }
+
+    /**
+     * Records the connector event received at the given time.
+     */
+    void add(long time, ConnectorEvent event) {
+        if (event.eventSource().isPrimaryStage()) {
+            application = event.eventSource().application();
+        }
+
+        if (event instanceof StallEvent stall) {
+            stalls.add(new Stall(time - stall.duration() * 1_000_000, stall));
+        }
+
+        if (eventCount == eventTimes.length) {
+            eventTimes = Arrays.copyOf(eventTimes, eventCount * 2);
+            eventTypeIds = Arrays.copyOf(eventTypeIds, eventCount * 2);
+        }
+
+        var type = event.getClass().getSimpleName();
+        eventTimes[eventCount] = time;
+        eventTypeIds[eventCount] = eventTypeIndices.computeIfAbsent(type, k -> {
+            eventTypes.add(k);
+            return eventTypes.size() - 1;
+        });
+        eventCount++;
+    }
+
+    /**
+     * Returns the deep copy of the buffer, e.g. to read it from a background thread.
+     */
+    TimelineBuffer copy() {
+        return new TimelineBuffer(this);
+    }
+
+    Series getSeries(TimelineLane lane) {
+        return lanes.get(lane);
+    }
+
+    Series getMeasures() {
+        return measures;
+    }
+
+    int getEventCount() {
+        return eventCount;
+    }
+
+    long getEventTime(int index) {
+        return eventTimes[index];
+    }
+
+    String getEventType(int index) {
+        return eventTypes.get(eventTypeIds[index]);
+    }
+
+    List<Stall> getStalls() {
+        return Collections.unmodifiableList(stalls);
+    }
+
+    /**
+     * Returns the name of the recorded application, if it's known.
+     */
+    String getApplication() {
+        return application;
+    }
+
+    boolean isEmpty() {
+        return startTime > endTime;
+    }
+
+    /**
+     * Returns the time of the first recorded sample in nanoseconds.
+     */
+    long getStartTime() {
+        return isEmpty() ? 0 : startTime;
+    }
+
+    /**
+     * Returns the end time of the last recorded sample in nanoseconds.
+     */
+    long getEndTime() {
+        return isEmpty() ? 0 : endTime;
+    }
+
+    /**
+     * Returns the total number of samples in all lanes.
+     */
+    long getSampleCount() {
+        long count = measures.size() + eventCount;
+        for (var series : lanes.values()) {
+            count += series.size();
+        }
+        return count;
+    }
+
+    void clear() {
+        lanes.values().forEach(Series::clear);
+        measures.clear();
+        eventTypes.clear();
+        eventTypeIndices.clear();
+        stalls.clear();
+        eventTimes = new long[Series.BLOCK_SIZE];
+        eventTypeIds = new int[Series.BLOCK_SIZE];
+        eventCount = 0;
+        startTime = Long.MAX_VALUE;
+        endTime = Long.MIN_VALUE;
+    }
+
+    ///////////////////////////////////////////////////////////////////////////
+
+    /**
+     * Returns true if the lane values are the durations in milliseconds.
+     */
+    static boolean isSpan(TimelineLane lane) {
+        return lane == TimelineLane.PULSES || lane == TimelineLane.STALLS || lane == TimelineLane.GC;
+    }
+
+    private void add(Series series,
+                     long time,
+                     float value,
+                     @Nullable String label,
+                     @Nullable String thread,
+                     boolean span) {
+        series.add(time, value, label, thread);
+        startTime = Math.min(startTime, time);
+        endTime = Math.max(endTime, span ? time + (long) (value * 1_000_000) : time);
+    }
+
+    ///////////////////////////////////////////////////////////////////////////
+
+    /**
+     * The stall reported by the connector.
+     *
+     * @param startTime the stall start time in nanoseconds
+     * @param event     the stall event
+     */
+    record Stall(long startTime, StallEvent event) {
+    }
+
+    /**
+     * The samples of a single lane ordered by time.
+     */
+    static final class Series {
+
+        static final int BLOCK_SHIFT = 8;
+        static final int BLOCK_SIZE = 1 << BLOCK_SHIFT;
+
+        private final boolean labeled;
+        private long[] times = new long[BLOCK_SIZE];
+        private float[] values = new float[BLOCK_SIZE];
+        // the measure names and the threads that recorded them
+        private String @Nullable [] labels;
+        private String @Nullable [] threads;
+        // the max and the sum of values per block
+        private float[] blockMax = new float[1];
+        private double[] blockSum = new double[1];
+        private float maxValue;
+        private int size;
+
+        private Series(boolean labeled) {
+            this.labeled = labeled;
+            if (labeled) {
+                labels = new String[BLOCK_SIZE];
+                threads = new String[BLOCK_SIZE];
+            }
+        }
+
+        // copies the samples only
+        private Series(Series other) {
+            this.labeled = other.labeled;
+            this.times = Arrays.copyOf(other.times, other.size);
+            this.values = Arrays.copyOf(other.values, other.size);
+            this.labels = other.labels != null ? Arrays.copyOf(other.labels, other.size) : null;
+            this.threads = other.threads != null ? Arrays.copyOf(other.threads, other.size) : null;
+            this.blockMax = other.blockMax.clone();
+            this.blockSum = other.blockSum.clone();
+            this.maxValue = other.maxValue;
+            this.size = other.size;
+        }
+
+        int size() {
+            return size;
+        }
+
+        long getTime(int index) {
+            return times[index];
+        }
+
+        float getValue(int index) {
+            return values[index];
+        }
+
+        @Nullable String getLabel(int index) {
+            return labels != null ? labels[index] : null;
+        }
+
+        @Nullable String getThread(int index) {
+            return threads != null ? threads[index] : null;
+        }
+
+        /**
+         * Returns the max value of all samples.
+         */
+        float getMaxValue() {
+            return maxValue;
+        }
+
+        /**
+         * Returns the index of the first sample with the time greater or equal than the given one,
+         * or the size of the series if there's no such sample.
+         */
+        int indexOf(long time) {
+            int low = 0;
+            int high = size;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (times[mid] < time) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            return low;
+        }
+
+        /**
+         * Returns the max value of the samples in the given index range (exclusive).
+         */
+        float max(int from, int to) {
+            float max = 0;
+            int i = from;
+            while (i < to) {
+                if ((i & (BLOCK_SIZE - 1)) == 0 && i + BLOCK_SIZE <= to) {
+                    max = Math.max(max, blockMax[i >> BLOCK_SHIFT]);
+                    i += BLOCK_SIZE;
+                } else {
+                    max = Math.max(max, values[i++]);
+                }
+            }
+            return max;
+        }
+
+        /**
+         * Returns the sum of the sample values in the given index range (exclusive).
+         */
+        double sum(int from, int to) {
+            double sum = 0;
+            int i = from;
+            while (i < to) {
+                if ((i & (BLOCK_SIZE - 1)) == 0 && i + BLOCK_SIZE <= to) {
+                    sum += blockSum[i >> BLOCK_SHIFT];
+                    i += BLOCK_SIZE;
+                } else {
+                    sum += values[i++];
+                }
+            }
+            return sum;
+        }
+
+        private void add(long time, float value, @Nullable String label, @Nullable String thread) {
+            if (size == times.length) {
+                int capacity = Math.max(BLOCK_SIZE, size * 2);
+                times = Arrays.copyOf(times, capacity);
+                values = Arrays.copyOf(values, capacity);
+                blockMax = Arrays.copyOf(blockMax, capacity >> BLOCK_SHIFT);
+                blockSum = Arrays.copyOf(blockSum, capacity >> BLOCK_SHIFT);
+                if (labels != null && threads != null) {
+                    labels = Arrays.copyOf(labels, capacity);
+                    threads = Arrays.copyOf(threads, capacity);
+                }
+            }
+
+            // the sources are reported independently, so the samples may come slightly out of order
+            int index = size > 0 && time < times[size - 1] ? indexOf(time) : size;
+            if (index < size) {
+                System.arraycopy(times, index, times, index + 1, size - index);
+                System.arraycopy(values, index, values, index + 1, size - index);
+                if (labels != null && threads != null) {
+                    System.arraycopy(labels, index, labels, index + 1, size - index);
+                    System.arraycopy(threads, index, threads, index + 1, size - index);
+                }
+            }
+
+            times[index] = time;
+            values[index] = value;
+            if (labels != null && threads != null) {
+                labels[index] = label;
+                threads[index] = thread;
+            }
+            size++;
+            maxValue = Math.max(maxValue, value);
+
+            if (index == size - 1) {
+                int block = index >> BLOCK_SHIFT;
+                blockMax[block] = Math.max(blockMax[block], value);
+                blockSum[block] += value;
+            } else {
+                updateBlocks(index >> BLOCK_SHIFT);
+            }
+        }
+
+        private void updateBlocks(int fromBlock) {
+            for (int block = fromBlock; block <= (size - 1) >> BLOCK_SHIFT; block++) {
+                int from = block << BLOCK_SHIFT;
+                int to = Math.min(size, from + BLOCK_SIZE);
+                float max = 0;
+                double sum = 0;
+                for (int i = from; i < to; i++) {
+                    max = Math.max(max, values[i]);
+                    sum += values[i];
+                }
+                blockMax[block] = max;
+                blockSum[block] = sum;
+            }
+        }
+
+        private void clear() {
+            times = new long[BLOCK_SIZE];
+            values = new float[BLOCK_SIZE];
+            blockMax = new float[1];
+            blockSum = new double[1];
+            labels = labeled ? new String[BLOCK_SIZE] : null;
+            threads = labeled ? new String[BLOCK_SIZE] : null;
+            maxValue = 0;
+            size = 0;
+        }
+    }
+}
@@ -0,0 +1,195 @@
+package devtoolsfx.gui.perf;
+
+import devtoolsfx.connector.PerformanceEntry;
+import devtoolsfx.connector.TimelineSamples;
+import devtoolsfx.event.ConnectorEvent;
+import devtoolsfx.event.TimelineEvent;
+import devtoolsfx.gui.ToolPane;
+import javafx.css.PseudoClass;
+import javafx.scene.control.Button;
+import javafx.scene.control.Label;
+import javafx.scene.control.ScrollPane;
+import javafx.scene.layout.HBox;
+import javafx.scene.layout.Priority;
+import javafx.scene.layout.Region;
+import javafx.scene.layout.VBox;
+import javafx.stage.FileChooser;
+import org.jspecify.annotations.NullMarked;
+
+import java.io.File;
+import java.nio.file.Paths;
+import java.util.List;
+
+/**
+ * Displays the performance timeline: pulses, input events, connector events, layout
+ * invalidations, stalls, garbage collections and the application measures on the
+ * shared time axis. See {@link devtoolsfx.connector.Connector#startTimelineRecording()}.
+ * The recording can be exported in the Chrome Trace Event format, see {@link TraceExporter}.
+ */
+@NullMarked
+public final class TimelineTab extends VBox {
+
+    public static final String TAB_NAME = "Timeline";
+
+    private static final PseudoClass STARTED = PseudoClass.getPseudoClass("started");
+
+    private final ToolPane toolPane;
+    private final TimelineBuffer buffer = new TimelineBuffer();
+    private final TimelineView timelineView = new TimelineView(buffer);
+    private final Button startStopButton = new Button("Start");
+    private final Button clearButton = new Button("Clear");
+    private final Button fitButton = new Button("Fit");
+    private final Button exportButton = new Button("Export");
+    private final Label sampleCountLabel = new Label();
+    private final Label statusLabel = new Label();
+
+    private boolean started;
+    private boolean exporting;
+
+    public TimelineTab(ToolPane toolPane) {
+        super();
+
+        this.toolPane = toolPane;
+
+        createLayout();
+        initListeners();
+        updateSampleCount();
+    }
+
+    /**
+     * Appends the reported timeline samples.
+     */
+    public void addSamples(List<TimelineSamples> samples) {
+        if (!started) {
+            return;
+        }
+
+        samples.forEach(buffer::add);
+        updateSampleCount();
+        timelineView.refresh();
+    }
+
+    /**
+     * Records the connector event, so it can be exported with the timeline.
+     */
+    public void addEvent(ConnectorEvent event) {
+        if (!started || event instanceof TimelineEvent) {
+            return;
+        }
+
+        buffer.add(System.nanoTime(), event);
+    }
+
+    /**
+     * Appends the reported application marks and measures.
+     */
+    public void addPerformanceEntries(List<PerformanceEntry> entries) {
+        if (!started) {
+            return;
+        }
+
+        buffer.add(entries);
+        timelineView.refresh();
+    }
+
+    ///////////////////////////////////////////////////////////////////////////
+
+    private void createLayout() {
+        startStopButton.getStyleClass().add("start-stop-button");
+        clearButton.getStyleClass().add("clear-button");
+        fitButton.getStyleClass().add("fit-button");
+        exportButton.getStyleClass().add("export-button");
+
+        var spacer = new Region();
+        HBox.setHgrow(spacer, Priority.ALWAYS);
+
+        var controlsBox = new HBox(
+            startStopButton, clearButton, fitButton, exportButton, spacer, sampleCountLabel
+        );
+        controlsBox.getStyleClass().add("controls");
+        VBox.setVgrow(controlsBox, Priority.NEVER);
+
+        var scrollPane = new ScrollPane(timelineView);
+        scrollPane.setFitToWidth(true);
+        scrollPane.setFitToHeight(true);
+        scrollPane.setHbarPolicy(ScrollPane.ScrollBarPolicy.NEVER);
+        VBox.setVgrow(scrollPane, Priority.ALWAYS);
+
+        var statusBar = new HBox(statusLabel);
+        statusBar.getStyleClass().add("status-bar");
+        VBox.setVgrow(statusBar, Priority.NEVER);
+
+        setId("timeline-tab");
+        getStyleClass().setAll("tab");
+        getChildren().setAll(controlsBox, scrollPane, statusBar);
+    }
+
+    private void initListeners() {
+        startStopButton.setOnAction(e -> {
+            if (started) {
+                // the remaining samples are reported on stop
+                toolPane.getConnector().stopTimelineRecording();
+                started = false;
+            } else {
+                started = true;
+                toolPane.getConnector().startTimelineRecording();
+            }
+
+            startStopButton.setText(started ? "Stop" : "Start");
+            startStopButton.pseudoClassStateChanged(STARTED, started);
+        });
+
+        clearButton.setOnAction(e -> {
+            buffer.clear();
+            updateSampleCount();
+            timelineView.reset();
+        });
+
+        fitButton.setOnAction(e -> timelineView.zoomToFit());
+
+        exportButton.setOnAction(e -> {
+            var dialog = new FileChooser();
+            dialog.setTitle("Save File");
+            dialog.setInitialFileName("trace.json");
+            dialog.setInitialDirectory(Paths.get(System.getProperty("user.home")).toFile());
+            dialog.getExtensionFilters().addAll(
+                new FileChooser.ExtensionFilter("Trace Files", "*.json"),
+                new FileChooser.ExtensionFilter("All Files", "*.*")
+            );
+
+            var file = dialog.showSaveDialog(exportButton.getScene().getWindow());
+            if (file != null) {
+                exportTrace(file);
+            }
+        });
+
+        timelineView.setOnHover(statusLabel::setText);
+    }
+
+    private void updateSampleCount() {
+        sampleCountLabel.setText(buffer.getSampleCount() + " samples");
+        exportButton.setDisable(exporting || buffer.getSampleCount() == 0);
+    }
+
+    private void exportTrace(File file) {
+        exporting = true;
+        updateSampleCount();
+        statusLabel.setText("Exporting to " + file + "...");
+
+        // the copy is compact, unlike the JSON, which is streamed to the file
+        new TraceExporter(buffer.copy()).exportAsync(
+            file.toPath(),
+            count -> {
+                exporting = false;
+                updateSampleCount();
+                statusLabel.setText("Exported " + count + " trace events to " + file);
+            },
+            ex -> {
+                exporting = false;
+                updateSampleCount();
+                statusLabel.setText("Export failed: " + ex.getMessage());
+                toolPane.handleException(ex);
+            }
+        );
+    }
+}
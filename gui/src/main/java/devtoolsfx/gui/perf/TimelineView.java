@@ -0,0 +1,458 @@
+package devtoolsfx.gui.perf;
+
+import devtoolsfx.connector.TimelineLane;
+import javafx.geometry.Orientation;
+import javafx.geometry.VPos;
+import javafx.scene.canvas.Canvas;
+import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.control.ScrollBar;
+import javafx.scene.input.MouseEvent;
+import javafx.scene.input.ScrollEvent;
+import javafx.scene.layout.Region;
+import javafx.scene.paint.Color;
+import javafx.scene.text.Font;
+import javafx.scene.text.TextAlignment;
+import org.jspecify.annotations.NullMarked;
+import org.jspecify.annotations.Nullable;
+
+import java.text.DecimalFormat;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Renders the {@link TimelineBuffer} as the horizontal swimlanes with the shared time axis.
+ * Only the visible time range is drawn and the samples are aggregated per pixel, so the
+ * rendering cost doesn't depend on the recording length. The mouse wheel zooms around
+ * the cursor, dragging or the scroll bar pans the view. While the view shows the end
+ * of the recording, it follows the new samples.
+ */
+@NullMarked
+final class TimelineView extends Region {
+
+    static final double HEADER_WIDTH = 80;
+    static final double RULER_HEIGHT = 20;
+    static final double CHART_ROW_HEIGHT = 40;
+    static final double SPAN_ROW_HEIGHT = 20;
+    static final double MIN_TICK_SPACING = 80;
+    static final double MIN_LABEL_WIDTH = 30;
+    static final double CHAR_WIDTH = 7;
+    static final double ZOOM_FACTOR = 1.2;
+    static final long MIN_VIEW_DURATION = 1_000_000; // 1 ms
+    static final long DEFAULT_VIEW_DURATION = 10_000_000_000L; // 10 s
+    static final float FRAME_BUDGET = 1000 / 60f;
+
+    private static final long[] TICK_STEPS = {
+        1_000_000L, 2_000_000L, 5_000_000L,
+        10_000_000L, 20_000_000L, 50_000_000L,
+        100_000_000L, 200_000_000L, 500_000_000L,
+        1_000_000_000L, 2_000_000_000L, 5_000_000_000L,
+        10_000_000_000L, 30_000_000_000L, 60_000_000_000L,
+        120_000_000_000L, 300_000_000_000L, 600_000_000_000L,
+        1_800_000_000_000L, 3_600_000_000_000L
+    };
+
+    private static final Color GRID_COLOR = Color.gray(0.5, 0.3);
+    private static final Color TEXT_COLOR = Color.gray(0.5);
+    private static final Color PULSE_COLOR = Color.web("#4caf50");
+    private static final Color SLOW_PULSE_COLOR = Color.web("#f44336");
+    private static final Color INPUT_COLOR = Color.web("#2196f3");
+    private static final Color EVENTS_COLOR = Color.web("#9c27b0");
+    private static final Color LAYOUT_COLOR = Color.web("#ff9800");
+    private static final Color STALL_COLOR = Color.web("#f44336");
+    private static final Color GC_COLOR = Color.web("#795548");
+    private static final Color MEASURE_COLOR = Color.web("#ffc107");
+    private static final DecimalFormat VALUE_FORMAT = new DecimalFormat("0.##");
+
+    private final List<Row> rows = List.of(
+        new Row("Pulses", TimelineLane.PULSES, CHART_ROW_HEIGHT, PULSE_COLOR),
+        new Row("Input", TimelineLane.INPUT, CHART_ROW_HEIGHT, INPUT_COLOR),
+        new Row("Events", TimelineLane.EVENTS, CHART_ROW_HEIGHT, EVENTS_COLOR),
+        new Row("Layout", TimelineLane.LAYOUT, CHART_ROW_HEIGHT, LAYOUT_COLOR),
+        new Row("Stalls", TimelineLane.STALLS, SPAN_ROW_HEIGHT, STALL_COLOR),
+        new Row("GC", TimelineLane.GC, SPAN_ROW_HEIGHT, GC_COLOR),
+        new Row("Measures", null, SPAN_ROW_HEIGHT, MEASURE_COLOR)
+    );
+
+    private final TimelineBuffer buffer;
+    private final Canvas canvas = new Canvas();
+    private final ScrollBar scrollBar = new ScrollBar();
+    private @Nullable Consumer<@Nullable String> hoverHandler;
+
+    // relative to the buffer start time
+    private long viewStart;
+    private long viewDuration = DEFAULT_VIEW_DURATION;
+    private boolean following = true;
+    private double dragX = -1;
+    private boolean updatingScrollBar;
+
+    TimelineView(TimelineBuffer buffer) {
+        super();
+
+        this.buffer = buffer;
+
+        scrollBar.setOrientation(Orientation.HORIZONTAL);
+        scrollBar.valueProperty().addListener((obs, old, val) -> {
+            if (!updatingScrollBar) {
+                viewStart = val.longValue();
+                following = viewStart + viewDuration >= getRecordingDuration();
+                draw();
+            }
+        });
+
+        getChildren().addAll(canvas, scrollBar);
+        getStyleClass().add("timeline");
+
+        canvas.setOnScroll(this::onScroll);
+        canvas.setOnMousePressed(e -> dragX = e.getX());
+        canvas.setOnMouseReleased(e -> dragX = -1);
+        canvas.setOnMouseDragged(this::onMouseDragged);
+        canvas.setOnMouseMoved(this::onMouseMoved);
+        canvas.setOnMouseExited(e -> notifyHover(null));
+    }
+
+    /**
+     * Redraws the view after the buffer has been changed.
+     */
+    void refresh() {
+        if (following) {
+            viewStart = Math.max(0, getRecordingDuration() - viewDuration);
+        }
+        updateScrollBar();
+        draw();
+    }
+
+    /**
+     * Zooms out to show the whole recording.
+     */
+    void zoomToFit() {
+        viewStart = 0;
+        viewDuration = Math.max(MIN_VIEW_DURATION, getRecordingDuration());
+        following = true;
+        refresh();
+    }
+
+    /**
+     * Resets the view to the default zoom level.
+     */
+    void reset() {
+        viewStart = 0;
+        viewDuration = DEFAULT_VIEW_DURATION;
+        following = true;
+        refresh();
+    }
+
+    void setOnHover(@Nullable Consumer<@Nullable String> hoverHandler) {
+        this.hoverHandler = hoverHandler;
+    }
+
+    @Override
+    protected double computePrefHeight(double width) {
+        return RULER_HEIGHT + rows.stream().mapToDouble(Row::height).sum() + scrollBar.prefHeight(width);
+    }
+
+    @Override
+    protected double computePrefWidth(double height) {
+        return 0;
+    }
+
+    @Override
+    protected void layoutChildren() {
+        double scrollBarHeight = scrollBar.prefHeight(getWidth());
+        scrollBar.resizeRelocate(HEADER_WIDTH, getHeight() - scrollBarHeight, getWidth() - HEADER_WIDTH, scrollBarHeight);
+
+        double canvasHeight = Math.max(0, getHeight() - scrollBarHeight);
+        if (canvas.getWidth() != getWidth() || canvas.getHeight() != canvasHeight) {
+            canvas.setWidth(getWidth());
+            canvas.setHeight(canvasHeight);
+            draw();
+        }
+    }
+
+    ///////////////////////////////////////////////////////////////////////////
+
+    private long getRecordingDuration() {
+        return buffer.getEndTime() - buffer.getStartTime();
+    }
+
+    private double getChartWidth() {
+        return Math.max(1, canvas.getWidth() - HEADER_WIDTH);
+    }
+
+    private double nanosPerPixel() {
+        return viewDuration / getChartWidth();
+    }
+
+    private long timeAt(double x) {
+        return buffer.getStartTime() + viewStart + (long) ((x - HEADER_WIDTH) * nanosPerPixel());
+    }
+
+    private double xOf(long time) {
+        return HEADER_WIDTH + (time - buffer.getStartTime() - viewStart) / nanosPerPixel();
+    }
+
+    private void updateScrollBar() {
+        updatingScrollBar = true;
+        long max = Math.max(0, getRecordingDuration() - viewDuration);
+        scrollBar.setMin(0);
+        scrollBar.setMax(max);
+        scrollBar.setVisibleAmount(max > 0 ? (double) max * viewDuration / getRecordingDuration() : 0);
+        scrollBar.setUnitIncrement(viewDuration / 10d);
+        scrollBar.setBlockIncrement(viewDuration);
+        scrollBar.setValue(Math.min(viewStart, max));
+        updatingScrollBar = false;
+    }
+
+    private void draw() {
+        var gc = canvas.getGraphicsContext2D();
+        gc.clearRect(0, 0, canvas.getWidth(), canvas.getHeight());
+
+        gc.setFont(Font.font("monospaced", 11));
+        gc.setTextBaseline(VPos.CENTER);
+        gc.setTextAlign(TextAlignment.LEFT);
+
+        drawRuler(gc);
+
+        double y = RULER_HEIGHT;
+        for (var row : rows) {
+            gc.save();
+            gc.beginPath();
+            gc.rect(HEADER_WIDTH, y, getChartWidth(), row.height());
+            gc.clip();
+
+            if (row.lane() == null) {
+                drawSpans(gc, buffer.getMeasures(), y, row.height(), row.color());
+            } else if (TimelineBuffer.isSpan(row.lane()) && row.lane() != TimelineLane.PULSES) {
+                drawSpans(gc, buffer.getSeries(row.lane()), y, row.height(), row.color());
+            } else {
+                drawChart(gc, row, y);
+            }
+
+            gc.restore();
+
+            gc.setFill(TEXT_COLOR);
+            gc.fillText(row.name(), 4, y + row.height() / 2);
+            gc.setStroke(GRID_COLOR);
+            gc.strokeLine(0, y + row.height() - 0.5, canvas.getWidth(), y + row.height() - 0.5);
+            y += row.height();
+        }
+
+        gc.strokeLine(HEADER_WIDTH - 0.5, 0, HEADER_WIDTH - 0.5, y);
+    }
+
+    private void drawRuler(GraphicsContext gc) {
+        double npp = nanosPerPixel();
+        long step = TICK_STEPS[TICK_STEPS.length - 1];
+        for (long s : TICK_STEPS) {
+            if (s / npp >= MIN_TICK_SPACING) {
+                step = s;
+                break;
+            }
+        }
+
+        gc.setStroke(GRID_COLOR);
+        gc.setFill(TEXT_COLOR);
+        long tick = (viewStart / step) * step;
+        while (tick <= viewStart + viewDuration) {
+            double x = HEADER_WIDTH + (tick - viewStart) / npp;
+            if (x >= HEADER_WIDTH) {
+                gc.strokeLine(x + 0.5, 0, x + 0.5, canvas.getHeight());
+                gc.fillText(formatTime(tick), x + 3, RULER_HEIGHT / 2);
+            }
+            tick += step;
+        }
+
+        gc.strokeLine(0, RULER_HEIGHT - 0.5, canvas.getWidth(), RULER_HEIGHT - 0.5);
+    }
+
+    private void drawChart(GraphicsContext gc, Row row, double y) {
+        var series = buffer.getSeries(row.lane());
+        if (series.size() == 0) {
+            return;
+        }
+
+        boolean pulses = row.lane() == TimelineLane.PULSES;
+        int width = (int) getChartWidth();
+
+        // aggregate the samples per pixel, the max frame time or the number of events
+        var aggregates = new double[width];
+        double scale = pulses ? FRAME_BUDGET * 3 : 0;
+        int from = series.indexOf(timeAt(HEADER_WIDTH));
+        for (int px = 0; px < width; px++) {
+            int to = series.indexOf(timeAt(HEADER_WIDTH + px + 1));
+            if (to > from) {
+                aggregates[px] = pulses ? series.max(from, to) : series.sum(from, to);
+                if (!pulses) {
+                    scale = Math.max(scale, aggregates[px]);
+                }
+            }
+            from = to;
+        }
+
+        if (scale <= 0) {
+            return;
+        }
+
+        double maxHeight = row.height() - 4;
+        for (int px = 0; px < width; px++) {
+            if (aggregates[px] <= 0) {
+                continue;
+            }
+
+            double h = Math.max(1, Math.min(maxHeight, aggregates[px] / scale * maxHeight));
+            gc.setFill(pulses && aggregates[px] > FRAME_BUDGET * 1.5 ? SLOW_PULSE_COLOR : row.color());
+            gc.fillRect(HEADER_WIDTH + px, y + row.height() - h, 1, h);
+        }
+
+        if (pulses) {
+            double budgetY = y + row.height() - FRAME_BUDGET / scale * maxHeight;
+            gc.setStroke(GRID_COLOR);
+            gc.strokeLine(HEADER_WIDTH, budgetY, canvas.getWidth(), budgetY);
+        }
+    }
+
+    private void drawSpans(GraphicsContext gc, TimelineBuffer.Series series, double y, double height, Color color) {
+        if (series.size() == 0) {
+            return;
+        }
+
+        long viewStartTime = timeAt(HEADER_WIDTH);
+        long maxDuration = (long) (series.getMaxValue() * 1_000_000);
+        int from = series.indexOf(viewStartTime - maxDuration);
+        int to = series.indexOf(timeAt(canvas.getWidth()) + 1);
+
+        double lastX = Double.NEGATIVE_INFINITY;
+        for (int i = from; i < to; i++) {
+            double x = xOf(series.getTime(i));
+            double w = Math.max(1, series.getValue(i) * 1_000_000 / nanosPerPixel());
+            if (x + w < HEADER_WIDTH || (w <= 1 && x < lastX + 1)) {
+                // invisible or the pixel is already filled
+                continue;
+            }
+            lastX = x;
+
+            gc.setFill(color);
+            gc.fillRect(x, y + 2, w, height - 4);
+
+            var label = series.getLabel(i);
+            if (label != null && w >= MIN_LABEL_WIDTH) {
+                int maxChars = (int) ((w - 6) / CHAR_WIDTH);
+                var text = label.length() > maxChars
+                    ? label.substring(0, Math.max(0, maxChars - 2)) + ".."
+                    : label;
+                gc.setFill(Color.BLACK);
+                gc.fillText(text, Math.max(x, HEADER_WIDTH) + 3, y + height / 2);
+            }
+        }
+    }
+
+    private void onScroll(ScrollEvent e) {
+        if (e.getX() < HEADER_WIDTH) {
+            return;
+        }
+
+        if (e.getDeltaY() != 0 && !e.isShiftDown()) {
+            // zoom around the cursor
+            long cursorOffset = timeAt(e.getX()) - buffer.getStartTime();
+            double factor = e.getDeltaY() > 0 ? 1 / ZOOM_FACTOR : ZOOM_FACTOR;
+            long maxDuration = Math.max(DEFAULT_VIEW_DURATION, getRecordingDuration());
+            viewDuration = Math.clamp((long) (viewDuration * factor), MIN_VIEW_DURATION, maxDuration);
+            viewStart = cursorOffset - (long) ((e.getX() - HEADER_WIDTH) * nanosPerPixel());
+        } else {
+            double delta = e.getDeltaX() != 0 ? e.getDeltaX() : e.getDeltaY();
+            viewStart -= (long) (delta * nanosPerPixel());
+        }
+
+        onViewMoved();
+        e.consume();
+    }
+
+    private void onMouseDragged(MouseEvent e) {
+        if (dragX < 0) {
+            return;
+        }
+
+        viewStart -= (long) ((e.getX() - dragX) * nanosPerPixel());
+        dragX = e.getX();
+        onViewMoved();
+    }
+
+    private void onViewMoved() {
+        viewStart = Math.clamp(viewStart, 0, Math.max(0, getRecordingDuration() - viewDuration));
+        following = viewStart + viewDuration >= getRecordingDuration();
+        updateScrollBar();
+        draw();
+    }
+
+    private void onMouseMoved(MouseEvent e) {
+        if (e.getX() < HEADER_WIDTH || e.getY() < RULER_HEIGHT || buffer.isEmpty()) {
+            notifyHover(null);
+            return;
+        }
+
+        double y = RULER_HEIGHT;
+        for (var row : rows) {
+            if (e.getY() < y + row.height()) {
+                notifyHover(describe(row, e.getX()));
+                return;
+            }
+            y += row.height();
+        }
+
+        notifyHover(null);
+    }
+
+    private @Nullable String describe(Row row, double x) {
+        long time = timeAt(x);
+        var prefix = formatTime(time - buffer.getStartTime()) + " | " + row.name() + ": ";
+
+        if (row.lane() == null || (TimelineBuffer.isSpan(row.lane()) && row.lane() != TimelineLane.PULSES)) {
+            var series = row.lane() == null ? buffer.getMeasures() : buffer.getSeries(row.lane());
+            // the last span that covers the cursor
+            int from = series.indexOf(time - (long) (series.getMaxValue() * 1_000_000));
+            int to = series.indexOf(timeAt(x + 1));
+            for (int i = to - 1; i >= from; i--) {
+                long end = series.getTime(i) + Math.max((long) (series.getValue(i) * 1_000_000), (long) nanosPerPixel());
+                if (series.getTime(i) <= time + nanosPerPixel() && end >= time) {
+                    var label = series.getLabel(i);
+                    return prefix + (label != null ? label + " " : "") + VALUE_FORMAT.format(series.getValue(i)) + " ms";
+                }
+            }
+            return prefix + "-";
+        }
+
+        var series = buffer.getSeries(row.lane());
+        int from = series.indexOf(time);
+        int to = series.indexOf(timeAt(x + 1));
+        if (to <= from) {
+            return prefix + "-";
+        }
+
+        return row.lane() == TimelineLane.PULSES
+            ? prefix + VALUE_FORMAT.format(series.max(from, to)) + " ms"
+            : prefix + VALUE_FORMAT.format(series.sum(from, to));
+    }
+
+    private void notifyHover(@Nullable String text) {
+        if (hoverHandler != null) {
+            hoverHandler.accept(text);
+        }
+    }
+
+    ///////////////////////////////////////////////////////////////////////////
+
+    private static String formatTime(long nanos) {
+        if (nanos < 1_000_000_000L) {
+            return VALUE_FORMAT.format(nanos / 1_000_000d) + " ms";
+        }
+
+        if (nanos < 60_000_000_000L) {
+            return VALUE_FORMAT.format(nanos / 1_000_000_000d) + " s";
+        }
+
+        long seconds = nanos / 1_000_000_000L;
+        return String.format("%d:%02d", seconds / 60, seconds % 60);
+    }
+
+    private record Row(String name, @Nullable TimelineLane lane, double height, Color color) {
+    }
+}
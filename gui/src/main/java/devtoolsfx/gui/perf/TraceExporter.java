@@ -0,0 +1,240 @@
+package devtoolsfx.gui.perf;
+
+import devtoolsfx.connector.StackSample;
+import devtoolsfx.connector.TimelineLane;
+import javafx.application.Platform;
+import org.jspecify.annotations.NullMarked;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Consumer;
+import java.util.function.LongConsumer;
+
+/**
+ * Writes the timeline recording in the Chrome Trace Event JSON format, which is supported
+ * by Perfetto and {@code chrome://tracing}. The pulses, stalls, garbage collections and
+ * the application measures are written as complete events, the connector events and marks
+ * as instant events, and the input events and layout invalidations as counters.
+ * The timestamps are converted to the wall clock microseconds, so the trace can be
+ * correlated with the traces of other processes.
+ *
+ * <p>The trace is written sequentially through the buffered writer, so its size
+ * isn't limited by the heap, only the compact recording copy is kept in memory.
+ */
+@NullMarked
+final class TraceExporter {
+
+    static final int PID = 1;
+    static final int FX_THREAD_TID = 1;
+    static final int PULSES_TID = 2;
+    static final int GC_TID = 3;
+    static final int FIRST_MEASURE_TID = 4;
+    static final String FX_THREAD_NAME = "JavaFX Application Thread";
+    static final int MAX_STALL_STACKS = 10;
+    static final int WRITER_BUFFER_SIZE = 64 * 1024;
+
+    private final TimelineBuffer buffer;
+    // nanoTime() to the epoch microseconds
+    private final long epochOffsetMicros;
+    // the measures are grouped by the thread that recorded them
+    private final Map<String, Integer> threadIds = new HashMap<>();
+
+    private int nextThreadId = FIRST_MEASURE_TID;
+    private boolean firstEvent = true;
+    private long eventCount;
+
+    /**
+     * Creates the exporter. The buffer must not be modified during the export,
+     * see {@link TimelineBuffer#copy()}.
+     */
+    TraceExporter(TimelineBuffer buffer) {
+        this.buffer = buffer;
+        this.epochOffsetMicros = System.currentTimeMillis() * 1_000 - System.nanoTime() / 1_000;
+        this.threadIds.put(FX_THREAD_NAME, FX_THREAD_TID);
+    }
+
+    /**
+     * Writes the trace to the given file on a background thread. The callbacks are executed
+     * in the FX thread, the success callback receives the number of written trace events.
+     */
+    void exportAsync(Path path, LongConsumer onSuccess, Consumer<Exception> onError) {
+        var thread = new Thread(() -> {
+            try (var writer = new BufferedWriter(
+                Files.newBufferedWriter(path, StandardCharsets.UTF_8), WRITER_BUFFER_SIZE)
+            ) {
+                write(writer);
+                long count = eventCount;
+                Platform.runLater(() -> onSuccess.accept(count));
+            } catch (Exception e) {
+                Platform.runLater(() -> onError.accept(e));
+            }
+        }, "devtoolsfx-trace-export");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * Writes the trace to the given writer.
+     */
+    void write(Writer w) throws IOException {
+        w.write("{\"displayTimeUnit\":\"ms\",\"traceEvents\":[\n");
+
+        writeMetadata(w, "process_name", 0, "JavaFX " + buffer.getApplication());
+        writeMetadata(w, "thread_name", FX_THREAD_TID, FX_THREAD_NAME);
+        writeMetadata(w, "thread_name", PULSES_TID, "Pulses");
+        writeMetadata(w, "thread_name", GC_TID, "GC");
+
+        // pulse intervals are continuous, so they have their own track to not break the nesting
+        writeCompleteEvents(w, buffer.getSeries(TimelineLane.PULSES), "Pulse", "pulse", PULSES_TID);
+        writeCompleteEvents(w, buffer.getSeries(TimelineLane.GC), "GC", "gc", GC_TID);
+        writeCounters(w, buffer.getSeries(TimelineLane.INPUT), "Input events", "events");
+        writeCounters(w, buffer.getSeries(TimelineLane.LAYOUT), "Layout invalidations", "perSecond");
+        writeStalls(w);
+        writeConnectorEvents(w);
+        writeMeasures(w);
+
+        w.write("\n]}\n");
+    }
+
+    ///////////////////////////////////////////////////////////////////////////
+
+    private void writeMetadata(Writer w, String name, int tid, String value) throws IOException {
+        beginEvent(w, name, "__metadata", "M", tid);
+        w.write(",\"args\":{\"name\":");
+        writeString(w, value);
+        w.write("}}");
+    }
+
+    private void writeCompleteEvents(Writer w,
+                                     TimelineBuffer.Series series,
+                                     String name,
+                                     String category,
+                                     int tid) throws IOException {
+        for (int i = 0; i < series.size(); i++) {
+            beginEvent(w, name, category, "X", tid);
+            writeTime(w, series.getTime(i), series.getValue(i));
+            w.write('}');
+        }
+    }
+
+    private void writeCounters(Writer w, TimelineBuffer.Series series, String name, String arg) throws IOException {
+        for (int i = 0; i < series.size(); i++) {
+            beginEvent(w, name, "counter", "C", FX_THREAD_TID);
+            writeTime(w, series.getTime(i), -1);
+            w.write(",\"args\":{\"" + arg + "\":");
+            w.write(String.valueOf((long) series.getValue(i)));
+            w.write("}}");
+        }
+    }
+
+    private void writeStalls(Writer w) throws IOException {
+        for (var stall : buffer.getStalls()) {
+            var event = stall.event();
+            beginEvent(w, "Stall", "stall", "X", FX_THREAD_TID);
+            writeTime(w, stall.startTime(), event.duration());
+            w.write(",\"args\":{\"sampleCount\":" + event.sampleCount() + ",\"stacks\":[");
+
+            int count = Math.min(event.samples().size(), MAX_STALL_STACKS);
+            for (int i = 0; i < count; i++) {
+                if (i > 0) {
+                    w.write(',');
+                }
+                writeStackSample(w, event.samples().get(i));
+            }
+            w.write("]}}");
+        }
+    }
+
+    private void writeStackSample(Writer w, StackSample sample) throws IOException {
+        w.write("{\"count\":" + sample.count() + ",\"frames\":[");
+        for (int i = 0; i < sample.frames().size(); i++) {
+            if (i > 0) {
+                w.write(',');
+            }
+            writeString(w, sample.frames().get(i).toString());
+        }
+        w.write("]}");
+    }
+
+    private void writeConnectorEvents(Writer w) throws IOException {
+        for (int i = 0; i < buffer.getEventCount(); i++) {
+            beginEvent(w, buffer.getEventType(i), "connector", "i", FX_THREAD_TID);
+            writeTime(w, buffer.getEventTime(i), -1);
+            w.write(",\"s\":\"t\"}");
+        }
+    }
+
+    private void writeMeasures(Writer w) throws IOException {
+        var measures = buffer.getMeasures();
+        for (int i = 0; i < measures.size(); i++) {
+            var thread = Objects.requireNonNullElse(measures.getThread(i), "");
+            var tid = threadIds.get(thread);
+            if (tid == null) {
+                tid = nextThreadId++;
+                threadIds.put(thread, tid);
+                writeMetadata(w, "thread_name", tid, thread);
+            }
+
+            var name = Objects.requireNonNullElse(measures.getLabel(i), "");
+            if (measures.getValue(i) > 0) {
+                beginEvent(w, name, "measure", "X", tid);
+                writeTime(w, measures.getTime(i), measures.getValue(i));
+                w.write('}');
+            } else {
+                // marks or zero length measures
+                beginEvent(w, name, "mark", "i", tid);
+                writeTime(w, measures.getTime(i), -1);
+                w.write(",\"s\":\"t\"}");
+            }
+        }
+    }
+
+    private void beginEvent(Writer w, String name, String category, String phase, int tid) throws IOException {
+        w.write(firstEvent ? "" : ",\n");
+        firstEvent = false;
+        eventCount++;
+
+        w.write("{\"name\":");
+        writeString(w, name);
+        w.write(",\"cat\":\"" + category + "\",\"ph\":\"" + phase + "\",\"pid\":" + PID + ",\"tid\":" + tid);
+    }
+
+    /**
+     * Writes the timestamp and the duration in milliseconds, if it's not negative.
+     */
+    private void writeTime(Writer w, long nanos, double durationMillis) throws IOException {
+        w.write(",\"ts\":" + (epochOffsetMicros + nanos / 1_000));
+        if (durationMillis >= 0) {
+            w.write(",\"dur\":" + Math.round(durationMillis * 1_000));
+        }
+    }
+
+    private static void writeString(Writer w, String s) throws IOException {
+        w.write('"');
+        for (int i = 0; i < s.length(); i++) {
+            char c = s.charAt(i);
+            switch (c) {
+                case '"' -> w.write("\\\"");
+                case '\\' -> w.write("\\\\");
+                case '\n' -> w.write("\\n");
+                case '\r' -> w.write("\\r");
+                case '\t' -> w.write("\\t");
+                default -> {
+                    if (c < 0x20) {
+                        w.write(String.format("\\u%04x", (int) c));
+                    } else {
+                        w.write(c);
+                    }
+                }
+            }
+        }
+        w.write('"');
+    }
+}
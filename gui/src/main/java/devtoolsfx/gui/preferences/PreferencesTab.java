@@ -1,5 +1,6 @@
 package devtoolsfx.gui.preferences;
 
+import devtoolsfx.connector.ConnectorOptions;
 import devtoolsfx.gui.Preferences;
 import devtoolsfx.gui.ToolPane;
 import javafx.geometry.Pos;
@@ -35,6 +36,7 @@ public class PreferencesTab extends VBox {
             createSceneGraphGroup(),
             createAppearanceGroup(),
             createInspectionGroup(),
+            createPerformanceGroup(),
             createEventLogGroup()
         );
 
@@ -106,16 +108,83 @@ public class PreferencesTab extends VBox {
             toolPane.getPreferences().ignoreMouseTransparentProperty()
         );
 
+        var lazyPropertiesToggle = new CheckBox("Do not instantiate lazy properties");
+        lazyPropertiesToggle.selectedProperty().bindBidirectional(
+            toolPane.getPreferences().preserveLazyPropertiesProperty()
+        );
+
+        var layoutTrackingToggle = new CheckBox("Track layout invalidations");
+        layoutTrackingToggle.selectedProperty().bindBidirectional(
+            toolPane.getPreferences().layoutTrackingProperty()
+        );
+
         var content = new FlowPane(
             layoutBoundsToggle,
             boundsInParentToggle,
             baselineToggle,
-            mouseTransparentToggle
+            mouseTransparentToggle,
+            lazyPropertiesToggle,
+            layoutTrackingToggle
         );
 
         return createPreferencesGroup("Inspection", content);
     }
 
+    private VBox createPerformanceGroup() {
+        var pulseRecordingToggle = new CheckBox("Record pulse timings");
+        pulseRecordingToggle.selectedProperty().bindBidirectional(
+            toolPane.getPreferences().pulseRecordingProperty()
+        );
+
+        var pulseOverlayToggle = new CheckBox("Show FPS overlay");
+        pulseOverlayToggle.selectedProperty().bindBidirectional(
+            toolPane.getPreferences().pulseOverlayProperty()
+        );
+
+        var stallDetectionToggle = new CheckBox("Detect FX thread stalls");
+        stallDetectionToggle.selectedProperty().bindBidirectional(
+            toolPane.getPreferences().stallDetectionProperty()
+        );
+
+        var inputLatencyToggle = new CheckBox("Measure input latency");
+        inputLatencyToggle.selectedProperty().bindBidirectional(
+            toolPane.getPreferences().inputLatencyTrackingProperty()
+        );
+
+        var stallThresholdField = new TextField(String.valueOf(
+            toolPane.getPreferences().getStallThreshold()
+        ));
+        stallThresholdField.textProperty().addListener(
+            (obs, old, val) -> toolPane.getPreferences().setStallThreshold(parseStallThreshold(val))
+        );
+
+        var stallThresholdBox = new HBox(new Label("Stall threshold, ms"), stallThresholdField);
+        stallThresholdBox.setSpacing(8);
+        stallThresholdBox.setAlignment(Pos.CENTER_LEFT);
+
+        var sampleRateField = new TextField(String.valueOf(
+            toolPane.getPreferences().getProfilerSampleRate()
+        ));
+        sampleRateField.textProperty().addListener(
+            (obs, old, val) -> toolPane.getPreferences().setProfilerSampleRate(parseProfilerSampleRate(val))
+        );
+
+        var sampleRateBox = new HBox(new Label("Profiler samples per second"), sampleRateField);
+        sampleRateBox.setSpacing(8);
+        sampleRateBox.setAlignment(Pos.CENTER_LEFT);
+
+        var content = new FlowPane(
+            pulseRecordingToggle,
+            pulseOverlayToggle,
+            stallDetectionToggle,
+            stallThresholdBox,
+            inputLatencyToggle,
+            sampleRateBox
+        );
+
+        return createPreferencesGroup("Performance", content);
+    }
+
     private VBox createEventLogGroup() {
         var maxSizeField = new TextField(String.valueOf(
             toolPane.getPreferences().getMaxEventLogSize()
@@ -163,4 +232,38 @@ public class PreferencesTab extends VBox {
 
         return nextVal;
     }
+
+    private int parseStallThreshold(@Nullable String text) {
+        int nextVal = ConnectorOptions.DEFAULT_STALL_THRESHOLD;
+
+        if (text != null && !text.isBlank()) {
+            try {
+                nextVal = Integer.parseInt(text);
+            } catch (NumberFormatException ignored) {
+            }
+        }
+
+        if (nextVal < Preferences.MIN_STALL_THRESHOLD || nextVal > Preferences.MAX_STALL_THRESHOLD) {
+            nextVal = ConnectorOptions.DEFAULT_STALL_THRESHOLD;
+        }
+
+        return nextVal;
+    }
+
+    private int parseProfilerSampleRate(@Nullable String text) {
+        int nextVal = ConnectorOptions.DEFAULT_PROFILER_SAMPLE_RATE;
+
+        if (text != null && !text.isBlank()) {
+            try {
+                nextVal = Integer.parseInt(text);
+            } catch (NumberFormatException ignored) {
+            }
+        }
+
+        if (nextVal < Preferences.MIN_PROFILER_SAMPLE_RATE || nextVal > Preferences.MAX_PROFILER_SAMPLE_RATE) {
+            nextVal = ConnectorOptions.DEFAULT_PROFILER_SAMPLE_RATE;
+        }
+
+        return nextVal;
+    }
 }
@@ -18,8 +18,10 @@ import javafx.scene.layout.VBox;
 import org.jspecify.annotations.NullMarked;
 import org.jspecify.annotations.Nullable;
 
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 @NullMarked
 public final class StylesheetTab extends VBox {
@@ -33,6 +35,7 @@ public final class StylesheetTab extends VBox {
     private final TreeView<String> treeView = new TreeView<>();
 
     private @Nullable Dialog<TextView> textViewDialog = null;
+    private int updateGeneration;
 
     public StylesheetTab(ToolPane toolPane) {
         super();
@@ -43,11 +46,57 @@ public final class StylesheetTab extends VBox {
     }
 
     public void update() {
-        var treeRoot = StylesheetTreeItem.of(ROOT_UID, getPlatformUserAgentStylesheet(), true);
+        // the tree is rebuilt when all the responses are received, unless another update has started
+        int generation = ++updateGeneration;
+        var connector = toolPane.getConnector();
+
+        connector.getMonitorIdentifiers().thenCompose(uids -> {
+            var styledElements = new LinkedHashMap<Integer, CompletableFuture<Map.@Nullable Entry<WindowProperties, List<Element>>>>();
+            for (int uid : uids) {
+                styledElements.put(uid, connector.getStyledElements(uid));
+            }
+
+            return CompletableFuture.allOf(styledElements.values().toArray(CompletableFuture[]::new))
+                .thenCombine(connector.getUserAgentStylesheet(), (ignored, userAgentStylesheet) -> {
+                    if (generation == updateGeneration) {
+                        updateTree(userAgentStylesheet, styledElements);
+                    }
+                    return null;
+                });
+        });
+    }
+
+    ///////////////////////////////////////////////////////////////////////////
+
+    private void createLayout() {
+        treeView.setContextMenu(createContextMenu());
+        treeView.setCellFactory(param ->
+            new StylesheetTreeCell(
+                this::getOrCreateTextViewDialog,
+                this::getSourceCode
+            )
+        );
+        VBox.setVgrow(treeView, Priority.ALWAYS);
+
+        var hintIcon = new StackPane();
+        hintIcon.getStyleClass().add("icon");
+
+        var hintLabel = new Label("user agent stylesheet", hintIcon);
+        hintLabel.getStyleClass().add("hint");
+
+        setId("stylesheet-tab");
+        getStyleClass().setAll("tab");
+        getChildren().setAll(treeView, hintLabel);
+    }
+
+    private void updateTree(String platformUserAgentStylesheet,
+                            Map<Integer, CompletableFuture<Map.@Nullable Entry<WindowProperties, List<Element>>>> styledElements) {
+        var treeRoot = StylesheetTreeItem.of(ROOT_UID, platformUserAgentStylesheet, true);
         treeRoot.setExpanded(true);
 
-        for (int uid : toolPane.getConnector().getMonitorIdentifiers()) {
-            Map.@Nullable Entry<WindowProperties, List<Element>> data = toolPane.getConnector().getStyledElements(uid);
+        for (var entry : styledElements.entrySet()) {
+            int uid = entry.getKey();
+            Map.@Nullable Entry<WindowProperties, List<Element>> data = entry.getValue().join();
             if (data == null || (data.getKey().sceneStylesheets().isEmpty() && data.getValue().isEmpty())) {
                 continue;
             }
@@ -86,29 +135,6 @@ public final class StylesheetTab extends VBox {
         treeView.setShowRoot(true);
     }
 
-    ///////////////////////////////////////////////////////////////////////////
-
-    private void createLayout() {
-        treeView.setContextMenu(createContextMenu());
-        treeView.setCellFactory(param ->
-            new StylesheetTreeCell(
-                this::getOrCreateTextViewDialog,
-                this::getSourceCode
-            )
-        );
-        VBox.setVgrow(treeView, Priority.ALWAYS);
-
-        var hintIcon = new StackPane();
-        hintIcon.getStyleClass().add("icon");
-
-        var hintLabel = new Label("user agent stylesheet", hintIcon);
-        hintLabel.getStyleClass().add("hint");
-
-        setId("stylesheet-tab");
-        getStyleClass().setAll("tab");
-        getChildren().setAll(treeView, hintLabel);
-    }
-
     private ContextMenu createContextMenu() {
         var refresh = new MenuItem("Refresh");
         refresh.setOnAction(e -> update());
@@ -139,13 +165,9 @@ public final class StylesheetTab extends VBox {
         return parent;
     }
 
-    private String getPlatformUserAgentStylesheet() {
-        return toolPane.getConnector().getUserAgentStylesheet();
-    }
-
-    private @Nullable String getSourceCode(int uid, Stylesheet stylesheet) {
+    private CompletableFuture<@Nullable String> getSourceCode(int uid, Stylesheet stylesheet) {
         if (stylesheet.isDataURI()) {
-            return stylesheet.decodeFromDataURI();
+            return CompletableFuture.completedFuture(stylesheet.decodeFromDataURI());
         }
 
         return toolPane.getConnector().getResource(uid, stylesheet.uri());
@@ -11,6 +11,7 @@ import org.jspecify.annotations.NullMarked;
 import org.jspecify.annotations.Nullable;
 
 import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
 import java.util.function.BiFunction;
 import java.util.function.Supplier;
 
@@ -23,7 +24,7 @@ final class StylesheetTreeCell extends TreeCell<String> {
     private final StackPane icon = new StackPane();
 
     public StylesheetTreeCell(Supplier<Dialog<TextView>> textViewDialog,
-                              BiFunction<Integer, Stylesheet, @Nullable String> sourceCodeProvider) {
+                              BiFunction<Integer, Stylesheet, CompletableFuture<@Nullable String>> sourceCodeProvider) {
         super();
 
         icon.getStyleClass().add("icon");
@@ -35,13 +36,14 @@ final class StylesheetTreeCell extends TreeCell<String> {
                 && item.isLeaf()
                 && item.getStylesheet() != null) {
 
-                Dialog<TextView> dialog = textViewDialog.get();
-                dialog.getRoot().setText(Objects.requireNonNullElse(
-                    sourceCodeProvider.apply(item.getUid(), item.getStylesheet()),
-                    "Unable to obtain the source code."
-                ));
-                dialog.show();
-                dialog.toFront();
+                sourceCodeProvider.apply(item.getUid(), item.getStylesheet()).thenAccept(sourceCode -> {
+                    Dialog<TextView> dialog = textViewDialog.get();
+                    dialog.getRoot().setText(Objects.requireNonNullElse(
+                        sourceCode, "Unable to obtain the source code."
+                    ));
+                    dialog.show();
+                    dialog.toFront();
+                });
             }
         });
     }